@@ -1,7 +1,10 @@
 package com.login.AxleXpert.Branches.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,18 +13,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.login.AxleXpert.Branches.dto.BranchDTO;
 import com.login.AxleXpert.Branches.service.BranchService;
+import com.login.AxleXpert.bookings.dto.AvailabilityDTO;
+import com.login.AxleXpert.bookings.service.BranchAvailabilityIndex;
+import com.login.AxleXpert.common.dto.ErrorResponse;
 
 @RestController
 @RequestMapping("/api/branches")
 public class BranchController {
     private final BranchService branchService;
+    private final BranchAvailabilityIndex availabilityIndex;
 
-    public BranchController(BranchService branchService) {
+    public BranchController(BranchService branchService, BranchAvailabilityIndex availabilityIndex) {
         this.branchService = branchService;
+        this.availabilityIndex = availabilityIndex;
     }
 
     @GetMapping("/all")
@@ -37,6 +46,23 @@ public class BranchController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Free start times for a service at the branch on {@code date} (ISO, e.g. 2025-10-27),
+     * answered from the in-memory availability index.
+     */
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getAvailability(@PathVariable Long id,
+                                             @RequestParam Long serviceId,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            AvailabilityDTO availability = availabilityIndex.findFreeSlots(id, serviceId, date);
+            return ResponseEntity.ok(availability);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<BranchDTO> createBranch(@RequestBody BranchDTO branchDTO) {
         BranchDTO createdBranch = branchService.createBranch(branchDTO);
@@ -3,9 +3,22 @@ package com.login.AxleXpert.Branches.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.login.AxleXpert.Branches.entity.Branch;
 
+import jakarta.persistence.LockModeType;
+
 public interface BranchRepository extends JpaRepository<Branch, Long> {
     Optional<Branch> findByName(String name);
+
+    /**
+     * Loads the branch with a row lock held until the surrounding transaction ends.
+     * Serializes slot reservations per branch, across every application instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Branch b WHERE b.id = :id")
+    Optional<Branch> findByIdForUpdate(@Param("id") Long id);
 }
@@ -12,6 +12,8 @@ import com.login.AxleXpert.Branches.entity.Branch;
 import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.ReferenceData;
 
 @Service
 @Transactional
@@ -19,10 +21,14 @@ public class BranchService {
 
     private final BranchRepository branchRepository;
     private final UserRepository userRepository;
+    private final ReferenceDataVersions referenceDataVersions;
 
-    public BranchService(BranchRepository branchRepository, UserRepository userRepository) {
+    public BranchService(BranchRepository branchRepository,
+                         UserRepository userRepository,
+                         ReferenceDataVersions referenceDataVersions) {
         this.branchRepository = branchRepository;
         this.userRepository = userRepository;
+        this.referenceDataVersions = referenceDataVersions;
     }
 
     @Transactional(readOnly = true)
@@ -56,6 +62,7 @@ public class BranchService {
         }
         
         Branch savedBranch = branchRepository.save(branch);
+        referenceDataVersions.changed(ReferenceData.BRANCHES);
         return new BranchDTO(savedBranch);
     }
 
@@ -79,6 +86,7 @@ public class BranchService {
                     }
                     
                     Branch updatedBranch = branchRepository.save(branch);
+                    referenceDataVersions.changed(ReferenceData.BRANCHES);
                     return new BranchDTO(updatedBranch);
                 });
     }
@@ -86,6 +94,7 @@ public class BranchService {
     public boolean deleteBranch(Long id) {
         if (branchRepository.existsById(id)) {
             branchRepository.deleteById(id);
+            referenceDataVersions.changed(ReferenceData.BRANCHES);
             return true;
         }
         return false;
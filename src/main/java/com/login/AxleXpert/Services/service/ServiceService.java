@@ -11,15 +11,19 @@ import com.login.AxleXpert.Services.dto.CreateServiceDTO;
 import com.login.AxleXpert.Services.dto.ServiceDTO;
 import com.login.AxleXpert.Services.dto.UpdateServiceDTO;
 import com.login.AxleXpert.Services.repository.ServiceRepository;
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.ReferenceData;
 
 @Service
 @Transactional
 public class ServiceService {
 
     private final ServiceRepository serviceRepository;
+    private final ReferenceDataVersions referenceDataVersions;
 
-    public ServiceService(ServiceRepository serviceRepository) {
+    public ServiceService(ServiceRepository serviceRepository, ReferenceDataVersions referenceDataVersions) {
         this.serviceRepository = serviceRepository;
+        this.referenceDataVersions = referenceDataVersions;
     }
 
     /**
@@ -55,6 +59,7 @@ public class ServiceService {
         service.setDescription(dto.description());
 
         com.login.AxleXpert.Services.entity.Service saved = serviceRepository.save(service);
+        referenceDataVersions.changed(ReferenceData.SERVICES);
         return ServiceDTO.fromEntity(saved);
     }
 
@@ -79,6 +84,7 @@ public class ServiceService {
         }
 
         com.login.AxleXpert.Services.entity.Service updated = serviceRepository.save(service);
+        referenceDataVersions.changed(ReferenceData.SERVICES);
         return ServiceDTO.fromEntity(updated);
     }
 
@@ -90,5 +96,6 @@ public class ServiceService {
                 .orElseThrow(() -> new IllegalArgumentException("Service not found with id: " + id));
         
         serviceRepository.delete(service);
+        referenceDataVersions.changed(ReferenceData.SERVICES);
     }
 }
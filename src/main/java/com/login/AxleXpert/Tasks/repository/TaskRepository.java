@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,8 +20,14 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.booking b LEFT JOIN FETCH b.service WHERE t.assignedEmployee.id = :employeeId")
     List<Task> findByAssignedEmployeeIdWithBooking(@Param("employeeId") Long employeeId);
 
+    @Query("SELECT t.status AS status, t.title AS title, t.createdAt AS createdAt, t.sheduledTime AS scheduledTime, " +
+           "t.startTime AS startTime, t.completedTime AS completedTime, t.estimatedTimeMinutes AS estimatedTimeMinutes " +
+           "FROM Task t WHERE t.assignedEmployee.id = :employeeId")
+    List<TaskTimeline> findTimelineByAssignedEmployeeId(@Param("employeeId") Long employeeId);
+
     Optional<Task> findByBookingId(Long bookingId);
 
+    @EntityGraph(attributePaths = {"booking", "booking.service"})
     @Query("SELECT t FROM Task t WHERE t.booking.customer.id = :customerId")
     List<Task> findByCustomerId(@Param("customerId") Long customerId);
 
@@ -61,8 +69,9 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t WHERE t.assignedEmployee.id = :employeeId")
     List<Task> findByAssignedEmployeeId(@Param("employeeId") Long employeeId);
 
+    @EntityGraph(attributePaths = "booking")
     @Query("SELECT t FROM Task t WHERE t.assignedEmployee.id = :employeeId ORDER BY t.createdAt DESC")
-    List<Task> findByAssignedEmployeeIdOrderByCreatedAtDesc(@Param("employeeId") Long employeeId);
+    List<Task> findByAssignedEmployeeIdOrderByCreatedAtDesc(@Param("employeeId") Long employeeId, Pageable pageable);
 
     @Query("SELECT t FROM Task t " +
            "LEFT JOIN FETCH t.booking b " +
@@ -71,4 +80,17 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
            "LEFT JOIN FETCH t.assignedEmployee " +
            "WHERE t.assignedEmployee.branch.id = :branchId")
     List<Task> findByBranchId(@Param("branchId") Long branchId);
+
+    /**
+     * Status, title and timestamps of one task - everything the employee dashboard needs, without the booking join.
+     */
+    interface TaskTimeline {
+        TaskStatus getStatus();
+        String getTitle();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getScheduledTime();
+        LocalDateTime getStartTime();
+        LocalDateTime getCompletedTime();
+        Integer getEstimatedTimeMinutes();
+    }
 }
@@ -39,6 +39,7 @@ import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
 import com.login.AxleXpert.common.enums.NoteType;
 import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 import com.login.AxleXpert.notifications.service.NotificationService;
 
 @Service
@@ -54,6 +55,7 @@ public class TaskService {
     private final ServiceSubTaskRepository serviceSubTaskRepository;
     private final VehicleRepository vehicleRepository;
     private final NotificationService notificationService;
+    private final DashboardRollupService dashboardRollupService;
 
     public TaskService(TaskRepository taskRepository, 
                       SubTaskRepository subTaskRepository,
@@ -63,7 +65,8 @@ public class TaskService {
                       UserRepository userRepository,
                       ServiceSubTaskRepository serviceSubTaskRepository,
                       VehicleRepository vehicleRepository,
-                      NotificationService notificationService) {
+                      NotificationService notificationService,
+                      DashboardRollupService dashboardRollupService) {
         this.taskRepository = taskRepository;
         this.subTaskRepository = subTaskRepository;
         this.taskNoteRepository = taskNoteRepository;
@@ -73,6 +76,7 @@ public class TaskService {
         this.serviceSubTaskRepository = serviceSubTaskRepository;
         this.vehicleRepository = vehicleRepository;
         this.notificationService = notificationService;
+        this.dashboardRollupService = dashboardRollupService;
     }
 
     /**
@@ -223,6 +227,7 @@ public class TaskService {
         }
 
         Task task = taskOpt.get();
+        TaskStatus previousStatus = task.getStatus();
         
         if (updateTaskDTO.status() != null) {
             task.setStatus(updateTaskDTO.status());
@@ -238,6 +243,7 @@ public class TaskService {
         if (updateTaskDTO.completedTime() != null) {
             task.setCompletedTime(updateTaskDTO.completedTime());
         }
+        dashboardRollupService.recordTaskStatusChange(task, previousStatus, task.getStatus());
 
         Task savedTask = taskRepository.save(task);
         return toTaskDTO(savedTask);
@@ -400,6 +406,7 @@ public class TaskService {
         TaskStatus previousStatus = task.getStatus();
         
         task.setStatus(calculatedStatus);
+        dashboardRollupService.recordTaskStatusChange(task, previousStatus, calculatedStatus);
         taskRepository.save(task);
         
         // Update vehicle's last service date if task became completed
@@ -408,7 +415,7 @@ public class TaskService {
         }
     }
 
-    private TaskDTO toTaskDTO(Task task) {
+    TaskDTO toTaskDTO(Task task) {
         List<SubTaskDTO> subTasks = task.getSubTasks().stream()
                 .map(this::toSubTaskDTO)
                 .collect(Collectors.toList());
@@ -505,7 +512,7 @@ public class TaskService {
     }
 
     // Converts a Task entity to ManagerProgressTrackingDTO
-    private ManagerProgressTrackingDTO toManagerProgressTrackingDTO(Task task) {
+    ManagerProgressTrackingDTO toManagerProgressTrackingDTO(Task task) {
         // Reuse the same logic for technician notes
         List<TechnicianNoteInfo> technicianNotes = task.getTaskNotes().stream()
                 .filter(note -> note.getNoteType() == NoteType.EMPLOYEE_NOTE)
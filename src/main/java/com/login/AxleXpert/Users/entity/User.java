@@ -13,10 +13,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -24,6 +26,9 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_users_branch_role", columnList = "branch_id, role")
+})
 @Getter
 @Setter
 @ToString(exclude = {"branch", "vehicles"})
@@ -1,5 +1,6 @@
 package com.login.AxleXpert.Users.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRoleIgnoreCase(String role);
     List<User> findByRoleIgnoreCaseAndBranch_Id(String role, Long branchId);
+    long countByRoleIgnoreCaseAndBranch_Id(String role, Long branchId);
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.branch b WHERE LOWER(u.role) = LOWER(:role)")
     List<User> findByRoleIgnoreCaseWithBranch(@Param("role") String role);
@@ -25,4 +27,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.branch b WHERE u.id = :id")
     Optional<User> findByIdWithBranch(@Param("id") Long id);
+
+    // Dashboard aggregates
+
+    @Query("SELECT COUNT(u) AS total, " +
+           "COUNT(CASE WHEN LOWER(u.role) = LOWER(:role) THEN 1 END) AS withRole, " +
+           "COUNT(CASE WHEN u.createdAt > :since THEN 1 END) AS createdSince " +
+           "FROM User u")
+    UserSummary summarizeUsers(@Param("role") String role, @Param("since") LocalDateTime since);
+
+    @Query("SELECT u.branch.id AS branchId, COUNT(u) AS users FROM User u " +
+           "WHERE LOWER(u.role) = LOWER(:role) AND u.branch IS NOT NULL GROUP BY u.branch.id")
+    List<BranchUserCount> countByRoleGroupedByBranch(@Param("role") String role);
+
+    /**
+     * Single-row user summary: all users, users with the requested role and users created after a point in time.
+     */
+    interface UserSummary {
+        Number getTotal();
+        Number getWithRole();
+        Number getCreatedSince();
+    }
+
+    /**
+     * Number of users with the requested role in one branch.
+     */
+    interface BranchUserCount {
+        Long getBranchId();
+        Number getUsers();
+    }
 }
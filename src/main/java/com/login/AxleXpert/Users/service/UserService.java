@@ -24,8 +24,12 @@ import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
 import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.service.BranchAvailabilityIndex;
 import com.login.AxleXpert.common.EmailService;
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.ReferenceData;
 import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 
 @Service
 public class UserService {
@@ -36,17 +40,26 @@ public class UserService {
     private final BookingRepository bookingRepository;
     private final TaskRepository taskRepository;
     private final EmailService emailService;
+    private final ReferenceDataVersions referenceDataVersions;
+    private final DashboardRollupService dashboardRollupService;
+    private final BranchAvailabilityIndex availabilityIndex;
 
     public UserService(UserRepository userRepository, 
                       BranchRepository branchRepository,
                       BookingRepository bookingRepository,
                       TaskRepository taskRepository,
-                      EmailService emailService) {
+                      EmailService emailService,
+                      ReferenceDataVersions referenceDataVersions,
+                      DashboardRollupService dashboardRollupService,
+                      BranchAvailabilityIndex availabilityIndex) {
         this.userRepository = userRepository;
         this.branchRepository = branchRepository;
         this.bookingRepository = bookingRepository;
         this.taskRepository = taskRepository;
         this.emailService = emailService;
+        this.referenceDataVersions = referenceDataVersions;
+        this.dashboardRollupService = dashboardRollupService;
+        this.availabilityIndex = availabilityIndex;
     }
 
     private UserDTO toDto(User user) {
@@ -140,6 +153,7 @@ public class UserService {
     @Transactional
     public Optional<UserDTO> updateUser(Long id, UserDTO dto) {
         return userRepository.findById(id).map(user -> {
+            boolean wasManager = isManager(user);
             if (dto.getUsername() != null) user.setUsername(dto.getUsername());
             if (dto.getEmail() != null) user.setEmail(dto.getEmail());
             if (dto.getAddress() != null) user.setAddress(dto.getAddress());
@@ -153,6 +167,9 @@ public class UserService {
             }
 
             User saved = userRepository.save(user);
+            if (wasManager || isManager(saved)) {
+                referenceDataVersions.changed(ReferenceData.MANAGERS);
+            }
             return toDto(saved);
         });
     }
@@ -171,6 +188,9 @@ public class UserService {
         return userRepository.findById(id).map(user -> {
             user.setUsername(newUsername.trim());
             User saved = userRepository.save(user);
+            if (isManager(saved)) {
+                referenceDataVersions.changed(ReferenceData.MANAGERS);
+            }
             return toDto(saved);
         });
     }
@@ -258,18 +278,26 @@ public class UserService {
         Set<Task> tasksToDelete = new LinkedHashSet<>();
         tasksToDelete.addAll(taskRepository.findByAssignedEmployeeIdWithBooking(id));
         tasksToDelete.addAll(taskRepository.findByCustomerId(id));
+        // Completed tasks and deleted bookings are also taken off the dashboard rollup,
+        // and the bookings' slots freed in the availability index
         for (Task task : tasksToDelete) {
+            dashboardRollupService.recordTaskStatusChange(task, task.getStatus(), null);
             taskRepository.delete(task);
         }
         
         // Delete all bookings where user is customer
         List<Booking> bookingsToDelete = bookingRepository.findByCustomerId(id);
         for (Booking booking : bookingsToDelete) {
+            dashboardRollupService.recordBookingDeleted(booking);
+            availabilityIndex.recordReleased(booking);
             bookingRepository.delete(booking);
         }
         
         // Finally, delete the user
         userRepository.delete(user);
+        if (isManager(user)) {
+            referenceDataVersions.changed(ReferenceData.MANAGERS);
+        }
         return true;
     }
 
@@ -306,6 +334,9 @@ public class UserService {
         newUser.setIs_Blocked(false);
 
         User saved = userRepository.save(newUser);
+        if (isManager(saved)) {
+            referenceDataVersions.changed(ReferenceData.MANAGERS);
+        }
         
         try {
             log.info("Sending welcome email to new employee: {}", saved.getEmail());
@@ -322,4 +353,8 @@ public class UserService {
 
         return toDto(saved);
     }
+
+    private static boolean isManager(User user) {
+        return "manager".equalsIgnoreCase(user.getRole());
+    }
 }
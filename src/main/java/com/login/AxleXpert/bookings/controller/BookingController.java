@@ -1,12 +1,15 @@
 package com.login.AxleXpert.bookings.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,12 +19,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.login.AxleXpert.Services.repository.ServiceRepository;
 import com.login.AxleXpert.Users.repository.UserRepository;
 import com.login.AxleXpert.bookings.dto.AssignEmployeeDTO;
 import com.login.AxleXpert.bookings.dto.BookingDTO;
+import com.login.AxleXpert.bookings.dto.BookingPageDTO;
 import com.login.AxleXpert.bookings.dto.RejectBookingDTO;
+import com.login.AxleXpert.bookings.service.BookingExportService;
 import com.login.AxleXpert.bookings.service.BookingService;
 import com.login.AxleXpert.common.dto.ErrorResponse;
 
@@ -32,13 +38,18 @@ public class BookingController {
 
     private static final Logger log = LoggerFactory.getLogger(BookingController.class);
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
     private final UserRepository userRepository;
     private final ServiceRepository serviceRepository;
 
     @Autowired
-    public BookingController(BookingService bookingService, UserRepository userRepository, ServiceRepository serviceRepository) {
+    public BookingController(BookingService bookingService, BookingExportService bookingExportService,
+                             UserRepository userRepository, ServiceRepository serviceRepository) {
         this.bookingService = bookingService;
+        this.bookingExportService = bookingExportService;
         this.userRepository = userRepository;
         this.serviceRepository = serviceRepository;
     }
@@ -50,6 +61,40 @@ public class BookingController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getPage(@RequestParam(required = false) Long cursor,
+                                     @RequestParam(defaultValue = "20") int size) {
+        try {
+            BookingPageDTO page = bookingService.getBookingPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Exports bookings created between {@code from} (inclusive) and {@code to} (inclusive) as NDJSON.
+     * Defaults to the last year.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> export(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("'from' must not be after 'to'"));
+        }
+
+        StreamingResponseBody body = out ->
+                bookingExportService.exportNdjson(start.atStartOfDay(), end.plusDays(1).atStartOfDay(), out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"bookings-" + start + "-to-" + end + ".ndjson\"")
+                .body(body);
+    }
+
     @PostMapping("/{bookingId}/assign")
     public ResponseEntity<?> assignEmployee(@PathVariable Long bookingId, @RequestBody AssignEmployeeDTO assignEmployeeDTO) {
         try {
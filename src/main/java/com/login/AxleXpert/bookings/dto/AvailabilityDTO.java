@@ -0,0 +1,15 @@
+package com.login.AxleXpert.bookings.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Start times on {@code date} at which the branch can still take a booking for the service.
+ */
+public record AvailabilityDTO(
+        Long branchId,
+        Long serviceId,
+        LocalDate date,
+        int durationMinutes,
+        List<FreeSlotDTO> freeSlots
+) {}
@@ -0,0 +1,12 @@
+package com.login.AxleXpert.bookings.dto;
+
+import java.util.List;
+
+/**
+ * One page of bookings. Pass {@code nextCursor} back as {@code cursor} to fetch the following page.
+ */
+public record BookingPageDTO(
+        List<BookingDTO> items,
+        Long nextCursor,
+        boolean hasMore
+) {}
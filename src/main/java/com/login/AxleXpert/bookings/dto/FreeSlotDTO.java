@@ -0,0 +1,9 @@
+package com.login.AxleXpert.bookings.dto;
+
+/**
+ * A free [startAt, endAt) interval, formatted like BookingDTO's startAt/endAt.
+ */
+public record FreeSlotDTO(
+        String startAt,
+        String endAt
+) {}
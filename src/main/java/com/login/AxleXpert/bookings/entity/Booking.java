@@ -16,8 +16,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -26,11 +29,23 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_branch_status_created", columnList = "branch_id, status, created_at"),
+    @Index(name = "idx_bookings_branch_start", columnList = "branch_id, start_at")
+})
+@NamedEntityGraph(name = Booking.WITH_ASSOCIATIONS, attributeNodes = {
+    @NamedAttributeNode("customer"),
+    @NamedAttributeNode("branch"),
+    @NamedAttributeNode("service"),
+    @NamedAttributeNode("assignedEmployee")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
+    /** Loads every association BookingDTO reads, in the same select as the booking. */
+    public static final String WITH_ASSOCIATIONS = "Booking.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
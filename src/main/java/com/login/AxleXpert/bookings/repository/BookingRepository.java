@@ -1,23 +1,201 @@
 package com.login.AxleXpert.bookings.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.common.enums.BookingStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    boolean existsByBranch_IdAndStartAt(Long branchId, java.time.LocalDateTime startAt);
+
+    /** Rows the JDBC driver pulls per round trip while an export stream is open. */
+    String EXPORT_FETCH_SIZE = "500";
+
     boolean existsByCustomerId(Long customerId);
     boolean existsByAssignedEmployeeId(Long employeeId);
 
+    @EntityGraph(attributePaths = {"service", "branch"})
     List<Booking> findByCustomerId(Long customerId);
 
+    // Read paths that map to BookingDTO load all four associations up front instead of one select per row
+
+    @EntityGraph(Booking.WITH_ASSOCIATIONS)
+    @Query("SELECT b FROM Booking b")
+    List<Booking> findAllWithAssociations();
+
+    @EntityGraph(Booking.WITH_ASSOCIATIONS)
+    Optional<Booking> findWithAssociationsById(Long id);
+
+    @EntityGraph(attributePaths = {"service", "branch"})
+    @Query("SELECT b FROM Booking b WHERE b.createdAt IS NOT NULL ORDER BY b.createdAt DESC")
+    List<Booking> findRecent(Pageable pageable);
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.customer.id = :customerId AND b.status = :status")
     long countByCustomerIdAndStatus(@Param("customerId") Long customerId, @Param("status") BookingStatus status);
+
+    /**
+     * Active bookings in the branch whose [startAt, endAt) overlaps the given interval.
+     * Older rows without an end time are treated as occupying their start instant only.
+     */
+    @Query("SELECT b.id AS id, b.branch.id AS branchId, b.startAt AS startAt, b.endAt AS endAt FROM Booking b " +
+           "WHERE b.branch.id = :branchId AND b.status <> :cancelled " +
+           "AND b.startAt < :endAt AND (b.endAt > :startAt OR (b.endAt IS NULL AND b.startAt >= :startAt))")
+    List<BookedInterval> findOverlappingIntervals(@Param("branchId") Long branchId,
+                                                  @Param("startAt") LocalDateTime startAt,
+                                                  @Param("endAt") LocalDateTime endAt,
+                                                  @Param("cancelled") BookingStatus cancelled);
+
+    /**
+     * Every active booking with a branch that is still running or upcoming at {@code from}.
+     * Used to warm the in-memory availability index.
+     */
+    @Query("SELECT b.id AS id, b.branch.id AS branchId, b.startAt AS startAt, b.endAt AS endAt FROM Booking b " +
+           "WHERE b.branch IS NOT NULL AND b.startAt IS NOT NULL AND b.status <> :cancelled " +
+           "AND (b.endAt > :from OR b.startAt >= :from)")
+    List<BookedInterval> findActiveIntervalsFrom(@Param("from") LocalDateTime from,
+                                                 @Param("cancelled") BookingStatus cancelled);
+
+    /**
+     * Same as findActiveIntervalsFrom for one branch. Used to reload a branch's schedule.
+     */
+    @Query("SELECT b.id AS id, b.branch.id AS branchId, b.startAt AS startAt, b.endAt AS endAt FROM Booking b " +
+           "WHERE b.branch.id = :branchId AND b.startAt IS NOT NULL AND b.status <> :cancelled " +
+           "AND (b.endAt > :from OR b.startAt >= :from)")
+    List<BookedInterval> findActiveIntervalsForBranchFrom(@Param("branchId") Long branchId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("cancelled") BookingStatus cancelled);
+
+    @Query("SELECT COUNT(DISTINCT b.customerName) FROM Booking b WHERE b.createdAt >= :since")
+    long countDistinctCustomerNamesCreatedSince(@Param("since") LocalDateTime since);
+
+    // Keyset pagination - the cursor is the last id of the previous page, so deep pages cost the same as the first
+
+    @EntityGraph(Booking.WITH_ASSOCIATIONS)
+    @Query("SELECT b FROM Booking b ORDER BY b.id")
+    List<Booking> findPageWithAssociations(Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ASSOCIATIONS)
+    @Query("SELECT b FROM Booking b WHERE b.id > :afterId ORDER BY b.id")
+    List<Booking> findPageWithAssociationsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Streams bookings created in [from, to) in id order. Must be consumed inside a transaction and closed;
+     * callers detach each row once written so the persistence context stays small.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(Booking.WITH_ASSOCIATIONS)
+    @Query("SELECT b FROM Booking b WHERE b.createdAt >= :from AND b.createdAt < :to ORDER BY b.id")
+    Stream<Booking> streamCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Branch-scoped dashboard aggregates - served by idx_bookings_branch_status_created
+
+    @Query("SELECT SUM(CASE WHEN b.status = :approved AND b.createdAt >= :monthStart THEN b.totalPrice END) AS revenueThisMonth, " +
+           "SUM(CASE WHEN b.status = :approved AND b.createdAt >= :lastMonthStart AND b.createdAt < :monthStart THEN b.totalPrice END) AS revenueLastMonth, " +
+           "COUNT(CASE WHEN b.status = :approved THEN 1 END) AS approved, " +
+           "COUNT(CASE WHEN b.status = :pending THEN 1 END) AS pending, " +
+           "COUNT(CASE WHEN b.createdAt > :weekStart THEN 1 END) AS createdThisWeek, " +
+           "COUNT(CASE WHEN b.createdAt >= :dayStart THEN 1 END) AS createdToday, " +
+           "COUNT(DISTINCT b.customer.id) AS customers, " +
+           "COUNT(DISTINCT CASE WHEN b.createdAt > :weekStart THEN b.customer.id END) AS customersThisWeek, " +
+           "COUNT(DISTINCT CASE WHEN b.createdAt >= :dayStart THEN b.customer.id END) AS customersToday " +
+           "FROM Booking b WHERE b.branch.id = :branchId")
+    BranchBookingSummary summarizeBranch(@Param("branchId") Long branchId,
+                                         @Param("approved") BookingStatus approved,
+                                         @Param("pending") BookingStatus pending,
+                                         @Param("monthStart") LocalDateTime monthStart,
+                                         @Param("lastMonthStart") LocalDateTime lastMonthStart,
+                                         @Param("weekStart") LocalDateTime weekStart,
+                                         @Param("dayStart") LocalDateTime dayStart);
+
+    @Query("SELECT COUNT(b) AS bookings, " +
+           "COUNT(CASE WHEN b.status = :approved THEN 1 END) AS approved, " +
+           "SUM(CASE WHEN b.status = :approved THEN b.totalPrice END) AS revenue " +
+           "FROM Booking b WHERE b.branch.id = :branchId")
+    BranchBookingTotals summarizeBranchTotals(@Param("branchId") Long branchId, @Param("approved") BookingStatus approved);
+
+    @Query("SELECT YEAR(b.createdAt) AS bookingYear, MONTH(b.createdAt) AS bookingMonth, COUNT(b) AS bookings, " +
+           "SUM(CASE WHEN b.status = :approved THEN b.totalPrice END) AS revenue " +
+           "FROM Booking b WHERE b.branch.id = :branchId AND b.createdAt >= :from AND b.createdAt < :to " +
+           "GROUP BY YEAR(b.createdAt), MONTH(b.createdAt)")
+    List<MonthlyBookingTotals> summarizeBranchByMonth(@Param("branchId") Long branchId,
+                                                      @Param("approved") BookingStatus approved,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.name AS serviceName, COUNT(b) AS bookings FROM Booking b JOIN b.service s " +
+           "WHERE b.branch.id = :branchId GROUP BY s.name ORDER BY COUNT(b) DESC")
+    List<ServiceBookingCount> countBranchBookingsByService(@Param("branchId") Long branchId);
+
+    @EntityGraph(attributePaths = {"service", "branch"})
+    @Query("SELECT b FROM Booking b WHERE b.branch.id = :branchId AND b.createdAt IS NOT NULL ORDER BY b.createdAt DESC")
+    List<Booking> findRecentByBranchId(@Param("branchId") Long branchId, Pageable pageable);
+
+    /**
+     * Single-row booking summary for one branch. Sums are null when the branch has no matching bookings.
+     */
+    interface BranchBookingSummary {
+        Number getRevenueThisMonth();
+        Number getRevenueLastMonth();
+        Number getApproved();
+        Number getPending();
+        Number getCreatedThisWeek();
+        Number getCreatedToday();
+        Number getCustomers();
+        Number getCustomersThisWeek();
+        Number getCustomersToday();
+    }
+
+    /**
+     * All-time booking count, approved bookings and approved revenue for one branch.
+     */
+    interface BranchBookingTotals {
+        Number getBookings();
+        Number getApproved();
+        Number getRevenue();
+    }
+
+    /**
+     * Booking count and approved revenue for one calendar month.
+     */
+    interface MonthlyBookingTotals {
+        Number getBookingYear();
+        Number getBookingMonth();
+        Number getBookings();
+        Number getRevenue();
+    }
+
+    /**
+     * The time a booking occupies at its branch. endAt is null on rows created before end times were stored.
+     */
+    interface BookedInterval {
+        Long getId();
+        Long getBranchId();
+        LocalDateTime getStartAt();
+        LocalDateTime getEndAt();
+    }
+
+    /**
+     * Number of bookings made for one service.
+     */
+    interface ServiceBookingCount {
+        String getServiceName();
+        Number getBookings();
+    }
 }
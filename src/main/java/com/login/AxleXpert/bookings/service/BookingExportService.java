@@ -0,0 +1,72 @@
+package com.login.AxleXpert.bookings.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes bookings as newline-delimited JSON, one booking per line.
+ * Rows are streamed from the database and detached as soon as they are written,
+ * so memory use stays flat no matter how long the exported range is.
+ */
+@Service
+public class BookingExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportService.class);
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public BookingExportService(BookingRepository bookingRepository, BookingService bookingService,
+                                EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams every booking created in [from, to) to {@code out} and returns the number written.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Export range must have 'from' before 'to'");
+        }
+
+        long written = 0;
+        // The generator must not close the servlet stream; Spring completes the response
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             Stream<Booking> bookings = bookingRepository.streamCreatedBetween(from, to)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Booking> rows = bookings.iterator();
+            while (rows.hasNext()) {
+                Booking booking = rows.next();
+                objectMapper.writeValue(generator, bookingService.toDto(booking));
+                generator.writeRaw('\n');
+                entityManager.detach(booking);
+                written++;
+            }
+            generator.flush();
+        }
+        log.info("Exported {} bookings created between {} and {}", written, from, to);
+        return written;
+    }
+}
@@ -4,44 +4,55 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Services.repository.ServiceRepository;
 import com.login.AxleXpert.Tasks.service.TaskService;
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
 import com.login.AxleXpert.bookings.dto.BookingDTO;
+import com.login.AxleXpert.bookings.dto.BookingPageDTO;
 import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
 import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 import com.login.AxleXpert.notifications.service.NotificationService;
 
 @Service
 @Transactional
 public class BookingService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final TaskService taskService;
-    private final BranchRepository branchRepository;
     private final ServiceRepository serviceRepository;
     private final NotificationService notificationService;
+    private final DashboardRollupService dashboardRollupService;
+    private final SlotReservationService slotReservationService;
+    private final BranchAvailabilityIndex availabilityIndex;
 
     public BookingService(BookingRepository bookingRepository, UserRepository userRepository, TaskService taskService,
-                          BranchRepository branchRepository, ServiceRepository serviceRepository, NotificationService notificationService) {
+                          ServiceRepository serviceRepository, NotificationService notificationService,
+                          DashboardRollupService dashboardRollupService, SlotReservationService slotReservationService,
+                          BranchAvailabilityIndex availabilityIndex) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.taskService = taskService;
-        this.branchRepository = branchRepository;
         this.serviceRepository = serviceRepository;
         this.notificationService = notificationService;
+        this.dashboardRollupService = dashboardRollupService;
+        this.slotReservationService = slotReservationService;
+        this.availabilityIndex = availabilityIndex;
     }
 
     @Transactional(readOnly = true)
     public List<BookingDTO> getAllBookings() {
-        return bookingRepository.findAll()
+        return bookingRepository.findAllWithAssociations()
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
@@ -49,18 +60,43 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public List<BookingDTO> getAllBookings(Integer count) {
-        List<BookingDTO> dtos = getAllBookings();
-        
         if (count != null && count > 0) {
-            int n = Math.max(0, Math.min(dtos.size(), count));
-            return dtos.subList(0, n);
+            // Limit in SQL instead of loading the whole table and cutting the list
+            return bookingRepository.findPageWithAssociations(PageRequest.of(0, count))
+                    .stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+        return getAllBookings();
+    }
+
+    /**
+     * Returns up to {@code size} bookings with an id greater than {@code afterId}, in id order.
+     * A null cursor starts from the beginning.
+     */
+    @Transactional(readOnly = true)
+    public BookingPageDTO getBookingPage(Long afterId, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
-        return dtos;
+        // Fetch one extra row to learn whether another page exists without a count query
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Booking> rows = afterId == null
+                ? bookingRepository.findPageWithAssociations(limit)
+                : bookingRepository.findPageWithAssociationsAfter(afterId, limit);
+
+        boolean hasMore = rows.size() > size;
+        List<BookingDTO> items = rows.stream()
+                .limit(size)
+                .map(this::toDto)
+                .collect(Collectors.toList());
+        Long nextCursor = hasMore ? items.get(items.size() - 1).id() : null;
+        return new BookingPageDTO(items, nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
     public Optional<BookingDTO> getBookingById(Long id) {
-        return bookingRepository.findById(id)
+        return bookingRepository.findWithAssociationsById(id)
                 .map(this::toDto);
     }
 
@@ -90,10 +126,12 @@ public class BookingService {
             throw new IllegalArgumentException("User with id " + employeeId + " is not an employee");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setAssignedEmployee(employee);
         booking.setStatus(BookingStatus.APPROVED);
         
         Booking savedBooking = bookingRepository.save(booking);
+        dashboardRollupService.recordBookingStatusChange(savedBooking, previousStatus, BookingStatus.APPROVED);
         
         taskService.createTaskForBooking(bookingId, employeeId);
   
@@ -118,6 +156,7 @@ public class BookingService {
             throw new IllegalStateException("Booking is already rejected/cancelled");
         }
         
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         
         String existingNotes = booking.getNotes() != null ? booking.getNotes() : "";
@@ -140,16 +179,25 @@ public class BookingService {
         booking.setNotes(updatedNotes.toString());
         
         Booking savedBooking = bookingRepository.save(booking);
+        dashboardRollupService.recordBookingStatusChange(savedBooking, previousStatus, BookingStatus.CANCELLED);
+        availabilityIndex.recordReleased(savedBooking);
         return Optional.of(toDto(savedBooking));
     }
 
     public boolean deleteBooking(Long bookingId) {
         var bookingOpt = bookingRepository.findById(bookingId);
         if (bookingOpt.isEmpty()) return false;
+        dashboardRollupService.recordBookingDeleted(bookingOpt.get());
+        availabilityIndex.recordReleased(bookingOpt.get());
         bookingRepository.delete(bookingOpt.get());
         return true;
     }
 
+    /**
+     * Runs at READ COMMITTED so the overlap check reads bookings committed while this
+     * request waited for the branch lock; see SlotReservationService.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public BookingDTO createBooking(BookingDTO dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Booking data is required");
@@ -174,14 +222,9 @@ public class BookingService {
             startAt = parseDateTime(dto.startAt());
         }
 
-        if (bookingRepository.existsByBranch_IdAndStartAt(dto.branchId(), startAt)) {
-            throw new IllegalStateException("Booking slot already taken for this branch and time");
-        }
-
-        var branchOpt = branchRepository.findById(dto.branchId());
-        if (branchOpt.isEmpty()) {
-            throw new IllegalArgumentException("Branch not found with id: " + dto.branchId());
-        }
+        // Lock the branch before any other read, so the overlap check sees every booking
+        // committed by the request this one waited for
+        var branch = slotReservationService.lockBranch(dto.branchId());
 
         var serviceOpt = serviceRepository.findById(dto.serviceId());
         if (serviceOpt.isEmpty()) {
@@ -193,18 +236,24 @@ public class BookingService {
             throw new IllegalArgumentException("Customer not found with id: " + dto.customerId());
         }
 
+        // Checks the peak overlap against branch capacity; the lock is held until this transaction commits
+        java.time.LocalDateTime endAt = slotReservationService.reserve(branch, startAt, serviceOpt.get());
+
         Booking booking = new Booking();
         booking.setCustomer(customerOpt.get());
         booking.setCustomerName(dto.customerName() != null ? dto.customerName() : dto.customerId().toString());
         booking.setCustomerPhone(dto.customerPhone());
         booking.setVehicle(dto.vehicle());
-        booking.setBranch(branchOpt.get());
+        booking.setBranch(branch);
         booking.setService(serviceOpt.get());
         booking.setStartAt(startAt);
+        booking.setEndAt(endAt);
         booking.setStatus(BookingStatus.PENDING);
         booking.setNotes(dto.notes());
 
         Booking saved = bookingRepository.save(booking);
+        dashboardRollupService.recordBookingCreated(saved);
+        availabilityIndex.recordBooked(saved);
 
         return toDto(saved);
     }
@@ -229,7 +278,7 @@ public class BookingService {
         }
     }
 
-    private BookingDTO toDto(Booking b) {
+    BookingDTO toDto(Booking b) {
         Long customerId = b.getCustomer() != null ? b.getCustomer().getId() : null;
         Long branchId = b.getBranch() != null ? b.getBranch().getId() : null;
         Long serviceId = b.getService() != null ? b.getService().getId() : null;
@@ -0,0 +1,309 @@
+package com.login.AxleXpert.bookings.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Services.repository.ServiceRepository;
+import com.login.AxleXpert.bookings.dto.AvailabilityDTO;
+import com.login.AxleXpert.bookings.dto.FreeSlotDTO;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BookedInterval;
+import com.login.AxleXpert.common.enums.BookingStatus;
+
+/**
+ * In-memory index of booked intervals per branch, used to answer free-slot searches
+ * without querying the database.
+ *
+ * The index is loaded on startup and then follows this instance's BookingService: bookings
+ * are added when created and removed when rejected or deleted, each after its transaction
+ * commits. Bookings made through another instance do not reach it that way, so a search
+ * reloads the branch's schedule from the database when it was last loaded more than
+ * booking.availability.reload-seconds ago. A slot booked elsewhere can therefore be offered
+ * for at most that long; 0 reloads on every search.
+ *
+ * Like the startup load, it only keeps bookings from today on: each add also drops the
+ * branch's bookings that ended before today, so a schedule does not grow with history.
+ * It is only a search aid - SlotReservationService still decides whether a booking fits.
+ * Branch hours, capacity and service durations are cached for a short TTL.
+ */
+@Service
+public class BranchAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BranchAvailabilityIndex.class);
+
+    private static final LocalTime DEFAULT_OPEN = LocalTime.of(8, 0);
+    private static final LocalTime DEFAULT_CLOSE = LocalTime.of(18, 0);
+    private static final DateTimeFormatter TWELVE_HOUR = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("h:mm a")
+            .toFormatter(Locale.ENGLISH);
+    private static final BranchSchedule EMPTY = new BranchSchedule();
+
+    private final BookingRepository bookingRepository;
+    private final BranchRepository branchRepository;
+    private final ServiceRepository serviceRepository;
+    private final SlotReservationService slotReservationService;
+    private final int slotStepMinutes;
+    private final long metadataTtlNanos;
+    private final long reloadNanos;
+    private final LongSupplier clock;
+
+    private final Map<Long, BranchSchedule> schedules = new ConcurrentHashMap<>();
+    // When each branch's schedule was last read from the database, by clock
+    private final Map<Long, Long> scheduleLoadedAt = new ConcurrentHashMap<>();
+    private final Map<Long, Cached<BranchHours>> branchHours = new ConcurrentHashMap<>();
+    private final Map<Long, Cached<Integer>> serviceDurations = new ConcurrentHashMap<>();
+
+    public BranchAvailabilityIndex(BookingRepository bookingRepository,
+                                   BranchRepository branchRepository,
+                                   ServiceRepository serviceRepository,
+                                   SlotReservationService slotReservationService,
+                                   @Value("${booking.availability.slot-step-minutes:15}") int slotStepMinutes,
+                                   @Value("${booking.availability.metadata-ttl-seconds:300}") long metadataTtlSeconds,
+                                   @Value("${booking.availability.reload-seconds:30}") long reloadSeconds) {
+        this(bookingRepository, branchRepository, serviceRepository, slotReservationService,
+                slotStepMinutes, metadataTtlSeconds, reloadSeconds, System::nanoTime);
+    }
+
+    BranchAvailabilityIndex(BookingRepository bookingRepository,
+                            BranchRepository branchRepository,
+                            ServiceRepository serviceRepository,
+                            SlotReservationService slotReservationService,
+                            int slotStepMinutes,
+                            long metadataTtlSeconds,
+                            long reloadSeconds,
+                            LongSupplier clock) {
+        this.bookingRepository = bookingRepository;
+        this.branchRepository = branchRepository;
+        this.serviceRepository = serviceRepository;
+        this.slotReservationService = slotReservationService;
+        this.slotStepMinutes = slotStepMinutes;
+        this.metadataTtlNanos = TimeUnit.SECONDS.toNanos(metadataTtlSeconds);
+        this.reloadNanos = TimeUnit.SECONDS.toNanos(reloadSeconds);
+        this.clock = clock;
+    }
+
+    /**
+     * Loads every active booking that has not finished yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warm() {
+        int loaded = 0;
+        long loadedAt = clock.getAsLong();
+        LocalDateTime from = LocalDate.now().atStartOfDay();
+        for (BookedInterval interval : bookingRepository.findActiveIntervalsFrom(from, BookingStatus.CANCELLED)) {
+            add(scheduleFor(interval.getBranchId()), interval);
+            scheduleLoadedAt.put(interval.getBranchId(), loadedAt);
+            loaded++;
+        }
+        log.info("Availability index warmed with {} bookings across {} branches", loaded, schedules.size());
+    }
+
+    /**
+     * Adds the booking to its branch once the current transaction commits.
+     */
+    public void recordBooked(Booking booking) {
+        if (booking.getId() == null || booking.getBranch() == null || booking.getStartAt() == null
+                || booking.getStatus() == BookingStatus.CANCELLED) {
+            return;
+        }
+        long bookingId = booking.getId();
+        Long branchId = booking.getBranch().getId();
+        long start = startMinute(booking.getStartAt());
+        long end = endMinute(booking.getStartAt(), booking.getEndAt());
+        afterCommit(() -> {
+            BranchSchedule schedule = scheduleFor(branchId);
+            schedule.add(bookingId, start, end);
+            schedule.removeEndedBy(startOfToday());
+        });
+    }
+
+    /**
+     * Frees the booking's interval once the current transaction commits.
+     */
+    public void recordReleased(Booking booking) {
+        if (booking.getId() == null || booking.getBranch() == null) {
+            return;
+        }
+        long bookingId = booking.getId();
+        Long branchId = booking.getBranch().getId();
+        afterCommit(() -> {
+            BranchSchedule schedule = schedules.get(branchId);
+            if (schedule != null) {
+                schedule.remove(bookingId);
+            }
+        });
+    }
+
+    /**
+     * Free start times for the service at the branch on the given day, within opening hours
+     * and not in the past.
+     */
+    public AvailabilityDTO findFreeSlots(Long branchId, Long serviceId, LocalDate date) {
+        if (branchId == null || serviceId == null || date == null) {
+            throw new IllegalArgumentException("branchId, serviceId and date are required");
+        }
+        BranchHours hours = branchHours(branchId);
+        int duration = serviceDuration(serviceId);
+
+        long open = startMinute(date.atTime(hours.open()));
+        long close = startMinute(date.atTime(hours.close()));
+        long now = startMinute(LocalDateTime.now()) + 1;
+        long from = open;
+        if (from < now) {
+            // Keep the slot grid aligned to opening time
+            from += Math.ceilDiv(now - open, slotStepMinutes) * (long) slotStepMinutes;
+        }
+
+        List<FreeSlotDTO> slots = new ArrayList<>();
+        if (from < close) {
+            BranchSchedule schedule = currentSchedule(branchId);
+            for (long start : schedule.freeStarts(from, close, duration, slotStepMinutes, hours.capacity())) {
+                slots.add(new FreeSlotDTO(toDateTime(start).toString(), toDateTime(start + duration).toString()));
+            }
+        }
+        return new AvailabilityDTO(branchId, serviceId, date, duration, slots);
+    }
+
+    private BranchSchedule scheduleFor(Long branchId) {
+        return schedules.computeIfAbsent(branchId, id -> new BranchSchedule());
+    }
+
+    /**
+     * The branch's schedule, first reloaded from the database when it is older than
+     * reload-seconds, so bookings made through other instances show up.
+     */
+    private BranchSchedule currentSchedule(Long branchId) {
+        Long loadedAt = scheduleLoadedAt.get(branchId);
+        long now = clock.getAsLong();
+        if (loadedAt != null && now - loadedAt < reloadNanos) {
+            return schedules.getOrDefault(branchId, EMPTY);
+        }
+        BranchSchedule reloaded = new BranchSchedule();
+        for (BookedInterval interval : bookingRepository.findActiveIntervalsForBranchFrom(
+                branchId, LocalDate.now().atStartOfDay(), BookingStatus.CANCELLED)) {
+            add(reloaded, interval);
+        }
+        schedules.put(branchId, reloaded);
+        scheduleLoadedAt.put(branchId, now);
+        return reloaded;
+    }
+
+    private static void add(BranchSchedule schedule, BookedInterval interval) {
+        schedule.add(interval.getId(), startMinute(interval.getStartAt()), endMinute(interval.getStartAt(), interval.getEndAt()));
+    }
+
+    private BranchHours branchHours(Long branchId) {
+        Cached<BranchHours> cached = branchHours.get(branchId);
+        if (cached != null && !cached.isExpired(clock.getAsLong(), metadataTtlNanos)) {
+            return cached.value();
+        }
+        Branch branch = branchRepository.findById(branchId)
+                .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + branchId));
+        BranchHours hours = new BranchHours(
+                parseTime(branch.getOpenHours(), DEFAULT_OPEN),
+                parseTime(branch.getCloseHours(), DEFAULT_CLOSE),
+                slotReservationService.capacity(branch));
+        branchHours.put(branchId, new Cached<>(hours, clock.getAsLong()));
+        return hours;
+    }
+
+    private int serviceDuration(Long serviceId) {
+        Cached<Integer> cached = serviceDurations.get(serviceId);
+        if (cached != null && !cached.isExpired(clock.getAsLong(), metadataTtlNanos)) {
+            return cached.value();
+        }
+        var service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new IllegalArgumentException("Service not found with id: " + serviceId));
+        int duration = slotReservationService.durationMinutes(service);
+        serviceDurations.put(serviceId, new Cached<>(duration, clock.getAsLong()));
+        return duration;
+    }
+
+    private static LocalTime parseTime(String value, LocalTime fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String s = value.trim();
+        try {
+            return LocalTime.parse(s);
+        } catch (DateTimeParseException ex) {
+            try {
+                return LocalTime.parse(s, TWELVE_HOUR);
+            } catch (DateTimeParseException ex2) {
+                log.debug("Unrecognised branch hours '{}', using {}", s, fallback);
+                return fallback;
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long startOfToday() {
+        return startMinute(LocalDate.now().atStartOfDay());
+    }
+
+    static long startMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * End minute rounded up; rows without an end time occupy their start minute only,
+     * matching BookingRepository.findOverlappingIntervals.
+     */
+    static long endMinute(LocalDateTime start, LocalDateTime end) {
+        if (end == null || !end.isAfter(start)) {
+            return startMinute(start) + 1;
+        }
+        return Math.ceilDiv(end.toEpochSecond(ZoneOffset.UTC) + (end.getNano() > 0 ? 1 : 0), 60);
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private record BranchHours(LocalTime open, LocalTime close, int capacity) {}
+
+    private record Cached<T>(T value, long loadedAt) {
+        boolean isExpired(long now, long ttlNanos) {
+            return now - loadedAt > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.login.AxleXpert.bookings.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked [start, end) intervals of one branch, kept sorted by start in parallel arrays.
+ *
+ * Times are whole minutes since the epoch. Adding or removing a booking binary searches
+ * its position and shifts the tail of the arrays; a free-slot search binary searches to
+ * the requested window and only visits the bookings that can overlap it.
+ */
+final class BranchSchedule {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> startById = new HashMap<>();
+
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /** Longest booking ever added; bounds how far before a window a search has to look. */
+    private long longest;
+
+    /**
+     * Adds or moves a booking. Adding the same id twice keeps a single entry.
+     */
+    void add(long bookingId, long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Booking interval must end after it starts");
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookingId);
+            if (size == starts.length) {
+                int grown = size + (size >> 1);
+                starts = Arrays.copyOf(starts, grown);
+                ends = Arrays.copyOf(ends, grown);
+                ids = Arrays.copyOf(ids, grown);
+            }
+            int at = upperBound(start);
+            int tail = size - at;
+            System.arraycopy(starts, at, starts, at + 1, tail);
+            System.arraycopy(ends, at, ends, at + 1, tail);
+            System.arraycopy(ids, at, ids, at + 1, tail);
+            starts[at] = start;
+            ends[at] = end;
+            ids[at] = bookingId;
+            size++;
+            startById.put(bookingId, start);
+            longest = Math.max(longest, end - start);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a booking, returning false when it was not in the schedule.
+     */
+    boolean remove(long bookingId) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(bookingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every booking that ended at or before {@code minute}, returning how many.
+     * Only bookings starting before the minute are visited, so once a day's ended bookings
+     * are gone a call costs no more than the few bookings still running across it.
+     */
+    int removeEndedBy(long minute) {
+        lock.writeLock().lock();
+        try {
+            int candidates = lowerBound(minute);
+            int kept = 0;
+            for (int i = 0; i < candidates; i++) {
+                if (ends[i] > minute) {
+                    starts[kept] = starts[i];
+                    ends[kept] = ends[i];
+                    ids[kept] = ids[i];
+                    kept++;
+                } else {
+                    startById.remove(ids[i]);
+                }
+            }
+            int removed = candidates - kept;
+            if (removed > 0) {
+                int tail = size - candidates;
+                System.arraycopy(starts, candidates, starts, kept, tail);
+                System.arraycopy(ends, candidates, ends, kept, tail);
+                System.arraycopy(ids, candidates, ids, kept, tail);
+                size -= removed;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Start minutes in [from, to), {@code step} minutes apart, at which a booking of
+     * {@code duration} minutes fits before {@code to} while fewer than {@code capacity}
+     * bookings are running at every minute it covers.
+     */
+    long[] freeStarts(long from, long to, int duration, int step, int capacity) {
+        int window = (int) (to - from);
+        if (window < duration || duration <= 0 || step <= 0) {
+            return new long[0];
+        }
+
+        int[] delta = occupancyChanges(from, to);
+
+        // fullBefore[m] = number of fully booked minutes in [from, from + m)
+        int[] fullBefore = new int[window + 1];
+        int running = 0;
+        for (int m = 0; m < window; m++) {
+            running += delta[m];
+            fullBefore[m + 1] = fullBefore[m] + (running >= capacity ? 1 : 0);
+        }
+
+        long[] free = new long[(window - duration) / step + 1];
+        int found = 0;
+        for (int m = 0; m + duration <= window; m += step) {
+            if (fullBefore[m + duration] == fullBefore[m]) {
+                free[found++] = from + m;
+            }
+        }
+        return Arrays.copyOf(free, found);
+    }
+
+    /**
+     * Highest number of bookings running at once during any minute of [from, to). A booking
+     * fits in the window when this is below the branch capacity - the same rule freeStarts
+     * applies to every minute of a candidate slot.
+     */
+    int peakOccupancy(long from, long to) {
+        if (to <= from) {
+            return 0;
+        }
+        int[] delta = occupancyChanges(from, to);
+        int running = 0;
+        int peak = 0;
+        for (int m = 0; m < delta.length - 1; m++) {
+            running += delta[m];
+            peak = Math.max(peak, running);
+        }
+        return peak;
+    }
+
+    /**
+     * Difference array over [from, to): +1 at the minute a booking starts, -1 where it ends.
+     */
+    private int[] occupancyChanges(long from, long to) {
+        int[] delta = new int[(int) (to - from) + 1];
+        lock.readLock().lock();
+        try {
+            for (int i = lowerBound(from - longest); i < size && starts[i] < to; i++) {
+                long start = Math.max(starts[i], from);
+                long end = Math.min(ends[i], to);
+                if (start < end) {
+                    delta[(int) (start - from)]++;
+                    delta[(int) (end - from)]--;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return delta;
+    }
+
+    private boolean removeLocked(long bookingId) {
+        Long start = startById.remove(bookingId);
+        if (start == null) {
+            return false;
+        }
+        for (int i = lowerBound(start); i < size && starts[i] == start; i++) {
+            if (ids[i] == bookingId) {
+                int tail = size - i - 1;
+                System.arraycopy(starts, i + 1, starts, i, tail);
+                System.arraycopy(ends, i + 1, ends, i, tail);
+                System.arraycopy(ids, i + 1, ids, i, tail);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** First index whose start is >= {@code value}. */
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First index whose start is > {@code value}. */
+    private int upperBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,98 @@
+package com.login.AxleXpert.bookings.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BookedInterval;
+import com.login.AxleXpert.common.enums.BookingStatus;
+
+/**
+ * Decides whether a branch can take another booking for a time interval.
+ *
+ * A branch can run as many bookings at once as it has employees (at least one). A booking
+ * fits when fewer than that many are running at every minute it covers - the peak, not the
+ * number of bookings touching the interval - which is the rule BranchSchedule.freeStarts
+ * uses to offer slots, so an offered slot is also accepted.
+ *
+ * Requests for the same branch are serialized by a row lock on the branch (FOR UPDATE),
+ * taken by lockBranch before the transaction reads anything else and held until it commits.
+ * The overlap query after the lock must see the bookings committed by the transaction it
+ * waited on. Under MySQL's default REPEATABLE READ a plain read only sees the snapshot taken
+ * at the transaction's first read, so BookingService.createBooking runs at READ COMMITTED,
+ * where each statement reads the latest committed rows. The lock is held in the database,
+ * so this also holds when several application instances share it.
+ */
+@Service
+public class SlotReservationService {
+
+    private final BranchRepository branchRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final int defaultDurationMinutes;
+
+    public SlotReservationService(BranchRepository branchRepository,
+                                  BookingRepository bookingRepository,
+                                  UserRepository userRepository,
+                                  @Value("${booking.slots.default-duration-minutes:60}") int defaultDurationMinutes) {
+        this.branchRepository = branchRepository;
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.defaultDurationMinutes = defaultDurationMinutes;
+    }
+
+    /**
+     * Locks the branch row until the current transaction ends and returns the branch.
+     * Call it before any other read of the transaction that saves the booking.
+     *
+     * @throws IllegalArgumentException when the branch does not exist
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Branch lockBranch(Long branchId) {
+        return branchRepository.findByIdForUpdate(branchId)
+                .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + branchId));
+    }
+
+    /**
+     * Reserves [startAt, startAt + service duration) at a branch locked by lockBranch and
+     * returns the end time. Must be called in the transaction that saves the booking.
+     *
+     * @throws IllegalStateException when every bay in the branch is already booked for part of the interval
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public LocalDateTime reserve(Branch branch, LocalDateTime startAt, com.login.AxleXpert.Services.entity.Service service) {
+        LocalDateTime endAt = startAt.plusMinutes(durationMinutes(service));
+        BranchSchedule overlapping = new BranchSchedule();
+        for (BookedInterval interval : bookingRepository.findOverlappingIntervals(
+                branch.getId(), startAt, endAt, BookingStatus.CANCELLED)) {
+            overlapping.add(interval.getId(), BranchAvailabilityIndex.startMinute(interval.getStartAt()),
+                    BranchAvailabilityIndex.endMinute(interval.getStartAt(), interval.getEndAt()));
+        }
+        int peak = overlapping.peakOccupancy(BranchAvailabilityIndex.startMinute(startAt),
+                BranchAvailabilityIndex.endMinute(startAt, endAt));
+        if (peak >= capacity(branch)) {
+            throw new IllegalStateException("Booking slot already taken for this branch and time");
+        }
+        return endAt;
+    }
+
+    /**
+     * Number of bookings the branch can serve at the same time.
+     */
+    public int capacity(Branch branch) {
+        long employees = userRepository.countByRoleIgnoreCaseAndBranch_Id("EMPLOYEE", branch.getId());
+        return (int) Math.max(1, employees);
+    }
+
+    public int durationMinutes(com.login.AxleXpert.Services.entity.Service service) {
+        Integer minutes = service != null ? service.getDurationMinutes() : null;
+        return minutes != null && minutes > 0 ? minutes : defaultDurationMinutes;
+    }
+}
@@ -4,15 +4,21 @@ import com.login.AxleXpert.chatbot.dto.ChatMessage;
 import com.login.AxleXpert.chatbot.service.ChatbotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 /**
  * WebSocket Controller for real-time chatbot interactions
  * Handles WebSocket connections and message broadcasting
+ *
+ * With chatbot.websocket.streaming answers are pushed as BOT_CHUNK messages while Gemini
+ * generates them, followed by the usual BOT message with the full text. It is off by
+ * default, since clients that do not know BOT_CHUNK would show the answer twice.
  */
 @Controller
 @RequiredArgsConstructor
@@ -22,6 +28,9 @@ public class ChatWebSocketController {
     private final ChatbotService chatbotService;
     private final SimpMessagingTemplate messagingTemplate;
 
+    @Value("${chatbot.websocket.streaming:false}")
+    private boolean streaming;
+
     /**
      * Handle incoming chat messages via WebSocket
      * @param sessionId The session ID for the chat
@@ -34,11 +43,18 @@ public class ChatWebSocketController {
         // Ensure session ID is set
         message.setSessionId(sessionId);
 
-        // Process the message and send response back to the specific session
-        chatbotService.processMessage(message)
+        // Process the message and send the response (or its pieces) back to the specific session
+        Flux<ChatMessage> responses = streaming
+                ? chatbotService.streamMessage(message)
+                : chatbotService.processMessage(message).flux();
+        responses
                 .subscribe(
                     response -> {
-                        log.info("Sending WebSocket response for session {}", sessionId);
+                        if (response.getType() == ChatMessage.MessageType.BOT_CHUNK) {
+                            log.debug("Sending WebSocket response chunk for session {}", sessionId);
+                        } else {
+                            log.info("Sending WebSocket response for session {}", sessionId);
+                        }
                         messagingTemplate.convertAndSend("/topic/chat/" + sessionId, response);
                     },
                     error -> {
@@ -14,7 +14,8 @@ import lombok.NoArgsConstructor;
 public class ChatMessage {
 
     /**
-     * Type of message - USER for user messages, BOT for bot responses, SYSTEM for system messages
+     * Type of message - USER for user messages, BOT for bot responses, BOT_CHUNK for part of a
+     * streamed bot response, SYSTEM for system messages
      */
     private MessageType type;
 
@@ -54,6 +55,7 @@ public class ChatMessage {
     public enum MessageType {
         USER,    // Message from user
         BOT,     // Response from chatbot
+        BOT_CHUNK, // Next piece of a streamed response; a BOT message with the full text follows
         SYSTEM,  // System messages (connection status, errors, etc.)
         TYPING   // Typing indicator
     }
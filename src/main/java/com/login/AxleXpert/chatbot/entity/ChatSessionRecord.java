@@ -0,0 +1,37 @@
+package com.login.AxleXpert.chatbot.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One chat session shared between replicas when chatbot.session.store=jdbc.
+ * The entity only defines the table; rows are written in batches by JdbcSessionStore
+ * and never edited through this entity.
+ */
+@Entity
+@Table(name = "chat_sessions",
+       indexes = @Index(name = "idx_chat_sessions_last_activity", columnList = "last_activity"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSessionRecord {
+    @Id
+    @Column(name = "session_id", length = 255)
+    private String sessionId;
+
+    /** SessionContext.toBytes(): deflated history, preferences and timestamps. */
+    @Column(name = "history", nullable = false, length = 1_048_576)
+    private byte[] history;
+
+    /** Epoch millis of the last message, used to expire idle sessions. */
+    @Column(name = "last_activity", nullable = false)
+    private long lastActivity;
+}
@@ -0,0 +1,93 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps concurrent calls to an upstream at a limit that adapts to how the upstream copes
+ * (additive increase, multiplicative decrease).
+ *
+ * A call over the limit is refused at once instead of queueing behind calls that are
+ * already slow. Each call that succeeds within {@code slowCallMillis} raises the limit
+ * by 1/limit, about one per limit's worth of calls; a slow call, a timeout or an
+ * overload error multiplies it by {@code backoffRatio}. The limit stays within
+ * [minLimit, maxLimit].
+ *
+ * Metrics, under the given name: {name}.limit and {name}.in.flight.
+ */
+final class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long slowCallNanos;
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+
+    AimdLimiter(String name, MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit,
+                double backoffRatio, long slowCallMillis) {
+        if (minLimit <= 0 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings: min " + minLimit
+                    + ", max " + maxLimit + ", backoff ratio " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        meterRegistry.gauge(name + ".limit", this, AimdLimiter::limit);
+        meterRegistry.gauge(name + ".in.flight", this, AimdLimiter::inFlight);
+    }
+
+    /**
+     * Takes a slot, or returns false when the limit is reached. Every true must be
+     * followed by exactly one of onSuccess, onDropped or onIgnored.
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > slowCallNanos) {
+            backOff();
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * The call timed out or the upstream said it is overloaded.
+     */
+    synchronized void onDropped() {
+        inFlight--;
+        backOff();
+    }
+
+    /**
+     * The call ended without telling anything about load (cancelled, or a client error).
+     */
+    synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void backOff() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
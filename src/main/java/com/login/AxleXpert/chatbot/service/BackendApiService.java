@@ -3,6 +3,8 @@ package com.login.AxleXpert.chatbot.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -21,17 +23,23 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Service for calling internal backend API endpoints
  * Provides methods to fetch data from various services for chatbot responses
+ *
+ * Remote mode only (chatbot.data-source=remote), for running the chatbot apart from
+ * the API; in-process calls are handled by InProcessChatDataService.
  */
 @Service
+@ConditionalOnProperty(name = "chatbot.data-source", havingValue = "remote")
 @Slf4j
-public class BackendApiService {
+public class BackendApiService implements ChatContextDataSource {
 
     private final RestTemplate restTemplate;
-    private final String baseUrl = "http://localhost:8080"; // Adjust if needed
+    private final String baseUrl;
 
     @Autowired
-    public BackendApiService(RestTemplate restTemplate) {
+    public BackendApiService(RestTemplate restTemplate,
+                             @Value("${chatbot.remote.base-url:http://localhost:8080}") String baseUrl) {
         this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
     }
 
     /**
@@ -48,6 +56,7 @@ public class BackendApiService {
     /**
      * Get all available services
      */
+    @Override
     public List<ServiceDTO> getAllServices(String accessToken) {
         try {
             String url = baseUrl + "/api/services";
@@ -70,6 +79,7 @@ public class BackendApiService {
     /**
      * Get all branches
      */
+    @Override
     public List<BranchDTO> getAllBranches(String accessToken) {
         try {
             String url = baseUrl + "/api/branches/all";
@@ -92,6 +102,7 @@ public class BackendApiService {
     /**
      * Get all managers
      */
+    @Override
     public List<UserDTO> getAllManagers(String accessToken) {
         try {
             String url = baseUrl + "/api/users/managers";
@@ -114,6 +125,7 @@ public class BackendApiService {
     /**
      * Get user's vehicles
      */
+    @Override
     public List<VehicleDTO> getUserVehicles(Long userId, String accessToken) {
         try {
             String url = baseUrl + "/api/vehicles/user/" + userId;
@@ -136,6 +148,7 @@ public class BackendApiService {
     /**
      * Get customer's tasks (in-progress services)
      */
+    @Override
     public List<TaskDTO> getCustomerTasks(Long customerId, String accessToken) {
         try {
             String url = baseUrl + "/api/tasks/customer/" + customerId;
@@ -0,0 +1,492 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over knowledge chunks, scored with Okapi BM25.
+ *
+ * Terms are sorted and numbered; each term keeps its posting list as parallel arrays of
+ * chunk ids and precomputed BM25 weights (IDF and length normalisation folded in), so a
+ * query only walks the postings of its own terms and keeps the best k in a bounded heap.
+ *
+ * Everything, including the chunk text, lives in one little-endian buffer laid out as
+ * below. A freshly built index keeps it on the heap; RagIndexSnapshot writes the same
+ * bytes to disk and maps them back read-only, so loading needs no parsing.
+ *
+ * <pre>
+ *   int   documentCount, termCount, postingCount, termBytesLength, chunkBytesLength
+ *   int   chunkOffsets[documentCount + 1]   into chunkBytes
+ *   int   termOffsets[termCount + 1]        into termBytes
+ *   int   postingStarts[termCount + 1]      into postingDocs / postingWeights
+ *   int   postingDocs[postingCount]
+ *   float postingWeights[postingCount]
+ *   byte  termBytes[termBytesLength]        sorted terms, ASCII
+ *   byte  chunkBytes[chunkBytesLength]      chunk text, UTF-8
+ * </pre>
+ *
+ * Immutable once built and safe to query from many threads.
+ */
+class Bm25Index {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    // Tokens of this length or shorter are ignored, as before
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int COUNTS_BYTES = 5 * Integer.BYTES;
+
+    private final ByteBuffer data;
+    private final int documentCount;
+    private final int termCount;
+    private final IntBuffer chunkOffsets;
+    private final IntBuffer termOffsets;
+    private final IntBuffer postingStarts;
+    private final IntBuffer postingDocs;
+    private final FloatBuffer postingWeights;
+    private final ByteBuffer termBytes;
+    private final ByteBuffer chunkBytes;
+    private final ThreadLocal<Scratch> scratch;
+
+    private Bm25Index(ByteBuffer data) {
+        this.data = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int position = 0;
+        documentCount = this.data.getInt(position);
+        termCount = this.data.getInt(position + 4);
+        int postingCount = this.data.getInt(position + 8);
+        int termBytesLength = this.data.getInt(position + 12);
+        int chunkBytesLength = this.data.getInt(position + 16);
+        position += COUNTS_BYTES;
+
+        chunkOffsets = ints(position, documentCount + 1);
+        position += (documentCount + 1) * Integer.BYTES;
+        termOffsets = ints(position, termCount + 1);
+        position += (termCount + 1) * Integer.BYTES;
+        postingStarts = ints(position, termCount + 1);
+        position += (termCount + 1) * Integer.BYTES;
+        postingDocs = ints(position, postingCount);
+        position += postingCount * Integer.BYTES;
+        postingWeights = this.data.slice(position, postingCount * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        position += postingCount * Float.BYTES;
+        termBytes = this.data.slice(position, termBytesLength);
+        position += termBytesLength;
+        chunkBytes = this.data.slice(position, chunkBytesLength);
+        position += chunkBytesLength;
+        if (position != this.data.limit()) {
+            throw new IllegalArgumentException("Index data has " + this.data.limit() + " bytes, layout needs " + position);
+        }
+
+        int documents = documentCount;
+        scratch = ThreadLocal.withInitial(() -> new Scratch(documents));
+    }
+
+    /**
+     * Wraps index bytes produced by {@link #writeTo}, e.g. a memory-mapped snapshot.
+     *
+     * @throws IllegalArgumentException when the bytes do not match the layout
+     */
+    static Bm25Index read(ByteBuffer data) {
+        try {
+            return new Bm25Index(data);
+        } catch (IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Truncated index data", ex);
+        }
+    }
+
+    static Bm25Index build(List<String> documents) {
+        List<AnalyzedChunk> analyzed = new ArrayList<>(documents.size());
+        for (String document : documents) {
+            analyzed.add(analyze(document));
+        }
+        return assemble(analyzed);
+    }
+
+    /**
+     * Tokenizes one chunk into its distinct terms and their frequencies. This is the costly
+     * part of indexing and depends on nothing but the chunk, so callers may keep the result
+     * and reassemble an index without analysing unchanged chunks again.
+     */
+    static AnalyzedChunk analyze(String text) {
+        List<String> tokens = tokenize(text);
+        Map<String, int[]> counts = new HashMap<>();
+        for (String token : tokens) {
+            counts.computeIfAbsent(token, t -> new int[1])[0]++;
+        }
+        String[] terms = new String[counts.size()];
+        int[] frequencies = new int[counts.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            terms[i] = entry.getKey();
+            frequencies[i++] = entry.getValue()[0];
+        }
+        return new AnalyzedChunk(text, terms, frequencies, tokens.size());
+    }
+
+    /**
+     * Builds the index from analysed chunks; chunk ids follow list order. Weights depend on
+     * corpus-wide statistics, so they are always recomputed here.
+     */
+    static Bm25Index assemble(List<AnalyzedChunk> chunks) {
+        Map<String, Integer> termIds = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        IntList[] docs = new IntList[64];
+        IntList[] freqs = new IntList[64];
+        int[] lengths = new int[chunks.size()];
+        long totalLength = 0;
+
+        for (int doc = 0; doc < chunks.size(); doc++) {
+            AnalyzedChunk chunk = chunks.get(doc);
+            for (int i = 0; i < chunk.terms().length; i++) {
+                String token = chunk.terms()[i];
+                Integer id = termIds.get(token);
+                if (id == null) {
+                    id = terms.size();
+                    termIds.put(token, id);
+                    terms.add(token);
+                    if (id == docs.length) {
+                        docs = Arrays.copyOf(docs, id * 2);
+                        freqs = Arrays.copyOf(freqs, id * 2);
+                    }
+                    docs[id] = new IntList();
+                    freqs[id] = new IntList();
+                }
+                docs[id].add(doc);
+                freqs[id].add(chunk.frequencies()[i]);
+            }
+            lengths[doc] = chunk.length();
+            totalLength += chunk.length();
+        }
+
+        // Final term ids follow sorted order so lookups can binary search the term bytes
+        Integer[] order = new Integer[terms.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> terms.get(a).compareTo(terms.get(b)));
+
+        int n = chunks.size();
+        float averageLength = n == 0 ? 0 : (float) totalLength / n;
+        int postingCount = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            postingCount += docs[i].size;
+        }
+        byte[][] chunkUtf8 = new byte[n][];
+        int chunkBytesLength = 0;
+        for (int i = 0; i < n; i++) {
+            chunkUtf8[i] = chunks.get(i).text().getBytes(StandardCharsets.UTF_8);
+            chunkBytesLength += chunkUtf8[i].length;
+        }
+        int termBytesLength = 0;
+        for (String term : terms) {
+            termBytesLength += term.length();
+        }
+
+        int termCount = terms.size();
+        int size = COUNTS_BYTES
+                + (n + 1) * Integer.BYTES
+                + 2 * (termCount + 1) * Integer.BYTES
+                + postingCount * (Integer.BYTES + Float.BYTES)
+                + termBytesLength + chunkBytesLength;
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(n).putInt(termCount).putInt(postingCount).putInt(termBytesLength).putInt(chunkBytesLength);
+
+        int offset = 0;
+        out.putInt(offset);
+        for (byte[] chunk : chunkUtf8) {
+            offset += chunk.length;
+            out.putInt(offset);
+        }
+        offset = 0;
+        out.putInt(offset);
+        for (Integer term : order) {
+            offset += terms.get(term).length();
+            out.putInt(offset);
+        }
+        offset = 0;
+        out.putInt(offset);
+        for (Integer term : order) {
+            offset += docs[term].size;
+            out.putInt(offset);
+        }
+        for (Integer term : order) {
+            for (int i = 0; i < docs[term].size; i++) {
+                out.putInt(docs[term].values[i]);
+            }
+        }
+        for (Integer term : order) {
+            IntList termDocs = docs[term];
+            double idf = Math.log(1 + (n - termDocs.size + 0.5) / (termDocs.size + 0.5));
+            for (int i = 0; i < termDocs.size; i++) {
+                float tf = freqs[term].values[i];
+                float norm = K1 * (1 - B + B * lengths[termDocs.values[i]] / averageLength);
+                out.putFloat((float) (idf * tf * (K1 + 1) / (tf + norm)));
+            }
+        }
+        for (Integer term : order) {
+            out.put(terms.get(term).getBytes(StandardCharsets.US_ASCII));
+        }
+        for (byte[] chunk : chunkUtf8) {
+            out.put(chunk);
+        }
+        return new Bm25Index(out.flip());
+    }
+
+    int documentCount() {
+        return documentCount;
+    }
+
+    int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Size of the serialized index in bytes.
+     */
+    int byteSize() {
+        return data.limit();
+    }
+
+    String chunk(int document) {
+        int start = chunkOffsets.get(document);
+        byte[] text = new byte[chunkOffsets.get(document + 1) - start];
+        chunkBytes.get(start, text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer bytes = data.duplicate();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Ids of the k best matching documents, best first; ties go to the earlier document.
+     * Documents sharing no term with the query are never returned.
+     */
+    int[] search(String query, int k) {
+        if (k <= 0 || documentCount == 0) {
+            return new int[0];
+        }
+        int[] terms = queryTerms(query);
+        if (terms.length == 0) {
+            return new int[0];
+        }
+
+        Scratch s = scratch.get();
+        int touched = 0;
+        try {
+            for (int term : terms) {
+                int end = postingStarts.get(term + 1);
+                for (int i = postingStarts.get(term); i < end; i++) {
+                    int doc = postingDocs.get(i);
+                    if (s.scores[doc] == 0f) {
+                        s.touched[touched++] = doc;
+                    }
+                    s.scores[doc] += postingWeights.get(i);
+                }
+            }
+            return topK(s, touched, Math.min(k, touched));
+        } finally {
+            for (int i = 0; i < touched; i++) {
+                s.scores[s.touched[i]] = 0f;
+            }
+        }
+    }
+
+    private int[] queryTerms(String query) {
+        List<String> tokens = tokenize(query);
+        int[] ids = new int[tokens.size()];
+        int count = 0;
+        for (String token : tokens) {
+            int id = termId(token);
+            if (id >= 0) {
+                ids[count++] = id;
+            }
+        }
+        // Each distinct term counts once
+        int[] unique = Arrays.copyOf(ids, count);
+        Arrays.sort(unique);
+        int size = 0;
+        for (int i = 0; i < unique.length; i++) {
+            if (size == 0 || unique[size - 1] != unique[i]) {
+                unique[size++] = unique[i];
+            }
+        }
+        return Arrays.copyOf(unique, size);
+    }
+
+    /**
+     * Binary search over the sorted term bytes; -1 when the term is not indexed.
+     */
+    int termId(String token) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(mid, token);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareTerm(int term, String token) {
+        int start = termOffsets.get(term);
+        int length = termOffsets.get(term + 1) - start;
+        int common = Math.min(length, token.length());
+        for (int i = 0; i < common; i++) {
+            int diff = termBytes.get(start + i) - token.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - token.length();
+    }
+
+    private IntBuffer ints(int position, int count) {
+        return data.slice(position, count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Bounded min-heap over the touched documents; the root is the weakest of the best k.
+     */
+    private static int[] topK(Scratch s, int touched, int k) {
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < touched; i++) {
+            int doc = s.touched[i];
+            if (size < k) {
+                heap[size] = doc;
+                siftUp(heap, size++, s.scores);
+            } else if (better(doc, heap[0], s.scores)) {
+                heap[0] = doc;
+                siftDown(heap, size, s.scores);
+            }
+        }
+        // Pop weakest first, filling the result from the back
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, s.scores);
+        }
+        return result;
+    }
+
+    private static boolean better(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], scores)) {
+                weakest = right;
+            }
+            if (!better(heap[index], heap[weakest], scores)) {
+                return;
+            }
+            swap(heap, index, weakest);
+            index = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    /**
+     * Lower-cased ASCII words longer than two characters. Other characters are dropped
+     * without splitting ("oil-change" becomes "oilchange"); only whitespace separates words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                word.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                word.append((char) (c + ('a' - 'A')));
+            } else if (Character.isWhitespace(c)) {
+                addToken(tokens, word);
+            }
+        }
+        addToken(tokens, word);
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, StringBuilder word) {
+        if (word.length() >= MIN_TOKEN_LENGTH) {
+            tokens.add(word.toString());
+        }
+        word.setLength(0);
+    }
+
+    /**
+     * Per-thread score accumulator; only the touched entries are reset after a query.
+     */
+    private static final class Scratch {
+        final float[] scores;
+        final int[] touched;
+
+        Scratch(int documents) {
+            this.scores = new float[documents];
+            this.touched = new int[documents];
+        }
+    }
+
+    /**
+     * A chunk's text with its distinct terms, their frequencies and its length in tokens.
+     */
+    record AnalyzedChunk(String text, String[] terms, int[] frequencies, int length) {
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.login.AxleXpert.Branches.dto.BranchDTO;
+import com.login.AxleXpert.Services.dto.ServiceDTO;
+import com.login.AxleXpert.Tasks.dto.TaskDTO;
+import com.login.AxleXpert.Users.dto.UserDTO;
+import com.login.AxleXpert.Vehicals.dto.VehicleDTO;
+import com.login.AxleXpert.common.enums.ReferenceData;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Builds the data section of the chatbot prompt from the ChatContextDataSource.
+ *
+ * Every source runs on its own virtual thread, so the context is ready after the
+ * slowest source rather than the sum of all of them. A source that fails or misses
+ * its timeout is left out and the rest of the context is still used. The shared lists
+ * (services, branches, managers) are rendered once and reused through ReferenceContextCache,
+ * so a typical turn only fetches the user's vehicles and tasks.
+ *
+ * Timeouts: chatbot.context.timeout-ms (default for all sources), overridden per source
+ * with chatbot.context.timeout-ms.services, .branches, .vehicles, .tasks or .managers.
+ */
+@Service
+@Slf4j
+public class ChatContextAssembler {
+
+    static final long DEFAULT_TIMEOUT_MS = 2000;
+
+    private final ChatContextDataSource dataSource;
+    private final ReferenceContextCache referenceCache;
+    private final Environment environment;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Scheduler scheduler = Schedulers.fromExecutorService(executor, "chat-context");
+
+    public ChatContextAssembler(ChatContextDataSource dataSource,
+                                ReferenceContextCache referenceCache,
+                                Environment environment) {
+        this.dataSource = dataSource;
+        this.referenceCache = referenceCache;
+        this.environment = environment;
+    }
+
+    /**
+     * Context for the given user, or empty when no source returned anything.
+     */
+    public Mono<String> assemble(Long userId, String accessToken) {
+        Mono<String> services = referenceSection(ReferenceData.SERVICES, accessToken,
+                () -> format(dataSource.getAllServices(accessToken), "SERVICES:", ChatContextAssembler::describeService));
+        Mono<String> branches = referenceSection(ReferenceData.BRANCHES, accessToken,
+                () -> format(dataSource.getAllBranches(accessToken), "BRANCHES:", ChatContextAssembler::describeBranch));
+        Mono<String> vehicles = userId == null ? Mono.just("") : section("vehicles",
+                () -> format(dataSource.getUserVehicles(userId, accessToken), "USER VEHICLES:", ChatContextAssembler::describeVehicle));
+        Mono<String> tasks = userId == null ? Mono.just("") : section("tasks",
+                () -> format(dataSource.getCustomerTasks(userId, accessToken), "CURRENT SERVICES:", ChatContextAssembler::describeTask));
+        Mono<String> managers = referenceSection(ReferenceData.MANAGERS, accessToken,
+                () -> format(dataSource.getAllManagers(accessToken), "MANAGERS:", ChatContextAssembler::describeManager));
+
+        return Mono.zip(services, branches, vehicles, tasks, managers)
+                .map(parts -> parts.getT1() + parts.getT2() + parts.getT3() + parts.getT4() + parts.getT5())
+                .filter(context -> !context.isBlank());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.dispose();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A shared list, served from the reference cache when its text is current.
+     */
+    private Mono<String> referenceSection(ReferenceData data, String accessToken, Callable<String> render) {
+        if (!dataSource.canRead(accessToken)) {
+            return Mono.just("");
+        }
+        String cached = referenceCache.get(data);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long version = referenceCache.version(data);
+        return section(data.name().toLowerCase(Locale.ROOT), () -> {
+            String text = render.call();
+            referenceCache.put(data, version, text);
+            return text;
+        });
+    }
+
+    /**
+     * One source, fetched and rendered off the caller's thread; "" on error or timeout.
+     */
+    private Mono<String> section(String name, Callable<String> render) {
+        Duration timeout = timeoutFor(name);
+        return Mono.fromCallable(render)
+                .subscribeOn(scheduler)
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    if (error instanceof TimeoutException) {
+                        log.warn("Chat context source '{}' timed out after {} ms; continuing without it", name, timeout.toMillis());
+                    } else {
+                        log.error("Error getting chat context from '{}': {}", name, error.getMessage());
+                    }
+                    return Mono.just("");
+                });
+    }
+
+    private Duration timeoutFor(String name) {
+        long defaultMs = environment.getProperty("chatbot.context.timeout-ms", Long.class, DEFAULT_TIMEOUT_MS);
+        return Duration.ofMillis(environment.getProperty("chatbot.context.timeout-ms." + name, Long.class, defaultMs));
+    }
+
+    private static <T> String format(List<T> items, String heading, Function<T, String> line) {
+        if (items == null || items.isEmpty()) {
+            return "";
+        }
+        StringBuilder section = new StringBuilder(heading).append("\n");
+        for (T item : items) {
+            section.append("- ").append(line.apply(item)).append("\n");
+        }
+        return section.append("\n").toString();
+    }
+
+    private static String describeService(ServiceDTO service) {
+        StringBuilder line = new StringBuilder(String.valueOf(service.getName()));
+        if (service.getDescription() != null) {
+            line.append(": ").append(service.getDescription());
+        }
+        if (service.getPrice() != null) {
+            line.append(" (Price: $").append(service.getPrice()).append(")");
+        }
+        return line.toString();
+    }
+
+    private static String describeBranch(BranchDTO branch) {
+        StringBuilder line = new StringBuilder(String.valueOf(branch.getName()));
+        if (branch.getAddress() != null) {
+            line.append(" at ").append(branch.getAddress());
+        }
+        if (branch.getPhone() != null) {
+            line.append(" (Phone: ").append(branch.getPhone()).append(")");
+        }
+        return line.toString();
+    }
+
+    private static String describeVehicle(VehicleDTO vehicle) {
+        StringBuilder line = new StringBuilder().append(vehicle.getMake()).append(" ").append(vehicle.getModel());
+        if (vehicle.getYear() != null) {
+            line.append(" (").append(vehicle.getYear()).append(")");
+        }
+        if (vehicle.getPlateNumber() != null) {
+            line.append(" - License: ").append(vehicle.getPlateNumber());
+        }
+        return line.toString();
+    }
+
+    private static String describeTask(TaskDTO task) {
+        StringBuilder line = new StringBuilder("Service ID ").append(task.id());
+        if (task.title() != null) {
+            line.append(": ").append(task.title());
+        }
+        if (task.status() != null) {
+            line.append(" (Status: ").append(task.status()).append(")");
+        }
+        if (task.assignedEmployeeName() != null) {
+            line.append(" - Assigned to: ").append(task.assignedEmployeeName());
+        }
+        return line.toString();
+    }
+
+    private static String describeManager(UserDTO manager) {
+        StringBuilder line = new StringBuilder(String.valueOf(manager.getUsername()));
+        if (manager.getEmail() != null) {
+            line.append(" (Email: ").append(manager.getEmail()).append(")");
+        }
+        if (manager.getPhoneNumber() != null) {
+            line.append(" (Phone: ").append(manager.getPhoneNumber()).append(")");
+        }
+        return line.toString();
+    }
+}
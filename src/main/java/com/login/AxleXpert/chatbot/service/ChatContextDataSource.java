@@ -0,0 +1,37 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.List;
+
+import com.login.AxleXpert.Branches.dto.BranchDTO;
+import com.login.AxleXpert.Services.dto.ServiceDTO;
+import com.login.AxleXpert.Tasks.dto.TaskDTO;
+import com.login.AxleXpert.Users.dto.UserDTO;
+import com.login.AxleXpert.Vehicals.dto.VehicleDTO;
+
+/**
+ * Data the chatbot puts into its prompt context, read on behalf of the caller
+ * identified by the access token.
+ *
+ * Implementations never throw; a source that cannot be read returns an empty list.
+ * Selected with chatbot.data-source: "in-process" (default) or "remote".
+ */
+public interface ChatContextDataSource {
+
+    /**
+     * Whether the token may read the shared lists (services, branches, managers).
+     * Lets callers serve those lists from a cache without asking the source.
+     */
+    default boolean canRead(String accessToken) {
+        return accessToken != null && !accessToken.isBlank();
+    }
+
+    List<ServiceDTO> getAllServices(String accessToken);
+
+    List<BranchDTO> getAllBranches(String accessToken);
+
+    List<UserDTO> getAllManagers(String accessToken);
+
+    List<VehicleDTO> getUserVehicles(Long userId, String accessToken);
+
+    List<TaskDTO> getCustomerTasks(Long customerId, String accessToken);
+}
@@ -0,0 +1,215 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Generated answers keyed on the normalised question and a hash of the context sent with it.
+ *
+ * The prompt is fully determined by those two, so a hit can be returned without calling
+ * Gemini. Entries live for chatbot.response-cache.ttl-seconds and the least recently used
+ * entry goes once chatbot.response-cache.max-entries is reached.
+ *
+ * With chatbot.response-cache.similarity-threshold above 0, a question that misses can
+ * still reuse the answer to an earlier question sent with the same context whose
+ * embedding is at least that similar ("what are your opening hours" / "what are the opening hours").
+ *
+ * Metrics: chatbot.response.cache{result=hit|similar|miss}, chatbot.response.cache.evictions
+ * and chatbot.response.cache.size.
+ */
+@Component
+public class ChatResponseCache {
+
+    private final EmbeddingProvider embeddings;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final double similarityThreshold;
+    private final LongSupplier clock;
+    private final Map<Key, Entry> entries;
+
+    private final Counter hits;
+    private final Counter similarHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public ChatResponseCache(EmbeddingProvider embeddings, MeterRegistry meterRegistry,
+                             @Value("${chatbot.response-cache.max-entries:1000}") int maxEntries,
+                             @Value("${chatbot.response-cache.ttl-seconds:3600}") long ttlSeconds,
+                             @Value("${chatbot.response-cache.similarity-threshold:0}") double similarityThreshold) {
+        this(embeddings, meterRegistry, maxEntries, ttlSeconds, similarityThreshold, System::nanoTime);
+    }
+
+    ChatResponseCache(EmbeddingProvider embeddings, MeterRegistry meterRegistry, int maxEntries,
+                      long ttlSeconds, double similarityThreshold, LongSupplier clock) {
+        this.embeddings = embeddings;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.similarityThreshold = similarityThreshold;
+        this.clock = clock;
+        // Access order turns LinkedHashMap into an LRU: the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                boolean evict = size() > ChatResponseCache.this.maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+
+        this.hits = result(meterRegistry, "hit");
+        this.similarHits = result(meterRegistry, "similar");
+        this.misses = result(meterRegistry, "miss");
+        this.evictions = Counter.builder("chatbot.response.cache.evictions")
+                .description("Cached chatbot answers dropped to stay within max-entries")
+                .register(meterRegistry);
+        meterRegistry.gauge("chatbot.response.cache.size", this, ChatResponseCache::size);
+    }
+
+    /**
+     * Key for a question and the context it is answered from.
+     */
+    public Key keyFor(String query, String context) {
+        byte[] digest = RagIndexSnapshot.sha256((context == null ? "" : context).getBytes(StandardCharsets.UTF_8));
+        ByteBuffer hash = ByteBuffer.wrap(digest);
+        return new Key(normalize(query), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * The cached answer, or null on a miss.
+     */
+    public String get(Key key) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Entry entry = live(key, now);
+            if (entry != null) {
+                hits.increment();
+                return entry.answer();
+            }
+            if (similarityThreshold <= 0) {
+                misses.increment();
+                return null;
+            }
+        }
+
+        // Embed outside the lock, then look for a close question over the same context
+        float[] queryVector = embeddings.embed(key.query());
+        synchronized (this) {
+            Entry best = null;
+            double bestSimilarity = similarityThreshold;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry candidate = it.next();
+                if (now - candidate.storedAt() > ttlNanos) {
+                    it.remove();
+                    continue;
+                }
+                if (!candidate.key().sameContext(key) || candidate.queryVector() == null) {
+                    continue;
+                }
+                double similarity = dot(queryVector, candidate.queryVector());
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+            if (best == null) {
+                misses.increment();
+                return null;
+            }
+            entries.get(best.key()); // counts as a use for the LRU order
+            similarHits.increment();
+            return best.answer();
+        }
+    }
+
+    public void put(Key key, String answer) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        float[] queryVector = similarityThreshold > 0 ? embeddings.embed(key.query()) : null;
+        long now = clock.getAsLong();
+        synchronized (this) {
+            entries.put(key, new Entry(key, answer, queryVector, now));
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry live(Key key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.storedAt() > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Lower-cased words separated by single spaces, so case, punctuation and spacing
+     * do not split otherwise identical questions.
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(query.length());
+        boolean space = false;
+        for (int i = 0, len = query.length(); i < len; i++) {
+            char c = query.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static Counter result(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chatbot.response.cache")
+                .description("Chatbot answers looked up in the response cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Normalised question plus the first 128 bits of the context's SHA-256.
+     */
+    public record Key(String query, long contextHashHigh, long contextHashLow) {
+
+        boolean sameContext(Key other) {
+            return contextHashHigh == other.contextHashHigh && contextHashLow == other.contextHashLow;
+        }
+    }
+
+    private record Entry(Key key, String answer, float[] queryVector, long storedAt) {}
+}
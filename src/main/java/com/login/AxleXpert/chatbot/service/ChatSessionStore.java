@@ -0,0 +1,176 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory chat sessions, bounded in number and expired when idle. Each replica only
+ * sees its own sessions; see JdbcSessionStore for sharing them.
+ *
+ * Sessions are kept in order of last activity: recording a message moves its session to
+ * the end. That makes both limits cheap. Going over chatbot.session.max-sessions drops the
+ * least recently active session right away, and the sweeper, running every
+ * chatbot.session.sweep-interval-seconds on its own thread, only walks the idle sessions
+ * at the front and stops at the first one still within chatbot.session.idle-timeout-minutes.
+ *
+ * Metrics: chatbot.sessions.active, chatbot.sessions.memory (estimated bytes, with
+ * chatbot.sessions.memory.per.session the average) and chatbot.sessions.evicted{reason=capacity|idle}.
+ */
+@Component
+@ConditionalOnProperty(name = "chatbot.session.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class ChatSessionStore implements SessionStore {
+
+    private final int maxSessions;
+    private final long idleTimeoutMillis;
+    private final LongSupplier clock;
+    // Insertion order, and recording activity re-inserts, so the eldest is the least recently active.
+    // Guarded by this, which is also held while a session's activity time changes, so the two agree
+    private final Map<String, SessionContext> sessions = new LinkedHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    private final Counter capacityEvictions;
+    private final Counter idleEvictions;
+
+    @Autowired
+    public ChatSessionStore(MeterRegistry meterRegistry,
+                            @Value("${chatbot.session.max-sessions:10000}") int maxSessions,
+                            @Value("${chatbot.session.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                            @Value("${chatbot.session.sweep-interval-seconds:60}") long sweepIntervalSeconds) {
+        this(meterRegistry, maxSessions, TimeUnit.MINUTES.toMillis(idleTimeoutMinutes), System::currentTimeMillis);
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    ChatSessionStore(MeterRegistry meterRegistry, int maxSessions, long idleTimeoutMillis, LongSupplier clock) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("chatbot.session.max-sessions must be positive: " + maxSessions);
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.clock = clock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable ->
+                Thread.ofPlatform().daemon().name("chat-session-sweeper").unstarted(runnable));
+
+        this.capacityEvictions = evictions(meterRegistry, "capacity");
+        this.idleEvictions = evictions(meterRegistry, "idle");
+        meterRegistry.gauge("chatbot.sessions.active", this, ChatSessionStore::size);
+        meterRegistry.gauge("chatbot.sessions.memory", this, ChatSessionStore::estimatedBytes);
+        meterRegistry.gauge("chatbot.sessions.memory.per.session", this, store -> {
+            int size = store.size();
+            return size == 0 ? 0 : (double) store.estimatedBytes() / size;
+        });
+    }
+
+    @Override
+    public synchronized SessionContext recordUserMessage(String sessionId, String message) {
+        long now = clock.getAsLong();
+        SessionContext context = touch(sessionId, now, true);
+        context.addUserMessage(message, now);
+        return context;
+    }
+
+    @Override
+    public synchronized void recordBotMessage(String sessionId, String message) {
+        long now = clock.getAsLong();
+        SessionContext context = touch(sessionId, now, false);
+        if (context != null) {
+            context.addBotMessage(message, now);
+        }
+    }
+
+    @Override
+    public synchronized SessionContext get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Sum of SessionContext.estimatedBytes() over all sessions.
+     */
+    public synchronized long estimatedBytes() {
+        long total = 0;
+        for (SessionContext context : sessions.values()) {
+            total += context.estimatedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Removes sessions idle for longer than the timeout.
+     *
+     * @return the number removed
+     */
+    synchronized int sweep() {
+        long cutoff = clock.getAsLong() - idleTimeoutMillis;
+        int removed = 0;
+        for (Iterator<SessionContext> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().getLastActivity() > cutoff) {
+                break;
+            }
+            it.remove();
+            removed++;
+        }
+        idleEvictions.increment(removed);
+        return removed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private SessionContext touch(String sessionId, long now, boolean create) {
+        SessionContext context = sessions.remove(sessionId);
+        if (context == null) {
+            if (!create) {
+                return null;
+            }
+            context = new SessionContext(sessionId, now);
+        }
+        sessions.put(sessionId, context);
+
+        Iterator<SessionContext> eldest = sessions.values().iterator();
+        while (sessions.size() > maxSessions) {
+            eldest.next();
+            eldest.remove();
+            capacityEvictions.increment();
+        }
+        return context;
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweep();
+            if (removed > 0) {
+                log.info("Expired {} idle chat sessions; {} active", removed, size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Error expiring chat sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("chatbot.sessions.evicted")
+                .description("Chat sessions dropped for being over capacity or idle")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,170 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Stops calling an upstream that keeps failing, so callers get an immediate answer
+ * instead of waiting for yet another timeout.
+ *
+ * Closed, it counts the outcomes of the last {@code windowSize} calls and opens once at
+ * least {@code minimumCalls} were seen and the failure share reaches the threshold. Open,
+ * it rejects every call for {@code openMillis}. Then it lets {@code halfOpenCalls} trial
+ * calls through: all succeeding closes it, any failing opens it again.
+ *
+ * tryAcquire() returns a generation that the outcome is reported with; outcomes of calls
+ * started before the last state change are ignored, so a slow call from before the
+ * breaker opened cannot be mistaken for a trial.
+ *
+ * Metrics, under the given name: {name}.state (0 closed, 1 half-open, 2 open) and
+ * {name}.transitions{to=open|half-open|closed}.
+ */
+final class CircuitBreaker {
+
+    static final long REJECTED = -1;
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    // All guarded by this
+    private final boolean[] window;   // true = failure, a ring of the latest outcomes while closed
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    private final Counter opened;
+    private final Counter halfOpened;
+    private final Counter closed;
+
+    CircuitBreaker(String name, MeterRegistry meterRegistry, int windowSize, int minimumCalls,
+                   double failureRateThreshold, long openMillis, int halfOpenCalls, LongSupplier nanoClock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize || halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings: window " + windowSize
+                    + ", minimum calls " + minimumCalls + ", half-open calls " + halfOpenCalls);
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = nanoClock;
+
+        this.opened = transitions(meterRegistry, name, "open");
+        this.halfOpened = transitions(meterRegistry, name, "half-open");
+        this.closed = transitions(meterRegistry, name, "closed");
+        meterRegistry.gauge(name + ".state", this, breaker -> breaker.state().ordinal());
+    }
+
+    /**
+     * Permission for one call: its generation, or REJECTED while open (or all trials are taken).
+     */
+    synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+            halfOpened.increment();
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return REJECTED;
+            }
+            trialsStarted++;
+        }
+        return generation;
+    }
+
+    synchronized void onSuccess(long callGeneration) {
+        if (callGeneration != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED);
+                closed.increment();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(long callGeneration) {
+        if (callGeneration != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures >= failureRateThreshold * windowCount) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * The call ended without saying anything about the upstream's health (e.g. it was
+     * cancelled); a trial slot it held is given back.
+     */
+    synchronized void onIgnored(long callGeneration) {
+        if (callGeneration == generation && state == State.HALF_OPEN) {
+            trialsStarted--;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = clock.getAsLong();
+        opened.increment();
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+        windowNext = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private static Counter transitions(MeterRegistry meterRegistry, String name, String to) {
+        return Counter.builder(name + ".transitions")
+                .description("Circuit breaker state changes")
+                .tag("to", to)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.login.AxleXpert.chatbot.service;
+
+/**
+ * Turns text into dense vectors for semantic retrieval of knowledge chunks.
+ *
+ * Vectors are unit length, so a dot product is their cosine similarity. Text without
+ * any usable feature embeds to the zero vector. Implementations must be thread-safe and
+ * deterministic: the chunks and the query have to land in the same space.
+ */
+public interface EmbeddingProvider {
+
+    int dimensions();
+
+    float[] embed(String text);
+}
@@ -1,26 +1,42 @@
 package com.login.AxleXpert.chatbot.service;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.login.AxleXpert.chatbot.dto.RagRequest;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Gemini AI Service for handling LLM interactions
  * This service communicates with Google's Gemini API to generate
  * contextually aware responses using RAG (Retrieval-Augmented Generation)
+ *
+ * Generated answers are kept in a ChatResponseCache, so a repeated question over the
+ * same context is answered without a Gemini round trip. Error replies are never cached.
+ * Identical requests arriving while one is still in flight share that call (SingleFlight),
+ * which protects the API during bursts before the cache has an entry.
+ *
+ * streamResponse uses the server-sent-event endpoint (streamGenerateContent?alt=sse) and
+ * emits each piece of the answer as it arrives, for a short time to first token. Identical
+ * streams in flight are shared too; a caller joining late first gets the pieces so far.
+ *
+ * Calls go through GeminiClient, which bounds how long they take and how many run at once
+ * and stops calling Gemini while it keeps failing. A refused or failed call is answered
+ * right away with a canned reply, which is never cached.
+ *
+ * Prompts come from PromptBuilder, which keeps them within chatbot.prompt.max-tokens by
+ * leaving out the context least related to the question.
  */
 @Service
 @Slf4j
@@ -32,14 +48,28 @@ public class GeminiAiService {
     @Value("${gemini.api.url}")
     private String apiUrl;
 
-    private final WebClient webClient;
+    // Defaults to gemini.api.url with :generateContent replaced by :streamGenerateContent
+    @Value("${gemini.api.stream-url:}")
+    private String streamUrl;
+
+    private static final String BUSY = "I'm getting a lot of questions right now. " +
+            "Please try again in a moment.";
+    private static final String TECHNICAL_DIFFICULTIES = "I apologize, but I'm experiencing technical difficulties. " +
+            "Please try again in a moment or contact our support team for assistance.";
+
+    private final GeminiClient geminiClient;
+    private final PromptBuilder promptBuilder;
     private final ObjectMapper objectMapper;
+    private final ChatResponseCache responseCache;
+    private final SingleFlight<ChatResponseCache.Key, String> inFlight;
 
-    public GeminiAiService() {
-        this.webClient = WebClient.builder()
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+    public GeminiAiService(ChatResponseCache responseCache, GeminiClient geminiClient, PromptBuilder promptBuilder,
+                           MeterRegistry meterRegistry) {
+        this.geminiClient = geminiClient;
+        this.promptBuilder = promptBuilder;
         this.objectMapper = new ObjectMapper();
+        this.responseCache = responseCache;
+        this.inFlight = new SingleFlight<>("chatbot.gemini.calls", meterRegistry);
     }
 
     /**
@@ -48,26 +78,43 @@ public class GeminiAiService {
      * @return Generated response from Gemini
      */
     public Mono<String> generateResponse(RagRequest ragRequest) {
+        try {
+            ChatResponseCache.Key cacheKey = responseCache.keyFor(ragRequest.getQuery(), ragRequest.getContext());
+            String cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("Answered from response cache for session: {}", ragRequest.getSessionId());
+                return Mono.just(cached);
+            }
+            return inFlight.execute(cacheKey, () -> callGemini(ragRequest, cacheKey));
+
+        } catch (Exception e) {
+            log.error("Error generating response: {}", e.getMessage());
+            return Mono.just("I'm sorry, I encountered an error while processing your request. " +
+                    "Please try again or contact support.");
+        }
+    }
+
+    private Mono<String> callGemini(RagRequest ragRequest, ChatResponseCache.Key cacheKey) {
         try {
             // Create the prompt with RAG context
-            String enhancedPrompt = createRagPrompt(ragRequest.getQuery(), ragRequest.getContext());
+            String enhancedPrompt = promptBuilder.build(ragRequest.getQuery(), ragRequest.getContext());
 
             // Build the request payload for Gemini API
             Map<String, Object> requestBody = buildGeminiRequest(enhancedPrompt, ragRequest);
 
             log.debug("Sending request to Gemini API for session: {}", ragRequest.getSessionId());
 
-            return webClient.post()
-                    .uri(apiUrl + "?key=" + apiKey)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
+            return geminiClient.post(apiUrl + "?key=" + apiKey, requestBody)
                     .map(this::extractResponseFromGemini)
+                    .doOnNext(reply -> {
+                        if (reply.generated()) {
+                            responseCache.put(cacheKey, reply.text());
+                        }
+                    })
+                    .map(GeminiReply::text)
                     .doOnSuccess(response -> log.debug("Received response from Gemini for session: {}",
                             ragRequest.getSessionId()))
-                    .doOnError(error -> log.error("Error calling Gemini API: {}", error.getMessage()))
-                    .onErrorReturn("I apologize, but I'm experiencing technical difficulties. " +
-                            "Please try again in a moment or contact our support team for assistance.");
+                    .onErrorResume(error -> Mono.just(fallbackFor(error)));
 
         } catch (Exception e) {
             log.error("Error generating response: {}", e.getMessage());
@@ -77,35 +124,99 @@ public class GeminiAiService {
     }
 
     /**
-     * Create an enhanced prompt that includes RAG context
+     * Stream a response from Gemini as it is generated
+     * @param ragRequest Contains the user query and retrieved context
+     * @return Pieces of the answer in order; together they are the full answer
+     */
+    public Flux<String> streamResponse(RagRequest ragRequest) {
+        try {
+            ChatResponseCache.Key cacheKey = responseCache.keyFor(ragRequest.getQuery(), ragRequest.getContext());
+            String cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("Answered from response cache for session: {}", ragRequest.getSessionId());
+                return Flux.just(cached);
+            }
+
+            return inFlight.executeMany(cacheKey, () -> streamGemini(ragRequest, cacheKey));
+
+        } catch (Exception e) {
+            log.error("Error streaming response: {}", e.getMessage());
+            return Flux.just("I'm sorry, I encountered an error while processing your request. " +
+                    "Please try again or contact support.");
+        }
+    }
+
+    private Flux<String> streamGemini(RagRequest ragRequest, ChatResponseCache.Key cacheKey) {
+        try {
+            String enhancedPrompt = promptBuilder.build(ragRequest.getQuery(), ragRequest.getContext());
+            Map<String, Object> requestBody = buildGeminiRequest(enhancedPrompt, ragRequest);
+
+            return Flux.defer(() -> {
+                StringBuilder answer = new StringBuilder();
+                return geminiClient.stream(streamEndpoint() + "?alt=sse&key=" + apiKey, requestBody)
+                        .map(this::extractStreamChunk)
+                        .filter(text -> !text.isEmpty())
+                        .doOnNext(answer::append)
+                        .doOnComplete(() -> {
+                            if (!answer.isEmpty()) {
+                                responseCache.put(cacheKey, answer.toString().trim());
+                            }
+                            log.debug("Streamed response from Gemini for session: {}", ragRequest.getSessionId());
+                        })
+                        // Mid-answer failures keep what was already sent; otherwise say something went wrong
+                        .onErrorResume(error -> {
+                            String fallback = fallbackFor(error);
+                            return answer.isEmpty() ? Flux.just(fallback) : Flux.empty();
+                        });
+            });
+
+        } catch (Exception e) {
+            log.error("Error streaming response: {}", e.getMessage());
+            return Flux.just("I'm sorry, I encountered an error while processing your request. " +
+                    "Please try again or contact support.");
+        }
+    }
+
+    /**
+     * Canned reply for a call that failed or was never made
      */
-    private String createRagPrompt(String userQuery, String context) {
-        StringBuilder promptBuilder = new StringBuilder();
-
-        promptBuilder.append("You are AxleXpert AI, a helpful assistant for the AxleXpert vehicle service system. ");
-        promptBuilder.append("Use the following context information to provide accurate and helpful responses ");
-        promptBuilder.append("about our services, booking process, locations, and vehicle maintenance.\n\n");
-
-        promptBuilder.append("CONTEXT INFORMATION:\n");
-        promptBuilder.append(context);
-        promptBuilder.append("\n\n");
-
-        promptBuilder.append("INSTRUCTIONS:\n");
-        promptBuilder.append("- Answer based ONLY on the context provided above\n");
-        promptBuilder.append("- Keep responses SHORT and SIMPLE - 1-3 sentences maximum\n");
-        promptBuilder.append("- For lists, show only the essential information (name and key details)\n");
-        promptBuilder.append("- Use **bold** only for the most important items\n");
-        promptBuilder.append("- Use bullet points (-) ONLY when listing multiple items\n");
-        promptBuilder.append("- NO long explanations, NO extra suggestions unless specifically asked\n");
-        promptBuilder.append("- Be direct and to the point\n");
-        promptBuilder.append("- If the user asks about their vehicles/services/data, list them concisely\n");
-        promptBuilder.append("- If you don't have the information in the context, say so briefly\n\n");
-
-        promptBuilder.append("USER QUESTION: ");
-        promptBuilder.append(userQuery);
-        promptBuilder.append("\n\nRESPONSE:");
-
-        return promptBuilder.toString();
+    private String fallbackFor(Throwable error) {
+        if (error instanceof GeminiClient.GeminiUnavailableException) {
+            log.warn("Gemini not called: {}", error.getMessage());
+            return BUSY;
+        }
+        log.error("Error calling Gemini API: {}", error.getMessage());
+        return TECHNICAL_DIFFICULTIES;
+    }
+
+    private String streamEndpoint() {
+        if (streamUrl != null && !streamUrl.isBlank()) {
+            return streamUrl;
+        }
+        return apiUrl.replace(":generateContent", ":streamGenerateContent");
+    }
+
+    /**
+     * Text of one streamed event; empty when it carries none (e.g. only finish metadata)
+     */
+    private String extractStreamChunk(String eventJson) {
+        if (eventJson == null || eventJson.isBlank()) {
+            return "";
+        }
+        try {
+            JsonNode rootNode = objectMapper.readTree(eventJson);
+            JsonNode errorNode = rootNode.path("error");
+            if (!errorNode.isMissingNode()) {
+                throw new IllegalStateException("Gemini API error: " + errorNode.path("message").asText());
+            }
+            StringBuilder text = new StringBuilder();
+            for (JsonNode part : rootNode.path("candidates").path(0).path("content").path("parts")) {
+                text.append(part.path("text").asText());
+            }
+            return text.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable Gemini stream event", e);
+        }
     }
 
     /**
@@ -146,7 +257,7 @@ public class GeminiAiService {
     /**
      * Extract the generated text from Gemini API response
      */
-    private String extractResponseFromGemini(String responseJson) {
+    private GeminiReply extractResponseFromGemini(String responseJson) {
         try {
             JsonNode rootNode = objectMapper.readTree(responseJson);
             JsonNode candidatesNode = rootNode.path("candidates");
@@ -161,7 +272,7 @@ public class GeminiAiService {
                     String text = firstPart.path("text").asText();
 
                     if (!text.isEmpty()) {
-                        return text.trim();
+                        return new GeminiReply(text.trim(), true);
                     }
                 }
             }
@@ -171,15 +282,15 @@ public class GeminiAiService {
             if (!errorNode.isMissingNode()) {
                 String errorMessage = errorNode.path("message").asText();
                 log.error("Gemini API error: {}", errorMessage);
-                return "I'm experiencing technical difficulties. Please try again or contact support.";
+                return GeminiReply.fallback("I'm experiencing technical difficulties. Please try again or contact support.");
             }
 
             log.warn("No valid response found in Gemini API response: {}", responseJson);
-            return "I'm sorry, I couldn't generate a response. Please try rephrasing your question.";
+            return GeminiReply.fallback("I'm sorry, I couldn't generate a response. Please try rephrasing your question.");
 
         } catch (Exception e) {
             log.error("Error parsing Gemini response: {}", e.getMessage());
-            return "I encountered an error while processing the response. Please try again.";
+            return GeminiReply.fallback("I encountered an error while processing the response. Please try again.");
         }
     }
 
@@ -202,4 +313,14 @@ public class GeminiAiService {
         return apiKey != null && !apiKey.trim().isEmpty() &&
                !apiKey.equals("${GEMINI_API_KEY}");
     }
+
+    /**
+     * Text for the user, and whether Gemini generated it (only those are cached)
+     */
+    private record GeminiReply(String text, boolean generated) {
+
+        static GeminiReply fallback(String text) {
+            return new GeminiReply(text, false);
+        }
+    }
 }
@@ -0,0 +1,247 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP calls to the Gemini API, guarded so a slow or failing Gemini cannot pile up
+ * chat requests behind it.
+ *
+ * - Connections come from a dedicated Reactor Netty pool (gemini.client.max-connections),
+ *   with bounded waiting for a free connection and idle/old connections evicted.
+ * - Connecting and each read are bounded (gemini.client.connect-timeout-ms,
+ *   gemini.client.read-timeout-ms), and so is the call (gemini.client.deadline-ms;
+ *   for a stream, the wait for each next piece).
+ * - A CircuitBreaker (gemini.client.circuit.*) fails calls at once while Gemini keeps failing.
+ * - An AimdLimiter (gemini.client.concurrency.*) refuses calls over the adaptive limit.
+ *
+ * Refused calls fail immediately with a GeminiUnavailableException so the caller can
+ * answer with its canned fallback. Nothing is retried: retries add load exactly when
+ * Gemini is struggling.
+ *
+ * Metrics: chatbot.gemini.circuit.*, chatbot.gemini.concurrency.* and
+ * chatbot.gemini.rejected{reason=circuit-open|concurrency-limit}.
+ */
+@Component
+@Slf4j
+public class GeminiClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT =
+            new ParameterizedTypeReference<>() {};
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final Duration deadline;
+    private final CircuitBreaker circuitBreaker;
+    private final AimdLimiter limiter;
+
+    private final Counter rejectedOpen;
+    private final Counter rejectedLimit;
+
+    public GeminiClient(MeterRegistry meterRegistry, Environment environment) {
+        this.connectionProvider = ConnectionProvider.builder("gemini")
+                .maxConnections(environment.getProperty("gemini.client.max-connections", Integer.class, 50))
+                .pendingAcquireMaxCount(environment.getProperty("gemini.client.pending-acquire-max", Integer.class, 100))
+                .pendingAcquireTimeout(Duration.ofMillis(
+                        environment.getProperty("gemini.client.pending-acquire-timeout-ms", Long.class, 1000L)))
+                .maxIdleTime(Duration.ofSeconds(environment.getProperty("gemini.client.max-idle-seconds", Long.class, 30L)))
+                .maxLifeTime(Duration.ofSeconds(environment.getProperty("gemini.client.max-life-seconds", Long.class, 300L)))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        environment.getProperty("gemini.client.connect-timeout-ms", Integer.class, 2000))
+                .responseTimeout(Duration.ofMillis(environment.getProperty("gemini.client.read-timeout-ms", Long.class, 10000L)));
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        this.deadline = Duration.ofMillis(environment.getProperty("gemini.client.deadline-ms", Long.class, 15000L));
+
+        this.circuitBreaker = new CircuitBreaker("chatbot.gemini.circuit", meterRegistry,
+                environment.getProperty("gemini.client.circuit.window-size", Integer.class, 20),
+                environment.getProperty("gemini.client.circuit.minimum-calls", Integer.class, 10),
+                environment.getProperty("gemini.client.circuit.failure-rate-threshold", Double.class, 0.5),
+                environment.getProperty("gemini.client.circuit.open-ms", Long.class, 30000L),
+                environment.getProperty("gemini.client.circuit.half-open-calls", Integer.class, 3),
+                System::nanoTime);
+        this.limiter = new AimdLimiter("chatbot.gemini.concurrency", meterRegistry,
+                environment.getProperty("gemini.client.concurrency.initial-limit", Integer.class, 20),
+                environment.getProperty("gemini.client.concurrency.min-limit", Integer.class, 2),
+                environment.getProperty("gemini.client.concurrency.max-limit", Integer.class, 100),
+                environment.getProperty("gemini.client.concurrency.backoff-ratio", Double.class, 0.9),
+                environment.getProperty("gemini.client.concurrency.slow-call-ms", Long.class, 8000L));
+
+        this.rejectedOpen = rejected(meterRegistry, "circuit-open");
+        this.rejectedLimit = rejected(meterRegistry, "concurrency-limit");
+    }
+
+    /**
+     * POSTs the JSON body and returns the response body.
+     */
+    public Mono<String> post(String uri, Object body) {
+        return Mono.defer(() -> {
+            Permit permit = acquire();
+            return webClient.post()
+                    .uri(uri)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(deadline)
+                    .doOnSuccess(response -> permit.succeeded())
+                    .doOnError(permit::failed)
+                    .doOnCancel(permit::ignored);
+        });
+    }
+
+    /**
+     * POSTs the JSON body and returns the data of each server-sent event as it arrives.
+     * The limiter judges the call by its time to the first event.
+     */
+    public Flux<String> stream(String uri, Object body) {
+        return Flux.defer(() -> {
+            Permit permit = acquire();
+            return webClient.post()
+                    .uri(uri)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToFlux(SSE_EVENT)
+                    .timeout(deadline)
+                    .doOnNext(event -> permit.firstResponse())
+                    .mapNotNull(ServerSentEvent::data)
+                    .doOnComplete(permit::succeeded)
+                    .doOnError(permit::failed)
+                    .doOnCancel(permit::ignored);
+        });
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    int concurrencyLimit() {
+        return limiter.limit();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    private Permit acquire() {
+        long generation = circuitBreaker.tryAcquire();
+        if (generation == CircuitBreaker.REJECTED) {
+            rejectedOpen.increment();
+            throw new GeminiUnavailableException("Gemini circuit breaker is open");
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnored(generation);
+            rejectedLimit.increment();
+            throw new GeminiUnavailableException("Gemini concurrency limit of " + limiter.limit() + " reached");
+        }
+        return new Permit(generation);
+    }
+
+    /**
+     * Whether the error says Gemini is unhealthy or overloaded, as opposed to a problem
+     * with this particular request.
+     */
+    static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        // Timeouts, refused or reset connections and pool acquire timeouts
+        return true;
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("chatbot.gemini.rejected")
+                .description("Gemini calls refused without calling the API")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One admitted call; reports its outcome to the breaker and the limiter exactly once.
+     */
+    private final class Permit {
+        private final long generation;
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile long firstResponseAt;
+
+        Permit(long generation) {
+            this.generation = generation;
+        }
+
+        void firstResponse() {
+            if (firstResponseAt == 0) {
+                firstResponseAt = System.nanoTime();
+            }
+        }
+
+        void succeeded() {
+            if (done.compareAndSet(false, true)) {
+                long end = firstResponseAt != 0 ? firstResponseAt : System.nanoTime();
+                circuitBreaker.onSuccess(generation);
+                limiter.onSuccess(end - startedAt);
+            }
+        }
+
+        void failed(Throwable error) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            if (isUpstreamFailure(error)) {
+                if (error instanceof TimeoutException) {
+                    log.warn("Gemini call exceeded its deadline of {} ms", deadline.toMillis());
+                }
+                circuitBreaker.onFailure(generation);
+                limiter.onDropped();
+            } else {
+                circuitBreaker.onIgnored(generation);
+                limiter.onIgnored();
+            }
+        }
+
+        void ignored() {
+            if (done.compareAndSet(false, true)) {
+                circuitBreaker.onIgnored(generation);
+                limiter.onIgnored();
+            }
+        }
+    }
+
+    /**
+     * Gemini was not called because the circuit breaker is open or the concurrency limit is reached.
+     */
+    public static class GeminiUnavailableException extends IllegalStateException {
+        GeminiUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
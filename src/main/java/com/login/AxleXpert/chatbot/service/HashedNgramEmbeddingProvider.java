@@ -0,0 +1,93 @@
+package com.login.AxleXpert.chatbot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local, deterministic embeddings from hashed character n-grams ("feature hashing").
+ *
+ * Each word contributes itself and the character trigrams of "_word_", each hashed to
+ * one dimension with a hashed sign. Words sharing a stem ("brake", "brakes", "braking")
+ * share most trigrams, so they land close together even though BM25 sees them as
+ * different terms. No model or network is needed, which also makes it the provider
+ * for tests.
+ */
+@Component
+public class HashedNgramEmbeddingProvider implements EmbeddingProvider {
+
+    private static final int NGRAM = 3;
+    private static final float WORD_WEIGHT = 2f;
+
+    private final int dimensions;
+
+    public HashedNgramEmbeddingProvider(@Value("${chatbot.rag.embedding.dimensions:256}") int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("Embedding dimensions must be positive: " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        StringBuilder word = new StringBuilder("_");
+        for (int i = 0, len = text.length(); i <= len; i++) {
+            char c = i < len ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 1) {
+                addWord(vector, word.append('_'));
+                word.setLength(1);
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private void addWord(float[] vector, CharSequence padded) {
+        add(vector, hash(padded, 1, padded.length() - 1), WORD_WEIGHT);
+        if (padded.length() <= NGRAM) {
+            return;
+        }
+        for (int start = 0; start + NGRAM <= padded.length(); start++) {
+            add(vector, hash(padded, start, start + NGRAM), 1f);
+        }
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int index = Math.floorMod(hash, dimensions);
+        // An independent bit picks the sign, so collisions cancel out on average
+        vector[index] += (hash & 0x8000_0000) != 0 ? -weight : weight;
+    }
+
+    // FNV-1a with a final avalanche; stable across JVMs, unlike relying on hashCode mixing
+    private static int hash(CharSequence text, int from, int to) {
+        int h = 0x811C9DC5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ text.charAt(i)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.login.AxleXpert.Branches.dto.BranchDTO;
+import com.login.AxleXpert.Branches.service.BranchService;
+import com.login.AxleXpert.Services.dto.ServiceDTO;
+import com.login.AxleXpert.Services.service.ServiceService;
+import com.login.AxleXpert.Tasks.dto.TaskDTO;
+import com.login.AxleXpert.Tasks.service.TaskService;
+import com.login.AxleXpert.Users.dto.UserDTO;
+import com.login.AxleXpert.Users.service.UserService;
+import com.login.AxleXpert.Vehicals.dto.VehicleDTO;
+import com.login.AxleXpert.Vehicals.service.VehicleService;
+import com.login.AxleXpert.security.JwtClaims;
+import com.login.AxleXpert.security.JwtUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chat context read straight from the domain services, without the HTTP round trip
+ * through Tomcat, the JWT filter and JSON.
+ *
+ * The access token is still required and verified, as the API endpoints would, and
+ * customers only see their own vehicles and tasks.
+ */
+@Service
+@ConditionalOnProperty(name = "chatbot.data-source", havingValue = "in-process", matchIfMissing = true)
+@Slf4j
+public class InProcessChatDataService implements ChatContextDataSource {
+
+    private static final String ROLE_CUSTOMER = "customer";
+
+    private final ServiceService serviceService;
+    private final BranchService branchService;
+    private final VehicleService vehicleService;
+    private final TaskService taskService;
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
+
+    public InProcessChatDataService(ServiceService serviceService,
+                                    BranchService branchService,
+                                    VehicleService vehicleService,
+                                    TaskService taskService,
+                                    UserService userService,
+                                    JwtUtil jwtUtil) {
+        this.serviceService = serviceService;
+        this.branchService = branchService;
+        this.vehicleService = vehicleService;
+        this.taskService = taskService;
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public boolean canRead(String accessToken) {
+        return verify(accessToken).isPresent();
+    }
+
+    @Override
+    public List<ServiceDTO> getAllServices(String accessToken) {
+        return read("services", accessToken, null, serviceService::getAllServices);
+    }
+
+    @Override
+    public List<BranchDTO> getAllBranches(String accessToken) {
+        return read("branches", accessToken, null, branchService::getAllBranches);
+    }
+
+    @Override
+    public List<UserDTO> getAllManagers(String accessToken) {
+        return read("managers", accessToken, null, userService::getManagers);
+    }
+
+    @Override
+    public List<VehicleDTO> getUserVehicles(Long userId, String accessToken) {
+        return read("user vehicles", accessToken, userId, () -> vehicleService.getVehiclesByUserId(userId));
+    }
+
+    @Override
+    public List<TaskDTO> getCustomerTasks(Long customerId, String accessToken) {
+        return read("customer tasks", accessToken, customerId, () -> taskService.getTasksByCustomer(customerId));
+    }
+
+    /**
+     * Runs the query for a verified caller; ownerId, when given, must be the caller
+     * unless the caller is staff.
+     */
+    private <T> List<T> read(String what, String accessToken, Long ownerId, Supplier<List<T>> query) {
+        Optional<JwtClaims> caller = verify(accessToken);
+        if (caller.isEmpty()) {
+            log.debug("Skipping {} for chat context: no valid access token", what);
+            return List.of();
+        }
+        if (ownerId != null && ROLE_CUSTOMER.equalsIgnoreCase(caller.get().role())
+                && !ownerId.equals(caller.get().id())) {
+            log.warn("User {} asked for {} of user {}; skipping", caller.get().id(), what, ownerId);
+            return List.of();
+        }
+        try {
+            List<T> result = query.get();
+            return result != null ? result : List.of();
+        } catch (Exception e) {
+            log.error("Error fetching {}: {}", what, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private Optional<JwtClaims> verify(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(jwtUtil.verify(accessToken.trim()));
+        } catch (Exception e) {
+            log.debug("Rejected chat access token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
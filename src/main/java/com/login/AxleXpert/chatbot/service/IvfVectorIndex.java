@@ -0,0 +1,313 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Approximate nearest neighbour index over unit vectors (IVF, "inverted file").
+ *
+ * Vectors are clustered with spherical k-means; a query is compared with the cluster
+ * centroids and then only scans the vectors of its closest {@code probes} clusters.
+ * More probes means higher recall and more work; probing every list is exact.
+ *
+ * All vectors sit in one float[] grouped by cluster, so a probe is a sequential scan
+ * over a contiguous range. Immutable once built and safe to query from many threads.
+ */
+final class IvfVectorIndex {
+
+    private static final int TRAINING_ITERATIONS = 8;
+    // k-means is trained on a sample of this many points per list, then every vector is assigned once
+    private static final int TRAINING_POINTS_PER_LIST = 32;
+
+    private final int dimensions;
+    private final int count;
+    private final float[] centroids;
+    private final int[] listStarts;
+    private final float[] vectors;
+    private final int[] ids;
+
+    private IvfVectorIndex(int dimensions, float[] centroids, int[] listStarts, float[] vectors, int[] ids) {
+        this.dimensions = dimensions;
+        this.count = ids.length;
+        this.centroids = centroids;
+        this.listStarts = listStarts;
+        this.vectors = vectors;
+        this.ids = ids;
+    }
+
+    /**
+     * @param vectors {@code count * dimensions} floats, vector i at offset {@code i * dimensions}
+     * @param lists   number of clusters; 0 picks about the square root of the vector count
+     * @param seed    fixes the k-means initialisation so builds are reproducible
+     */
+    static IvfVectorIndex build(float[] vectors, int dimensions, int lists, long seed) {
+        if (dimensions <= 0 || vectors.length % dimensions != 0) {
+            throw new IllegalArgumentException("Vector data of " + vectors.length + " floats is not a multiple of " + dimensions);
+        }
+        int count = vectors.length / dimensions;
+        int listCount = Math.max(1, Math.min(count, lists > 0 ? lists : (int) Math.ceil(Math.sqrt(count))));
+        SplittableRandom random = new SplittableRandom(seed);
+
+        float[] centroids = initialCentroids(vectors, dimensions, count, listCount, random);
+        int[] sample = sample(count, listCount * TRAINING_POINTS_PER_LIST, random);
+        int[] sampleAssignments = new int[sample.length];
+        for (int iteration = 0; iteration < TRAINING_ITERATIONS; iteration++) {
+            for (int i = 0; i < sample.length; i++) {
+                sampleAssignments[i] = nearest(centroids, listCount, vectors, sample[i] * dimensions, dimensions);
+            }
+            updateCentroids(centroids, listCount, vectors, dimensions, sample, sampleAssignments);
+        }
+
+        // Assign everything, then lay the vectors out list by list
+        int[] assignments = new int[count];
+        int[] listStarts = new int[listCount + 1];
+        for (int i = 0; i < count; i++) {
+            assignments[i] = nearest(centroids, listCount, vectors, i * dimensions, dimensions);
+            listStarts[assignments[i] + 1]++;
+        }
+        for (int list = 0; list < listCount; list++) {
+            listStarts[list + 1] += listStarts[list];
+        }
+        int[] fill = Arrays.copyOf(listStarts, listCount);
+        float[] grouped = new float[vectors.length];
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = fill[assignments[i]]++;
+            System.arraycopy(vectors, i * dimensions, grouped, slot * dimensions, dimensions);
+            ids[slot] = i;
+        }
+        return new IvfVectorIndex(dimensions, centroids, listStarts, grouped, ids);
+    }
+
+    int size() {
+        return count;
+    }
+
+    int lists() {
+        return listStarts.length - 1;
+    }
+
+    /**
+     * Ids of the k most similar vectors among the {@code probes} closest lists, best first;
+     * ties go to the lower id. Vectors with no positive similarity are never returned.
+     */
+    int[] search(float[] query, int k, int probes) {
+        checkDimensions(query);
+        int listCount = lists();
+        int probeCount = Math.max(1, Math.min(probes, listCount));
+        if (k <= 0 || count == 0) {
+            return new int[0];
+        }
+
+        TopK closestLists = new TopK(probeCount);
+        for (int list = 0; list < listCount; list++) {
+            closestLists.offer(list, dot(query, centroids, list * dimensions));
+        }
+        TopK best = new TopK(k);
+        for (int list : closestLists.ids()) {
+            scan(query, listStarts[list], listStarts[list + 1], best);
+        }
+        return best.ids();
+    }
+
+    /**
+     * Exhaustive search over every vector; the baseline the approximate search is measured against.
+     */
+    int[] searchExact(float[] query, int k) {
+        checkDimensions(query);
+        if (k <= 0 || count == 0) {
+            return new int[0];
+        }
+        TopK best = new TopK(k);
+        scan(query, 0, count, best);
+        return best.ids();
+    }
+
+    private void scan(float[] query, int from, int to, TopK best) {
+        for (int slot = from; slot < to; slot++) {
+            float score = dot(query, vectors, slot * dimensions);
+            if (score > 0) {
+                best.offer(ids[slot], score);
+            }
+        }
+    }
+
+    private void checkDimensions(float[] query) {
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException("Query has " + query.length + " dimensions, index has " + dimensions);
+        }
+    }
+
+    private static float dot(float[] query, float[] data, int offset) {
+        float sum = 0;
+        for (int d = 0; d < query.length; d++) {
+            sum += query[d] * data[offset + d];
+        }
+        return sum;
+    }
+
+    private static float dot(float[] data, int offset, float[] other, int otherOffset, int dimensions) {
+        float sum = 0;
+        for (int d = 0; d < dimensions; d++) {
+            sum += data[offset + d] * other[otherOffset + d];
+        }
+        return sum;
+    }
+
+    private static int nearest(float[] centroids, int listCount, float[] vectors, int offset, int dimensions) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int list = 0; list < listCount; list++) {
+            float score = dot(centroids, list * dimensions, vectors, offset, dimensions);
+            if (score > bestScore) {
+                bestScore = score;
+                best = list;
+            }
+        }
+        return best;
+    }
+
+    private static float[] initialCentroids(float[] vectors, int dimensions, int count, int listCount, SplittableRandom random) {
+        float[] centroids = new float[listCount * dimensions];
+        int[] picks = sample(count, listCount, random);
+        for (int list = 0; list < listCount; list++) {
+            System.arraycopy(vectors, picks[list] * dimensions, centroids, list * dimensions, dimensions);
+        }
+        return centroids;
+    }
+
+    /**
+     * Mean of each list's members, renormalised to unit length; a list left empty keeps its centroid.
+     */
+    private static void updateCentroids(float[] centroids, int listCount, float[] vectors, int dimensions,
+                                        int[] members, int[] assignments) {
+        float[] sums = new float[centroids.length];
+        int[] sizes = new int[listCount];
+        for (int i = 0; i < members.length; i++) {
+            int list = assignments[i];
+            sizes[list]++;
+            int from = members[i] * dimensions;
+            int to = list * dimensions;
+            for (int d = 0; d < dimensions; d++) {
+                sums[to + d] += vectors[from + d];
+            }
+        }
+        for (int list = 0; list < listCount; list++) {
+            int offset = list * dimensions;
+            double norm = Math.sqrt(dot(sums, offset, sums, offset, dimensions));
+            if (sizes[list] == 0 || norm == 0) {
+                continue;
+            }
+            for (int d = 0; d < dimensions; d++) {
+                centroids[offset + d] = (float) (sums[offset + d] / norm);
+            }
+        }
+    }
+
+    /**
+     * Up to {@code size} distinct indexes below {@code count}, in random order (partial Fisher-Yates).
+     */
+    private static int[] sample(int count, int size, SplittableRandom random) {
+        int[] all = new int[count];
+        for (int i = 0; i < count; i++) {
+            all[i] = i;
+        }
+        int picked = Math.min(size, count);
+        for (int i = 0; i < picked; i++) {
+            int j = i + random.nextInt(count - i);
+            int tmp = all[i];
+            all[i] = all[j];
+            all[j] = tmp;
+        }
+        return Arrays.copyOf(all, picked);
+    }
+
+    /**
+     * Bounded min-heap of (id, score); the root is the weakest of the best k.
+     */
+    private static final class TopK {
+        private final int[] heapIds;
+        private final float[] heapScores;
+        private int size;
+
+        TopK(int k) {
+            heapIds = new int[k];
+            heapScores = new float[k];
+        }
+
+        void offer(int id, float score) {
+            if (size < heapIds.length) {
+                heapIds[size] = id;
+                heapScores[size] = score;
+                siftUp(size++);
+            } else if (better(id, score, heapIds[0], heapScores[0])) {
+                heapIds[0] = id;
+                heapScores[0] = score;
+                siftDown();
+            }
+        }
+
+        /**
+         * Drains the heap, best first.
+         */
+        int[] ids() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = heapIds[0];
+                size--;
+                heapIds[0] = heapIds[size];
+                heapScores[0] = heapScores[size];
+                siftDown();
+            }
+            return result;
+        }
+
+        private static boolean better(int id, float score, int otherId, float otherScore) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+
+        private boolean better(int i, int j) {
+            return better(heapIds[i], heapScores[i], heapIds[j], heapScores[j]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(parent, index)) {
+                    break;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown() {
+            int index = 0;
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int weakest = left;
+                int right = left + 1;
+                if (right < size && better(left, right)) {
+                    weakest = right;
+                }
+                if (!better(index, weakest)) {
+                    return;
+                }
+                swap(index, weakest);
+                index = weakest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int id = heapIds[i];
+            heapIds[i] = heapIds[j];
+            heapIds[j] = id;
+            float score = heapScores[i];
+            heapScores[i] = heapScores[j];
+            heapScores[j] = score;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chat sessions kept in the chat_sessions table, so any replica can continue any
+ * conversation and a restarted pod loses nothing that was flushed.
+ *
+ * A turn does not write to the database. Changed sessions are queued and written
+ * behind, as one batched upsert of their serialized form every
+ * chatbot.session.jdbc.flush-interval-ms, or as soon as chatbot.session.jdbc.batch-size
+ * sessions are waiting; several turns of one session in between cost a single row write.
+ * Sessions read or written here stay in a small near-cache (near-cache-size entries,
+ * trusted for near-cache-ttl-seconds), so the bot answer that follows a question does
+ * not read the row back.
+ *
+ * The trade-offs: a crash loses at most one flush interval of messages, and a session
+ * moved to another replica within the near-cache TTL may miss that replica's newest turn
+ * (rows are last-writer-wins). Idle rows are deleted by every replica's sweeper.
+ *
+ * Metrics: chatbot.sessions.near.cache{result=hit|miss}, chatbot.sessions.write.behind.pending,
+ * chatbot.sessions.write.behind.rows, chatbot.sessions.write.behind.failures and
+ * chatbot.sessions.evicted{reason=idle}.
+ */
+@Component
+@ConditionalOnProperty(name = "chatbot.session.store", havingValue = "jdbc")
+@Slf4j
+public class JdbcSessionStore implements SessionStore {
+
+    // MySQL upsert, also understood by H2 in MySQL mode. The new values are bound a second
+    // time instead of read back with VALUES(), which MySQL 8.0.20 deprecated; the row alias
+    // that replaces it (AS new) is not parsed by H2.
+    static final String UPSERT_SQL = "INSERT INTO chat_sessions (session_id, history, last_activity) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE history = ?, last_activity = ?";
+    static final String SELECT_SQL = "SELECT history FROM chat_sessions WHERE session_id = ?";
+    static final String DELETE_IDLE_SQL = "DELETE FROM chat_sessions WHERE last_activity < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long nearCacheTtlMillis;
+    private final long idleTimeoutMillis;
+    private final LongSupplier clock;
+
+    // Both guarded by this. Pending sessions are this replica's unflushed changes and always win
+    // over the near-cache, whose entries may be stale once another replica served the session
+    private final Map<String, SessionContext> pending = new LinkedHashMap<>();
+    private final Map<String, CachedSession> nearCache;
+    // Flushes run one at a time so a session's writes reach the table in order
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter nearCacheHits;
+    private final Counter nearCacheMisses;
+    private final Counter rowsWritten;
+    private final Counter flushFailures;
+    private final Counter idleEvictions;
+
+    @Autowired
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                            @Value("${chatbot.session.jdbc.flush-interval-ms:500}") long flushIntervalMs,
+                            @Value("${chatbot.session.jdbc.batch-size:100}") int batchSize,
+                            @Value("${chatbot.session.jdbc.near-cache-size:1000}") int nearCacheSize,
+                            @Value("${chatbot.session.jdbc.near-cache-ttl-seconds:10}") long nearCacheTtlSeconds,
+                            @Value("${chatbot.session.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                            @Value("${chatbot.session.sweep-interval-seconds:60}") long sweepIntervalSeconds) {
+        this(jdbcTemplate, meterRegistry, batchSize, nearCacheSize, TimeUnit.SECONDS.toMillis(nearCacheTtlSeconds),
+                TimeUnit.MINUTES.toMillis(idleTimeoutMinutes), System::currentTimeMillis);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    JdbcSessionStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, int batchSize, int nearCacheSize,
+                     long nearCacheTtlMillis, long idleTimeoutMillis, LongSupplier clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("chatbot.session.jdbc.batch-size must be positive: " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.nearCacheTtlMillis = nearCacheTtlMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.clock = clock;
+        this.nearCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest) {
+                return size() > nearCacheSize;
+            }
+        };
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable ->
+                Thread.ofPlatform().daemon().name("chat-session-flusher").unstarted(runnable));
+
+        this.nearCacheHits = nearCacheResult(meterRegistry, "hit");
+        this.nearCacheMisses = nearCacheResult(meterRegistry, "miss");
+        this.rowsWritten = Counter.builder("chatbot.sessions.write.behind.rows")
+                .description("Chat session rows written by batched flushes")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("chatbot.sessions.write.behind.failures")
+                .description("Flushes of chat sessions that failed and were retried later")
+                .register(meterRegistry);
+        this.idleEvictions = Counter.builder("chatbot.sessions.evicted")
+                .description("Chat sessions dropped for being over capacity or idle")
+                .tag("reason", "idle")
+                .register(meterRegistry);
+        meterRegistry.gauge("chatbot.sessions.write.behind.pending", this, JdbcSessionStore::pendingCount);
+    }
+
+    @Override
+    public SessionContext recordUserMessage(String sessionId, String message) {
+        SessionContext context = find(sessionId, true);
+        context.addUserMessage(message, clock.getAsLong());
+        markDirty(sessionId, context);
+        return context;
+    }
+
+    @Override
+    public void recordBotMessage(String sessionId, String message) {
+        SessionContext context = find(sessionId, false);
+        if (context != null) {
+            context.addBotMessage(message, clock.getAsLong());
+            markDirty(sessionId, context);
+        }
+    }
+
+    @Override
+    public SessionContext get(String sessionId) {
+        return find(sessionId, false);
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every queued session in batched upserts. On failure the sessions are queued
+     * again for the next flush.
+     *
+     * @return the number of rows written
+     */
+    int flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            List<String> ids;
+            List<SessionContext> contexts;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                ids = new ArrayList<>(pending.keySet());
+                contexts = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+
+            List<Object[]> rows = new ArrayList<>(contexts.size());
+            for (int i = 0; i < contexts.size(); i++) {
+                SessionContext context = contexts.get(i);
+                byte[] history = context.toBytes();
+                long lastActivity = context.getLastActivity();
+                rows.add(new Object[]{ids.get(i), history, lastActivity, history, lastActivity});
+            }
+            try {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+                }
+            } catch (DataAccessException e) {
+                synchronized (this) {
+                    for (int i = 0; i < ids.size(); i++) {
+                        pending.putIfAbsent(ids.get(i), contexts.get(i));
+                    }
+                }
+                flushFailures.increment();
+                throw e;
+            }
+            rowsWritten.increment(rows.size());
+            return rows.size();
+        }
+    }
+
+    /**
+     * Deletes rows idle for longer than the timeout.
+     *
+     * @return the number deleted
+     */
+    int sweep() {
+        int removed = jdbcTemplate.update(DELETE_IDLE_SQL, clock.getAsLong() - idleTimeoutMillis);
+        idleEvictions.increment(removed);
+        return removed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        // Last chance to persist what this replica still holds
+        flushQuietly();
+    }
+
+    /**
+     * The session from this replica's queue or near-cache, else from the table.
+     * With {@code create} a missing session is started; otherwise null is returned.
+     */
+    private SessionContext find(String sessionId, boolean create) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            SessionContext local = local(sessionId, now);
+            if (local != null) {
+                nearCacheHits.increment();
+                return local;
+            }
+        }
+        nearCacheMisses.increment();
+
+        // Read outside the lock; if another thread got the session meanwhile, theirs wins
+        SessionContext loaded = load(sessionId, now);
+        synchronized (this) {
+            SessionContext local = local(sessionId, now);
+            if (local != null) {
+                return local;
+            }
+            if (loaded == null && create) {
+                loaded = new SessionContext(sessionId, now);
+            }
+            if (loaded != null) {
+                nearCache.put(sessionId, new CachedSession(loaded, now));
+            }
+            return loaded;
+        }
+    }
+
+    private SessionContext local(String sessionId, long now) {
+        SessionContext context = pending.get(sessionId);
+        if (context != null) {
+            return context;
+        }
+        CachedSession cached = nearCache.get(sessionId);
+        if (cached == null) {
+            return null;
+        }
+        if (now - cached.cachedAt() > nearCacheTtlMillis) {
+            nearCache.remove(sessionId);
+            return null;
+        }
+        return cached.context();
+    }
+
+    private SessionContext load(String sessionId, long now) {
+        byte[] data;
+        try {
+            data = jdbcTemplate.query(SELECT_SQL, rs -> rs.next() ? rs.getBytes(1) : null, sessionId);
+        } catch (DataAccessException e) {
+            // The chat keeps working, only without the earlier conversation
+            log.error("Error loading chat session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
+        if (data == null) {
+            return null;
+        }
+        try {
+            SessionContext context = SessionContext.fromBytes(sessionId, data);
+            // Rows outlive the timeout until the next sweep
+            return now - context.getLastActivity() > idleTimeoutMillis ? null : context;
+        } catch (IllegalArgumentException e) {
+            log.warn("Discarding unreadable chat session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void markDirty(String sessionId, SessionContext context) {
+        boolean full;
+        synchronized (this) {
+            pending.put(sessionId, context);
+            nearCache.put(sessionId, new CachedSession(context, clock.getAsLong()));
+            full = pending.size() >= batchSize;
+        }
+        if (full && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Error writing chat sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweep();
+            if (removed > 0) {
+                log.info("Expired {} idle chat sessions", removed);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error expiring chat sessions: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Counter nearCacheResult(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chatbot.sessions.near.cache")
+                .description("Chat session lookups answered locally (hit) or from the database (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedSession(SessionContext context, long cachedAt) {}
+}
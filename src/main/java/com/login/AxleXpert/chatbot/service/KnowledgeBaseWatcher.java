@@ -0,0 +1,224 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a Bm25Index in step with the .txt and .md files under one or more directories.
+ *
+ * Each file is a document whose analysed chunks are kept between scans. A scan stats every
+ * file and only reads, chunks and tokenizes the ones whose size, timestamp and content hash
+ * changed; the new index is then assembled from the kept chunks and handed to the publisher.
+ * Published indexes are never modified, so readers holding the previous one are unaffected.
+ *
+ * After the initial scan a daemon thread waits on a WatchService and rescans once the
+ * directories have been quiet for the configured period, so a burst of writes costs one
+ * rebuild.
+ */
+@Slf4j
+final class KnowledgeBaseWatcher implements Closeable {
+
+    private static final Set<String> EXTENSIONS = Set.of(".txt", ".md");
+
+    private final List<Path> directories;
+    private final int chunkSize;
+    private final int chunkOverlap;
+    private final Duration quietPeriod;
+    private final Consumer<Bm25Index> publisher;
+
+    // Guarded by this; documents are kept in path order so chunk ids are stable
+    private final Map<Path, Document> documents = new TreeMap<>();
+    private final Map<Path, WatchKey> registered = new HashMap<>();
+    private WatchService watchService;
+    private boolean published;
+
+    private Thread thread;
+
+    KnowledgeBaseWatcher(List<Path> directories, int chunkSize, int chunkOverlap,
+                         Duration quietPeriod, Consumer<Bm25Index> publisher) {
+        this.directories = directories.stream().map(d -> d.toAbsolutePath().normalize()).toList();
+        this.chunkSize = chunkSize;
+        this.chunkOverlap = chunkOverlap;
+        this.quietPeriod = quietPeriod;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Scans the directories and keeps watching them on a background thread.
+     */
+    void start() throws IOException {
+        synchronized (this) {
+            watchService = FileSystems.getDefault().newWatchService();
+        }
+        thread = Thread.ofPlatform().daemon().name("rag-knowledge-watch").start(this::watch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        if (service != null) {
+            service.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void watch() {
+        rescan();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // Drain until the directories are quiet, then rebuild once
+                do {
+                    key.pollEvents();
+                    key.reset();
+                } while ((key = watchService.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS)) != null);
+                rescan();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("Stopped watching knowledge directories {}", directories);
+        }
+    }
+
+    /**
+     * Re-analyses added and changed files, drops removed ones and publishes a new index when
+     * anything changed (always on the first scan).
+     *
+     * @return the number of documents added, changed or removed
+     */
+    synchronized int rescan() {
+        registered.values().removeIf(key -> !key.isValid());
+        Set<Path> present = new HashSet<>();
+        boolean complete = true;
+        int changed = 0;
+
+        for (Path directory : directories) {
+            if (!Files.isDirectory(directory)) {
+                log.warn("Knowledge directory {} does not exist", directory);
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : (Iterable<Path>) paths::iterator) {
+                    if (Files.isDirectory(path)) {
+                        register(path);
+                    } else if (isKnowledgeFile(path)) {
+                        try {
+                            if (refresh(path)) {
+                                changed++;
+                            }
+                            present.add(path);
+                        } catch (NoSuchFileException e) {
+                            // Deleted while scanning; the next event rescans anyway
+                        } catch (IOException e) {
+                            log.warn("Could not read knowledge file {}: {}", path, e.getMessage());
+                            present.add(path);
+                        }
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Could not scan knowledge directory {}: {}", directory, e.getMessage());
+                complete = false;
+            }
+        }
+
+        // A failed walk says nothing about what was deleted, so keep everything until the next scan
+        if (complete) {
+            int before = documents.size();
+            documents.keySet().retainAll(present);
+            changed += before - documents.size();
+        }
+
+        if (changed > 0 || !published) {
+            List<Bm25Index.AnalyzedChunk> chunks = new ArrayList<>();
+            for (Document document : documents.values()) {
+                chunks.addAll(document.chunks());
+            }
+            publisher.accept(Bm25Index.assemble(chunks));
+            published = true;
+        }
+        return changed;
+    }
+
+    /**
+     * @return true when the file is new or its content changed
+     */
+    private boolean refresh(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        Document known = documents.get(file);
+        if (known != null && known.modified() == modified && known.size() == attributes.size()) {
+            return false;
+        }
+
+        byte[] content = Files.readAllBytes(file);
+        byte[] hash = RagIndexSnapshot.sha256(content);
+        if (known != null && Arrays.equals(known.hash(), hash)) {
+            documents.put(file, new Document(modified, attributes.size(), hash, known.chunks()));
+            return false;
+        }
+
+        List<Bm25Index.AnalyzedChunk> chunks = new ArrayList<>();
+        String text = new String(content, StandardCharsets.UTF_8);
+        for (String chunk : KnowledgeChunker.chunk(text, chunkSize, chunkOverlap)) {
+            if (!chunk.isBlank()) {
+                chunks.add(Bm25Index.analyze(chunk));
+            }
+        }
+        documents.put(file, new Document(modified, attributes.size(), hash, List.copyOf(chunks)));
+        log.info("Indexed knowledge file {} ({} chunks)", file, chunks.size());
+        return true;
+    }
+
+    private void register(Path directory) {
+        if (watchService == null || registered.containsKey(directory)) {
+            return;
+        }
+        try {
+            registered.put(directory, directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+        } catch (IOException | ClosedWatchServiceException e) {
+            log.warn("Could not watch knowledge directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static boolean isKnowledgeFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && EXTENSIONS.contains(name.substring(dot)) && Files.isRegularFile(path);
+    }
+
+    private record Document(long modified, long size, byte[] hash, List<Bm25Index.AnalyzedChunk> chunks) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits knowledge base text into overlapping, sentence-aligned chunks.
+ * Shared by RagService and the offline RagIndexer so both produce the same chunks.
+ */
+final class KnowledgeChunker {
+
+    private KnowledgeChunker() {
+    }
+
+    /**
+     * Split text into overlapping chunks for better context retrieval
+     */
+    static List<String> chunk(String text, int chunkSize, int chunkOverlap) {
+        List<String> chunks = new ArrayList<>();
+        String[] sentences = text.split("(?<=[.!?])\\s+");
+
+        StringBuilder currentChunk = new StringBuilder();
+        int currentLength = 0;
+
+        for (String sentence : sentences) {
+            if (currentLength + sentence.length() > chunkSize && currentLength > 0) {
+                chunks.add(currentChunk.toString().trim());
+
+                // Create overlap by keeping the last part of the current chunk
+                String overlap = overlapText(currentChunk.toString(), chunkOverlap);
+                currentChunk = new StringBuilder(overlap);
+                currentLength = overlap.length();
+            }
+
+            currentChunk.append(sentence).append(" ");
+            currentLength += sentence.length() + 1;
+        }
+
+        // Add the last chunk if it's not empty
+        if (currentLength > 0) {
+            chunks.add(currentChunk.toString().trim());
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Create overlap text from the end of a chunk
+     */
+    private static String overlapText(String text, int chunkOverlap) {
+        if (text.length() <= chunkOverlap) {
+            return text;
+        }
+        return text.substring(text.length() - chunkOverlap);
+    }
+}
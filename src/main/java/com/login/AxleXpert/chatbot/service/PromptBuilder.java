@@ -0,0 +1,292 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the Gemini prompt for a question and its context, within a token budget.
+ *
+ * The context is split into sections at blank lines: the SERVICES:/BRANCHES:/... blocks
+ * of ChatContextAssembler, or the knowledge base chunks from RagService. Sections are
+ * ranked by how many of the question's words they contain (rarer words count more),
+ * then taken best first while they fit in chatbot.prompt.max-tokens minus the fixed
+ * instructions and the question. A section that no longer fits whole is cut to the lines
+ * that do, with a note that more was left out, or dropped when hardly anything of it
+ * would fit. Kept sections stay in their original order.
+ *
+ * Token counts come from estimateTokens(), a single pass over the text that needs no
+ * tokenizer or network call.
+ *
+ * Metrics: chatbot.prompt.tokens and chatbot.prompt.tokens.trimmed (estimated tokens per
+ * request) and chatbot.prompt.sections{outcome=kept|truncated|dropped}.
+ */
+@Component
+@Slf4j
+public class PromptBuilder {
+
+    private static final String PREAMBLE =
+            "You are AxleXpert AI, a helpful assistant for the AxleXpert vehicle service system. " +
+            "Use the following context information to provide accurate and helpful responses " +
+            "about our services, booking process, locations, and vehicle maintenance.\n\n" +
+            "CONTEXT INFORMATION:\n";
+    private static final String INSTRUCTIONS =
+            "\n\n" +
+            "INSTRUCTIONS:\n" +
+            "- Answer based ONLY on the context provided above\n" +
+            "- Keep responses SHORT and SIMPLE - 1-3 sentences maximum\n" +
+            "- For lists, show only the essential information (name and key details)\n" +
+            "- Use **bold** only for the most important items\n" +
+            "- Use bullet points (-) ONLY when listing multiple items\n" +
+            "- NO long explanations, NO extra suggestions unless specifically asked\n" +
+            "- Be direct and to the point\n" +
+            "- If the user asks about their vehicles/services/data, list them concisely\n" +
+            "- If you don't have the information in the context, say so briefly\n\n" +
+            "USER QUESTION: ";
+    private static final String RESPONSE = "\n\nRESPONSE:";
+
+    private static final Pattern SECTION_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final String SEPARATOR = "\n\n";
+    private static final int SEPARATOR_TOKENS = estimateTokens(SEPARATOR);
+    // Below this a cut section would be little more than its heading
+    private static final int MIN_PARTIAL_TOKENS = 16;
+
+    private final int maxTokens;
+    private final int templateTokens;
+
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary trimmedTokens;
+    private final Counter keptSections;
+    private final Counter truncatedSections;
+    private final Counter droppedSections;
+
+    @Autowired
+    public PromptBuilder(MeterRegistry meterRegistry, @Value("${chatbot.prompt.max-tokens:3000}") int maxTokens) {
+        this.maxTokens = maxTokens;
+        this.templateTokens = estimateTokens(PREAMBLE) + estimateTokens(INSTRUCTIONS) + estimateTokens(RESPONSE);
+
+        this.promptTokens = DistributionSummary.builder("chatbot.prompt.tokens")
+                .description("Estimated tokens in each prompt sent to Gemini")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        this.trimmedTokens = DistributionSummary.builder("chatbot.prompt.tokens.trimmed")
+                .description("Estimated context tokens left out of each prompt to stay within budget")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        this.keptSections = sections(meterRegistry, "kept");
+        this.truncatedSections = sections(meterRegistry, "truncated");
+        this.droppedSections = sections(meterRegistry, "dropped");
+    }
+
+    /**
+     * The full prompt: instructions, the context trimmed to the budget, and the question.
+     */
+    public String build(String query, String context) {
+        String question = query == null ? "" : query;
+        int questionTokens = estimateTokens(question);
+        int budget = maxTokens - templateTokens - questionTokens;
+
+        List<Section> sections = split(context);
+        String fitted = fit(sections, rank(question, sections), budget);
+        int contextTokens = estimateTokens(fitted);
+        int trimmed = Math.max(0, totalTokens(sections) - contextTokens);
+
+        promptTokens.record(templateTokens + questionTokens + contextTokens);
+        trimmedTokens.record(trimmed);
+        if (trimmed > 0) {
+            log.debug("Trimmed about {} context tokens to fit the prompt budget of {}", trimmed, maxTokens);
+        }
+        return PREAMBLE + fitted + INSTRUCTIONS + question + RESPONSE;
+    }
+
+    /**
+     * Roughly how many tokens a model tokenizer makes of the text: a word per four
+     * letters or digits (at least one), plus one per punctuation mark or line break.
+     */
+    static int estimateTokens(CharSequence text) {
+        int tokens = 0;
+        int word = 0;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word++;
+                continue;
+            }
+            tokens += wordTokens(word);
+            word = 0;
+            if (c == '\n' || !Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        return tokens + wordTokens(word);
+    }
+
+    private static int wordTokens(int letters) {
+        return (letters + 3) / 4;
+    }
+
+    private static List<Section> split(String context) {
+        List<Section> sections = new ArrayList<>();
+        if (context == null) {
+            return sections;
+        }
+        for (String text : SECTION_BREAK.split(context.strip())) {
+            String section = text.strip();
+            if (!section.isEmpty()) {
+                sections.add(new Section(section, estimateTokens(section)));
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Section indexes, most relevant first. A section scores log(1 + n/df) for every
+     * distinct question word it contains, df being the number of sections containing it.
+     * Ties keep the original order, which for knowledge base chunks is already by relevance.
+     */
+    private static List<Integer> rank(String query, List<Section> sections) {
+        Set<String> queryTerms = new HashSet<>(Bm25Index.tokenize(query));
+        List<Set<String>> matched = new ArrayList<>(sections.size());
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Section section : sections) {
+            Set<String> terms = new HashSet<>(Bm25Index.tokenize(section.text()));
+            terms.retainAll(queryTerms);
+            matched.add(terms);
+            for (String term : terms) {
+                documentFrequency.merge(term, 1, Integer::sum);
+            }
+        }
+
+        double[] scores = new double[sections.size()];
+        List<Integer> order = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            for (String term : matched.get(i)) {
+                scores[i] += Math.log(1 + (double) sections.size() / documentFrequency.get(term));
+            }
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> -scores[i]).thenComparingInt(i -> i));
+        return order;
+    }
+
+    private String fit(List<Section> sections, List<Integer> ranked, int budget) {
+        String[] chosen = new String[sections.size()];
+        int remaining = budget;
+        for (int index : ranked) {
+            Section section = sections.get(index);
+            int cost = section.tokens() + SEPARATOR_TOKENS;
+            if (cost <= remaining) {
+                chosen[index] = section.text();
+                remaining -= cost;
+                keptSections.increment();
+                continue;
+            }
+            String cut = remaining >= MIN_PARTIAL_TOKENS ? truncate(section.text(), remaining - SEPARATOR_TOKENS) : null;
+            if (cut != null) {
+                chosen[index] = cut;
+                remaining -= estimateTokens(cut) + SEPARATOR_TOKENS;
+                truncatedSections.increment();
+            } else {
+                droppedSections.increment();
+            }
+        }
+
+        StringBuilder context = new StringBuilder();
+        for (String text : chosen) {
+            if (text != null) {
+                if (!context.isEmpty()) {
+                    context.append(SEPARATOR);
+                }
+                context.append(text);
+            }
+        }
+        return context.toString();
+    }
+
+    /**
+     * The leading lines of the section that fit in the budget, then a note of how many
+     * lines were left out; null when no more than the first line (the heading) would fit.
+     * A section of one line is cut at a word instead.
+     */
+    static String truncate(String section, int budget) {
+        String[] lines = section.split("\n");
+        StringBuilder kept = new StringBuilder();
+        int used = 0;
+        int keptLines = 0;
+        for (String line : lines) {
+            int cost = estimateTokens(line) + 1;
+            // Leave room for the note unless this is the last line
+            int reserve = keptLines + 1 < lines.length ? estimateTokens(omitted(lines.length)) : 0;
+            if (used + cost + reserve > budget) {
+                break;
+            }
+            kept.append(line).append('\n');
+            used += cost;
+            keptLines++;
+        }
+        if (lines.length == 1 && keptLines == 0) {
+            return cutAtWord(lines[0], budget - estimateTokens(" ..."));
+        }
+        if (keptLines < Math.min(2, lines.length)) {
+            return null;
+        }
+        if (keptLines < lines.length) {
+            kept.append(omitted(lines.length - keptLines));
+        } else {
+            kept.setLength(kept.length() - 1);
+        }
+        return kept.toString();
+    }
+
+    private static String omitted(int lines) {
+        return "- ... " + lines + " more not shown";
+    }
+
+    private static String cutAtWord(String line, int budget) {
+        // Spaces count for nothing, so the estimate of the prefix is the sum over its words
+        int used = 0;
+        int end = 0;
+        for (int start = 0; start < line.length(); ) {
+            int space = line.indexOf(' ', start);
+            int stop = space < 0 ? line.length() : space;
+            used += estimateTokens(line.subSequence(start, stop));
+            if (used > budget) {
+                break;
+            }
+            end = stop;
+            start = stop + 1;
+        }
+        return end == 0 ? null : line.substring(0, end) + " ...";
+    }
+
+    private static int totalTokens(List<Section> sections) {
+        int total = 0;
+        for (Section section : sections) {
+            total += section.tokens();
+        }
+        return total;
+    }
+
+    private static Counter sections(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("chatbot.prompt.sections")
+                .description("Context sections kept whole, cut down or dropped to fit the prompt budget")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Section(String text, int tokens) {}
+}
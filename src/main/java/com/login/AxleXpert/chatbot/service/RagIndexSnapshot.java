@@ -0,0 +1,101 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * On-disk copy of a Bm25Index, tied to the knowledge base text it was built from.
+ *
+ * The file is a 48 byte header followed by the index bytes exactly as Bm25Index lays
+ * them out, so opening it is a read-only memory map and a header check:
+ *
+ * <pre>
+ *   int  magic "AXRI", format version
+ *   byte sourceHash[32]     SHA-256 of the knowledge base file
+ *   int  chunkSize, chunkOverlap
+ *   ...  Bm25Index data
+ * </pre>
+ */
+final class RagIndexSnapshot {
+
+    static final int MAGIC = 0x41585249;
+    static final int VERSION = 1;
+    static final int HASH_BYTES = 32;
+    static final int HEADER_BYTES = 2 * Integer.BYTES + HASH_BYTES + 2 * Integer.BYTES;
+
+    private RagIndexSnapshot() {
+    }
+
+    /**
+     * Maps the snapshot if it exists and was built from the same source with the same
+     * chunking; otherwise empty.
+     *
+     * @throws IOException when the file exists but cannot be read
+     */
+    static Optional<Bm25Index> open(Path file, byte[] sourceHash, int chunkSize, int chunkOverlap) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_BYTES) {
+            return Optional.empty();
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer header = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        byte[] hash = new byte[HASH_BYTES];
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            return Optional.empty();
+        }
+        header.get(hash);
+        if (!Arrays.equals(hash, sourceHash) || header.getInt() != chunkSize || header.getInt() != chunkOverlap) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Bm25Index.read(mapped.slice(HEADER_BYTES, mapped.limit() - HEADER_BYTES)));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot next to its final location and moves it into place, so a
+     * reader never maps a half-written file.
+     */
+    static void write(Path file, byte[] sourceHash, int chunkSize, int chunkOverlap, Bm25Index index) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).put(sourceHash).putInt(chunkSize).putInt(chunkOverlap).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                index.writeTo(channel);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
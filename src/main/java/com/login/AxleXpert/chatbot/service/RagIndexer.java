@@ -0,0 +1,47 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Offline builder for the RAG index snapshot that RagService memory-maps on startup.
+ *
+ * Usage (no Spring context needed, only compiled classes):
+ *   java -cp target/classes com.login.AxleXpert.chatbot.service.RagIndexer \
+ *        src/main/resources/rag-knowledge-base.txt target/rag-index.bin [chunkSize] [chunkOverlap]
+ *
+ * chunkSize and chunkOverlap default to 1000 and 200 and must match chatbot.rag.chunk-size
+ * and chatbot.rag.chunk-overlap, otherwise the application ignores the snapshot and rebuilds.
+ */
+public final class RagIndexer {
+
+    private RagIndexer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RagIndexer <knowledge-base.txt> <index.bin> [chunkSize] [chunkOverlap]");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int chunkOverlap = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        long started = System.nanoTime();
+        byte[] content = Files.readAllBytes(source);
+        Bm25Index index = build(content, chunkSize, chunkOverlap);
+        RagIndexSnapshot.write(target, RagIndexSnapshot.sha256(content), chunkSize, chunkOverlap, index);
+
+        System.out.printf("Indexed %s: %d chunks, %d terms, %d bytes -> %s in %d ms%n",
+                source, index.documentCount(), index.termCount(), index.byteSize(), target,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    static Bm25Index build(byte[] content, int chunkSize, int chunkOverlap) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        return Bm25Index.build(KnowledgeChunker.chunk(text, chunkSize, chunkOverlap));
+    }
+}
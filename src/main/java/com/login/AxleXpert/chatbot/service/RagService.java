@@ -6,203 +6,265 @@ import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
 import jakarta.annotation.PostConstruct;
-import java.io.BufferedReader;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * RAG (Retrieval-Augmented Generation) Service
  * Handles knowledge base processing, text chunking, and similarity search
  * for retrieving relevant context to enhance chatbot responses
+ *
+ * Chunks are ranked with BM25 over an inverted index (see Bm25Index), so a query
+ * costs time in proportion to the postings of its terms, not the size of the corpus.
+ *
+ * On startup the index is memory-mapped from chatbot.rag.index-path when that snapshot
+ * was built from the current knowledge base (see RagIndexer). Otherwise it is built on a
+ * background thread and the snapshot is written for the next start; until then
+ * retrieval answers as if the knowledge base were empty.
+ *
+ * When chatbot.rag.knowledge-dirs lists directories, their .txt and .md files replace the
+ * bundled knowledge base and are watched (see KnowledgeBaseWatcher): only changed files are
+ * re-chunked, and each rebuilt index is swapped in whole, so a query always runs against
+ * one complete index.
+ *
+ * Alongside BM25, every chunk is embedded (EmbeddingProvider) into an IvfVectorIndex so
+ * paraphrases still match; both candidate lists are merged by RankFusion. The vector index
+ * is built in the background after each lexical index is installed, and queries use BM25
+ * alone until it is ready.
  */
 @Service
 @Slf4j
 public class RagService {
 
+    private static final String KNOWLEDGE_BASE = "rag-knowledge-base.txt";
+    private static final String NO_KNOWLEDGE = "No knowledge base available. Please contact support for assistance.";
+    private static final long ANN_SEED = 42;
+    // Each index contributes this many candidates per requested chunk to the fusion
+    private static final int CANDIDATES_PER_CHUNK = 5;
+
+    private final EmbeddingProvider embeddings;
+
     @Value("${chatbot.rag.chunk-size:1000}")
     private int chunkSize;
 
     @Value("${chatbot.rag.chunk-overlap:200}")
     private int chunkOverlap;
 
-    private List<String> knowledgeChunks;
-    private Map<String, Map<String, Integer>> chunkVectors;
+    @Value("${chatbot.rag.index-path:rag-index.bin}")
+    private String indexPath;
+
+    @Value("${chatbot.rag.knowledge-dirs:}")
+    private String knowledgeDirs;
+
+    @Value("${chatbot.rag.reload-quiet-ms:500}")
+    private long reloadQuietMs;
+
+    @Value("${chatbot.rag.dense.enabled:true}")
+    private boolean denseEnabled;
+
+    @Value("${chatbot.rag.dense.weight:0.5}")
+    private double denseWeight;
+
+    @Value("${chatbot.rag.ann.lists:0}")
+    private int annLists;
+
+    @Value("${chatbot.rag.ann.probes:8}")
+    private int annProbes;
+
+    // Replaced, never modified: readers copy the reference once and use those indexes throughout
+    private volatile Indexes index;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private KnowledgeBaseWatcher watcher;
+
+    public RagService(EmbeddingProvider embeddings) {
+        this.embeddings = embeddings;
+    }
 
     /**
-     * Initialize the RAG service by loading and processing the knowledge base
+     * Initialize the RAG service from the snapshot, or start building the index in the background
      */
     @PostConstruct
     public void initialize() {
         log.info("Initializing RAG Service...");
-        loadAndProcessKnowledgeBase();
-        log.info("RAG Service initialized with {} knowledge chunks", knowledgeChunks.size());
-    }
+        List<Path> directories = knowledgeDirectories();
+        if (!directories.isEmpty()) {
+            watchDirectories(directories);
+            return;
+        }
 
-    /**
-     * Load knowledge base from file and split into chunks
-     */
-    private void loadAndProcessKnowledgeBase() {
+        byte[] content;
         try {
-            ClassPathResource resource = new ClassPathResource("rag-knowledge-base.txt");
-            StringBuilder content = new StringBuilder();
-
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(resource.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    content.append(line).append("\n");
-                }
-            }
-
-            String fullText = content.toString();
-            knowledgeChunks = createTextChunks(fullText);
-            chunkVectors = createVectorizedChunks(knowledgeChunks);
-
+            content = readKnowledgeBase();
         } catch (IOException e) {
             log.error("Error loading knowledge base: {}", e.getMessage());
-            // Initialize with empty lists to prevent null pointer exceptions
-            knowledgeChunks = new ArrayList<>();
-            chunkVectors = new HashMap<>();
+            install(Bm25Index.build(List.of()), "empty knowledge base");
+            return;
         }
-    }
-
-    /**
-     * Split text into overlapping chunks for better context retrieval
-     */
-    private List<String> createTextChunks(String text) {
-        List<String> chunks = new ArrayList<>();
-        String[] sentences = text.split("(?<=[.!?])\\s+");
 
-        StringBuilder currentChunk = new StringBuilder();
-        int currentLength = 0;
-
-        for (String sentence : sentences) {
-            if (currentLength + sentence.length() > chunkSize && currentLength > 0) {
-                chunks.add(currentChunk.toString().trim());
-
-                // Create overlap by keeping the last part of the current chunk
-                String overlap = getOverlapText(currentChunk.toString());
-                currentChunk = new StringBuilder(overlap);
-                currentLength = overlap.length();
+        byte[] sourceHash = RagIndexSnapshot.sha256(content);
+        Path snapshot = snapshotPath();
+        if (snapshot != null) {
+            try {
+                Optional<Bm25Index> mapped = RagIndexSnapshot.open(snapshot, sourceHash, chunkSize, chunkOverlap);
+                if (mapped.isPresent()) {
+                    install(mapped.get(), "snapshot " + snapshot);
+                    return;
+                }
+                log.info("No RAG index snapshot for the current knowledge base at {}; building in the background", snapshot);
+            } catch (IOException e) {
+                log.warn("Could not read RAG index snapshot {}: {}", snapshot, e.getMessage());
             }
-
-            currentChunk.append(sentence).append(" ");
-            currentLength += sentence.length() + 1;
         }
 
-        // Add the last chunk if it's not empty
-        if (currentLength > 0) {
-            chunks.add(currentChunk.toString().trim());
-        }
-
-        return chunks;
+        Thread.ofPlatform().daemon().name("rag-index-build")
+                .start(() -> buildIndex(content, sourceHash, snapshot));
     }
 
-    /**
-     * Create overlap text from the end of a chunk
-     */
-    private String getOverlapText(String text) {
-        if (text.length() <= chunkOverlap) {
-            return text;
+    private void watchDirectories(List<Path> directories) {
+        watcher = new KnowledgeBaseWatcher(directories, chunkSize, chunkOverlap,
+                Duration.ofMillis(reloadQuietMs), built -> install(built, "knowledge directories " + directories));
+        try {
+            watcher.start();
+        } catch (IOException e) {
+            log.error("Could not watch knowledge directories {}: {}", directories, e.getMessage());
+            install(Bm25Index.build(List.of()), "empty knowledge base");
         }
-        return text.substring(text.length() - chunkOverlap);
     }
 
-    /**
-     * Create TF-IDF like vectors for each chunk (simplified version)
-     */
-    private Map<String, Map<String, Integer>> createVectorizedChunks(List<String> chunks) {
-        Map<String, Map<String, Integer>> vectors = new HashMap<>();
-
-        for (int i = 0; i < chunks.size(); i++) {
-            String chunkId = "chunk_" + i;
-            Map<String, Integer> wordFreq = createWordFrequencyMap(chunks.get(i));
-            vectors.put(chunkId, wordFreq);
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (watcher != null) {
+            watcher.close();
         }
-
-        return vectors;
     }
 
     /**
-     * Create word frequency map for a text chunk
+     * Waits until the first index, and its vector index when enabled, is ready; used where a
+     * caller must not see the empty or keyword-only state.
      */
-    private Map<String, Integer> createWordFrequencyMap(String text) {
-        Map<String, Integer> wordFreq = new HashMap<>();
-
-        // Convert to lowercase and split into words
-        String[] words = text.toLowerCase()
-                .replaceAll("[^a-zA-Z0-9\\s]", "")
-                .split("\\s+");
+    boolean awaitReady(Duration timeout) throws InterruptedException {
+        try {
+            ready.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        }
+    }
 
-        for (String word : words) {
-            if (word.length() > 2) { // Filter out very short words
-                wordFreq.put(word, wordFreq.getOrDefault(word, 0) + 1);
+    private void buildIndex(byte[] content, byte[] sourceHash, Path snapshot) {
+        try {
+            long started = System.nanoTime();
+            Bm25Index built = RagIndexer.build(content, chunkSize, chunkOverlap);
+            install(built, "source, built in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+            if (snapshot != null) {
+                RagIndexSnapshot.write(snapshot, sourceHash, chunkSize, chunkOverlap, built);
+                log.info("Wrote RAG index snapshot {} ({} bytes)", snapshot, built.byteSize());
+            }
+        } catch (IOException e) {
+            log.warn("Could not write RAG index snapshot {}: {}", snapshot, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error building RAG index: {}", e.getMessage(), e);
+            if (index == null) {
+                install(Bm25Index.build(List.of()), "empty knowledge base");
             }
         }
-
-        return wordFreq;
     }
 
-    /**
-     * Calculate cosine similarity between two word frequency maps
-     */
-    private double calculateCosineSimilarity(Map<String, Integer> vectorA, Map<String, Integer> vectorB) {
-        Set<String> intersection = new HashSet<>(vectorA.keySet());
-        intersection.retainAll(vectorB.keySet());
-
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
-
-        for (String key : intersection) {
-            dotProduct += vectorA.get(key) * vectorB.get(key);
+    private synchronized void install(Bm25Index built, String origin) {
+        index = new Indexes(built, null);
+        log.info("RAG index now serves {} knowledge chunks from {}", built.documentCount(), origin);
+        if (denseEnabled && built.documentCount() > 0) {
+            Thread.ofPlatform().daemon().name("rag-dense-build").start(() -> buildDense(built));
+        } else {
+            ready.complete(null);
         }
+    }
 
-        for (int value : vectorA.values()) {
-            normA += Math.pow(value, 2);
+    private void buildDense(Bm25Index lexical) {
+        try {
+            long started = System.nanoTime();
+            int dimensions = embeddings.dimensions();
+            float[] vectors = new float[lexical.documentCount() * dimensions];
+            for (int i = 0; i < lexical.documentCount(); i++) {
+                System.arraycopy(embeddings.embed(lexical.chunk(i)), 0, vectors, i * dimensions, dimensions);
+            }
+            IvfVectorIndex dense = IvfVectorIndex.build(vectors, dimensions, annLists, ANN_SEED);
+            synchronized (this) {
+                // A newer knowledge base may have been installed meanwhile; its own build will follow
+                if (index.lexical() != lexical) {
+                    return;
+                }
+                index = new Indexes(lexical, dense);
+            }
+            log.info("RAG vector index ready: {} chunks in {} lists, built in {} ms",
+                    dense.size(), dense.lists(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error building RAG vector index, using keyword search only: {}", e.getMessage(), e);
+        } finally {
+            ready.complete(null);
         }
+    }
 
-        for (int value : vectorB.values()) {
-            normB += Math.pow(value, 2);
+    private byte[] readKnowledgeBase() throws IOException {
+        try (InputStream in = new ClassPathResource(KNOWLEDGE_BASE).getInputStream()) {
+            return in.readAllBytes();
         }
+    }
 
-        if (normA == 0.0 || normB == 0.0) {
-            return 0.0;
+    private List<Path> knowledgeDirectories() {
+        if (knowledgeDirs == null || knowledgeDirs.isBlank()) {
+            return List.of();
         }
+        return Arrays.stream(knowledgeDirs.split(","))
+                .map(String::trim)
+                .filter(dir -> !dir.isEmpty())
+                .map(Path::of)
+                .toList();
+    }
 
-        return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+    private Path snapshotPath() {
+        return indexPath == null || indexPath.isBlank() ? null : Path.of(indexPath);
     }
 
     /**
      * Retrieve most relevant context chunks for a given query
      */
     public String retrieveRelevantContext(String query, int maxChunks) {
-        if (knowledgeChunks.isEmpty()) {
-            return "No knowledge base available. Please contact support for assistance.";
+        Indexes current = index;
+        if (current == null || current.lexical().documentCount() == 0) {
+            return NO_KNOWLEDGE;
         }
-
-        Map<String, Integer> queryVector = createWordFrequencyMap(query);
-        List<ChunkScore> scores = new ArrayList<>();
-
-        // Calculate similarity scores for each chunk
-        for (Map.Entry<String, Map<String, Integer>> entry : chunkVectors.entrySet()) {
-            String chunkId = entry.getKey();
-            Map<String, Integer> chunkVector = entry.getValue();
-
-            double similarity = calculateCosineSimilarity(queryVector, chunkVector);
-            int chunkIndex = Integer.parseInt(chunkId.split("_")[1]);
-
-            scores.add(new ChunkScore(chunkIndex, similarity));
+        Bm25Index lexical = current.lexical();
+
+        int[] best;
+        if (current.dense() == null) {
+            best = lexical.search(query, maxChunks);
+        } else {
+            int candidates = maxChunks * CANDIDATES_PER_CHUNK;
+            best = RankFusion.fuse(
+                    lexical.search(query, candidates),
+                    current.dense().search(embeddings.embed(query), candidates, annProbes),
+                    denseWeight, maxChunks);
+        }
+        List<String> topChunks = new ArrayList<>(best.length);
+        for (int chunkIndex : best) {
+            topChunks.add(lexical.chunk(chunkIndex));
         }
 
-        // Sort by similarity score and get top chunks
-        List<String> topChunks = scores.stream()
-                .sorted((a, b) -> Double.compare(b.score, a.score))
-                .limit(maxChunks)
-                .map(cs -> knowledgeChunks.get(cs.chunkIndex))
-                .collect(Collectors.toList());
+        // Nothing in common with the knowledge base: fall back to its opening chunks
+        if (topChunks.isEmpty()) {
+            for (int i = 0; i < Math.min(maxChunks, lexical.documentCount()); i++) {
+                topChunks.add(lexical.chunk(i));
+            }
+        }
 
         return String.join("\n\n", topChunks);
     }
@@ -218,30 +280,33 @@ public class RagService {
      * Simple search in knowledge base (keyword-based)
      */
     public List<String> searchKeywords(String query) {
+        Indexes indexes = index;
+        List<String> matches = new ArrayList<>();
+        if (indexes == null) {
+            return matches;
+        }
+        Bm25Index current = indexes.lexical();
         String lowerQuery = query.toLowerCase();
-        return knowledgeChunks.stream()
-                .filter(chunk -> chunk.toLowerCase().contains(lowerQuery))
-                .limit(5)
-                .collect(Collectors.toList());
+        for (int i = 0; i < current.documentCount() && matches.size() < 5; i++) {
+            String chunk = current.chunk(i);
+            if (chunk.toLowerCase().contains(lowerQuery)) {
+                matches.add(chunk);
+            }
+        }
+        return matches;
     }
 
     /**
      * Get total number of knowledge chunks
      */
     public int getKnowledgeBaseSize() {
-        return knowledgeChunks.size();
+        Indexes current = index;
+        return current == null ? 0 : current.lexical().documentCount();
     }
 
     /**
-     * Helper class to store chunk similarity scores
+     * The lexical index and, once built, the vector index over the same chunk ids.
      */
-    private static class ChunkScore {
-        final int chunkIndex;
-        final double score;
-
-        ChunkScore(int chunkIndex, double score) {
-            this.chunkIndex = chunkIndex;
-            this.score = score;
-        }
+    private record Indexes(Bm25Index lexical, IvfVectorIndex dense) {
     }
 }
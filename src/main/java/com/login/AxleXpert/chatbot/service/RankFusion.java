@@ -0,0 +1,44 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hybrid ranking by weighted reciprocal rank fusion.
+ *
+ * BM25 scores and cosine similarities live on different scales, so only ranks are
+ * combined: a chunk at rank r of a list earns {@code weight / (RANK_OFFSET + r)} from it.
+ * A chunk near the top of both lists beats one that only a single list likes.
+ */
+final class RankFusion {
+
+    // The usual RRF constant; damps the difference between the first few ranks
+    static final int RANK_OFFSET = 60;
+
+    private RankFusion() {
+    }
+
+    /**
+     * @param lexical     chunk ids from the lexical index, best first
+     * @param dense       chunk ids from the vector index, best first
+     * @param denseWeight share of the dense list, 0 (lexical only) to 1 (dense only)
+     * @return up to k chunk ids, best first; ties keep lexical order, then dense order
+     */
+    static int[] fuse(int[] lexical, int[] dense, double denseWeight, int k) {
+        Map<Integer, Double> scores = new LinkedHashMap<>();
+        add(scores, lexical, 1 - denseWeight);
+        add(scores, dense, denseWeight);
+        return scores.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .limit(Math.max(0, k))
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    private static void add(Map<Integer, Double> scores, int[] ranked, double weight) {
+        for (int rank = 0; rank < ranked.length; rank++) {
+            scores.merge(ranked[rank], weight / (RANK_OFFSET + rank + 1), Double::sum);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.ReferenceData;
+
+/**
+ * Rendered prompt sections for services, branches and managers, shared by all chat turns.
+ *
+ * An entry is used while its version matches ReferenceDataVersions and it is younger
+ * than chatbot.context.reference-ttl-seconds; the TTL catches changes made outside the
+ * services that report them.
+ */
+@Component
+public class ReferenceContextCache {
+
+    private final ReferenceDataVersions versions;
+    private final long ttlNanos;
+    private final Map<ReferenceData, Entry> entries = new ConcurrentHashMap<>();
+
+    public ReferenceContextCache(ReferenceDataVersions versions,
+                                 @Value("${chatbot.context.reference-ttl-seconds:600}") long ttlSeconds) {
+        this.versions = versions;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * The cached text, or null when missing, outdated or expired.
+     */
+    public String get(ReferenceData data) {
+        Entry entry = entries.get(data);
+        if (entry == null || entry.version() != versions.current(data)
+                || System.nanoTime() - entry.renderedAt() > ttlNanos) {
+            return null;
+        }
+        return entry.text();
+    }
+
+    /**
+     * Version to pass to put(); read it before fetching the data being rendered.
+     */
+    public long version(ReferenceData data) {
+        return versions.current(data);
+    }
+
+    /**
+     * Stores text rendered from data read at the given version. Ignored if the data
+     * has changed since, so a slow render cannot overwrite a newer one.
+     */
+    public void put(ReferenceData data, long version, String text) {
+        if (version == versions.current(data)) {
+            entries.put(data, new Entry(version, System.nanoTime(), text));
+        }
+    }
+
+    private record Entry(long version, long renderedAt, String text) {}
+}
@@ -1,25 +1,46 @@
 package com.login.AxleXpert.chatbot.service;
 
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Session Context for maintaining conversation state in memory
  * This class stores the conversation history for each chat session
  * without persisting to database as requested
+ *
+ * History is kept in fixed-size ring buffers (the last 20 messages each way), so adding a
+ * message never shifts or grows anything. Methods are synchronized because REST and
+ * WebSocket requests can touch the same session at once. Sessions are owned by
+ * a SessionStore, which bounds how many exist and expires idle ones.
  */
-@Data
 @Slf4j
 public class SessionContext {
 
+    static final int HISTORY_SIZE = 20;
+
+    // First byte of toBytes(), bumped whenever the layout changes
+    private static final byte FORMAT_VERSION = 1;
+
+    // Rough per-object costs used by estimatedBytes(): headers, fields, ring arrays, one String
+    private static final int SESSION_OVERHEAD_BYTES = 64 + 2 * (16 + 4 * HISTORY_SIZE + 24);
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
     private final String sessionId;
     private final long createdAt;
     private long lastActivity;
-    private final List<String> userMessages;
-    private final List<String> botMessages;
+    private final MessageRing userMessages = new MessageRing(HISTORY_SIZE);
+    private final MessageRing botMessages = new MessageRing(HISTORY_SIZE);
     private int messageCount;
     private String userPreferences;
 
@@ -27,12 +48,13 @@ public class SessionContext {
      * Constructor for new session
      */
     public SessionContext(String sessionId) {
+        this(sessionId, System.currentTimeMillis());
+    }
+
+    SessionContext(String sessionId, long now) {
         this.sessionId = sessionId;
-        this.createdAt = System.currentTimeMillis();
-        this.lastActivity = System.currentTimeMillis();
-        this.userMessages = new ArrayList<>();
-        this.botMessages = new ArrayList<>();
-        this.messageCount = 0;
+        this.createdAt = now;
+        this.lastActivity = now;
 
         log.debug("Created new session context for session: {}", sessionId);
     }
@@ -41,14 +63,13 @@ public class SessionContext {
      * Add user message to conversation history
      */
     public void addUserMessage(String message) {
+        addUserMessage(message, System.currentTimeMillis());
+    }
+
+    synchronized void addUserMessage(String message, long now) {
         userMessages.add(message);
         messageCount++;
-        updateLastActivity();
-
-        // Keep only last 20 messages to prevent memory issues
-        if (userMessages.size() > 20) {
-            userMessages.remove(0);
-        }
+        lastActivity = now;
 
         log.debug("Added user message to session {}: {}", sessionId, message);
     }
@@ -57,28 +78,20 @@ public class SessionContext {
      * Add bot response to conversation history
      */
     public void addBotMessage(String message) {
-        botMessages.add(message);
-        updateLastActivity();
+        addBotMessage(message, System.currentTimeMillis());
+    }
 
-        // Keep only last 20 messages to prevent memory issues
-        if (botMessages.size() > 20) {
-            botMessages.remove(0);
-        }
+    synchronized void addBotMessage(String message, long now) {
+        botMessages.add(message);
+        lastActivity = now;
 
         log.debug("Added bot message to session {}", sessionId);
     }
 
-    /**
-     * Update last activity timestamp
-     */
-    private void updateLastActivity() {
-        this.lastActivity = System.currentTimeMillis();
-    }
-
     /**
      * Get conversation context for AI (last few exchanges)
      */
-    public String getConversationContext() {
+    public synchronized String getConversationContext() {
         StringBuilder context = new StringBuilder();
 
         int maxMessages = Math.min(5, Math.min(userMessages.size(), botMessages.size()));
@@ -100,39 +113,225 @@ public class SessionContext {
         long currentTime = System.currentTimeMillis();
         long inactiveThreshold = 30 * 60 * 1000; // 30 minutes
 
-        return (currentTime - lastActivity) < inactiveThreshold;
+        return (currentTime - getLastActivity()) < inactiveThreshold;
     }
 
     /**
      * Get session duration in minutes
      */
-    public long getSessionDurationMinutes() {
+    public synchronized long getSessionDurationMinutes() {
         return (lastActivity - createdAt) / (60 * 1000);
     }
 
     /**
      * Get last user message
      */
-    public String getLastUserMessage() {
-        return userMessages.isEmpty() ? null : userMessages.get(userMessages.size() - 1);
+    public synchronized String getLastUserMessage() {
+        return userMessages.last();
     }
 
     /**
      * Get last bot message
      */
-    public String getLastBotMessage() {
-        return botMessages.isEmpty() ? null : botMessages.get(botMessages.size() - 1);
+    public synchronized String getLastBotMessage() {
+        return botMessages.last();
     }
 
     /**
      * Clear conversation history
      */
-    public void clearHistory() {
+    public synchronized void clearHistory() {
         userMessages.clear();
         botMessages.clear();
         messageCount = 0;
-        updateLastActivity();
+        lastActivity = System.currentTimeMillis();
 
         log.debug("Cleared history for session: {}", sessionId);
     }
+
+    /**
+     * Approximate heap held by this session, counting two bytes per character of history
+     */
+    public synchronized long estimatedBytes() {
+        return SESSION_OVERHEAD_BYTES + STRING_OVERHEAD_BYTES + 2L * sessionId.length()
+                + userMessages.estimatedBytes() + botMessages.estimatedBytes()
+                + (userPreferences == null ? 0 : STRING_OVERHEAD_BYTES + 2L * userPreferences.length());
+    }
+
+    /**
+     * Compact form for storing the session outside the JVM: timestamps, count, preferences
+     * and both histories as length-prefixed UTF-8, deflated.
+     */
+    synchronized byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(createdAt);
+            out.writeLong(lastActivity);
+            out.writeInt(messageCount);
+            writeString(out, userPreferences);
+            userMessages.writeTo(out);
+            botMessages.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize session " + sessionId, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reverse of toBytes().
+     *
+     * @throws IllegalArgumentException when the data is not a session in a known format
+     */
+    static SessionContext fromBytes(String sessionId, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unknown session format " + version + " for session " + sessionId);
+            }
+            SessionContext context = new SessionContext(sessionId, in.readLong());
+            context.lastActivity = in.readLong();
+            context.messageCount = in.readInt();
+            context.userPreferences = readString(in);
+            context.userMessages.readFrom(in);
+            context.botMessages.readFrom(in);
+            return context;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt session data for session " + sessionId, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Oldest first; a copy, so it can be read while the session keeps changing
+     */
+    public synchronized List<String> getUserMessages() {
+        return userMessages.toList();
+    }
+
+    public synchronized List<String> getBotMessages() {
+        return botMessages.toList();
+    }
+
+    public synchronized int getMessageCount() {
+        return messageCount;
+    }
+
+    public synchronized String getUserPreferences() {
+        return userPreferences;
+    }
+
+    public synchronized void setUserPreferences(String userPreferences) {
+        this.userPreferences = userPreferences;
+    }
+
+    /**
+     * Fixed-capacity ring of the most recent messages; adding to a full ring overwrites the
+     * oldest. Also keeps the running character count of what it holds.
+     */
+    private static final class MessageRing {
+        private final String[] slots;
+        private int head;  // index of the oldest message
+        private int size;
+        private long chars;
+
+        MessageRing(int capacity) {
+            this.slots = new String[capacity];
+        }
+
+        void add(String message) {
+            int tail = (head + size) % slots.length;
+            if (size == slots.length) {
+                chars -= length(slots[head]);
+                head = (head + 1) % slots.length;
+            } else {
+                size++;
+            }
+            slots[tail] = message;
+            chars += length(message);
+        }
+
+        private static int length(String message) {
+            return message == null ? 0 : message.length();
+        }
+
+        int size() {
+            return size;
+        }
+
+        String get(int index) {
+            return slots[(head + index) % slots.length];
+        }
+
+        String last() {
+            return size == 0 ? null : get(size - 1);
+        }
+
+        void clear() {
+            Arrays.fill(slots, null);
+            head = 0;
+            size = 0;
+            chars = 0;
+        }
+
+        long estimatedBytes() {
+            return (long) size * STRING_OVERHEAD_BYTES + 2 * chars;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                writeString(out, get(i));
+            }
+        }
+
+        void readFrom(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            if (count < 0 || count > slots.length) {
+                throw new IOException("Invalid history length " + count);
+            }
+            for (int i = 0; i < count; i++) {
+                add(readString(in));
+            }
+        }
+
+        List<String> toList() {
+            List<String> messages = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                messages.add(get(i));
+            }
+            return messages;
+        }
+    }
 }
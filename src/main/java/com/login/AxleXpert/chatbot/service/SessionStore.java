@@ -0,0 +1,26 @@
+package com.login.AxleXpert.chatbot.service;
+
+/**
+ * Where chat sessions live between messages.
+ *
+ * Selected with chatbot.session.store: "memory" (default) keeps sessions in the pod that
+ * served them, "jdbc" shares them through the application database so any replica can
+ * continue any conversation.
+ */
+public interface SessionStore {
+
+    /**
+     * Adds the user's message to the session, creating the session if needed.
+     */
+    SessionContext recordUserMessage(String sessionId, String message);
+
+    /**
+     * Adds the bot's answer to the session; ignored when the session is gone (e.g. expired meanwhile).
+     */
+    void recordBotMessage(String sessionId, String message);
+
+    /**
+     * The session, or null when there is none.
+     */
+    SessionContext get(String sessionId);
+}
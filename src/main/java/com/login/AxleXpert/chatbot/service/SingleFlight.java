@@ -0,0 +1,110 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Collapses concurrent calls for the same key into one upstream call.
+ *
+ * The first caller for a key (the leader) starts the call; callers arriving while it is
+ * in flight join it and receive the same result, errors included. The key is released
+ * as soon as the call ends, so nothing is remembered afterwards - that is the response
+ * cache's job. One subscriber cancelling does not cancel the call for the others.
+ *
+ * Streams (executeMany) are shared the same way. A caller joining mid-stream first gets
+ * every element emitted so far, then the rest as it arrives; the upstream is cancelled
+ * only once every subscriber has cancelled.
+ *
+ * Metrics, under the given name: {name}{role=leader|joined}, {name}.in.flight and
+ * {name}.collapse.ratio (share of calls that joined one already in flight).
+ */
+final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, Flux<V>> inFlightStreams = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter joined;
+
+    SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = role(meterRegistry, name, "leader");
+        this.joined = role(meterRegistry, name, "joined");
+        meterRegistry.gauge(name + ".in.flight", this, SingleFlight::inFlight);
+        meterRegistry.gauge(name + ".collapse.ratio", this, SingleFlight::collapseRatio);
+    }
+
+    /**
+     * The in-flight call for the key, or a new one from {@code call} when there is none.
+     * Evaluated per subscription.
+     */
+    Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return start(k, call);
+            });
+            (leader[0] ? leaders : joined).increment();
+            return shared;
+        });
+    }
+
+    /**
+     * The in-flight stream for the key, or a new one from {@code call} when there is none.
+     * Evaluated per subscription.
+     */
+    Flux<V> executeMany(K key, Supplier<Flux<V>> call) {
+        return Flux.defer(() -> {
+            boolean[] leader = {false};
+            Flux<V> shared = inFlightStreams.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return startMany(k, call);
+            });
+            (leader[0] ? leaders : joined).increment();
+            return shared;
+        });
+    }
+
+    int inFlight() {
+        return inFlight.size() + inFlightStreams.size();
+    }
+
+    double collapseRatio() {
+        double total = leaders.count() + joined.count();
+        return total == 0 ? 0 : joined.count() / total;
+    }
+
+    private Mono<V> start(K key, Supplier<Mono<V>> call) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        // cache() shares one upstream subscription; removal only ever drops this call's own entry
+        Mono<V> shared = call.get()
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    private Flux<V> startMany(K key, Supplier<Flux<V>> call) {
+        AtomicReference<Flux<V>> self = new AtomicReference<>();
+        // replay() hands late joiners what they missed; refCount() cancels the call once nobody listens
+        Flux<V> shared = call.get()
+                .doFinally(signal -> inFlightStreams.remove(key, self.get()))
+                .replay()
+                .refCount();
+        self.set(shared);
+        return shared;
+    }
+
+    private static Counter role(MeterRegistry meterRegistry, String name, String role) {
+        return Counter.builder(name)
+                .description("Calls started (leader) or joined while an identical call was in flight")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -6,7 +6,15 @@ import org.springframework.stereotype.Component;
 
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.security.AuthenticatedUser;
 
+/**
+ * Access to the signed-in user.
+ *
+ * Id, role and branch come from the verified JWT (see JwtFilter), so they need no query.
+ * Authentications not created by JwtFilter only carry a username and are looked up by it.
+ * getCurrentUser() loads the entity on every call.
+ */
 @Component
 public class CurrentUserUtil {
 
@@ -16,27 +24,46 @@ public class CurrentUserUtil {
         this.userRepository = userRepository;
     }
 
-    public User getCurrentUser() {
+    /**
+     * The signed-in user as carried by the token. Only falls back to a lookup by username
+     * when the authentication was not created by JwtFilter.
+     */
+    public AuthenticatedUser getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new RuntimeException("No authenticated user found");
         }
 
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.id() != null) {
+            return principal;
+        }
+        return lookUpPrincipal(authentication.getName());
+    }
+
+    /**
+     * The signed-in user's entity, loaded on every call.
+     */
+    public User getCurrentUser() {
+        Long userId = getCurrentPrincipal().id();
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found: " + userId));
     }
 
     public Long getCurrentUserId() {
-        return getCurrentUser().getId();
+        return getCurrentPrincipal().id();
     }
 
     public String getCurrentUserRole() {
-        return getCurrentUser().getRole();
+        return getCurrentPrincipal().role();
     }
 
     public Long getCurrentUserBranchId() {
-        User user = getCurrentUser();
-        return user.getBranch() != null ? user.getBranch().getId() : null;
+        return getCurrentPrincipal().branchId();
+    }
+
+    private AuthenticatedUser lookUpPrincipal(String username) {
+        return userRepository.findByUsername(username)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
     }
-}
\ No newline at end of file
+}
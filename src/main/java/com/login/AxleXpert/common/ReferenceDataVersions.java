@@ -0,0 +1,39 @@
+package com.login.AxleXpert.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.login.AxleXpert.common.enums.ReferenceData;
+
+/**
+ * Change counters for reference data. Services bump a counter when they modify the data;
+ * caches remember the version they were built from and rebuild once it moves.
+ *
+ * Bumps are applied after the surrounding transaction commits, so a cache rebuilt in
+ * response never reads the old rows under the new version.
+ */
+@Component
+public class ReferenceDataVersions {
+
+    private final AtomicLongArray versions = new AtomicLongArray(ReferenceData.values().length);
+
+    public long current(ReferenceData data) {
+        return versions.get(data.ordinal());
+    }
+
+    public void changed(ReferenceData data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.incrementAndGet(data.ordinal());
+                }
+            });
+        } else {
+            versions.incrementAndGet(data.ordinal());
+        }
+    }
+}
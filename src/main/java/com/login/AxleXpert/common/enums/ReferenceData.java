@@ -0,0 +1,11 @@
+package com.login.AxleXpert.common.enums;
+
+/**
+ * Reference data enumeration
+ * Slowly changing lists that other components keep cached copies of
+ */
+public enum ReferenceData {
+    SERVICES,
+    BRANCHES,
+    MANAGERS
+}
@@ -1,9 +1,12 @@
 package com.login.AxleXpert.dashboard.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -14,15 +17,19 @@ import com.login.AxleXpert.dashboard.dto.RecentBookingDTO;
 import com.login.AxleXpert.dashboard.dto.RevenueDataDTO;
 import com.login.AxleXpert.dashboard.dto.ServiceDistributionDTO;
 import com.login.AxleXpert.dashboard.service.AdminDashboardService;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 
 @RestController
 @RequestMapping("/api/dashboard/admin")
 public class AdminDashboardController {
 
     private final AdminDashboardService adminDashboardService;
+    private final DashboardRollupService dashboardRollupService;
 
-    public AdminDashboardController(AdminDashboardService adminDashboardService) {
+    public AdminDashboardController(AdminDashboardService adminDashboardService,
+                                    DashboardRollupService dashboardRollupService) {
         this.adminDashboardService = adminDashboardService;
+        this.dashboardRollupService = dashboardRollupService;
     }
 
     @GetMapping("/stats")
@@ -56,4 +63,12 @@ public class AdminDashboardController {
         List<RecentBookingDTO> bookings = adminDashboardService.getRecentBookings(limit);
         return ResponseEntity.ok(bookings);
     }
-}
\ No newline at end of file
+
+    // Locks the whole rollup table while it runs, so it is not open to every signed-in user
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildRollup() {
+        int rows = dashboardRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Dashboard rollup rebuilt", "rows", rows));
+    }
+}
@@ -0,0 +1,64 @@
+package com.login.AxleXpert.dashboard.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pre-aggregated dashboard counters for one branch, one service and one day.
+ * Booking counters and approved revenue are kept on the day the booking was created,
+ * completed tasks on the day the task was completed.
+ * Rows are maintained incrementally by DashboardRollupService and never edited through this entity.
+ */
+@Entity
+@Table(name = "dashboard_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_rollup_slot",
+                                             columnNames = {"branch_id", "service_id", "rollup_day"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Branch id, or 0 for bookings without a branch. */
+    @Column(name = "branch_id", nullable = false)
+    private Long branchId;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate rollupDay;
+
+    @Column(name = "pending_bookings", nullable = false)
+    private long pendingBookings;
+
+    @Column(name = "approved_bookings", nullable = false)
+    private long approvedBookings;
+
+    @Column(name = "completed_bookings", nullable = false)
+    private long completedBookings;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private long cancelledBookings;
+
+    @Column(name = "approved_revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal approvedRevenue = BigDecimal.ZERO;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private long completedTasks;
+}
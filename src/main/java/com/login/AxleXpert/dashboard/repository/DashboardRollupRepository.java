@@ -0,0 +1,154 @@
+package com.login.AxleXpert.dashboard.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.entity.DashboardRollup;
+
+@Repository
+public interface DashboardRollupRepository extends JpaRepository<DashboardRollup, Long> {
+
+    String TOTAL_BOOKINGS = "(r.pendingBookings + r.approvedBookings + r.completedBookings + r.cancelledBookings)";
+
+    /**
+     * Adds the given deltas to the (branch, service, day) row, creating it on first use.
+     * A single upsert statement keeps concurrent updates to the same row from losing increments.
+     *
+     * The update clause binds the deltas again rather than reading them back with VALUES(),
+     * which MySQL deprecates, or a row alias, which H2's MySQL mode does not parse.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_rollup (branch_id, service_id, rollup_day, pending_bookings, approved_bookings, " +
+                   "completed_bookings, cancelled_bookings, approved_revenue, completed_tasks) " +
+                   "VALUES (:branchId, :serviceId, :day, :pending, :approved, :completed, :cancelled, :revenue, :tasks) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "pending_bookings = pending_bookings + :pending, " +
+                   "approved_bookings = approved_bookings + :approved, " +
+                   "completed_bookings = completed_bookings + :completed, " +
+                   "cancelled_bookings = cancelled_bookings + :cancelled, " +
+                   "approved_revenue = approved_revenue + :revenue, " +
+                   "completed_tasks = completed_tasks + :tasks",
+           nativeQuery = true)
+    int increment(@Param("branchId") Long branchId,
+                  @Param("serviceId") Long serviceId,
+                  @Param("day") LocalDate day,
+                  @Param("pending") long pending,
+                  @Param("approved") long approved,
+                  @Param("completed") long completed,
+                  @Param("cancelled") long cancelled,
+                  @Param("revenue") BigDecimal revenue,
+                  @Param("tasks") long tasks);
+
+    // Dashboard reads - O(days x branches x services) rows regardless of booking history size
+
+    @Query("SELECT SUM(CASE WHEN r.rollupDay >= :monthStart THEN r.approvedRevenue END) AS revenueThisMonth, " +
+           "SUM(CASE WHEN r.rollupDay >= :lastMonthStart AND r.rollupDay < :monthStart THEN r.approvedRevenue END) AS revenueLastMonth, " +
+           "SUM(r.approvedBookings) AS approved, " +
+           "SUM(r.pendingBookings) AS pending, " +
+           "SUM(CASE WHEN r.rollupDay > :weekStart THEN " + TOTAL_BOOKINGS + " END) AS createdThisWeek, " +
+           "SUM(CASE WHEN r.rollupDay >= :today THEN " + TOTAL_BOOKINGS + " END) AS createdToday " +
+           "FROM DashboardRollup r")
+    RollupSummary summarize(@Param("monthStart") LocalDate monthStart,
+                            @Param("lastMonthStart") LocalDate lastMonthStart,
+                            @Param("weekStart") LocalDate weekStart,
+                            @Param("today") LocalDate today);
+
+    @Query("SELECT YEAR(r.rollupDay) AS bookingYear, MONTH(r.rollupDay) AS bookingMonth, " +
+           "SUM" + TOTAL_BOOKINGS + " AS bookings, SUM(r.approvedRevenue) AS revenue " +
+           "FROM DashboardRollup r WHERE r.rollupDay >= :from AND r.rollupDay < :to " +
+           "GROUP BY YEAR(r.rollupDay), MONTH(r.rollupDay)")
+    List<MonthlyTotals> summarizeByMonth(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT r.branchId AS branchId, SUM" + TOTAL_BOOKINGS + " AS bookings, " +
+           "SUM(r.approvedBookings) AS approved, SUM(r.approvedRevenue) AS revenue, " +
+           "SUM(r.completedTasks) AS completedTasks " +
+           "FROM DashboardRollup r GROUP BY r.branchId")
+    List<BranchTotals> summarizeByBranch();
+
+    @Query("SELECT s.name AS serviceName, SUM" + TOTAL_BOOKINGS + " AS bookings " +
+           "FROM DashboardRollup r, Service s WHERE s.id = r.serviceId " +
+           "GROUP BY s.name HAVING SUM" + TOTAL_BOOKINGS + " > 0 " +
+           "ORDER BY SUM" + TOTAL_BOOKINGS + " DESC")
+    List<ServiceTotals> countByService();
+
+    // Backfill sources - grouped straight from the raw history
+
+    @Query("SELECT COALESCE(b.branch.id, 0) AS branchId, b.service.id AS serviceId, " +
+           "CAST(b.createdAt AS LocalDate) AS rollupDay, b.status AS status, " +
+           "COUNT(b) AS bookings, SUM(b.totalPrice) AS revenue " +
+           "FROM Booking b WHERE b.createdAt IS NOT NULL " +
+           "GROUP BY COALESCE(b.branch.id, 0), b.service.id, CAST(b.createdAt AS LocalDate), b.status")
+    List<BookingHistoryRow> summarizeBookingHistory();
+
+    @Query("SELECT COALESCE(b.branch.id, 0) AS branchId, b.service.id AS serviceId, " +
+           "CAST(COALESCE(t.completedTime, t.updatedAt) AS LocalDate) AS rollupDay, COUNT(t) AS tasks " +
+           "FROM Task t JOIN t.booking b WHERE t.status = :status " +
+           "GROUP BY COALESCE(b.branch.id, 0), b.service.id, CAST(COALESCE(t.completedTime, t.updatedAt) AS LocalDate)")
+    List<TaskHistoryRow> summarizeTaskHistory(@Param("status") TaskStatus status);
+
+    /**
+     * Single-row summary for the dashboard stats cards. Sums are null when the table is empty.
+     */
+    interface RollupSummary {
+        Number getRevenueThisMonth();
+        Number getRevenueLastMonth();
+        Number getApproved();
+        Number getPending();
+        Number getCreatedThisWeek();
+        Number getCreatedToday();
+    }
+
+    /**
+     * Booking count and approved revenue for one calendar month.
+     */
+    interface MonthlyTotals {
+        Number getBookingYear();
+        Number getBookingMonth();
+        Number getBookings();
+        Number getRevenue();
+    }
+
+    /**
+     * Booking count, approved bookings, approved revenue and completed tasks for one branch.
+     */
+    interface BranchTotals {
+        Long getBranchId();
+        Number getBookings();
+        Number getApproved();
+        Number getRevenue();
+        Number getCompletedTasks();
+    }
+
+    /**
+     * Number of bookings made for one service.
+     */
+    interface ServiceTotals {
+        String getServiceName();
+        Number getBookings();
+    }
+
+    interface BookingHistoryRow {
+        Number getBranchId();
+        Long getServiceId();
+        LocalDate getRollupDay();
+        BookingStatus getStatus();
+        Number getBookings();
+        BigDecimal getRevenue();
+    }
+
+    interface TaskHistoryRow {
+        Number getBranchId();
+        Long getServiceId();
+        LocalDate getRollupDay();
+        Number getTasks();
+    }
+}
@@ -2,18 +2,22 @@ package com.login.AxleXpert.dashboard.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Tasks.repository.TaskRepository;
 import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.Users.repository.UserRepository.BranchUserCount;
+import com.login.AxleXpert.Users.repository.UserRepository.UserSummary;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
-import com.login.AxleXpert.common.enums.BookingStatus;
 import com.login.AxleXpert.dashboard.dto.BranchPerformanceDTO;
 import com.login.AxleXpert.dashboard.dto.DetailItemDTO;
 import com.login.AxleXpert.dashboard.dto.ManagerStatsDTO;
@@ -21,6 +25,11 @@ import com.login.AxleXpert.dashboard.dto.RecentBookingDTO;
 import com.login.AxleXpert.dashboard.dto.RevenueDataDTO;
 import com.login.AxleXpert.dashboard.dto.ServiceDistributionDTO;
 import com.login.AxleXpert.dashboard.dto.StatsItemDTO;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.BranchTotals;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.MonthlyTotals;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.RollupSummary;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.ServiceTotals;
 
 @Service
 public class AdminDashboardService {
@@ -29,32 +38,31 @@ public class AdminDashboardService {
     private final BookingRepository bookingRepository;
     private final BranchRepository branchRepository;
     private final TaskRepository taskRepository;
+    private final DashboardRollupRepository rollupRepository;
 
     public AdminDashboardService(UserRepository userRepository,
                                 BookingRepository bookingRepository,
                                 BranchRepository branchRepository,
-                                TaskRepository taskRepository) {
+                                TaskRepository taskRepository,
+                                DashboardRollupRepository rollupRepository) {
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.branchRepository = branchRepository;
         this.taskRepository = taskRepository;
+        this.rollupRepository = rollupRepository;
     }
 
     public ManagerStatsDTO getAdminStats() {
         // Revenue stats - all branches
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfThisMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime startOfLastMonth = startOfThisMonth.minusMonths(1);
-        LocalDateTime endOfLastMonth = startOfThisMonth.minusSeconds(1);
-
-        double thisMonthRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED && b.getCreatedAt() != null && b.getCreatedAt().isAfter(startOfThisMonth))
-                .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                .sum();
-        double lastMonthRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED && b.getCreatedAt() != null && b.getCreatedAt().isAfter(startOfLastMonth) && b.getCreatedAt().isBefore(endOfLastMonth))
-                .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                .sum();
+        LocalDate today = now.toLocalDate();
+        LocalDate startOfThisMonth = today.withDayOfMonth(1);
+
+        RollupSummary bookingSummary = rollupRepository.summarize(
+                startOfThisMonth, startOfThisMonth.minusMonths(1), today.minusWeeks(1), today);
+
+        double thisMonthRevenue = toDouble(bookingSummary.getRevenueThisMonth());
+        double lastMonthRevenue = toDouble(bookingSummary.getRevenueLastMonth());
         double revenuePercentage = lastMonthRevenue > 0 ? ((thisMonthRevenue - lastMonthRevenue) / lastMonthRevenue * 100) : 0;
         String revenueChange = String.format("%+.1f%% this month", revenuePercentage);
 
@@ -70,17 +78,12 @@ public class AdminDashboardService {
         );
 
         // Users stats - all branches
-        long totalUsers = userRepository.count();
-        long employees = userRepository.findByRoleIgnoreCase("EMPLOYEE").size();
+        UserSummary userSummary = userRepository.summarizeUsers("EMPLOYEE", now.minusWeeks(1));
+        long totalUsers = toLong(userSummary.getTotal());
+        long employees = toLong(userSummary.getWithRole());
         long customers = totalUsers - employees;
-        long newUsersThisWeek = userRepository.findAll().stream()
-                .filter(u -> u.getCreatedAt() != null && u.getCreatedAt().isAfter(LocalDateTime.now().minusWeeks(1)))
-                .count();
-        long activeUsersToday = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().toLocalDate().equals(LocalDate.now()))
-                .map(b -> b.getCustomerName()) // Assuming unique by name, or use distinct
-                .distinct()
-                .count();
+        long newUsersThisWeek = toLong(userSummary.getCreatedSince());
+        long activeUsersToday = bookingRepository.countDistinctCustomerNamesCreatedSince(today.atStartOfDay());
 
         StatsItemDTO usersStats = new StatsItemDTO(
             String.valueOf(totalUsers),
@@ -94,19 +97,10 @@ public class AdminDashboardService {
         );
 
         // Bookings stats - all branches
-        long totalBookings = bookingRepository.count();
-        long confirmedBookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
-                .count();
-        long pendingBookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.PENDING)
-                .count();
-        long bookingsThisWeek = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().isAfter(LocalDateTime.now().minusWeeks(1)))
-                .count();
-        long bookingsToday = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().toLocalDate().equals(LocalDate.now()))
-                .count();
+        long confirmedBookings = toLong(bookingSummary.getApproved());
+        long pendingBookings = toLong(bookingSummary.getPending());
+        long bookingsThisWeek = toLong(bookingSummary.getCreatedThisWeek());
+        long bookingsToday = toLong(bookingSummary.getCreatedToday());
 
         StatsItemDTO bookingsStats = new StatsItemDTO(
             String.valueOf(bookingsThisWeek),
@@ -120,13 +114,12 @@ public class AdminDashboardService {
         );
 
         // Branches stats - all branches
-        long totalBranches = branchRepository.count();
         List<DetailItemDTO> branchDetails = branchRepository.findAll().stream()
                 .map(b -> new DetailItemDTO(b.getName(), "Active"))
                 .collect(Collectors.toList());
 
         StatsItemDTO branchesStats = new StatsItemDTO(
-            String.valueOf(totalBranches),
+            String.valueOf(branchDetails.size()),
             "All operational",
             branchDetails
         );
@@ -149,41 +142,44 @@ public class AdminDashboardService {
 
     public List<RevenueDataDTO> getRevenueData(int months) {
         // No branch filter for admin
+        if (months <= 0) {
+            return new ArrayList<>();
+        }
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(months - 1);
+        Map<YearMonth, MonthlyTotals> totalsByMonth = rollupRepository.summarizeByMonth(
+                        first.atDay(1), current.plusMonths(1).atDay(1))
+                .stream()
+                .collect(Collectors.toMap(
+                    t -> YearMonth.of(t.getBookingYear().intValue(), t.getBookingMonth().intValue()),
+                    t -> t));
+
         List<RevenueDataDTO> data = new ArrayList<>();
-        for (int i = months - 1; i >= 0; i--) {
-            LocalDateTime start = LocalDateTime.now().minusMonths(i).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime end = start.plusMonths(1);
-            double revenue = bookingRepository.findAll().stream()
-                    .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().isAfter(start) && b.getCreatedAt().isBefore(end) && b.getStatus() == BookingStatus.APPROVED)
-                    .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                    .sum();
-            long bookings = bookingRepository.findAll().stream()
-                    .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().isAfter(start) && b.getCreatedAt().isBefore(end))
-                    .count();
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            MonthlyTotals totals = totalsByMonth.get(month);
+            double revenue = totals != null ? toDouble(totals.getRevenue()) : 0.0;
+            long bookings = totals != null ? toLong(totals.getBookings()) : 0L;
             long services = bookings; // Assuming one service per booking
-            String monthName = start.getMonth().name().substring(0, 3);
+            String monthName = month.getMonth().name().substring(0, 3);
             data.add(new RevenueDataDTO(monthName, (int) revenue, (int) bookings, (int) services));
         }
         return data;
     }
 
     public List<BranchPerformanceDTO> getBranchPerformance() {
+        Map<Long, BranchTotals> bookingTotals = rollupRepository.summarizeByBranch().stream()
+                .collect(Collectors.toMap(BranchTotals::getBranchId, t -> t));
+        Map<Long, Long> employeeCounts = userRepository.countByRoleGroupedByBranch("EMPLOYEE").stream()
+                .collect(Collectors.toMap(BranchUserCount::getBranchId, c -> toLong(c.getUsers())));
+
         return branchRepository.findAll().stream()
                 .map(branch -> {
-                    long services = bookingRepository.findAll().stream()
-                            .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branch.getId()))
-                            .count();
-                    double revenue = bookingRepository.findAll().stream()
-                            .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branch.getId()) && b.getStatus() == BookingStatus.APPROVED)
-                            .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                            .sum();
-                    long confirmed = bookingRepository.findAll().stream()
-                            .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branch.getId()) && b.getStatus() == BookingStatus.APPROVED)
-                            .count();
+                    BranchTotals totals = bookingTotals.get(branch.getId());
+                    long services = totals != null ? toLong(totals.getBookings()) : 0L;
+                    double revenue = totals != null ? toDouble(totals.getRevenue()) : 0.0;
+                    long confirmed = totals != null ? toLong(totals.getApproved()) : 0L;
                     int efficiency = services > 0 ? (int) ((double) confirmed / services * 100) : 0;
-                    long employees = userRepository.findAll().stream()
-                            .filter(u -> "EMPLOYEE".equalsIgnoreCase(u.getRole()) && u.getBranch() != null && u.getBranch().getId().equals(branch.getId()))
-                            .count();
+                    long employees = employeeCounts.getOrDefault(branch.getId(), 0L);
                     return new BranchPerformanceDTO(
                         branch.getName(),
                         (int) services,
@@ -197,27 +193,29 @@ public class AdminDashboardService {
 
     public List<ServiceDistributionDTO> getServiceDistribution() {
         // No branch filter for admin
-        var serviceCount = bookingRepository.findAll().stream()
-                .collect(Collectors.groupingBy(b -> b.getService().getName(), Collectors.summingInt(b -> 1)));
-        int total = serviceCount.values().stream().mapToInt(Integer::intValue).sum();
+        List<ServiceTotals> serviceCount = rollupRepository.countByService();
+        int total = serviceCount.stream().mapToInt(t -> (int) toLong(t.getBookings())).sum();
         List<String> colors = Arrays.asList("#10b981", "#3b82f6", "#f59e0b", "#8b5cf6", "#ef4444");
         int[] index = {0};
-        return serviceCount.entrySet().stream()
-                .map(e -> new ServiceDistributionDTO(
-                    e.getKey(),
-                    e.getValue(),
-                    colors.get(index[0]++ % colors.size()),
-                    total > 0 ? (int) Math.round((double) e.getValue() / total * 100.0) : 0
-                ))
+        return serviceCount.stream()
+                .map(t -> {
+                    int count = (int) toLong(t.getBookings());
+                    return new ServiceDistributionDTO(
+                        t.getServiceName(),
+                        count,
+                        colors.get(index[0]++ % colors.size()),
+                        total > 0 ? (int) Math.round((double) count / total * 100.0) : 0
+                    );
+                })
                 .collect(Collectors.toList());
     }
 
     public List<RecentBookingDTO> getRecentBookings(int limit) {
         // No branch filter for admin
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getCreatedAt() != null)
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(limit)
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return bookingRepository.findRecent(PageRequest.of(0, limit)).stream()
                 .map(booking -> new RecentBookingDTO(
                     booking.getId(),
                     booking.getCustomerName(),
@@ -229,4 +227,12 @@ public class AdminDashboardService {
                 ))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    private static double toDouble(Number value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+
+    private static long toLong(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+}
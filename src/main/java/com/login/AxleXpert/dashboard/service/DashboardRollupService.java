@@ -0,0 +1,181 @@
+package com.login.AxleXpert.dashboard.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.login.AxleXpert.Tasks.entity.Task;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.BookingHistoryRow;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.TaskHistoryRow;
+
+/**
+ * Maintains the dashboard_rollup counters.
+ *
+ * Booking and task services call the record* methods inside their own transaction,
+ * so a rolled back state change never leaves the counters behind. rebuild() recomputes
+ * the whole table from history and is run once on startup when the table is still empty,
+ * or by an admin through POST /api/dashboard/admin/rollup/rebuild.
+ */
+@Service
+@Transactional
+public class DashboardRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupService.class);
+
+    /** Branch key used for bookings that are not attached to a branch. */
+    static final long NO_BRANCH = 0L;
+
+    private final DashboardRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+
+    @Value("${dashboard.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public DashboardRollupService(DashboardRollupRepository rollupRepository, BookingRepository bookingRepository) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    public void recordBookingCreated(Booking booking) {
+        recordBookingStatusChange(booking, null, booking.getStatus());
+    }
+
+    public void recordBookingDeleted(Booking booking) {
+        recordBookingStatusChange(booking, booking.getStatus(), null);
+    }
+
+    /**
+     * Moves one booking from one status counter to another on the day the booking was created.
+     * Either status may be null for creation and deletion.
+     */
+    public void recordBookingStatusChange(Booking booking, BookingStatus from, BookingStatus to) {
+        if (from == to || booking.getService() == null || booking.getCreatedAt() == null) {
+            return;
+        }
+
+        long[] counts = new long[BookingStatus.values().length];
+        BigDecimal price = booking.getTotalPrice() != null ? booking.getTotalPrice() : BigDecimal.ZERO;
+        BigDecimal revenue = BigDecimal.ZERO;
+        if (from != null) {
+            counts[from.ordinal()]--;
+            if (from == BookingStatus.APPROVED) {
+                revenue = revenue.subtract(price);
+            }
+        }
+        if (to != null) {
+            counts[to.ordinal()]++;
+            if (to == BookingStatus.APPROVED) {
+                revenue = revenue.add(price);
+            }
+        }
+
+        increment(branchKey(booking), booking.getService().getId(), booking.getCreatedAt().toLocalDate(),
+                counts, revenue, 0);
+    }
+
+    /**
+     * Counts a task on its completion day when it becomes COMPLETED, and takes it back off
+     * when a completed task is reopened.
+     */
+    public void recordTaskStatusChange(Task task, TaskStatus from, TaskStatus to) {
+        if (from == to || (from != TaskStatus.COMPLETED && to != TaskStatus.COMPLETED)) {
+            return;
+        }
+        Booking booking = task.getBooking();
+        if (booking == null || booking.getService() == null) {
+            return;
+        }
+
+        LocalDateTime completedAt = task.getCompletedTime();
+        if (completedAt == null) {
+            completedAt = to == TaskStatus.COMPLETED || task.getUpdatedAt() == null ? LocalDateTime.now() : task.getUpdatedAt();
+        }
+        long delta = to == TaskStatus.COMPLETED ? 1 : -1;
+
+        increment(branchKey(booking), booking.getService().getId(), completedAt.toLocalDate(),
+                new long[BookingStatus.values().length], BigDecimal.ZERO, delta);
+    }
+
+    /**
+     * Recomputes every rollup row from the bookings and tasks tables.
+     *
+     * The rows are deleted before any history is read, in one REPEATABLE READ transaction.
+     * On InnoDB that delete locks every row of the table and the gaps between them, which
+     * serializes the rebuild against the increments of concurrent state changes:
+     * - a change whose increment already ran holds its row, so the delete waits for it to
+     *   commit and the history read afterwards includes it
+     * - a change that increments after the delete waits for the rebuild to commit; its own
+     *   uncommitted rows are not in the history read, so it is counted once, on top
+     *
+     * @return number of grouped history rows applied
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int rebuild() {
+        rollupRepository.deleteAllInBatch();
+
+        int applied = 0;
+        for (BookingHistoryRow row : rollupRepository.summarizeBookingHistory()) {
+            long[] counts = new long[BookingStatus.values().length];
+            BigDecimal revenue = BigDecimal.ZERO;
+            if (row.getStatus() != null) {
+                counts[row.getStatus().ordinal()] = row.getBookings().longValue();
+                if (row.getStatus() == BookingStatus.APPROVED && row.getRevenue() != null) {
+                    revenue = row.getRevenue();
+                }
+            }
+            increment(row.getBranchId().longValue(), row.getServiceId(), row.getRollupDay(), counts, revenue, 0);
+            applied++;
+        }
+        for (TaskHistoryRow row : rollupRepository.summarizeTaskHistory(TaskStatus.COMPLETED)) {
+            increment(row.getBranchId().longValue(), row.getServiceId(), row.getRollupDay(),
+                    new long[BookingStatus.values().length], BigDecimal.ZERO, row.getTasks().longValue());
+            applied++;
+        }
+
+        log.info("Rebuilt dashboard rollup from {} grouped history rows", applied);
+        return applied;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        if (rollupRepository.count() == 0 && bookingRepository.count() > 0) {
+            log.info("Dashboard rollup is empty, backfilling from booking history");
+            rebuild();
+        }
+    }
+
+    private void increment(long branchId, Long serviceId, LocalDate day, long[] counts, BigDecimal revenue, long tasks) {
+        rollupRepository.increment(
+                branchId,
+                serviceId,
+                day,
+                counts[BookingStatus.PENDING.ordinal()],
+                counts[BookingStatus.APPROVED.ordinal()],
+                counts[BookingStatus.COMPLETED.ordinal()],
+                counts[BookingStatus.CANCELLED.ordinal()],
+                revenue,
+                tasks);
+    }
+
+    private static long branchKey(Booking booking) {
+        return booking.getBranch() != null ? booking.getBranch().getId() : NO_BRANCH;
+    }
+}
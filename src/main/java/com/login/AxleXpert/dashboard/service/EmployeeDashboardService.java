@@ -6,11 +6,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.login.AxleXpert.Services.repository.ServiceRepository;
 import com.login.AxleXpert.Tasks.repository.TaskRepository;
-import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
 import com.login.AxleXpert.common.CurrentUserUtil;
 import com.login.AxleXpert.common.enums.TaskStatus;
@@ -41,19 +41,14 @@ public class EmployeeDashboardService {
     }
 
     public EmployeeStatsDTO getEmployeeStats() {
-        User currentUser = currentUserUtil.getCurrentUser();
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+        EmployeeTaskSnapshot.Summary summary = loadSnapshot(currentUserId).summarize(LocalDateTime.now());
 
         // Vehicles in service stats - show IN_PROGRESS tasks
-        long vehiclesInService = taskRepository.countByAssignedEmployeeIdAndStatus(currentUser.getId(), TaskStatus.IN_PROGRESS);
-        long pendingVehicles = taskRepository.countByAssignedEmployeeIdAndStatus(currentUser.getId(), TaskStatus.NOT_STARTED);
-        long completedToday = taskRepository.countCompletedTodayByEmployee(currentUser.getId(), LocalDateTime.now());
-        
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        long completedThisMonth = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getStatus() == TaskStatus.COMPLETED && 
-                               task.getCompletedTime() != null && 
-                               task.getCompletedTime().isAfter(startOfMonth))
-                .count();
+        long vehiclesInService = summary.inProgress();
+        long pendingVehicles = summary.notStarted();
+        long completedToday = summary.completedToday();
+        long completedThisMonth = summary.completedThisMonth();
 
         StatsItemDTO vehiclesStats = new StatsItemDTO(
             String.valueOf(vehiclesInService),
@@ -67,13 +62,7 @@ public class EmployeeDashboardService {
         );
 
         // Services stats - show total completed tasks this week
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(LocalDateTime.now().getDayOfWeek().getValue() - 1)
-                .withHour(0).withMinute(0).withSecond(0);
-        long completedThisWeek = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getStatus() == TaskStatus.COMPLETED && 
-                               task.getCompletedTime() != null && 
-                               task.getCompletedTime().isAfter(startOfWeek))
-                .count();
+        long completedThisWeek = summary.completedThisWeek();
 
         StatsItemDTO servicesStats = new StatsItemDTO(
             String.valueOf(completedThisWeek),
@@ -87,58 +76,23 @@ public class EmployeeDashboardService {
         );
 
         // Work hours stats - sum of estimated duration for completed tasks, fallback to actual time spent
-        List<com.login.AxleXpert.Tasks.entity.Task> completedTasks = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getStatus() == TaskStatus.COMPLETED)
-                .collect(Collectors.toList());
-        
-        double totalHoursToday = completedTasks.stream()
-                .filter(task -> task.getCompletedTime() != null && 
-                               task.getCompletedTime().toLocalDate().equals(LocalDateTime.now().toLocalDate()))
-                .mapToDouble(task -> calculateTaskHours(task))
-                .sum();
-        
-        double totalHoursThisWeek = completedTasks.stream()
-                .filter(task -> task.getCompletedTime() != null && 
-                               task.getCompletedTime().isAfter(startOfWeek))
-                .mapToDouble(task -> calculateTaskHours(task))
-                .sum();
-        
-        double totalHoursThisMonth = completedTasks.stream()
-                .filter(task -> task.getCompletedTime() != null && 
-                               task.getCompletedTime().isAfter(startOfMonth))
-                .mapToDouble(task -> calculateTaskHours(task))
-                .sum();
-
-        // Total hours worked (sum of all completed tasks)
-        double totalHoursWorked = completedTasks.stream()
-                .mapToDouble(task -> calculateTaskHours(task))
-                .sum();
-
         StatsItemDTO workHoursStats = new StatsItemDTO(
-            String.format("%.1f", totalHoursWorked),
+            String.format("%.1f", summary.hoursTotal()),
             "Total hours worked",
             Arrays.asList(
-                new DetailItemDTO("Today", String.format("%.1fh", totalHoursToday)),
-                new DetailItemDTO("This Week", String.format("%.1fh", totalHoursThisWeek)),
-                new DetailItemDTO("This Month", String.format("%.1fh", totalHoursThisMonth)),
-                new DetailItemDTO("Completed Tasks", String.valueOf(completedTasks.size()))
+                new DetailItemDTO("Today", String.format("%.1fh", summary.hoursToday())),
+                new DetailItemDTO("This Week", String.format("%.1fh", summary.hoursThisWeek())),
+                new DetailItemDTO("This Month", String.format("%.1fh", summary.hoursThisMonth())),
+                new DetailItemDTO("Completed Tasks", String.valueOf(summary.completed()))
             )
         );
 
         // Completion rate stats - percentage of completed tasks vs total tasks
-        long totalTasks = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).size();
-        long totalCompletedTasks = completedTasks.size();
-        double completionRate = totalTasks > 0 ? (totalCompletedTasks * 100.0 / totalTasks) : 0.0;
-        
-        long tasksThisWeek = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getCreatedAt() != null && task.getCreatedAt().isAfter(startOfWeek))
-                .count();
-        long completedTasksThisWeek = completedThisWeek;
-        double completionRateThisWeek = tasksThisWeek > 0 ? (completedTasksThisWeek * 100.0 / tasksThisWeek) : 0.0;
-        
-        long tasksThisMonth = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getCreatedAt() != null && task.getCreatedAt().isAfter(startOfMonth))
-                .count();
+        long totalTasks = summary.totalTasks();
+        double completionRate = totalTasks > 0 ? (summary.completed() * 100.0 / totalTasks) : 0.0;
+        long tasksThisWeek = summary.createdThisWeek();
+        double completionRateThisWeek = tasksThisWeek > 0 ? (completedThisWeek * 100.0 / tasksThisWeek) : 0.0;
+        long tasksThisMonth = summary.createdThisMonth();
         double completionRateThisMonth = tasksThisMonth > 0 ? (completedThisMonth * 100.0 / tasksThisMonth) : 0.0;
 
         StatsItemDTO completionRateStats = new StatsItemDTO(
@@ -153,13 +107,8 @@ public class EmployeeDashboardService {
         );
 
         // Upcoming tasks stats - show NOT_STARTED tasks
-        long upcomingTasks = taskRepository.countByAssignedEmployeeIdAndStatus(currentUser.getId(), TaskStatus.NOT_STARTED);
-        
-        long upcomingTasksToday = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getStatus() == TaskStatus.NOT_STARTED && 
-                               task.getSheduledTime() != null &&
-                               task.getSheduledTime().toLocalDate().equals(LocalDateTime.now().toLocalDate()))
-                .count();
+        long upcomingTasks = summary.notStarted();
+        long upcomingTasksToday = summary.scheduledToday();
 
         StatsItemDTO upcomingTasksStats = new StatsItemDTO(
             String.valueOf(upcomingTasks),
@@ -177,8 +126,8 @@ public class EmployeeDashboardService {
     }
 
     public List<EmployeeTaskDTO> getEmployeeTasks() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        return taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+        return taskRepository.findByAssignedEmployeeIdWithBooking(currentUserId).stream()
                 .filter(task -> task.getStatus() != TaskStatus.COMPLETED)
                 .map(task -> {
                     String vehicle = task.getBooking() != null && task.getBooking().getVehicle() != null ?
@@ -221,73 +170,52 @@ public class EmployeeDashboardService {
     }
 
     public List<ProductivityDataDTO> getEmployeeProductivity() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        
-        // Get completed tasks for the last 7 days
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        List<com.login.AxleXpert.Tasks.entity.Task> recentTasks = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getStatus() == TaskStatus.COMPLETED && 
-                               task.getCompletedTime() != null &&
-                               task.getCompletedTime().isAfter(sevenDaysAgo))
-                .collect(Collectors.toList());
-        
-        // Group tasks by date
-        Map<java.time.LocalDate, List<com.login.AxleXpert.Tasks.entity.Task>> tasksByDate = recentTasks.stream()
-                .collect(Collectors.groupingBy(task -> task.getCompletedTime().toLocalDate()));
-        
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+
+        // Completed tasks and hours for the last 7 days, oldest first
+        java.time.LocalDate today = java.time.LocalDate.now();
+        EmployeeTaskSnapshot.DailyCompletions completions = loadSnapshot(currentUserId).completionsByDay(today, 7);
+
         List<ProductivityDataDTO> productivity = new java.util.ArrayList<>();
-        
+
         // Include all 7 days, even with 0 tasks
         for (int i = 6; i >= 0; i--) {
-            java.time.LocalDate date = java.time.LocalDate.now().minusDays(i);
-            List<com.login.AxleXpert.Tasks.entity.Task> dateTasks = tasksByDate.getOrDefault(date, new java.util.ArrayList<>());
-            
-            int tasksCompleted = dateTasks.size();
-            
+            java.time.LocalDate date = today.minusDays(i);
+            int tasksCompleted = completions.tasks()[6 - i];
+
             // Calculate efficiency as tasks per hour
-            double totalHoursWorked = dateTasks.stream()
-                    .mapToDouble(this::calculateTaskHours)
-                    .sum();
+            double totalHoursWorked = completions.hours()[6 - i];
             double efficiency = totalHoursWorked > 0 ? tasksCompleted / totalHoursWorked : 0;
-            
-            String dateLabel = date.equals(java.time.LocalDate.now()) ? "Today" : 
-                              date.equals(java.time.LocalDate.now().minusDays(1)) ? "Yesterday" : 
+
+            String dateLabel = date.equals(today) ? "Today" :
+                              date.equals(today.minusDays(1)) ? "Yesterday" :
                               date.getDayOfWeek().toString().substring(0, 3) + " " + date.getDayOfMonth();
-            
+
             productivity.add(new ProductivityDataDTO(dateLabel, tasksCompleted, (int) efficiency));
         }
-        
+
         return productivity;
     }
 
     public List<EmployeeServiceTypeDTO> getEmployeeServiceTypes() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        
-        // Get all completed tasks with their service information
-        List<com.login.AxleXpert.Tasks.entity.Task> completedTasks = taskRepository.findByAssignedEmployeeIdWithBooking(currentUser.getId()).stream()
-                .filter(task -> task.getStatus() == TaskStatus.COMPLETED)
-                .collect(Collectors.toList());
-        
-        if (completedTasks.isEmpty()) {
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+
+        // Group completed tasks by title and count
+        Map<String, Long> taskCount = loadSnapshot(currentUserId).completedCountByTitle();
+
+        if (taskCount.isEmpty()) {
             return Arrays.asList();
         }
-        
-        // Group by task title and count
-        Map<String, Long> taskCount = completedTasks.stream()
-                .collect(Collectors.groupingBy(
-                    com.login.AxleXpert.Tasks.entity.Task::getTitle,
-                    Collectors.counting()
-                ));
-        
-        long totalCount = completedTasks.size();
-        
+
+        long totalCount = taskCount.values().stream().mapToLong(Long::longValue).sum();
+
         // Define colors for services
         String[] colors = {"#10b981", "#3b82f6", "#f59e0b", "#8b5cf6", "#ef4444", "#06b6d4", "#ec4899", "#14b8a6"};
-        
+
         // Create DTOs with task names and percentages
         List<EmployeeServiceTypeDTO> result = new java.util.ArrayList<>();
         int colorIndex = 0;
-        
+
         for (Map.Entry<String, Long> entry : taskCount.entrySet()) {
             String taskName = entry.getKey();
             // Remove "Service Task - " prefix if present
@@ -296,21 +224,20 @@ public class EmployeeDashboardService {
             }
             int percentage = (int) ((entry.getValue() * 100) / totalCount);
             String color = colors[colorIndex % colors.length];
-            
+
             result.add(new EmployeeServiceTypeDTO(taskName, percentage, color));
             colorIndex++;
         }
-        
+
         // Sort by value descending
         result.sort((a, b) -> Integer.compare(b.value(), a.value()));
-        
+
         return result;
     }
 
     public List<EmployeeActivityDTO> getEmployeeRecentActivity() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        return taskRepository.findByAssignedEmployeeIdOrderByCreatedAtDesc(currentUser.getId()).stream()
-                .limit(10)
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+        return taskRepository.findByAssignedEmployeeIdOrderByCreatedAtDesc(currentUserId, PageRequest.of(0, 10)).stream()
                 .map(task -> {
                     String action;
                     String type;
@@ -374,19 +301,10 @@ public class EmployeeDashboardService {
         }
     }
 
-    private double calculateTaskHours(com.login.AxleXpert.Tasks.entity.Task task) {
-        // First try to use estimated time if available
-        if (task.getEstimatedTimeMinutes() != null && task.getEstimatedTimeMinutes() > 0) {
-            return task.getEstimatedTimeMinutes() / 60.0;
-        }
-        
-        // Fallback to actual time spent if start and completion times are available
-        if (task.getStartTime() != null && task.getCompletedTime() != null) {
-            long actualMinutes = java.time.Duration.between(task.getStartTime(), task.getCompletedTime()).toMinutes();
-            return Math.max(0.1, actualMinutes / 60.0); // At least 0.1 hours (6 minutes) to avoid 0
-        }
-        
-        // If no time data available, use a default of 1 hour
-        return 1.0;
+    /**
+     * One query for the employee's task statuses and timestamps; every stat is derived from the snapshot.
+     */
+    private EmployeeTaskSnapshot loadSnapshot(Long employeeId) {
+        return EmployeeTaskSnapshot.of(taskRepository.findTimelineByAssignedEmployeeId(employeeId));
     }
-}
\ No newline at end of file
+}
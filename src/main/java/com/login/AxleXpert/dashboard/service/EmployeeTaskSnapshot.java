@@ -0,0 +1,198 @@
+package com.login.AxleXpert.dashboard.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.login.AxleXpert.Tasks.repository.TaskRepository.TaskTimeline;
+import com.login.AxleXpert.common.enums.TaskStatus;
+
+/**
+ * Compact, read-only view of one employee's tasks, built from a single query.
+ * Statuses are kept as ordinals and timestamps as epoch seconds in parallel arrays,
+ * so every dashboard window is computed in one pass without touching entities.
+ */
+final class EmployeeTaskSnapshot {
+
+    /** Marker for a timestamp that is not set. */
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final byte COMPLETED = (byte) TaskStatus.COMPLETED.ordinal();
+    private static final byte IN_PROGRESS = (byte) TaskStatus.IN_PROGRESS.ordinal();
+    private static final byte NOT_STARTED = (byte) TaskStatus.NOT_STARTED.ordinal();
+
+    private final int size;
+    private final byte[] statuses;
+    private final long[] createdAt;
+    private final long[] scheduledAt;
+    private final long[] completedAt;
+    private final double[] hours;
+    private final String[] titles;
+
+    private EmployeeTaskSnapshot(int size) {
+        this.size = size;
+        this.statuses = new byte[size];
+        this.createdAt = new long[size];
+        this.scheduledAt = new long[size];
+        this.completedAt = new long[size];
+        this.hours = new double[size];
+        this.titles = new String[size];
+    }
+
+    static EmployeeTaskSnapshot of(List<TaskTimeline> tasks) {
+        EmployeeTaskSnapshot snapshot = new EmployeeTaskSnapshot(tasks.size());
+        for (int i = 0; i < snapshot.size; i++) {
+            TaskTimeline task = tasks.get(i);
+            snapshot.statuses[i] = task.getStatus() != null ? (byte) task.getStatus().ordinal() : -1;
+            snapshot.createdAt[i] = toEpochSecond(task.getCreatedAt());
+            snapshot.scheduledAt[i] = toEpochSecond(task.getScheduledTime());
+            snapshot.completedAt[i] = toEpochSecond(task.getCompletedTime());
+            snapshot.hours[i] = taskHours(task.getEstimatedTimeMinutes(), task.getStartTime(), task.getCompletedTime());
+            snapshot.titles[i] = task.getTitle();
+        }
+        return snapshot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Computes every counter shown on the stats cards in a single pass.
+     * Windows are open at the start ("after the start of the week") like the original stream filters.
+     */
+    Summary summarize(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        long todayStart = toEpochSecond(today.atStartOfDay());
+        long tomorrowStart = todayStart + SECONDS_PER_DAY;
+        long weekStart = toEpochSecond(today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay());
+        long monthStart = toEpochSecond(today.withDayOfMonth(1).atStartOfDay());
+
+        long inProgress = 0, notStarted = 0, scheduledToday = 0;
+        long completed = 0, completedToday = 0, completedThisWeek = 0, completedThisMonth = 0;
+        long createdThisWeek = 0, createdThisMonth = 0;
+        double hoursTotal = 0, hoursToday = 0, hoursThisWeek = 0, hoursThisMonth = 0;
+
+        for (int i = 0; i < size; i++) {
+            byte status = statuses[i];
+            long done = completedAt[i];
+            long created = createdAt[i];
+            boolean doneToday = done != NONE && done >= todayStart && done < tomorrowStart;
+
+            if (created != NONE) {
+                if (created > weekStart) createdThisWeek++;
+                if (created > monthStart) createdThisMonth++;
+            }
+            if (doneToday) {
+                completedToday++;
+            }
+
+            if (status == IN_PROGRESS) {
+                inProgress++;
+            } else if (status == NOT_STARTED) {
+                notStarted++;
+                long scheduled = scheduledAt[i];
+                if (scheduled != NONE && scheduled >= todayStart && scheduled < tomorrowStart) {
+                    scheduledToday++;
+                }
+            } else if (status == COMPLETED) {
+                double h = hours[i];
+                completed++;
+                hoursTotal += h;
+                if (doneToday) {
+                    hoursToday += h;
+                }
+                if (done != NONE && done > weekStart) {
+                    completedThisWeek++;
+                    hoursThisWeek += h;
+                }
+                if (done != NONE && done > monthStart) {
+                    completedThisMonth++;
+                    hoursThisMonth += h;
+                }
+            }
+        }
+
+        return new Summary(size, inProgress, notStarted, scheduledToday,
+                completed, completedToday, completedThisWeek, completedThisMonth,
+                createdThisWeek, createdThisMonth,
+                hoursTotal, hoursToday, hoursThisWeek, hoursThisMonth);
+    }
+
+    /**
+     * Completed tasks and hours per day for {@code days} days ending with {@code lastDay}, oldest first.
+     */
+    DailyCompletions completionsByDay(LocalDate lastDay, int days) {
+        int[] tasks = new int[days];
+        double[] dayHours = new double[days];
+        long firstStart = toEpochSecond(lastDay.minusDays(days - 1L).atStartOfDay());
+        long end = firstStart + days * SECONDS_PER_DAY;
+
+        for (int i = 0; i < size; i++) {
+            long done = completedAt[i];
+            if (statuses[i] != COMPLETED || done == NONE || done < firstStart || done >= end) {
+                continue;
+            }
+            int day = (int) ((done - firstStart) / SECONDS_PER_DAY);
+            tasks[day]++;
+            dayHours[day] += hours[i];
+        }
+        return new DailyCompletions(tasks, dayHours);
+    }
+
+    /**
+     * Number of completed tasks per title, in first-seen order.
+     */
+    Map<String, Long> completedCountByTitle() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == COMPLETED) {
+                counts.merge(titles[i], 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Hours credited for a task: the estimate when present, otherwise the actual time spent, otherwise one hour.
+     */
+    static double taskHours(Integer estimatedMinutes, LocalDateTime start, LocalDateTime completed) {
+        if (estimatedMinutes != null && estimatedMinutes > 0) {
+            return estimatedMinutes / 60.0;
+        }
+        if (start != null && completed != null) {
+            long actualMinutes = Duration.between(start, completed).toMinutes();
+            return Math.max(0.1, actualMinutes / 60.0); // At least 0.1 hours (6 minutes) to avoid 0
+        }
+        return 1.0;
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        // A fixed offset keeps the ordering of local date-times exact, with no DST gaps
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NONE;
+    }
+
+    record Summary(long totalTasks,
+                   long inProgress,
+                   long notStarted,
+                   long scheduledToday,
+                   long completed,
+                   long completedToday,
+                   long completedThisWeek,
+                   long completedThisMonth,
+                   long createdThisWeek,
+                   long createdThisMonth,
+                   double hoursTotal,
+                   double hoursToday,
+                   double hoursThisWeek,
+                   double hoursThisMonth) {}
+
+    record DailyCompletions(int[] tasks, double[] hours) {}
+}
@@ -1,18 +1,26 @@
 package com.login.AxleXpert.dashboard.service;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.login.AxleXpert.Branches.entity.Branch;
 import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Tasks.repository.TaskRepository;
 import com.login.AxleXpert.Users.repository.UserRepository;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BranchBookingSummary;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BranchBookingTotals;
+import com.login.AxleXpert.bookings.repository.BookingRepository.MonthlyBookingTotals;
+import com.login.AxleXpert.bookings.repository.BookingRepository.ServiceBookingCount;
 import com.login.AxleXpert.common.CurrentUserUtil;
 import com.login.AxleXpert.common.enums.BookingStatus;
 import com.login.AxleXpert.dashboard.dto.BranchPerformanceDTO;
@@ -22,8 +30,11 @@ import com.login.AxleXpert.dashboard.dto.RecentBookingDTO;
 import com.login.AxleXpert.dashboard.dto.RevenueDataDTO;
 import com.login.AxleXpert.dashboard.dto.ServiceDistributionDTO;
 import com.login.AxleXpert.dashboard.dto.StatsItemDTO;
-import com.login.AxleXpert.Branches.entity.Branch;
 
+/**
+ * Dashboard for branch managers. Every query is keyed on the manager's own branch,
+ * so the cost of a call grows with the size of that branch rather than the whole company.
+ */
 @Service
 public class ManagerDashboardService {
 
@@ -46,20 +57,19 @@ public class ManagerDashboardService {
     }
 
     public ManagerStatsDTO getManagerStats() {
-        // Revenue stats - all branches
+        Long branchId = currentUserUtil.getCurrentUserBranchId();
+
+        // Revenue stats - manager's branch
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfThisMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime startOfLastMonth = startOfThisMonth.minusMonths(1);
-        LocalDateTime endOfLastMonth = startOfThisMonth.minusSeconds(1);
-
-        double thisMonthRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED && b.getCreatedAt() != null && b.getCreatedAt().isAfter(startOfThisMonth))
-                .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                .sum();
-        double lastMonthRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED && b.getCreatedAt() != null && b.getCreatedAt().isAfter(startOfLastMonth) && b.getCreatedAt().isBefore(endOfLastMonth))
-                .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                .sum();
+        LocalDateTime startOfToday = now.toLocalDate().atStartOfDay();
+        LocalDateTime startOfThisMonth = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+
+        BranchBookingSummary summary = bookingRepository.summarizeBranch(
+                branchId, BookingStatus.APPROVED, BookingStatus.PENDING,
+                startOfThisMonth, startOfThisMonth.minusMonths(1), now.minusWeeks(1), startOfToday);
+
+        double thisMonthRevenue = toDouble(summary.getRevenueThisMonth());
+        double lastMonthRevenue = toDouble(summary.getRevenueLastMonth());
         double revenuePercentage = lastMonthRevenue > 0 ? ((thisMonthRevenue - lastMonthRevenue) / lastMonthRevenue * 100) : 0;
         String revenueChange = String.format("%+.1f%% this month", revenuePercentage);
 
@@ -74,18 +84,13 @@ public class ManagerDashboardService {
             )
         );
 
-        // Users stats - all branches
-        long totalUsers = userRepository.count();
-        long employees = userRepository.findByRoleIgnoreCase("EMPLOYEE").size();
-        long customers = totalUsers - employees;
-        long newUsersThisWeek = userRepository.findAll().stream()
-                .filter(u -> u.getCreatedAt() != null && u.getCreatedAt().isAfter(LocalDateTime.now().minusWeeks(1)))
-                .count();
-        long activeUsersToday = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().toLocalDate().equals(LocalDate.now()))
-                .map(b -> b.getCustomerName()) // Assuming unique by name, or use distinct
-                .distinct()
-                .count();
+        // Users stats - the branch's users: its employees plus every customer with a booking there.
+        // New This Week and Active Today are those customers who booked in the past week / today
+        long employees = branchId != null ? userRepository.countByRoleIgnoreCaseAndBranch_Id("EMPLOYEE", branchId) : 0L;
+        long customers = toLong(summary.getCustomers());
+        long totalUsers = employees + customers;
+        long newUsersThisWeek = toLong(summary.getCustomersThisWeek());
+        long activeUsersToday = toLong(summary.getCustomersToday());
 
         StatsItemDTO usersStats = new StatsItemDTO(
             String.valueOf(totalUsers),
@@ -98,20 +103,11 @@ public class ManagerDashboardService {
             )
         );
 
-        // Bookings stats - all branches
-        long totalBookings = bookingRepository.count();
-        long confirmedBookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
-                .count();
-        long pendingBookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.PENDING)
-                .count();
-        long bookingsThisWeek = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().isAfter(LocalDateTime.now().minusWeeks(1)))
-                .count();
-        long bookingsToday = bookingRepository.findAll().stream()
-                .filter(b -> b.getCreatedAt() != null && b.getCreatedAt().toLocalDate().equals(LocalDate.now()))
-                .count();
+        // Bookings stats - manager's branch
+        long confirmedBookings = toLong(summary.getApproved());
+        long pendingBookings = toLong(summary.getPending());
+        long bookingsThisWeek = toLong(summary.getCreatedThisWeek());
+        long bookingsToday = toLong(summary.getCreatedToday());
 
         StatsItemDTO bookingsStats = new StatsItemDTO(
             String.valueOf(bookingsThisWeek),
@@ -124,14 +120,13 @@ public class ManagerDashboardService {
             )
         );
 
-        // Branches stats - all branches
-        long totalBranches = branchRepository.count();
-        List<DetailItemDTO> branchDetails = branchRepository.findAll().stream()
-                .map(b -> new DetailItemDTO(b.getName(), "Active"))
-                .collect(Collectors.toList());
+        // Branches stats - manager's branch
+        List<DetailItemDTO> branchDetails = findBranch(branchId)
+                .map(b -> List.of(new DetailItemDTO(b.getName(), "Active")))
+                .orElse(List.of());
 
         StatsItemDTO branchesStats = new StatsItemDTO(
-            String.valueOf(totalBranches),
+            String.valueOf(branchDetails.size()),
             "All operational",
             branchDetails
         );
@@ -153,77 +148,78 @@ public class ManagerDashboardService {
     }
 
     public List<RevenueDataDTO> getRevenueData(int months) {
+        if (months <= 0) {
+            return new ArrayList<>();
+        }
         Long branchId = currentUserUtil.getCurrentUserBranchId();
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(months - 1);
+        Map<YearMonth, MonthlyBookingTotals> totalsByMonth = bookingRepository.summarizeBranchByMonth(
+                        branchId, BookingStatus.APPROVED,
+                        first.atDay(1).atStartOfDay(), current.plusMonths(1).atDay(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.toMap(
+                    t -> YearMonth.of(t.getBookingYear().intValue(), t.getBookingMonth().intValue()),
+                    t -> t));
+
         List<RevenueDataDTO> data = new ArrayList<>();
-        for (int i = months - 1; i >= 0; i--) {
-            LocalDateTime start = LocalDateTime.now().minusMonths(i).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime end = start.plusMonths(1);
-            double revenue = bookingRepository.findAll().stream()
-                    .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branchId) && b.getCreatedAt() != null && b.getCreatedAt().isAfter(start) && b.getCreatedAt().isBefore(end) && b.getStatus() == BookingStatus.APPROVED)
-                    .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                    .sum();
-            long bookings = bookingRepository.findAll().stream()
-                    .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branchId) && b.getCreatedAt() != null && b.getCreatedAt().isAfter(start) && b.getCreatedAt().isBefore(end))
-                    .count();
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            MonthlyBookingTotals totals = totalsByMonth.get(month);
+            double revenue = totals != null ? toDouble(totals.getRevenue()) : 0.0;
+            long bookings = totals != null ? toLong(totals.getBookings()) : 0L;
             long services = bookings; // Assuming one service per booking
-            String monthName = start.getMonth().name().substring(0, 3);
+            String monthName = month.getMonth().name().substring(0, 3);
             data.add(new RevenueDataDTO(monthName, (int) revenue, (int) bookings, (int) services));
         }
         return data;
     }
 
     public List<BranchPerformanceDTO> getBranchPerformance() {
-        return branchRepository.findAll().stream()
+        Long branchId = currentUserUtil.getCurrentUserBranchId();
+        return findBranch(branchId)
                 .map(branch -> {
-                    long services = bookingRepository.findAll().stream()
-                            .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branch.getId()))
-                            .count();
-                    double revenue = bookingRepository.findAll().stream()
-                            .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branch.getId()) && b.getStatus() == BookingStatus.APPROVED)
-                            .mapToDouble(b -> b.getTotalPrice() != null ? b.getTotalPrice().doubleValue() : 0.0)
-                            .sum();
-                    long confirmed = bookingRepository.findAll().stream()
-                            .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branch.getId()) && b.getStatus() == BookingStatus.APPROVED)
-                            .count();
+                    BranchBookingTotals totals = bookingRepository.summarizeBranchTotals(branchId, BookingStatus.APPROVED);
+                    long services = toLong(totals.getBookings());
+                    double revenue = toDouble(totals.getRevenue());
+                    long confirmed = toLong(totals.getApproved());
                     int efficiency = services > 0 ? (int) ((double) confirmed / services * 100) : 0;
-                    long employees = userRepository.findAll().stream()
-                            .filter(u -> "EMPLOYEE".equalsIgnoreCase(u.getRole()) && u.getBranch() != null && u.getBranch().getId().equals(branch.getId()))
-                            .count();
-                    return new BranchPerformanceDTO(
+                    long employees = userRepository.countByRoleIgnoreCaseAndBranch_Id("EMPLOYEE", branchId);
+                    return List.of(new BranchPerformanceDTO(
                         branch.getName(),
                         (int) services,
                         (int) revenue,
                         efficiency,
                         (int) employees
-                    );
+                    ));
                 })
-                .collect(Collectors.toList());
+                .orElse(List.of());
     }
 
     public List<ServiceDistributionDTO> getServiceDistribution() {
         Long branchId = currentUserUtil.getCurrentUserBranchId();
-        var serviceCount = bookingRepository.findAll().stream()
-                .filter(b -> b.getBranch() != null && b.getBranch().getId().equals(branchId))
-                .collect(Collectors.groupingBy(b -> b.getService().getName(), Collectors.summingInt(b -> 1)));
-        int total = serviceCount.values().stream().mapToInt(Integer::intValue).sum();
+        List<ServiceBookingCount> serviceCount = bookingRepository.countBranchBookingsByService(branchId);
+        int total = serviceCount.stream().mapToInt(c -> (int) toLong(c.getBookings())).sum();
         List<String> colors = Arrays.asList("#10b981", "#3b82f6", "#f59e0b", "#8b5cf6", "#ef4444");
         int[] index = {0};
-        return serviceCount.entrySet().stream()
-                .map(e -> new ServiceDistributionDTO(
-                    e.getKey(),
-                    e.getValue(),
-                    colors.get(index[0]++ % colors.size()),
-                    total > 0 ? (int) Math.round((double) e.getValue() / total * 100.0) : 0
-                ))
+        return serviceCount.stream()
+                .map(c -> {
+                    int count = (int) toLong(c.getBookings());
+                    return new ServiceDistributionDTO(
+                        c.getServiceName(),
+                        count,
+                        colors.get(index[0]++ % colors.size()),
+                        total > 0 ? (int) Math.round((double) count / total * 100.0) : 0
+                    );
+                })
                 .collect(Collectors.toList());
     }
 
     public List<RecentBookingDTO> getRecentBookings(int limit) {
         Long branchId = currentUserUtil.getCurrentUserBranchId();
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getCreatedAt() != null && booking.getBranch() != null && booking.getBranch().getId().equals(branchId))
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(limit)
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return bookingRepository.findRecentByBranchId(branchId, PageRequest.of(0, limit)).stream()
                 .map(booking -> new RecentBookingDTO(
                     booking.getId(),
                     booking.getCustomerName(),
@@ -235,5 +231,16 @@ public class ManagerDashboardService {
                 ))
                 .collect(Collectors.toList());
     }
-}
 
+    private Optional<Branch> findBranch(Long branchId) {
+        return branchId != null ? branchRepository.findById(branchId) : Optional.empty();
+    }
+
+    private static double toDouble(Number value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+
+    private static long toLong(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+}
@@ -13,7 +13,6 @@ import org.springframework.stereotype.Service;
 
 import com.login.AxleXpert.Tasks.entity.Task;
 import com.login.AxleXpert.Tasks.repository.TaskRepository;
-import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Vehicals.repository.VehicleRepository;
 import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
@@ -49,10 +48,10 @@ public class UserDashboardService {
     }
 
     public UserStatsDTO getUserStats() {
-        User currentUser = currentUserUtil.getCurrentUser();
+        Long currentUserId = currentUserUtil.getCurrentUserId();
 
         // Get all bookings for the user
-        List<Booking> allBookings = bookingRepository.findByCustomerId(currentUser.getId());
+        List<Booking> allBookings = bookingRepository.findByCustomerId(currentUserId);
 
         LocalDateTime now = LocalDateTime.now();
 
@@ -83,14 +82,14 @@ public class UserDashboardService {
                 .orElse("None");
 
         // Compute task counts for active tasks
-        long inProgressTasks = taskRepository.countByCustomerIdAndStatus(currentUser.getId(), TaskStatus.IN_PROGRESS);
-        long pendingTasks = taskRepository.countByCustomerIdAndStatus(currentUser.getId(), TaskStatus.NOT_STARTED);
-        long completedTodayTasks = taskRepository.countCompletedTodayByCustomer(currentUser.getId(), now);
-        long completedThisMonthTasks = taskRepository.countCompletedThisMonthByCustomer(currentUser.getId(), now);
-        long totalCompletedTasks = taskRepository.countByCustomerIdAndStatus(currentUser.getId(), TaskStatus.COMPLETED);
+        long inProgressTasks = taskRepository.countByCustomerIdAndStatus(currentUserId, TaskStatus.IN_PROGRESS);
+        long pendingTasks = taskRepository.countByCustomerIdAndStatus(currentUserId, TaskStatus.NOT_STARTED);
+        long completedTodayTasks = taskRepository.countCompletedTodayByCustomer(currentUserId, now);
+        long completedThisMonthTasks = taskRepository.countCompletedThisMonthByCustomer(currentUserId, now);
+        long totalCompletedTasks = taskRepository.countByCustomerIdAndStatus(currentUserId, TaskStatus.COMPLETED);
 
         // Get completed tasks for service details
-        List<Task> completedTasks = taskRepository.findByCustomerId(currentUser.getId()).stream()
+        List<Task> completedTasks = taskRepository.findByCustomerId(currentUserId).stream()
             .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
             .collect(Collectors.toList());
 
@@ -165,8 +164,8 @@ public class UserDashboardService {
     }
 
     public List<UserVehicleDTO> getUserVehicles() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        return vehicleRepository.findByUser_Id(currentUser.getId()).stream()
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+        return vehicleRepository.findByUser_Id(currentUserId).stream()
                 .map(vehicle -> {
                     String serviceStatus = "good"; // Default
                     if (vehicle.getLastServiceDate() != null) {
@@ -196,8 +195,8 @@ public class UserDashboardService {
     }
 
     public List<UserAppointmentDTO> getUserAppointments() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        return bookingRepository.findByCustomerId(currentUser.getId()).stream()
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+        return bookingRepository.findByCustomerId(currentUserId).stream()
                 .filter(booking -> booking.getStatus() == BookingStatus.PENDING)
                 .map(booking -> {
                     String date = booking.getStartAt() != null ?
@@ -220,10 +219,10 @@ public class UserDashboardService {
     }
 
     public ServiceHistoryDTO getUserServiceHistory(int months) {
-        User currentUser = currentUserUtil.getCurrentUser();
+        Long currentUserId = currentUserUtil.getCurrentUserId();
 
         LocalDateTime startDate = LocalDateTime.now().minusMonths(months);
-        List<Task> completedTasksInPeriod = taskRepository.findByCustomerId(currentUser.getId()).stream()
+        List<Task> completedTasksInPeriod = taskRepository.findByCustomerId(currentUserId).stream()
             .filter(t -> t.getStatus() == TaskStatus.COMPLETED && t.getCompletedTime() != null && t.getCompletedTime().isAfter(startDate))
             .collect(Collectors.toList());
 
@@ -264,8 +263,8 @@ public class UserDashboardService {
     }
 
     public List<UserRecentTaskDTO> getUserRecentTasks() {
-        User currentUser = currentUserUtil.getCurrentUser();
-        return taskRepository.findByCustomerId(currentUser.getId()).stream()
+        Long currentUserId = currentUserUtil.getCurrentUserId();
+        return taskRepository.findByCustomerId(currentUserId).stream()
                 .sorted((t1, t2) -> t2.getCreatedAt().compareTo(t1.getCreatedAt()))
                 .limit(10)
                 .map(task -> {
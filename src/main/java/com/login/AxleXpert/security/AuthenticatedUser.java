@@ -0,0 +1,31 @@
+package com.login.AxleXpert.security;
+
+import java.security.Principal;
+
+import com.login.AxleXpert.Users.entity.User;
+
+/**
+ * The signed-in user as carried by the JWT. JwtFilter stores it as the authentication
+ * principal, so id, role and branch are available without loading the User entity.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String username,
+        String role,
+        Long branchId
+) implements Principal {
+
+    public static AuthenticatedUser from(JwtClaims claims) {
+        return new AuthenticatedUser(claims.id(), claims.username(), claims.role(), claims.branchId());
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                user.getBranch() != null ? user.getBranch().getId() : null);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
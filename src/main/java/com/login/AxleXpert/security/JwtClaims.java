@@ -0,0 +1,20 @@
+package com.login.AxleXpert.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has been verified, read once from the parsed JWT.
+ */
+public record JwtClaims(
+        String username,
+        Long id,
+        String email,
+        String role,
+        Long branchId,
+        Instant expiresAt
+) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -36,34 +36,31 @@ public class JwtFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
+        JwtClaims claims = null;
 
         // JWT should be in header like: Authorization: Bearer <token>
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7); // remove "Bearer "
+            String jwt = authHeader.substring(7); // remove "Bearer "
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // One verification covers signature, expiry and every claim we need
+                claims = jwtUtil.verify(jwt);
             } catch (Exception e) {
                 log.warn("Invalid JWT token: {}", e.getMessage());
             }
         }
 
         // If token is valid and no authentication is set
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt, username)) {
-                String role = jwtUtil.extractRole(jwt);
-                List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+        if (claims != null && claims.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + claims.role()));
 
-                // Create authentication token with authorities
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+            // Create authentication token with authorities
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(AuthenticatedUser.from(claims), null, authorities);
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // Set authentication in context
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            // Set authentication in context
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         // Continue filter chain
@@ -2,24 +2,42 @@ package com.login.AxleXpert.security;
 
 
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.function.Function;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.login.AxleXpert.Users.entity.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
 
+    static final int DEFAULT_CACHE_SIZE = 10_000;
+
     @Value("${jwt.secret}")
     private String secretKey;
 
+    @Value("${jwt.cache.max-entries:" + DEFAULT_CACHE_SIZE + "}")
+    private int cacheMaxEntries = DEFAULT_CACHE_SIZE;
+
+    // Key, parser and verified-token cache, built once per secret
+    private volatile Signing signing;
+
+    @PostConstruct
+    void init() {
+        signing();
+    }
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(user.getUsername())
@@ -29,49 +47,86 @@ public class JwtUtil {
                 .claim("branchId", user.getBranch() != null ? user.getBranch().getId() : null)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()))
+                .signWith(signing().key())
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry and returns its claims.
+     * Recently verified tokens are served from a bounded cache until they expire.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, tampered with or expired
+     */
+    public JwtClaims verify(String token) {
+        Signing current = signing();
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf(token);
+        JwtClaims cached = current.cache().get(key, Instant.now());
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = current.parser().parseClaimsJws(token).getBody();
+        JwtClaims verified = new JwtClaims(
+                claims.getSubject(),
+                claims.get("id", Long.class),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                claims.get("branchId", Long.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        current.cache().put(key, verified);
+        return verified;
+    }
+
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final JwtClaims claims = verify(token);
+        return (username != null && username.equals(claims.username()) && !claims.isExpired(Instant.now()));
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     public Long extractId(String token) {
-        return extractClaim(token, claims -> claims.get("id", Long.class));
+        return verify(token).id();
     }
 
     public String extractEmail(String token) {
-        return extractClaim(token, claims -> claims.get("email", String.class));
+        return verify(token).email();
     }
 
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return verify(token).role();
     }
 
     public Long extractBranchId(String token) {
-        return extractClaim(token, claims -> claims.get("branchId", Long.class));
+        return verify(token).branchId();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        Instant expiresAt = verify(token).expiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
 
+    /**
+     * Reads any claim, including ones not carried by {@link JwtClaims}. Always parses the token.
+     */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build()
+        final Claims claims = signing().parser()
                 .parseClaimsJws(token)
                 .getBody();
         return claimsResolver.apply(claims);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Signing signing() {
+        Signing current = signing;
+        if (current == null || !current.secret().equals(secretKey)) {
+            SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
+            JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+            current = new Signing(secretKey, key, parser, new VerifiedTokenCache(cacheMaxEntries));
+            signing = current;
+        }
+        return current;
     }
+
+    private record Signing(String secret, SecretKey key, JwtParser parser, VerifiedTokenCache cache) {}
 }
@@ -0,0 +1,70 @@
+package com.login.AxleXpert.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of tokens that already passed signature verification.
+ *
+ * Entries are keyed by the SHA-256 of the token, so raw tokens are not kept in memory,
+ * and an entry is dropped as soon as its token expires - a cache hit never outlives the token.
+ */
+final class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<TokenKey, JwtClaims> entries;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        // Access order turns LinkedHashMap into an LRU: the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TokenKey, JwtClaims> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached claims, or null when the token is unknown or has expired.
+     */
+    synchronized JwtClaims get(TokenKey key, Instant now) {
+        JwtClaims claims = entries.get(key);
+        if (claims != null && claims.isExpired(now)) {
+            entries.remove(key);
+            return null;
+        }
+        return claims;
+    }
+
+    synchronized void put(TokenKey key, JwtClaims claims) {
+        if (maxEntries > 0) {
+            entries.put(key, claims);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    static TokenKey keyOf(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new TokenKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    record TokenKey(long a, long b, long c, long d) {}
+}
@@ -22,6 +22,7 @@ import com.login.AxleXpert.Branches.entity.Branch;
 import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.common.ReferenceDataVersions;
 import com.login.AxleXpert.testutils.TestDataBuilder;
 
 /**
@@ -50,7 +51,7 @@ class BranchServiceTest {
 
     @BeforeEach
     void setUp() {
-        branchService = new BranchService(branchRepository, userRepository);
+        branchService = new BranchService(branchRepository, userRepository, new ReferenceDataVersions());
         testManager = TestDataBuilder.createUser();
         testBranch = TestDataBuilder.createBranch();
         testBranch.setManager(testManager);
@@ -23,6 +23,8 @@ import com.login.AxleXpert.Services.dto.ServiceDTO;
 import com.login.AxleXpert.Services.dto.UpdateServiceDTO;
 import com.login.AxleXpert.Services.entity.Service;
 import com.login.AxleXpert.Services.repository.ServiceRepository;
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.ReferenceData;
 import com.login.AxleXpert.testutils.TestDataBuilder;
 
 /**
@@ -44,10 +46,12 @@ class ServiceServiceTest {
     private ServiceRepository serviceRepository;
 
     private Service testService;
+    private ReferenceDataVersions referenceDataVersions;
 
     @BeforeEach
     void setUp() {
-        serviceService = new ServiceService(serviceRepository);
+        referenceDataVersions = new ReferenceDataVersions();
+        serviceService = new ServiceService(serviceRepository, referenceDataVersions);
         testService = TestDataBuilder.createService();
     }
 
@@ -273,6 +277,7 @@ class ServiceServiceTest {
             // ASSERT
             verify(serviceRepository, times(1)).findById(testService.getId());
             verify(serviceRepository, times(1)).delete(testService);
+            assertThat(referenceDataVersions.current(ReferenceData.SERVICES)).isEqualTo(1);
         }
 
         @Test
@@ -288,6 +293,7 @@ class ServiceServiceTest {
                 .hasMessageContaining("Service not found");
             
             verify(serviceRepository, never()).delete(any(Service.class));
+            assertThat(referenceDataVersions.current(ReferenceData.SERVICES)).isZero();
         }
     }
 
@@ -0,0 +1,102 @@
+package com.login.AxleXpert.Tasks.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.login.AxleXpert.Tasks.dto.ManagerProgressTrackingDTO;
+import com.login.AxleXpert.Tasks.dto.TaskDTO;
+import com.login.AxleXpert.Tasks.entity.SubTask;
+import com.login.AxleXpert.Tasks.entity.Task;
+import com.login.AxleXpert.Tasks.entity.TaskImage;
+import com.login.AxleXpert.Tasks.entity.TaskNote;
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.common.enums.NoteType;
+import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * JMH benchmark for TaskService DTO mapping and Task.calculateOverallStatus.
+ *
+ * Every mapped task recomputes its overall status and maps all subtasks, notes and images,
+ * so the cost grows with {@code subTasks}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMappingBenchmark {
+
+    @Param({"5", "50"})
+    public int subTasks;
+
+    private TaskService taskService;
+    private Task task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The mappers touch no collaborators
+        taskService = new TaskService(null, null, null, null, null, null, null, null, null, null);
+
+        User employee = TestDataBuilder.createEmployee();
+        task = TestDataBuilder.createTask(employee, TestDataBuilder.createBooking());
+        task.getBooking().setService(TestDataBuilder.createService());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < subTasks; i++) {
+            SubTask subTask = new SubTask();
+            subTask.setId((long) i);
+            subTask.setTask(task);
+            subTask.setTitle("Step " + i);
+            subTask.setOrderIndex(i);
+            // Mostly completed, last one still running: the status check has to look at every subtask
+            subTask.setStatus(i < subTasks - 1 ? TaskStatus.COMPLETED : TaskStatus.IN_PROGRESS);
+            subTask.setCreatedAt(now);
+            subTask.setUpdatedAt(now);
+            task.getSubTasks().add(subTask);
+
+            TaskNote note = new TaskNote();
+            note.setId((long) i);
+            note.setTask(task);
+            note.setAuthor(employee);
+            note.setNoteType(NoteType.EMPLOYEE_NOTE);
+            note.setContent("Note " + i);
+            note.setCreatedAt(now.minusMinutes(i));
+            task.getTaskNotes().add(note);
+        }
+        TaskImage image = new TaskImage();
+        image.setId(1L);
+        image.setTask(task);
+        image.setImageUrl("https://example.com/image.jpg");
+        image.setCreatedAt(now);
+        task.getTaskImages().add(image);
+    }
+
+    @Benchmark
+    public TaskStatus calculateOverallStatus() {
+        return task.calculateOverallStatus();
+    }
+
+    @Benchmark
+    public TaskDTO toTaskDto() {
+        return taskService.toTaskDTO(task);
+    }
+
+    @Benchmark
+    public ManagerProgressTrackingDTO toManagerProgressDto() {
+        return taskService.toManagerProgressTrackingDTO(task);
+    }
+}
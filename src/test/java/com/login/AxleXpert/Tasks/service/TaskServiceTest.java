@@ -45,6 +45,7 @@ import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
 import com.login.AxleXpert.common.enums.NoteType;
 import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 import com.login.AxleXpert.notifications.service.NotificationService;
 import com.login.AxleXpert.testutils.TestDataBuilder;
 
@@ -91,6 +92,9 @@ class TaskServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private DashboardRollupService dashboardRollupService;
+
     private User testEmployee;
     private User testCustomer;
     private Service testService;
@@ -111,7 +115,8 @@ class TaskServiceTest {
             userRepository,
             serviceSubTaskRepository,
             vehicleRepository,
-            notificationService
+            notificationService,
+            dashboardRollupService
         );
 
         // Create test data using our TestDataBuilder
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -19,13 +20,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.login.AxleXpert.Branches.entity.Branch;
 import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Tasks.entity.Task;
 import com.login.AxleXpert.Tasks.repository.TaskRepository;
 import com.login.AxleXpert.Users.dto.ProfileImageUpdateDTO;
 import com.login.AxleXpert.Users.dto.UserDTO;
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.service.BranchAvailabilityIndex;
 import com.login.AxleXpert.common.EmailService;
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 import com.login.AxleXpert.testutils.TestDataBuilder;
 
 /**
@@ -58,6 +67,12 @@ class UserServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private DashboardRollupRepository rollupRepository;
+
+    @Mock
+    private BranchAvailabilityIndex availabilityIndex;
+
     private User testEmployee;
     private User testCustomer;
     private User testManager;
@@ -66,13 +81,16 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Create service using constructor injection with all 5 dependencies
+        // Create service using constructor injection with all 8 dependencies
         userService = new UserService(
             userRepository,
             branchRepository,
             bookingRepository,
             taskRepository,
-            emailService
+            emailService,
+            new ReferenceDataVersions(),
+            new DashboardRollupService(rollupRepository, bookingRepository),
+            availabilityIndex
         );
 
         // Create test data
@@ -251,6 +269,53 @@ class UserServiceTest {
             verify(userRepository, times(1)).delete(testCustomer);
         }
 
+        @Test
+        @DisplayName("Should take deleted bookings and completed tasks off the dashboard rollup")
+        void shouldDecrementRollup_whenDeletingCustomerHistory() {
+            // ARRANGE: an approved booking whose task was completed yesterday
+            Booking booking = TestDataBuilder.createBooking(testCustomer, TestDataBuilder.createService(), testBranch);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setTotalPrice(new BigDecimal("150.00"));
+            Task task = TestDataBuilder.createTask(testEmployee, booking);
+            task.setStatus(TaskStatus.COMPLETED);
+            task.setCompletedTime(booking.getCreatedAt().minusDays(1));
+            when(userRepository.findById(testCustomer.getId()))
+                .thenReturn(Optional.of(testCustomer));
+            when(taskRepository.findByCustomerId(testCustomer.getId()))
+                .thenReturn(List.of(task));
+            when(bookingRepository.findByCustomerId(testCustomer.getId()))
+                .thenReturn(List.of(booking));
+
+            // ACT
+            boolean result = userService.deleteUser(testCustomer.getId());
+
+            // ASSERT: one completed task off its completion day, the booking and its revenue off its creation day
+            assertThat(result).isTrue();
+            verify(rollupRepository).increment(testBranch.getId(), booking.getService().getId(),
+                    task.getCompletedTime().toLocalDate(), 0L, 0L, 0L, 0L, BigDecimal.ZERO, -1L);
+            verify(rollupRepository).increment(testBranch.getId(), booking.getService().getId(),
+                    booking.getCreatedAt().toLocalDate(), 0L, -1L, 0L, 0L, new BigDecimal("-150.00"), 0L);
+            verify(taskRepository).delete(task);
+            verify(bookingRepository).delete(booking);
+        }
+
+        @Test
+        @DisplayName("Should free the slots of the deleted user's bookings")
+        void shouldReleaseSlots_whenDeletingCustomerBookings() {
+            // ARRANGE
+            Booking booking = TestDataBuilder.createBooking(testCustomer, TestDataBuilder.createService(), testBranch);
+            when(userRepository.findById(testCustomer.getId()))
+                .thenReturn(Optional.of(testCustomer));
+            when(bookingRepository.findByCustomerId(testCustomer.getId()))
+                .thenReturn(List.of(booking));
+
+            // ACT
+            userService.deleteUser(testCustomer.getId());
+
+            // ASSERT
+            verify(availabilityIndex).recordReleased(booking);
+        }
+
         @Test
         @DisplayName("Should throw exception when deleting non-existent user")
         void shouldThrowException_whenUserNotFound() {
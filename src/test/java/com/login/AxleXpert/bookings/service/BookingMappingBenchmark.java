@@ -0,0 +1,68 @@
+package com.login.AxleXpert.bookings.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.login.AxleXpert.bookings.dto.BookingDTO;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * JMH benchmark for BookingService.toDto on already loaded entities.
+ *
+ * Measures the mapping alone; list endpoints pay it once per row on top of the query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMappingBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private BookingService bookingService;
+    private Booking booking;
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // toDto touches no collaborators
+        bookingService = new BookingService(null, null, null, null, null, null, null, null);
+        booking = TestDataBuilder.createBooking();
+        booking.setAssignedEmployee(TestDataBuilder.createEmployee());
+        bookings = IntStream.range(0, rows).mapToObj(i -> {
+            Booking b = TestDataBuilder.createBooking();
+            b.setId((long) i);
+            b.setAssignedEmployee(TestDataBuilder.createEmployee());
+            return b;
+        }).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public BookingDTO toDto() {
+        return bookingService.toDto(booking);
+    }
+
+    @Benchmark
+    public List<BookingDTO> toDtoList() {
+        return bookings.stream().map(bookingService::toDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,139 @@
+package com.login.AxleXpert.bookings.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Services.entity.Service;
+import com.login.AxleXpert.Services.repository.ServiceRepository;
+import com.login.AxleXpert.Tasks.service.TaskService;
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
+import com.login.AxleXpert.notifications.service.NotificationService;
+import com.login.AxleXpert.testutils.StatementCounter;
+import com.login.AxleXpert.testutils.TestConstants;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * N+1 regression tests for BookingService read paths
+ *
+ * Learning Focus:
+ * - Every booking row touches customer, branch, service and employee
+ * - Without an entity graph that is up to 4 extra selects per row
+ * - The limits below are fixed, so they fail as soon as one lazy load sneaks back in
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("BookingService Statement Count Tests")
+class BookingServiceQueryCountTest {
+
+    private static final int BOOKINGS = 25;
+    private static final long MAX_LIST_STATEMENTS = 1;
+    private static final long MAX_SINGLE_STATEMENTS = 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private BookingService bookingService;
+    private StatementCounter statementCounter;
+    private Long firstBookingId;
+
+    @BeforeEach
+    void setUp() {
+        // ARRANGE: collaborators outside the read path are mocked
+        bookingService = new BookingService(bookingRepository, userRepository, mock(TaskService.class),
+                serviceRepository, mock(NotificationService.class),
+                mock(DashboardRollupService.class), mock(SlotReservationService.class),
+                mock(BranchAvailabilityIndex.class));
+        statementCounter = new StatementCounter(entityManager, entityManagerFactory);
+
+        Branch branch = TestDataBuilder.createBranch();
+        branch.setId(null);
+        entityManager.persist(branch);
+        Service service = TestDataBuilder.createService();
+        service.setId(null);
+        entityManager.persist(service);
+        User employee = persistUser("employee", TestConstants.ROLE_EMPLOYEE);
+
+        // Distinct customers so a lazy load per row cannot hide behind the first-level cache
+        for (int i = 0; i < BOOKINGS; i++) {
+            User customer = persistUser("customer" + i, TestConstants.ROLE_CUSTOMER);
+            Booking booking = TestDataBuilder.createBooking(customer, service, branch);
+            booking.setId(null);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setAssignedEmployee(employee);
+            entityManager.persist(booking);
+            if (firstBookingId == null) {
+                firstBookingId = booking.getId();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should list all bookings in a fixed number of statements")
+    void shouldListAllBookingsInFixedStatements() {
+        statementCounter.assertAtMost(MAX_LIST_STATEMENTS,
+            () -> assertThat(bookingService.getAllBookings()).hasSize(BOOKINGS));
+    }
+
+    @Test
+    @DisplayName("Should list a limited number of bookings in a fixed number of statements")
+    void shouldListLimitedBookingsInFixedStatements() {
+        statementCounter.assertAtMost(MAX_LIST_STATEMENTS,
+            () -> assertThat(bookingService.getAllBookings(10)).hasSize(10));
+    }
+
+    @Test
+    @DisplayName("Should page through bookings in a fixed number of statements per page")
+    void shouldPageBookingsInFixedStatements() {
+        statementCounter.assertAtMost(MAX_LIST_STATEMENTS,
+            () -> assertThat(bookingService.getBookingPage(firstBookingId, 10).items()).hasSize(10));
+    }
+
+    @Test
+    @DisplayName("Should load one booking with all its associations in one statement")
+    void shouldLoadSingleBookingInOneStatement() {
+        statementCounter.assertAtMost(MAX_SINGLE_STATEMENTS, () -> {
+            var booking = bookingService.getBookingById(firstBookingId);
+            assertThat(booking).isPresent();
+            assertThat(booking.get().assignedEmployeeName()).isEqualTo("employee");
+        });
+    }
+
+    private User persistUser(String username, String role) {
+        User user = TestDataBuilder.createUser();
+        user.setId(null);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
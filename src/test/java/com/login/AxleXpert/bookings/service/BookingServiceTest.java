@@ -17,9 +17,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.login.AxleXpert.Branches.entity.Branch;
-import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Services.entity.Service;
 import com.login.AxleXpert.Services.repository.ServiceRepository;
 import com.login.AxleXpert.Tasks.dto.TaskDTO;
@@ -27,9 +27,11 @@ import com.login.AxleXpert.Tasks.service.TaskService;
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
 import com.login.AxleXpert.bookings.dto.BookingDTO;
+import com.login.AxleXpert.bookings.dto.BookingPageDTO;
 import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
 import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
 import com.login.AxleXpert.notifications.service.NotificationService;
 import com.login.AxleXpert.testutils.TestDataBuilder;
 
@@ -68,15 +70,21 @@ public class BookingServiceTest {
     @Mock
     private ServiceRepository serviceRepository;
     
-    @Mock
-    private BranchRepository branchRepository;
-    
     @Mock
     private TaskService taskService;
     
     @Mock
     private NotificationService notificationService;
     
+    @Mock
+    private DashboardRollupService dashboardRollupService;
+    
+    @Mock
+    private SlotReservationService slotReservationService;
+    
+    @Mock
+    private BranchAvailabilityIndex availabilityIndex;
+    
     private BookingService bookingService;
     
     // Test data
@@ -97,9 +105,11 @@ public class BookingServiceTest {
             bookingRepository,
             userRepository,
             taskService,
-            branchRepository,
             serviceRepository,
-            notificationService
+            notificationService,
+            dashboardRollupService,
+            slotReservationService,
+            availabilityIndex
         );
         
         // Create test data
@@ -143,14 +153,12 @@ public class BookingServiceTest {
                 null  // updatedAt
             );
             
-            when(branchRepository.findById(testBranch.getId()))
-                .thenReturn(Optional.of(testBranch));
+            when(slotReservationService.lockBranch(testBranch.getId()))
+                .thenReturn(testBranch);
             when(serviceRepository.findById(testService.getId()))
                 .thenReturn(Optional.of(testService));
             when(userRepository.findById(testCustomer.getId()))
                 .thenReturn(Optional.of(testCustomer));
-            when(bookingRepository.existsByBranch_IdAndStartAt(any(), any()))
-                .thenReturn(false);
             when(bookingRepository.save(any(Booking.class)))
                 .thenAnswer(invocation -> {
                     Booking booking = invocation.getArgument(0);
@@ -168,6 +176,8 @@ public class BookingServiceTest {
             assertThat(result.status()).isEqualTo(BookingStatus.PENDING);
             
             verify(bookingRepository, times(1)).save(any(Booking.class));
+            verify(dashboardRollupService, times(1)).recordBookingCreated(any(Booking.class));
+            verify(availabilityIndex, times(1)).recordBooked(any(Booking.class));
         }
         
         @Test
@@ -239,8 +249,8 @@ public class BookingServiceTest {
                 null, null, null, null, null, null, null
             );
             
-            when(branchRepository.findById(999L))
-                .thenReturn(Optional.empty());
+            when(slotReservationService.lockBranch(999L))
+                .thenThrow(new IllegalArgumentException("Branch not found with id: 999"));
             
             // ACT & ASSERT
             assertThatThrownBy(() -> bookingService.createBooking(dto))
@@ -258,8 +268,8 @@ public class BookingServiceTest {
                 null, null, null, null, null, null, null
             );
             
-            when(branchRepository.findById(testBranch.getId()))
-                .thenReturn(Optional.of(testBranch));
+            when(slotReservationService.lockBranch(testBranch.getId()))
+                .thenReturn(testBranch);
             when(serviceRepository.findById(999L))
                 .thenReturn(Optional.empty());
             
@@ -279,8 +289,8 @@ public class BookingServiceTest {
                 null, null, null, null, null, null, null
             );
             
-            when(branchRepository.findById(testBranch.getId()))
-                .thenReturn(Optional.of(testBranch));
+            when(slotReservationService.lockBranch(testBranch.getId()))
+                .thenReturn(testBranch);
             when(serviceRepository.findById(testService.getId()))
                 .thenReturn(Optional.of(testService));
             when(userRepository.findById(999L))
@@ -303,14 +313,20 @@ public class BookingServiceTest {
                 startTime.toString(), null, null, null, null, null, null, null, null
             );
             
-            // Only mock what's actually called before the exception is thrown
-            when(bookingRepository.existsByBranch_IdAndStartAt(eq(testBranch.getId()), any()))
-                .thenReturn(true);
+            when(slotReservationService.lockBranch(testBranch.getId()))
+                .thenReturn(testBranch);
+            when(serviceRepository.findById(testService.getId()))
+                .thenReturn(Optional.of(testService));
+            when(userRepository.findById(testCustomer.getId()))
+                .thenReturn(Optional.of(testCustomer));
+            when(slotReservationService.reserve(eq(testBranch), eq(startTime), eq(testService)))
+                .thenThrow(new IllegalStateException("Booking slot already taken for this branch and time"));
             
             // ACT & ASSERT
             assertThatThrownBy(() -> bookingService.createBooking(dto))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Booking slot already taken");
+            verify(bookingRepository, never()).save(any());
         }
     }
 
@@ -359,6 +375,8 @@ public class BookingServiceTest {
             
             verify(bookingRepository, times(1)).save(testBooking);
             verify(taskService, times(1)).createTaskForBooking(testBooking.getId(), testEmployee.getId());
+            verify(dashboardRollupService, times(1))
+                .recordBookingStatusChange(testBooking, BookingStatus.PENDING, BookingStatus.APPROVED);
             verify(notificationService, times(1))
                 .createAndSendNotification(eq(testEmployee.getId()), anyString(), anyString(), eq("EMPLOYEE"));
         }
@@ -487,6 +505,7 @@ public class BookingServiceTest {
                 .contains("Additional notes: Will reschedule later");
             
             verify(bookingRepository, times(1)).save(testBooking);
+            verify(availabilityIndex, times(1)).recordReleased(testBooking);
         }
         
         @Test
@@ -577,7 +596,7 @@ public class BookingServiceTest {
             Booking booking2 = TestDataBuilder.createBooking();
             booking2.setId(2L);
             
-            when(bookingRepository.findAll())
+            when(bookingRepository.findAllWithAssociations())
                 .thenReturn(Arrays.asList(booking1, booking2));
             
             // ACT
@@ -585,14 +604,14 @@ public class BookingServiceTest {
             
             // ASSERT
             assertThat(result).hasSize(2);
-            verify(bookingRepository, times(1)).findAll();
+            verify(bookingRepository, times(1)).findAllWithAssociations();
         }
         
         @Test
         @DisplayName("Should return empty list when no bookings exist")
         void shouldReturnEmptyList_whenNoBookingsExist() {
             // ARRANGE
-            when(bookingRepository.findAll())
+            when(bookingRepository.findAllWithAssociations())
                 .thenReturn(Collections.emptyList());
             
             // ACT
@@ -607,24 +626,74 @@ public class BookingServiceTest {
         void shouldReturnLimitedBookings_whenCountProvided() {
             // ARRANGE
             List<Booking> bookings = Arrays.asList(
-                TestDataBuilder.createBooking(),
                 TestDataBuilder.createBooking(),
                 TestDataBuilder.createBooking()
             );
-            when(bookingRepository.findAll()).thenReturn(bookings);
+            when(bookingRepository.findPageWithAssociations(PageRequest.of(0, 2))).thenReturn(bookings);
             
             // ACT
             List<BookingDTO> result = bookingService.getAllBookings(2);
             
-            // ASSERT
+            // ASSERT: the limit is applied in the query, not after loading every booking
             assertThat(result).hasSize(2);
+            verify(bookingRepository, never()).findAll();
+        }
+        
+        @Test
+        @DisplayName("Should return first page with a cursor when more bookings exist")
+        void shouldReturnFirstPageWithCursor_whenMoreBookingsExist() {
+            // ARRANGE: one row more than the page size signals another page
+            Booking booking1 = TestDataBuilder.createBooking();
+            Booking booking2 = TestDataBuilder.createBooking();
+            booking2.setId(2L);
+            Booking booking3 = TestDataBuilder.createBooking();
+            booking3.setId(3L);
+            when(bookingRepository.findPageWithAssociations(PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(booking1, booking2, booking3));
+            
+            // ACT
+            BookingPageDTO page = bookingService.getBookingPage(null, 2);
+            
+            // ASSERT
+            assertThat(page.items()).extracting(BookingDTO::id).containsExactly(1L, 2L);
+            assertThat(page.hasMore()).isTrue();
+            assertThat(page.nextCursor()).isEqualTo(2L);
+        }
+        
+        @Test
+        @DisplayName("Should continue after the cursor and stop on the last page")
+        void shouldContinueAfterCursor_andStopOnLastPage() {
+            // ARRANGE
+            Booking booking3 = TestDataBuilder.createBooking();
+            booking3.setId(3L);
+            when(bookingRepository.findPageWithAssociationsAfter(2L, PageRequest.of(0, 3)))
+                .thenReturn(Collections.singletonList(booking3));
+            
+            // ACT
+            BookingPageDTO page = bookingService.getBookingPage(2L, 2);
+            
+            // ASSERT
+            assertThat(page.items()).extracting(BookingDTO::id).containsExactly(3L);
+            assertThat(page.hasMore()).isFalse();
+            assertThat(page.nextCursor()).isNull();
+        }
+        
+        @Test
+        @DisplayName("Should reject page sizes outside the allowed range")
+        void shouldRejectInvalidPageSize() {
+            // ACT & ASSERT
+            assertThatThrownBy(() -> bookingService.getBookingPage(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> bookingService.getBookingPage(null, BookingService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(bookingRepository);
         }
         
         @Test
         @DisplayName("Should return booking by ID when found")
         void shouldReturnBooking_whenIdExists() {
             // ARRANGE
-            when(bookingRepository.findById(testBooking.getId()))
+            when(bookingRepository.findWithAssociationsById(testBooking.getId()))
                 .thenReturn(Optional.of(testBooking));
             
             // ACT
@@ -639,7 +708,7 @@ public class BookingServiceTest {
         @DisplayName("Should return empty when booking not found")
         void shouldReturnEmpty_whenBookingNotFound() {
             // ARRANGE
-            when(bookingRepository.findById(999L))
+            when(bookingRepository.findWithAssociationsById(999L))
                 .thenReturn(Optional.empty());
             
             // ACT
@@ -672,6 +741,7 @@ public class BookingServiceTest {
             // ASSERT
             assertThat(result).isTrue();
             verify(bookingRepository, times(1)).delete(testBooking);
+            verify(availabilityIndex, times(1)).recordReleased(testBooking);
         }
         
         @Test
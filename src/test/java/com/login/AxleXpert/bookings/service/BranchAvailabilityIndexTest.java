@@ -0,0 +1,135 @@
+package com.login.AxleXpert.bookings.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Services.entity.Service;
+import com.login.AxleXpert.Services.repository.ServiceRepository;
+import com.login.AxleXpert.bookings.dto.FreeSlotDTO;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BookedInterval;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * Unit tests for BranchAvailabilityIndex
+ *
+ * Learning Focus:
+ * - The index only hears about bookings made through its own instance
+ * - A booking made through another instance shows up once the branch's schedule is reloaded
+ * - A controllable clock stands in for the reload interval, so no test sleeps
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BranchAvailabilityIndex Tests")
+class BranchAvailabilityIndexTest {
+
+    private static final long RELOAD_SECONDS = 30;
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private SlotReservationService slotReservationService;
+
+    private final AtomicLong clock = new AtomicLong();
+    private BranchAvailabilityIndex index;
+    private Branch branch;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        index = new BranchAvailabilityIndex(bookingRepository, branchRepository, serviceRepository,
+                slotReservationService, 60, 300, RELOAD_SECONDS, clock::get);
+        branch = TestDataBuilder.createBranch();
+        service = TestDataBuilder.createService();
+        when(branchRepository.findById(branch.getId())).thenReturn(Optional.of(branch));
+        when(serviceRepository.findById(service.getId())).thenReturn(Optional.of(service));
+        when(slotReservationService.capacity(branch)).thenReturn(1);
+        when(slotReservationService.durationMinutes(service)).thenReturn(60);
+    }
+
+    private List<String> freeStarts() {
+        return index.findFreeSlots(branch.getId(), service.getId(), DAY).freeSlots().stream()
+                .map(FreeSlotDTO::startAt)
+                .toList();
+    }
+
+    private void givenBookedInDatabase(BookedInterval... intervals) {
+        when(bookingRepository.findActiveIntervalsForBranchFrom(eq(branch.getId()), any(), eq(BookingStatus.CANCELLED)))
+                .thenReturn(List.of(intervals));
+    }
+
+    private BookedInterval interval(long id, LocalDateTime startAt, LocalDateTime endAt) {
+        Long branchId = branch.getId();
+        return new BookedInterval() {
+            @Override public Long getId() { return id; }
+            @Override public Long getBranchId() { return branchId; }
+            @Override public LocalDateTime getStartAt() { return startAt; }
+            @Override public LocalDateTime getEndAt() { return endAt; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should show a booking made through another instance once the schedule is reloaded")
+    void shouldShowBookingFromOtherInstance_afterReload() {
+        // ARRANGE: the first search loads an empty schedule
+        givenBookedInDatabase();
+        String nine = DAY.atTime(9, 0).toString();
+        assertThat(freeStarts()).contains(nine);
+
+        // ACT: another instance books 09:00-10:00
+        givenBookedInDatabase(interval(7L, DAY.atTime(9, 0), DAY.atTime(10, 0)));
+
+        // ASSERT: offered until the reload interval has passed, then gone
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(RELOAD_SECONDS - 1));
+        assertThat(freeStarts()).contains(nine);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(freeStarts()).doesNotContain(nine).contains(DAY.atTime(10, 0).toString());
+        verify(bookingRepository, times(2)).findActiveIntervalsForBranchFrom(eq(branch.getId()), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep a local booking made between reloads")
+    void shouldKeepLocalBooking_betweenReloads() {
+        // ARRANGE
+        givenBookedInDatabase();
+        freeStarts();
+
+        // ACT: outside a transaction the booking is added at once
+        var booking = TestDataBuilder.createBooking();
+        booking.setId(8L);
+        booking.setBranch(branch);
+        booking.setStartAt(DAY.atTime(11, 0));
+        booking.setEndAt(DAY.atTime(12, 0));
+        index.recordBooked(booking);
+
+        // ASSERT
+        assertThat(freeStarts()).doesNotContain(DAY.atTime(11, 0).toString());
+        verify(bookingRepository, times(1)).findActiveIntervalsForBranchFrom(any(), any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.login.AxleXpert.bookings.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark for the availability index of one branch.
+ *
+ * Bookings are spread over a year of 08:00-18:00 days, with a few bays so that
+ * slots overlap. Run from the IDE through main(), or from the test classpath with
+ * org.openjdk.jmh.Main BranchScheduleBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BranchScheduleBenchmark {
+
+    private static final int DAYS = 365;
+    private static final int OPEN = 8 * 60;
+    private static final int CLOSE = 18 * 60;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int CAPACITY = 4;
+    private static final int STEP = 15;
+    private static final int DURATION = 60;
+
+    @Param({"100000"})
+    public int bookings;
+
+    private BranchSchedule schedule;
+    private SplittableRandom random;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        schedule = new BranchSchedule();
+        random = new SplittableRandom(42);
+        for (nextId = 0; nextId < bookings; nextId++) {
+            long start = randomStart();
+            schedule.add(nextId, start, start + 30 + random.nextInt(4) * 30);
+        }
+    }
+
+    /**
+     * Free 60 minute slots for one random day.
+     */
+    @Benchmark
+    public long[] lookupDay() {
+        long dayStart = (long) random.nextInt(DAYS) * MINUTES_PER_DAY;
+        return schedule.freeStarts(dayStart + OPEN, dayStart + CLOSE, DURATION, STEP, CAPACITY);
+    }
+
+    /**
+     * One booking added and taken out again, so the schedule stays at its seeded size.
+     */
+    @Benchmark
+    public boolean insertAndRemove() {
+        long id = nextId++;
+        long start = randomStart();
+        schedule.add(id, start, start + DURATION);
+        return schedule.remove(id);
+    }
+
+    private long randomStart() {
+        long day = random.nextInt(DAYS);
+        return day * MINUTES_PER_DAY + OPEN + random.nextInt((CLOSE - OPEN) / STEP) * STEP;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BranchScheduleBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,235 @@
+package com.login.AxleXpert.bookings.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for BranchSchedule
+ *
+ * Learning Focus:
+ * - Intervals are half-open: a booking ending at 10:00 does not block a slot starting at 10:00
+ * - A slot is free only if every minute it covers is below capacity
+ * - Plain data structure, so no mocks are needed
+ */
+@DisplayName("BranchSchedule Tests")
+class BranchScheduleTest {
+
+    // Minutes relative to an arbitrary day: 480 = 08:00, 1080 = 18:00
+    private static final long OPEN = 480;
+    private static final long CLOSE = 1080;
+
+    private BranchSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new BranchSchedule();
+    }
+
+    @Nested
+    @DisplayName("Free Slot Search Tests")
+    class FreeStartsTests {
+
+        @Test
+        @DisplayName("Should offer every step when nothing is booked")
+        void shouldOfferEveryStep_whenEmpty() {
+            // ACT
+            long[] free = schedule.freeStarts(OPEN, OPEN + 120, 60, 30, 1);
+
+            // ASSERT
+            assertThat(free).containsExactly(OPEN, OPEN + 30, OPEN + 60);
+        }
+
+        @Test
+        @DisplayName("Should skip slots that overlap a booking at capacity")
+        void shouldSkipOverlappingSlots_whenAtCapacity() {
+            // ARRANGE: 09:00-10:00 booked at a single-bay branch
+            schedule.add(1L, 540, 600);
+
+            // ACT
+            long[] free = schedule.freeStarts(OPEN, OPEN + 180, 60, 30, 1);
+
+            // ASSERT: 08:00 ends exactly at 09:00 and 10:00 starts exactly at the end
+            assertThat(free).containsExactly(OPEN, 600);
+        }
+
+        @Test
+        @DisplayName("Should keep offering a slot until every bay is taken")
+        void shouldOfferSlot_untilCapacityReached() {
+            // ARRANGE
+            schedule.add(1L, 540, 600);
+
+            // ACT & ASSERT
+            assertThat(schedule.freeStarts(540, 600, 60, 60, 2)).containsExactly(540L);
+
+            schedule.add(2L, 570, 630);
+            assertThat(schedule.freeStarts(540, 600, 60, 60, 2)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should count bookings that started before the window")
+        void shouldCountBookings_startingBeforeWindow() {
+            // ARRANGE: a long booking from 06:00 to 09:00
+            schedule.add(1L, 360, 540);
+
+            // ACT
+            long[] free = schedule.freeStarts(OPEN, CLOSE, 60, 60, 1);
+
+            // ASSERT
+            assertThat(free).startsWith(540L).doesNotContain(OPEN);
+        }
+
+        @Test
+        @DisplayName("Should not offer a slot that runs past closing")
+        void shouldNotOfferSlot_pastClosing() {
+            // ACT
+            long[] free = schedule.freeStarts(CLOSE - 90, CLOSE, 60, 30, 1);
+
+            // ASSERT
+            assertThat(free).containsExactly(CLOSE - 90, CLOSE - 60);
+        }
+    }
+
+    @Nested
+    @DisplayName("Peak Occupancy Tests")
+    class PeakOccupancyTests {
+
+        @Test
+        @DisplayName("Should count back-to-back bookings as one at a time")
+        void shouldCountBackToBackBookings_asOneAtATime() {
+            // ARRANGE: 09:00-10:00 and 10:00-11:00
+            schedule.add(1L, 540, 600);
+            schedule.add(2L, 600, 660);
+
+            // ACT & ASSERT: 09:30-10:30 touches both but never runs beside two
+            assertThat(schedule.peakOccupancy(570, 630)).isEqualTo(1);
+            assertThat(schedule.freeStarts(570, 630, 60, 60, 2)).containsExactly(570L);
+        }
+
+        @Test
+        @DisplayName("Should report the highest number running in the same minute")
+        void shouldReportHighestNumber_runningInSameMinute() {
+            // ARRANGE
+            schedule.add(1L, 540, 600);
+            schedule.add(2L, 600, 660);
+            schedule.add(3L, 585, 615);
+
+            // ACT & ASSERT
+            assertThat(schedule.peakOccupancy(570, 630)).isEqualTo(2);
+            assertThat(schedule.peakOccupancy(660, 720)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Add And Remove Tests")
+    class AddRemoveTests {
+
+        @Test
+        @DisplayName("Should free the interval again when a booking is removed")
+        void shouldFreeInterval_whenRemoved() {
+            // ARRANGE
+            schedule.add(1L, 540, 600);
+
+            // ACT
+            boolean removed = schedule.remove(1L);
+
+            // ASSERT
+            assertThat(removed).isTrue();
+            assertThat(schedule.size()).isZero();
+            assertThat(schedule.freeStarts(540, 600, 60, 60, 1)).containsExactly(540L);
+        }
+
+        @Test
+        @DisplayName("Should keep one entry when the same booking is added twice")
+        void shouldKeepOneEntry_whenAddedTwice() {
+            // ACT
+            schedule.add(1L, 540, 600);
+            schedule.add(1L, 600, 660);
+
+            // ASSERT: the second add moves the booking
+            assertThat(schedule.size()).isEqualTo(1);
+            assertThat(schedule.freeStarts(540, 600, 60, 60, 1)).containsExactly(540L);
+        }
+
+        @Test
+        @DisplayName("Should remove only the matching booking among equal start times")
+        void shouldRemoveMatchingBooking_amongEqualStarts() {
+            // ARRANGE
+            schedule.add(1L, 540, 600);
+            schedule.add(2L, 540, 660);
+
+            // ACT
+            schedule.remove(2L);
+
+            // ASSERT: only the 09:00-10:00 booking remains
+            assertThat(schedule.freeStarts(540, 660, 60, 60, 1)).containsExactly(600L);
+        }
+
+        @Test
+        @DisplayName("Should return false when removing an unknown booking")
+        void shouldReturnFalse_whenRemovingUnknownBooking() {
+            assertThat(schedule.remove(42L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should stay sorted while growing past its initial capacity")
+        void shouldStaySorted_whenGrowing() {
+            // ARRANGE: 100 five-minute bookings added in reverse order
+            for (int i = 99; i >= 0; i--) {
+                schedule.add(i, i * 10L, i * 10L + 5);
+            }
+
+            // ACT
+            long[] free = schedule.freeStarts(0, 1000, 5, 5, 1);
+
+            // ASSERT: every booked start is taken, every gap in between is free
+            assertThat(schedule.size()).isEqualTo(100);
+            assertThat(free).containsExactly(LongStream.range(0, 100).map(i -> i * 10 + 5).toArray());
+        }
+
+        @Test
+        @DisplayName("Should drop bookings that ended by the cutoff and keep the rest in order")
+        void shouldDropEndedBookings_andKeepOrder() {
+            // ARRANGE: two bookings yesterday, one running across midnight (1440), two today
+            schedule.add(1L, 540, 600);
+            schedule.add(2L, 1000, 1100);
+            schedule.add(3L, 1400, 1500);
+            schedule.add(4L, 1440 + 540, 1440 + 600);
+            schedule.add(5L, 1440 + 570, 1440 + 630);
+
+            // ACT
+            int removed = schedule.removeEndedBy(1440);
+
+            // ASSERT
+            assertThat(removed).isEqualTo(2);
+            assertThat(schedule.size()).isEqualTo(3);
+            assertThat(schedule.remove(1L)).isFalse();
+            assertThat(schedule.freeStarts(1440, 1440 + 120, 30, 30, 1)).containsExactly(1500L, 1530L);
+            assertThat(schedule.freeStarts(1440 + 480, 1440 + 720, 60, 30, 2))
+                .containsExactly(1440 + 480L, 1440 + 510L, 1440 + 600L, 1440 + 630L, 1440 + 660L);
+        }
+
+        @Test
+        @DisplayName("Should remove nothing when no booking has ended yet")
+        void shouldRemoveNothing_whenNothingEnded() {
+            // ARRANGE
+            schedule.add(1L, 540, 600);
+
+            // ACT & ASSERT
+            assertThat(schedule.removeEndedBy(540)).isZero();
+            assertThat(schedule.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject an interval that does not end after it starts")
+        void shouldRejectEmptyInterval() {
+            assertThatThrownBy(() -> schedule.add(1L, 540, 540))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.login.AxleXpert.bookings.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Services.entity.Service;
+import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BookedInterval;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * Unit tests for SlotReservationService
+ *
+ * Learning Focus:
+ * - A booking fits when the peak number running at once stays below capacity,
+ *   not when few bookings touch its interval
+ * - Back-to-back bookings touch the same interval but never run together
+ * - The repository is mocked, so only the decision is tested; SlotReservationStressTest covers locking
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlotReservationService Tests")
+class SlotReservationServiceTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SlotReservationService slotReservationService;
+    private Branch branch;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        slotReservationService = new SlotReservationService(branchRepository, bookingRepository, userRepository, 60);
+        branch = TestDataBuilder.createBranch();
+        service = TestDataBuilder.createService();
+        service.setDurationMinutes(60);
+    }
+
+    private void givenCapacity(long employees) {
+        when(userRepository.countByRoleIgnoreCaseAndBranch_Id("EMPLOYEE", branch.getId())).thenReturn(employees);
+    }
+
+    private void givenOverlapping(BookedInterval... intervals) {
+        when(bookingRepository.findOverlappingIntervals(eq(branch.getId()), any(), any(), eq(BookingStatus.CANCELLED)))
+                .thenReturn(List.of(intervals));
+    }
+
+    private static BookedInterval interval(long id, LocalDateTime startAt, LocalDateTime endAt) {
+        return new BookedInterval() {
+            @Override public Long getId() { return id; }
+            @Override public Long getBranchId() { return 1L; }
+            @Override public LocalDateTime getStartAt() { return startAt; }
+            @Override public LocalDateTime getEndAt() { return endAt; }
+        };
+    }
+
+    @Test
+    @DisplayName("Should accept a booking across two back-to-back bookings when capacity is two")
+    void shouldAccept_acrossBackToBackBookings() {
+        // ARRANGE: 09:00-10:00 and 10:00-11:00, never more than one running at once
+        givenCapacity(2);
+        givenOverlapping(
+                interval(1L, NINE, NINE.plusHours(1)),
+                interval(2L, NINE.plusHours(1), NINE.plusHours(2)));
+
+        // ACT
+        LocalDateTime endAt = slotReservationService.reserve(branch, NINE.plusMinutes(30), service);
+
+        // ASSERT
+        assertThat(endAt).isEqualTo(NINE.plusMinutes(90));
+    }
+
+    @Test
+    @DisplayName("Should reject a booking when two are already running in the same minute")
+    void shouldReject_whenPeakReachesCapacity() {
+        // ARRANGE: 09:45-10:15 runs beside both of the back-to-back bookings
+        givenCapacity(2);
+        givenOverlapping(
+                interval(1L, NINE, NINE.plusHours(1)),
+                interval(2L, NINE.plusHours(1), NINE.plusHours(2)),
+                interval(3L, NINE.plusMinutes(45), NINE.plusMinutes(75)));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> slotReservationService.reserve(branch, NINE.plusMinutes(30), service))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Booking slot already taken");
+    }
+
+    @Test
+    @DisplayName("Should throw when the branch to lock does not exist")
+    void shouldThrow_whenBranchToLockNotFound() {
+        // ARRANGE
+        when(branchRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> slotReservationService.lockBranch(999L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Branch not found");
+    }
+}
@@ -0,0 +1,234 @@
+package com.login.AxleXpert.bookings.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Services.entity.Service;
+import com.login.AxleXpert.Services.repository.ServiceRepository;
+import com.login.AxleXpert.Tasks.service.TaskService;
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.bookings.dto.BookingDTO;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
+import com.login.AxleXpert.notifications.service.NotificationService;
+import com.login.AxleXpert.testutils.TestConstants;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * Concurrency stress tests for slot reservation
+ *
+ * Learning Focus:
+ * - Check-then-act races only show up when requests really run in parallel
+ * - Every thread commits its own transaction, so the test itself is not transactional
+ * - The result is verified from the database, not from what the threads believe happened
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:slotdb;MODE=MySQL;DB_CLOSE_DELAY=-1;"
+        + "DB_CLOSE_ON_EXIT=FALSE;NON_KEYWORDS=USER,YEAR,VALUE;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SlotReservationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Slot Reservation Stress Tests")
+class SlotReservationStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int SERVICE_MINUTES = 30;
+    private static final LocalDateTime DAY_START = LocalDateTime.now().plusDays(7).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingService bookingService;
+    private TransactionTemplate transactionTemplate;
+    private Branch branch;
+    private Service service;
+    private User customer;
+    private int capacity;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingService(bookingRepository, userRepository, mock(TaskService.class),
+                serviceRepository, mock(NotificationService.class),
+                mock(DashboardRollupService.class), slotReservationService,
+                mock(BranchAvailabilityIndex.class));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // The isolation BookingService.createBooking declares, which its proxy would apply
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        branch = TestDataBuilder.createBranch();
+        branch.setId(null);
+        branch = branchRepository.save(branch);
+
+        service = TestDataBuilder.createService();
+        service.setId(null);
+        service.setDurationMinutes(SERVICE_MINUTES);
+        service = serviceRepository.save(service);
+
+        customer = saveUser("customer", TestConstants.ROLE_CUSTOMER, null);
+        saveUser("employee1", TestConstants.ROLE_EMPLOYEE, branch);
+        saveUser("employee2", TestConstants.ROLE_EMPLOYEE, branch);
+        capacity = 2;
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        userRepository.deleteAll();
+        serviceRepository.deleteAll();
+        branchRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should accept exactly capacity bookings when every thread wants the same slot")
+    void shouldAcceptExactlyCapacity_whenAllThreadsWantSameSlot() throws Exception {
+        // ARRANGE
+        LocalDateTime slot = DAY_START.plusHours(2);
+
+        // ACT
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(THREADS, () -> {
+            tryBook(slot, accepted, rejected);
+            return null;
+        });
+
+        // ASSERT
+        assertThat(accepted.get()).isEqualTo(capacity);
+        assertThat(rejected.get()).isEqualTo(THREADS - capacity);
+        assertThat(bookingRepository.count()).isEqualTo(capacity);
+    }
+
+    @Test
+    @DisplayName("Should never exceed branch capacity under random overlapping requests")
+    void shouldNeverExceedCapacity_underRandomOverlappingRequests() throws Exception {
+        // ACT: starts every 10 minutes across two hours, so most requests overlap several others
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                LocalDateTime start = DAY_START.plusMinutes(10L * ThreadLocalRandom.current().nextInt(12));
+                tryBook(start, accepted, rejected);
+            }
+            return null;
+        });
+
+        // ASSERT
+        List<Booking> saved = bookingRepository.findAll();
+        assertThat(saved).hasSize(accepted.get());
+        assertThat(accepted.get() + rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        assertThat(accepted.get()).isPositive();
+        assertThat(maxConcurrentBookings(saved)).isLessThanOrEqualTo(capacity);
+    }
+
+    private void tryBook(LocalDateTime start, AtomicInteger accepted, AtomicInteger rejected) {
+        BookingDTO dto = new BookingDTO(
+            null, customer.getId(), "Stress Tester", "555", "Car",
+            branch.getId(), null, service.getId(), null,
+            start.toString(), null, null, null, null, null, null, null, null
+        );
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingService.createBooking(dto));
+            accepted.incrementAndGet();
+        } catch (IllegalStateException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    private void runConcurrently(int threads, Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return task.call();
+                }));
+            }
+            startGate.countDown();
+            for (Future<Void> future : futures) {
+                // Surfaces any unexpected exception (lock timeout, constraint violation) as a failure
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sweep over start/end events: the highest number of bookings active at any instant.
+     */
+    private static int maxConcurrentBookings(List<Booking> bookings) {
+        List<long[]> events = new ArrayList<>();
+        for (Booking booking : bookings) {
+            events.add(new long[] {booking.getStartAt().toEpochSecond(java.time.ZoneOffset.UTC), 1});
+            events.add(new long[] {booking.getEndAt().toEpochSecond(java.time.ZoneOffset.UTC), -1});
+        }
+        // Ends sort before starts at the same instant because intervals are half-open
+        events.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        int active = 0;
+        int max = 0;
+        for (long[] event : events) {
+            active += (int) event[1];
+            max = Math.max(max, active);
+        }
+        return max;
+    }
+
+    private User saveUser(String username, String role, Branch userBranch) {
+        User user = TestDataBuilder.createUser();
+        user.setId(null);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        user.setBranch(userBranch);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,93 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for AimdLimiter
+ *
+ * Learning Focus:
+ * - The limit is a hard cap on calls in flight; the next caller is refused, not queued
+ * - Fast successes raise it slowly, trouble lowers it quickly
+ */
+@DisplayName("AimdLimiter Tests")
+class AimdLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2000);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AimdLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AimdLimiter("test.concurrency", meterRegistry, 4, 2, 8, 0.5, 1000);
+    }
+
+    @Test
+    @DisplayName("Should refuse calls once the limit is in flight")
+    void shouldRefuse_atLimit() {
+        // ACT
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        // ASSERT
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("test.concurrency.in.flight").gauge().value()).isEqualTo(4);
+        limiter.onIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should raise the limit by about one per limit's worth of fast calls")
+    void shouldIncreaseAdditively() {
+        // ACT
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        // ASSERT
+        assertThat(limiter.limit()).isEqualTo(4);
+        limiter.tryAcquire();
+        limiter.onSuccess(FAST);
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should cut the limit on slow or dropped calls, down to the minimum")
+    void shouldDecreaseMultiplicatively() {
+        // ACT
+        limiter.tryAcquire();
+        limiter.onSuccess(SLOW);
+        int afterSlow = limiter.limit();
+        limiter.tryAcquire();
+        limiter.onDropped();
+
+        // ASSERT
+        assertThat(afterSlow).isEqualTo(2);
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never go above the maximum")
+    void shouldCapAtMaximum() {
+        // ACT
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        // ASSERT
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,73 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark for Bm25Index on a synthetic corpus the size of the planned service manuals.
+ *
+ * Words follow a skewed distribution, so a few are in most chunks and most are rare,
+ * as in real text. 50,000 chunks of about 1000 characters is roughly 50 MB.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Bm25IndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+
+    @Param({"1000", "50000"})
+    public int chunks;
+
+    private Bm25Index index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<String> documents = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            StringBuilder chunk = new StringBuilder();
+            for (int w = 0; w < 150; w++) {
+                chunk.append(word(random)).append(' ');
+            }
+            documents.add(chunk.toString());
+        }
+        index = Bm25Index.build(documents);
+
+        queries = new String[256];
+        for (int q = 0; q < queries.length; q++) {
+            queries[q] = word(random) + " " + word(random) + " " + word(random) + " " + word(random);
+        }
+    }
+
+    @Benchmark
+    public int[] search() {
+        return index.search(queries[next++ & (queries.length - 1)], 3);
+    }
+
+    // Roughly Zipf: low ids are common, high ids rare
+    private static String word(SplittableRandom random) {
+        int id = (int) Math.pow(VOCABULARY, random.nextDouble());
+        return "term" + id;
+    }
+}
@@ -0,0 +1,139 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for Bm25Index
+ *
+ * Learning Focus:
+ * - Rare terms weigh more than common ones (IDF)
+ * - Repeating a term helps less and less, and long chunks are normalised (BM25 saturation)
+ * - Only chunks sharing a term with the query are candidates at all
+ */
+@DisplayName("Bm25Index Tests")
+class Bm25IndexTest {
+
+    private static final List<String> CHUNKS = List.of(
+            "Oil change costs 49 dollars and takes thirty minutes.",
+            "Brake inspection covers brake pads, discs and brake fluid.",
+            "Opening hours are weekdays from 8am to 6pm.",
+            "A full service includes an oil change, a brake check and tyre rotation.");
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should rank the chunk matching most query terms first")
+        void shouldRankBestMatchFirst() {
+            // ARRANGE
+            Bm25Index index = Bm25Index.build(CHUNKS);
+
+            // ACT
+            int[] result = index.search("How much does an oil change cost?", 3);
+
+            // ASSERT: only the two oil change chunks share words with the query
+            assertThat(result).containsExactly(0, 3);
+        }
+
+        @Test
+        @DisplayName("Should prefer the chunk that repeats a term")
+        void shouldPreferHigherTermFrequency() {
+            // ARRANGE
+            Bm25Index index = Bm25Index.build(CHUNKS);
+
+            // ACT
+            int[] result = index.search("brake", 5);
+
+            // ASSERT
+            assertThat(result).containsExactly(1, 3);
+        }
+
+        @Test
+        @DisplayName("Should weigh a rare term above a common one")
+        void shouldWeighRareTermsHigher() {
+            // ARRANGE: "service" appears everywhere, "tyre" once
+            Bm25Index index = Bm25Index.build(List.of(
+                    "service tyre",
+                    "service service",
+                    "service notes",
+                    "service plan"));
+
+            // ACT
+            int[] result = index.search("service tyre", 1);
+
+            // ASSERT
+            assertThat(result).containsExactly(0);
+        }
+
+        @Test
+        @DisplayName("Should return at most k chunks, ties in chunk order")
+        void shouldLimitToK_andBreakTiesByOrder() {
+            // ARRANGE: identical chunks score the same
+            Bm25Index index = Bm25Index.build(List.of("wheel alignment", "wheel alignment", "wheel alignment"));
+
+            // ACT & ASSERT
+            assertThat(index.search("alignment", 2)).containsExactly(0, 1);
+        }
+
+        @Test
+        @DisplayName("Should return nothing when no term is known")
+        void shouldReturnEmpty_whenNoTermMatches() {
+            // ARRANGE
+            Bm25Index index = Bm25Index.build(CHUNKS);
+
+            // ACT & ASSERT
+            assertThat(index.search("xyz qq", 3)).isEmpty();
+            assertThat(index.search("", 3)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should give the same answer when queried repeatedly")
+        void shouldResetScores_betweenQueries() {
+            // ARRANGE
+            Bm25Index index = Bm25Index.build(CHUNKS);
+            int[] first = index.search("brake oil", 4);
+
+            // ACT
+            index.search("opening hours", 4);
+            int[] again = index.search("brake oil", 4);
+
+            // ASSERT
+            assertThat(again).containsExactly(first);
+        }
+
+        @Test
+        @DisplayName("Should rank the same when assembled from analysed chunks")
+        void shouldMatchBuild_whenAssembledFromAnalysedChunks() {
+            // ARRANGE
+            Bm25Index built = Bm25Index.build(CHUNKS);
+
+            // ACT
+            Bm25Index assembled = Bm25Index.assemble(CHUNKS.stream().map(Bm25Index::analyze).toList());
+
+            // ASSERT
+            for (String query : List.of("oil change cost", "brake", "opening hours", "tyre rotation")) {
+                assertThat(assembled.search(query, 4)).containsExactly(built.search(query, 4));
+            }
+            assertThat(assembled.chunk(1)).isEqualTo(CHUNKS.get(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tokenizer Tests")
+    class TokenizerTests {
+
+        @Test
+        @DisplayName("Should lower-case, drop punctuation and skip short words")
+        void shouldNormaliseTokens() {
+            assertThat(Bm25Index.tokenize("Oil-Change: 49 at AxleXpert, ok?"))
+                .containsExactly("oilchange", "axlexpert");
+        }
+    }
+}
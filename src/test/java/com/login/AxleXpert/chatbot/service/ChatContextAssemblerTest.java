@@ -0,0 +1,252 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.login.AxleXpert.Branches.dto.BranchDTO;
+import com.login.AxleXpert.Services.dto.ServiceDTO;
+import com.login.AxleXpert.Tasks.dto.TaskDTO;
+import com.login.AxleXpert.Users.dto.UserDTO;
+import com.login.AxleXpert.Vehicals.dto.VehicleDTO;
+import com.login.AxleXpert.common.ReferenceDataVersions;
+import com.login.AxleXpert.common.enums.ReferenceData;
+import com.login.AxleXpert.common.enums.TaskStatus;
+
+/**
+ * Unit tests for ChatContextAssembler
+ *
+ * Learning Focus:
+ * - Independent sources run concurrently, so latency is the slowest source, not the sum
+ * - A timeout per source turns one slow dependency into partial context instead of a slow reply
+ * - A stub data source with sleeps is easier to reason about than mocks for timing tests
+ * - Shared lists are cached by version, so a change shows up on the next turn
+ */
+@DisplayName("ChatContextAssembler Tests")
+class ChatContextAssemblerTest {
+
+    private static final String TOKEN = "token";
+
+    private ReferenceDataVersions versions;
+    private ChatContextAssembler assembler;
+
+    @AfterEach
+    void tearDown() {
+        if (assembler != null) {
+            assembler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fetch sources concurrently")
+    void shouldFetchSourcesConcurrently() {
+        // ARRANGE: five sources of 300 ms each
+        assembler = new ChatContextAssembler(new StubSource(300, 0), newCache(), new MockEnvironment());
+
+        // ACT
+        long started = System.nanoTime();
+        String context = assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // ASSERT: well under the 1.5 s a sequential fetch would take
+        assertThat(context).contains("SERVICES:", "BRANCHES:", "USER VEHICLES:", "CURRENT SERVICES:", "MANAGERS:");
+        assertThat(elapsedMs).isLessThan(1200);
+    }
+
+    @Test
+    @DisplayName("Should keep the other sources when one times out")
+    void shouldUsePartialContext_whenSourceTimesOut() {
+        // ARRANGE: branches take 2 s but may only take 200 ms
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("chatbot.context.timeout-ms.branches", "200");
+        assembler = new ChatContextAssembler(new StubSource(0, 2000), newCache(), environment);
+
+        // ACT
+        String context = assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ASSERT
+        assertThat(context).contains("SERVICES:", "MANAGERS:").doesNotContain("BRANCHES:");
+    }
+
+    @Test
+    @DisplayName("Should keep sections in a fixed order")
+    void shouldKeepSectionOrder() {
+        // ARRANGE
+        assembler = new ChatContextAssembler(new StubSource(0, 0), newCache(), new MockEnvironment());
+
+        // ACT
+        String context = assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ASSERT
+        assertThat(context.indexOf("SERVICES:")).isLessThan(context.indexOf("BRANCHES:"));
+        assertThat(context.indexOf("BRANCHES:")).isLessThan(context.indexOf("USER VEHICLES:"));
+        assertThat(context.indexOf("USER VEHICLES:")).isLessThan(context.indexOf("CURRENT SERVICES:"));
+        assertThat(context.indexOf("CURRENT SERVICES:")).isLessThan(context.indexOf("MANAGERS:"));
+    }
+
+    @Test
+    @DisplayName("Should complete empty when every source fails")
+    void shouldCompleteEmpty_whenAllSourcesFail() {
+        // ARRANGE
+        assembler = new ChatContextAssembler(new FailingSource(), newCache(), new MockEnvironment());
+
+        // ACT
+        String context = assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ASSERT: ChatbotService falls back to the knowledge base
+        assertThat(context).isNull();
+    }
+
+    @Test
+    @DisplayName("Should render shared lists once and reuse them")
+    void shouldReuseReferenceSections() {
+        // ARRANGE
+        StubSource source = new StubSource(0, 0);
+        assembler = new ChatContextAssembler(source, newCache(), new MockEnvironment());
+
+        // ACT
+        String first = assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+        String second = assembler.assemble(2L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ASSERT: user sections are fetched every turn, shared lists only once
+        assertThat(second).isEqualTo(first);
+        assertThat(source.serviceCalls.get()).isEqualTo(1);
+        assertThat(source.vehicleCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should render a shared list again after it changes")
+    void shouldRenderAgain_whenReferenceDataChanges() {
+        // ARRANGE
+        StubSource source = new StubSource(0, 0);
+        assembler = new ChatContextAssembler(source, newCache(), new MockEnvironment());
+        assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ACT
+        versions.changed(ReferenceData.SERVICES);
+        assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ASSERT
+        assertThat(source.serviceCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not serve cached lists to a caller without a token")
+    void shouldNotServeCache_withoutToken() {
+        // ARRANGE
+        assembler = new ChatContextAssembler(new StubSource(0, 0), newCache(), new MockEnvironment());
+        assembler.assemble(1L, TOKEN).block(Duration.ofSeconds(5));
+
+        // ACT
+        String context = assembler.assemble(null, null).block(Duration.ofSeconds(5));
+
+        // ASSERT
+        assertThat(context).isNull();
+    }
+
+    private ReferenceContextCache newCache() {
+        versions = new ReferenceDataVersions();
+        return new ReferenceContextCache(versions, 600);
+    }
+
+    /**
+     * Returns one row per source after a delay; branches can be slower than the rest.
+     */
+    private static class StubSource implements ChatContextDataSource {
+
+        private final long delayMs;
+        private final long branchDelayMs;
+        private final AtomicInteger serviceCalls = new AtomicInteger();
+        private final AtomicInteger vehicleCalls = new AtomicInteger();
+
+        StubSource(long delayMs, long branchDelayMs) {
+            this.delayMs = delayMs;
+            this.branchDelayMs = branchDelayMs;
+        }
+
+        @Override
+        public List<ServiceDTO> getAllServices(String accessToken) {
+            serviceCalls.incrementAndGet();
+            pause(delayMs);
+            return List.of(new ServiceDTO(1L, "Oil Change", new BigDecimal("49.99"), 30, "Engine oil"));
+        }
+
+        @Override
+        public List<BranchDTO> getAllBranches(String accessToken) {
+            pause(Math.max(delayMs, branchDelayMs));
+            BranchDTO branch = new BranchDTO();
+            branch.setName("Main Branch");
+            return List.of(branch);
+        }
+
+        @Override
+        public List<UserDTO> getAllManagers(String accessToken) {
+            pause(delayMs);
+            UserDTO manager = new UserDTO();
+            manager.setUsername("manager1");
+            return List.of(manager);
+        }
+
+        @Override
+        public List<VehicleDTO> getUserVehicles(Long userId, String accessToken) {
+            vehicleCalls.incrementAndGet();
+            pause(delayMs);
+            VehicleDTO vehicle = new VehicleDTO();
+            vehicle.setMake("Toyota");
+            vehicle.setModel("Corolla");
+            return List.of(vehicle);
+        }
+
+        @Override
+        public List<TaskDTO> getCustomerTasks(Long customerId, String accessToken) {
+            pause(delayMs);
+            return List.of(new TaskDTO(1L, 1L, 1L, 2L, "employee2", "Toyota Corolla", "Oil Change", null,
+                    TaskStatus.IN_PROGRESS, TaskStatus.IN_PROGRESS, 30, List.of(), List.of(), List.of(),
+                    null, null, null));
+        }
+
+        private static void pause(long ms) {
+            try {
+                Thread.sleep(ms);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class FailingSource implements ChatContextDataSource {
+
+        @Override
+        public List<ServiceDTO> getAllServices(String accessToken) {
+            throw new IllegalStateException("down");
+        }
+
+        @Override
+        public List<BranchDTO> getAllBranches(String accessToken) {
+            throw new IllegalStateException("down");
+        }
+
+        @Override
+        public List<UserDTO> getAllManagers(String accessToken) {
+            throw new IllegalStateException("down");
+        }
+
+        @Override
+        public List<VehicleDTO> getUserVehicles(Long userId, String accessToken) {
+            throw new IllegalStateException("down");
+        }
+
+        @Override
+        public List<TaskDTO> getCustomerTasks(Long customerId, String accessToken) {
+            throw new IllegalStateException("down");
+        }
+    }
+}
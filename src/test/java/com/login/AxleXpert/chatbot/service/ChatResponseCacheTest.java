@@ -0,0 +1,169 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.login.AxleXpert.chatbot.dto.RagRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ChatResponseCache
+ *
+ * Learning Focus:
+ * - The key is the normalised question plus the context hash: same prompt, same answer
+ * - LRU eviction and TTL keep the cache bounded and fresh
+ * - A fake clock tests expiry without sleeping
+ * - Hits and misses are counted in a SimpleMeterRegistry, no Spring context needed
+ */
+@DisplayName("ChatResponseCache Tests")
+class ChatResponseCacheTest {
+
+    private static final String CONTEXT = "AxleXpert branches open weekdays from 8am to 6pm.";
+
+    private final AtomicLong now = new AtomicLong();
+    private final HashedNgramEmbeddingProvider embeddings = new HashedNgramEmbeddingProvider(256);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ChatResponseCache cache(int maxEntries, double similarityThreshold) {
+        return new ChatResponseCache(embeddings, meterRegistry, maxEntries, 60, similarityThreshold, now::get);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("chatbot.response.cache").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Exact Match Tests")
+    class ExactMatchTests {
+
+        @Test
+        @DisplayName("Should hit for the same question written differently")
+        void shouldHit_whenQuestionDiffersOnlyInCaseAndPunctuation() {
+            // ARRANGE
+            ChatResponseCache cache = cache(10, 0);
+            cache.put(cache.keyFor("What are your opening hours?", CONTEXT), "8am to 6pm on weekdays.");
+
+            // ACT
+            String answer = cache.get(cache.keyFor("  what are your   OPENING hours ", CONTEXT));
+
+            // ASSERT
+            assertThat(answer).isEqualTo("8am to 6pm on weekdays.");
+            assertThat(count("hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should miss when the context differs")
+        void shouldMiss_whenContextDiffers() {
+            // ARRANGE
+            ChatResponseCache cache = cache(10, 0);
+            cache.put(cache.keyFor("What are your opening hours?", CONTEXT), "8am to 6pm on weekdays.");
+
+            // ACT
+            String answer = cache.get(cache.keyFor("What are your opening hours?", "Branches are closed today."));
+
+            // ASSERT
+            assertThat(answer).isNull();
+            assertThat(count("miss")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should expire entries after the TTL")
+        void shouldExpireEntries() {
+            // ARRANGE
+            ChatResponseCache cache = cache(10, 0);
+            ChatResponseCache.Key key = cache.keyFor("oil change price", CONTEXT);
+            cache.put(key, "49 dollars.");
+
+            // ACT
+            now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+            // ASSERT
+            assertThat(cache.get(key)).isNull();
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used entry when full")
+        void shouldEvictLeastRecentlyUsed() {
+            // ARRANGE
+            ChatResponseCache cache = cache(2, 0);
+            ChatResponseCache.Key hours = cache.keyFor("opening hours", CONTEXT);
+            ChatResponseCache.Key price = cache.keyFor("oil change price", CONTEXT);
+            ChatResponseCache.Key booking = cache.keyFor("how to book", CONTEXT);
+            cache.put(hours, "8am to 6pm.");
+            cache.put(price, "49 dollars.");
+            cache.get(hours);
+
+            // ACT
+            cache.put(booking, "Use the bookings page.");
+
+            // ASSERT
+            assertThat(cache.get(price)).isNull();
+            assertThat(cache.get(hours)).isEqualTo("8am to 6pm.");
+            assertThat(meterRegistry.get("chatbot.response.cache.evictions").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("chatbot.response.cache.size").gauge().value()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Similar Question Tests")
+    class SimilarQuestionTests {
+
+        @Test
+        @DisplayName("Should reuse the answer to a near-identical question over the same context")
+        void shouldHit_whenQuestionIsSimilar() {
+            // ARRANGE
+            ChatResponseCache cache = cache(10, 0.75);
+            cache.put(cache.keyFor("What are your opening hours?", CONTEXT), "8am to 6pm on weekdays.");
+
+            // ACT
+            String answer = cache.get(cache.keyFor("What are the opening hours", CONTEXT));
+
+            // ASSERT
+            assertThat(answer).isEqualTo("8am to 6pm on weekdays.");
+            assertThat(count("similar")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not reuse the answer to an unrelated question")
+        void shouldMiss_whenQuestionIsUnrelated() {
+            // ARRANGE
+            ChatResponseCache cache = cache(10, 0.75);
+            cache.put(cache.keyFor("What are your opening hours?", CONTEXT), "8am to 6pm on weekdays.");
+
+            // ACT & ASSERT
+            assertThat(cache.get(cache.keyFor("How much is an oil change?", CONTEXT))).isNull();
+            assertThat(count("miss")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer from the cache without calling Gemini")
+    void shouldAnswerFromCache_withoutCallingGemini() {
+        // ARRANGE: the service has no API URL or key, so only a cache hit can answer
+        ChatResponseCache cache = cache(10, 0);
+        cache.put(cache.keyFor("How do I book?", CONTEXT), "Use the bookings page.");
+        GeminiAiService gemini = new GeminiAiService(cache, new GeminiClient(meterRegistry, new MockEnvironment()),
+                new PromptBuilder(meterRegistry, 3000), meterRegistry);
+
+        // ACT
+        String answer = gemini.generateResponse(new RagRequest("how do I book", CONTEXT, "session-1")).block();
+
+        // ASSERT
+        assertThat(answer).isEqualTo("Use the bookings page.");
+    }
+}
@@ -0,0 +1,184 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ChatSessionStore and SessionContext
+ *
+ * Learning Focus:
+ * - A hard cap drops the least recently active session, never the one in use
+ * - Idle expiry runs as a sweep; a fake clock makes time pass without sleeping
+ * - History is a ring buffer: the 21st message pushes out the first
+ */
+@DisplayName("ChatSessionStore Tests")
+class ChatSessionStoreTest {
+
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private ChatSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new ChatSessionStore(meterRegistry, 3, IDLE_MILLIS, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    private double evicted(String reason) {
+        return meterRegistry.get("chatbot.sessions.evicted").tag("reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Capacity Tests")
+    class CapacityTests {
+
+        @Test
+        @DisplayName("Should drop the least recently active session when full")
+        void shouldEvictLeastRecentlyActive_whenFull() {
+            // ARRANGE
+            store.recordUserMessage("a", "hi");
+            now.addAndGet(1000);
+            store.recordUserMessage("b", "hi");
+            now.addAndGet(1000);
+            store.recordUserMessage("c", "hi");
+            now.addAndGet(1000);
+            store.recordBotMessage("a", "hello");   // "a" is active again, "b" is now the eldest
+
+            // ACT
+            store.recordUserMessage("d", "hi");
+
+            // ASSERT
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.get("b")).isNull();
+            assertThat(store.get("a")).isNotNull();
+            assertThat(evicted("capacity")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not recreate a session for a late bot answer")
+        void shouldIgnoreBotMessage_forUnknownSession() {
+            // ACT
+            store.recordBotMessage("gone", "hello");
+
+            // ASSERT
+            assertThat(store.get("gone")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should remove only sessions idle longer than the timeout")
+        void shouldSweepIdleSessions() {
+            // ARRANGE
+            store.recordUserMessage("old", "hi");
+            now.addAndGet(IDLE_MILLIS - 1000);
+            store.recordUserMessage("recent", "hi");
+            now.addAndGet(2000);
+
+            // ACT
+            int removed = store.sweep();
+
+            // ASSERT
+            assertThat(removed).isEqualTo(1);
+            assertThat(store.get("old")).isNull();
+            assertThat(store.get("recent")).isNotNull();
+            assertThat(evicted("idle")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should keep a session that became active again")
+        void shouldKeepSession_whenActiveAgain() {
+            // ARRANGE
+            store.recordUserMessage("a", "hi");
+            now.addAndGet(IDLE_MILLIS);
+            store.recordUserMessage("a", "still here");
+            now.addAndGet(1000);
+
+            // ACT & ASSERT
+            assertThat(store.sweep()).isZero();
+            assertThat(store.get("a").getMessageCount()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("History and Memory Tests")
+    class HistoryTests {
+
+        @Test
+        @DisplayName("Should keep the last 20 messages in order")
+        void shouldKeepLastMessages_inOrder() {
+            // ACT
+            for (int i = 1; i <= 25; i++) {
+                store.recordUserMessage("a", "question " + i);
+                store.recordBotMessage("a", "answer " + i);
+            }
+
+            // ASSERT
+            SessionContext context = store.get("a");
+            assertThat(context.getUserMessages()).hasSize(SessionContext.HISTORY_SIZE)
+                .startsWith("question 6").endsWith("question 25");
+            assertThat(context.getLastBotMessage()).isEqualTo("answer 25");
+            assertThat(context.getMessageCount()).isEqualTo(25);
+            assertThat(context.getConversationContext())
+                .startsWith("User: question 21\nAssistant: answer 21\n")
+                .endsWith("User: question 25\nAssistant: answer 25\n");
+        }
+
+        @Test
+        @DisplayName("Should account memory per session and stop growing once history is full")
+        void shouldReportMemory() {
+            // ARRANGE
+            for (int i = 0; i < SessionContext.HISTORY_SIZE; i++) {
+                store.recordUserMessage("a", "0123456789");
+            }
+            long full = store.estimatedBytes();
+
+            // ACT
+            store.recordUserMessage("a", "0123456789");
+            store.recordUserMessage("b", "0123456789");
+
+            // ASSERT
+            assertThat(store.get("a").estimatedBytes()).isEqualTo(full);
+            assertThat(meterRegistry.get("chatbot.sessions.memory").gauge().value())
+                .isEqualTo(full + store.get("b").estimatedBytes());
+            assertThat(meterRegistry.get("chatbot.sessions.memory.per.session").gauge().value())
+                .isEqualTo(store.estimatedBytes() / 2.0);
+            assertThat(meterRegistry.get("chatbot.sessions.active").gauge().value()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should clear history")
+        void shouldClearHistory() {
+            // ARRANGE
+            store.recordUserMessage("a", "hi");
+            store.recordBotMessage("a", "hello");
+
+            // ACT
+            store.get("a").clearHistory();
+
+            // ASSERT
+            assertThat(store.get("a").getLastUserMessage()).isNull();
+            assertThat(store.get("a").getBotMessages()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for CircuitBreaker
+ *
+ * Learning Focus:
+ * - The breaker only opens on a failure rate over enough calls, not on one bad call
+ * - A fake clock moves it from open to half-open without waiting
+ * - Outcomes carry the generation they started in, so late answers cannot close the breaker
+ */
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 1000;
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new CircuitBreaker("test.circuit", meterRegistry, 10, 4, 0.5, OPEN_MILLIS, 2, now::get);
+    }
+
+    private void calls(int successes, int failures) {
+        for (int i = 0; i < successes; i++) {
+            breaker.onSuccess(breaker.tryAcquire());
+        }
+        for (int i = 0; i < failures; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+    }
+
+    private void afterOpenPeriod() {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(OPEN_MILLIS));
+    }
+
+    @Test
+    @DisplayName("Should stay closed below the minimum number of calls")
+    void shouldStayClosed_belowMinimumCalls() {
+        calls(0, 3);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should stay closed while the failure rate is below the threshold")
+    void shouldStayClosed_belowThreshold() {
+        calls(6, 3);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should open at the failure threshold and reject calls")
+    void shouldOpen_atThreshold() {
+        // ACT
+        calls(2, 2);
+
+        // ASSERT
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(meterRegistry.get("test.circuit.state").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should allow only the trial calls once the open period is over")
+    void shouldAllowTrials_afterOpenPeriod() {
+        // ARRANGE
+        calls(0, 4);
+        afterOpenPeriod();
+
+        // ACT
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        long third = breaker.tryAcquire();
+
+        // ASSERT
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(first).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(second).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(third).isEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Should close when every trial succeeds")
+    void shouldClose_whenTrialsSucceed() {
+        // ARRANGE
+        calls(0, 4);
+        afterOpenPeriod();
+
+        // ACT
+        calls(2, 0);
+
+        // ASSERT
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("test.circuit.transitions").tag("to", "closed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should open again when a trial fails")
+    void shouldReopen_whenTrialFails() {
+        // ARRANGE
+        calls(0, 4);
+        afterOpenPeriod();
+
+        // ACT
+        calls(1, 1);
+
+        // ASSERT
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Should ignore outcomes of calls started before the breaker opened")
+    void shouldIgnoreStaleOutcomes() {
+        // ARRANGE: a slow call starts while closed, then the breaker opens and turns half-open
+        long slowCall = breaker.tryAcquire();
+        calls(0, 4);
+        afterOpenPeriod();
+        long trial = breaker.tryAcquire();
+
+        // ACT
+        breaker.onSuccess(slowCall);
+        breaker.onSuccess(slowCall);
+
+        // ASSERT: still waiting for the real trials
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onFailure(trial);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,104 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark for IvfVectorIndex against an exhaustive scan of the same vectors.
+ *
+ * Sample-time mode reports percentiles, so compare the p0.99 rows of "approximate" and
+ * "bruteForce". Recall@10 of each probe setting, measured against the exhaustive result
+ * over all queries, is printed once per trial during setup.
+ *
+ * Chunks are synthetic text from a skewed vocabulary, embedded with the hashed n-gram
+ * provider the service uses by default.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DenseRetrievalBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int K = 10;
+
+    @Param({"1000", "50000"})
+    public int chunks;
+
+    @Param({"1", "8", "32"})
+    public int probes;
+
+    private IvfVectorIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SplittableRandom random = new SplittableRandom(42);
+        HashedNgramEmbeddingProvider provider = new HashedNgramEmbeddingProvider(256);
+        int dimensions = provider.dimensions();
+        float[] vectors = new float[chunks * dimensions];
+        for (int i = 0; i < chunks; i++) {
+            StringBuilder chunk = new StringBuilder();
+            for (int w = 0; w < 150; w++) {
+                chunk.append(word(random)).append(' ');
+            }
+            System.arraycopy(provider.embed(chunk.toString()), 0, vectors, i * dimensions, dimensions);
+        }
+        index = IvfVectorIndex.build(vectors, dimensions, 0, 42);
+
+        queries = new float[256][];
+        for (int q = 0; q < queries.length; q++) {
+            queries[q] = provider.embed(word(random) + " " + word(random) + " " + word(random) + " " + word(random));
+        }
+
+        int found = 0;
+        int expected = 0;
+        for (float[] query : queries) {
+            int[] exact = index.searchExact(query, K);
+            int[] approximate = index.search(query, K, probes);
+            expected += exact.length;
+            for (int id : approximate) {
+                for (int match : exact) {
+                    if (id == match) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+        }
+        System.out.printf("%nrecall@%d with %d of %d lists probed, %d chunks: %.3f%n",
+                K, Math.min(probes, index.lists()), index.lists(), chunks, expected == 0 ? 1.0 : (double) found / expected);
+    }
+
+    @Benchmark
+    public int[] approximate() {
+        return index.search(queries[next++ & (queries.length - 1)], K, probes);
+    }
+
+    @Benchmark
+    public int[] bruteForce() {
+        return index.searchExact(queries[next++ & (queries.length - 1)], K);
+    }
+
+    // Roughly Zipf: low ids are common, high ids rare
+    private static String word(SplittableRandom random) {
+        int id = (int) Math.pow(VOCABULARY, random.nextDouble());
+        return "term" + id;
+    }
+}
@@ -0,0 +1,142 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.login.AxleXpert.chatbot.dto.RagRequest;
+import com.login.AxleXpert.testutils.MockSseServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.util.function.Tuple2;
+
+/**
+ * Unit tests for GeminiAiService.streamResponse
+ *
+ * Learning Focus:
+ * - A local SSE server plays Gemini's streamGenerateContent, pausing between events
+ * - elapsed() shows each piece is emitted when it arrives, not after the whole answer
+ * - The joined answer is cached, so asking again needs no stream at all
+ * - A burst of the same question shares one stream instead of one Gemini call each
+ */
+@DisplayName("GeminiAiService Streaming Tests")
+class GeminiAiServiceStreamingTest {
+
+    private static final String CONTEXT = "Oil change costs 49 dollars.";
+
+    private ChatResponseCache cache;
+    private GeminiAiService gemini;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache = new ChatResponseCache(new HashedNgramEmbeddingProvider(64), meterRegistry, 10, 60, 0, System::nanoTime);
+        gemini = new GeminiAiService(cache, new GeminiClient(meterRegistry, new MockEnvironment()),
+                new PromptBuilder(meterRegistry, 3000), meterRegistry);
+        ReflectionTestUtils.setField(gemini, "apiKey", "test-key");
+    }
+
+    private static String event(String text) {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"}}]}";
+    }
+
+    private void useServer(MockSseServer server) {
+        ReflectionTestUtils.setField(gemini, "apiUrl", server.url("/v1beta/models/test:generateContent"));
+    }
+
+    @Test
+    @DisplayName("Should emit each piece as soon as it arrives")
+    void shouldEmitPieces_asTheyArrive() throws Exception {
+        try (MockSseServer server = MockSseServer.start(Duration.ofMillis(400),
+                event("An oil change "), event("costs "), event("49 dollars."))) {
+            // ARRANGE
+            useServer(server);
+
+            // ACT
+            List<Tuple2<Long, String>> pieces = gemini
+                    .streamResponse(new RagRequest("How much is an oil change?", CONTEXT, "session-1"))
+                    .elapsed()
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+
+            // ASSERT: the later pieces each waited for the server's pause, the first did not
+            assertThat(pieces).extracting(Tuple2::getT2).containsExactly("An oil change ", "costs ", "49 dollars.");
+            assertThat(pieces.get(1).getT1()).isGreaterThanOrEqualTo(300);
+            assertThat(pieces.get(2).getT1()).isGreaterThanOrEqualTo(300);
+            assertThat(server.requests()).singleElement().satisfies(request -> assertThat(request)
+                    .startsWith("POST /v1beta/models/test:streamGenerateContent")
+                    .contains("alt=sse"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should cache the joined answer and serve it without streaming")
+    void shouldCacheJoinedAnswer() throws Exception {
+        try (MockSseServer server = MockSseServer.start(Duration.ZERO, event("49 "), event("dollars."))) {
+            // ARRANGE
+            useServer(server);
+            RagRequest request = new RagRequest("How much is an oil change?", CONTEXT, "session-1");
+            gemini.streamResponse(request).collectList().block(Duration.ofSeconds(10));
+
+            // ACT
+            List<String> again = gemini.streamResponse(request).collectList().block(Duration.ofSeconds(10));
+
+            // ASSERT
+            assertThat(again).containsExactly("49 dollars.");
+            assertThat(server.requests()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should share one Gemini stream between identical questions in a burst")
+    void shouldShareStream_forIdenticalBurst() throws Exception {
+        try (MockSseServer server = MockSseServer.start(Duration.ofMillis(200),
+                event("An oil change "), event("costs "), event("49 dollars."))) {
+            // ARRANGE
+            useServer(server);
+
+            // ACT: five sessions ask the same question while the first answer is still streaming
+            List<CompletableFuture<List<String>>> answers = IntStream.range(0, 5)
+                    .mapToObj(i -> gemini
+                            .streamResponse(new RagRequest("How much is an oil change?", CONTEXT, "session-" + i))
+                            .collectList()
+                            .toFuture())
+                    .toList();
+
+            // ASSERT
+            for (CompletableFuture<List<String>> answer : answers) {
+                assertThat(answer.get(10, TimeUnit.SECONDS))
+                        .containsExactly("An oil change ", "costs ", "49 dollars.");
+            }
+            assertThat(server.requests()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apologise when Gemini cannot be reached")
+    void shouldApologise_whenUnreachable() throws Exception {
+        // ARRANGE: a server that is already gone
+        MockSseServer server = MockSseServer.start(Duration.ZERO);
+        useServer(server);
+        server.close();
+
+        // ACT
+        List<String> pieces = gemini.streamResponse(new RagRequest("Opening hours?", CONTEXT, "session-1"))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // ASSERT
+        assertThat(pieces).singleElement().asString().contains("technical difficulties");
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,218 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.login.AxleXpert.chatbot.dto.RagRequest;
+import com.login.AxleXpert.testutils.FaultInjectingServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for GeminiClient against a local server that injects latency and errors
+ *
+ * Learning Focus:
+ * - A deadline turns a hanging upstream into a fast, ordinary error
+ * - After enough failures the breaker answers without calling the server at all
+ * - Calls over the concurrency limit are refused at once instead of queueing
+ */
+@DisplayName("GeminiClient Tests")
+class GeminiClientTest {
+
+    private static final String ANSWER = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"49 dollars.\"}]}}]}";
+    private static final Duration BLOCK = Duration.ofSeconds(10);
+    // The first call in a JVM also pays for Reactor Netty's event loop and resolver setup
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+    private static final Duration SHORT_DEADLINE = Duration.ofMillis(500);
+
+    private SimpleMeterRegistry meterRegistry;
+    private FaultInjectingServer server;
+    private GeminiClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        server = FaultInjectingServer.start(ANSWER);
+        client = newClient(DEADLINE);
+    }
+
+    /**
+     * Swaps in a client with a short deadline, for the tests that are about hitting it.
+     */
+    private void useShortDeadline() {
+        client.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        client = newClient(SHORT_DEADLINE);
+    }
+
+    private GeminiClient newClient(Duration deadline) {
+        return new GeminiClient(meterRegistry, new MockEnvironment()
+                .withProperty("gemini.client.deadline-ms", String.valueOf(deadline.toMillis()))
+                .withProperty("gemini.client.circuit.window-size", "4")
+                .withProperty("gemini.client.circuit.minimum-calls", "4")
+                .withProperty("gemini.client.circuit.open-ms", "300")
+                .withProperty("gemini.client.circuit.half-open-calls", "1")
+                .withProperty("gemini.client.concurrency.initial-limit", "2")
+                .withProperty("gemini.client.concurrency.min-limit", "1")
+                .withProperty("gemini.client.concurrency.max-limit", "2")
+                .withProperty("gemini.client.concurrency.slow-call-ms", "5000"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        client.shutdown();
+    }
+
+    private Mono<String> call() {
+        return client.post(server.url("/v1beta/models/test:generateContent"), Map.of("contents", List.of()));
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThatThrownBy(() -> call().block(BLOCK)).isInstanceOf(WebClientResponseException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the response body when the server is healthy")
+    void shouldReturnBody() {
+        assertThat(call().block(BLOCK)).isEqualTo(ANSWER);
+    }
+
+    @Test
+    @DisplayName("Should give up at the deadline when the server hangs")
+    void shouldFailAtDeadline() {
+        // ARRANGE
+        useShortDeadline();
+        server.delay(Duration.ofSeconds(3));
+        long start = System.nanoTime();
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> call().block(BLOCK)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2000));
+    }
+
+    @Nested
+    @DisplayName("Circuit Breaker Tests")
+    class CircuitBreakerTests {
+
+        @Test
+        @DisplayName("Should stop calling the server after repeated failures")
+        void shouldOpen_afterFailures() {
+            // ARRANGE
+            server.status(503);
+            failTimes(4);
+
+            // ACT & ASSERT
+            assertThatThrownBy(() -> call().block(BLOCK)).isInstanceOf(GeminiClient.GeminiUnavailableException.class);
+            assertThat(server.requests()).isEqualTo(4);
+            assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(meterRegistry.get("chatbot.gemini.rejected").tag("reason", "circuit-open").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should close again once a trial call succeeds")
+        void shouldClose_afterSuccessfulTrial() throws Exception {
+            // ARRANGE
+            server.status(503);
+            failTimes(4);
+            server.status(200);
+            Thread.sleep(400);
+
+            // ACT
+            String body = call().block(BLOCK);
+
+            // ASSERT
+            assertThat(body).isEqualTo(ANSWER);
+            assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should not count rejected requests as Gemini failures")
+        void shouldStayClosed_onClientErrors() {
+            // ACT
+            server.status(400);
+            failTimes(4);
+
+            // ASSERT
+            assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should answer chat with the canned reply while open, without caching it")
+        void shouldFallBack_whileOpen() {
+            // ARRANGE
+            ChatResponseCache cache = new ChatResponseCache(new HashedNgramEmbeddingProvider(64), meterRegistry, 10, 60, 0, System::nanoTime);
+            GeminiAiService gemini = new GeminiAiService(cache, client, new PromptBuilder(meterRegistry, 3000), meterRegistry);
+            ReflectionTestUtils.setField(gemini, "apiKey", "test-key");
+            ReflectionTestUtils.setField(gemini, "apiUrl", server.url("/v1beta/models/test:generateContent"));
+            server.status(503);
+            failTimes(4);
+
+            // ACT
+            String answer = gemini.generateResponse(new RagRequest("Oil change price?", "context", "session-1")).block(BLOCK);
+
+            // ASSERT
+            assertThat(answer).contains("try again in a moment");
+            assertThat(server.requests()).isEqualTo(4);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Limit Tests")
+    class ConcurrencyLimitTests {
+
+        @Test
+        @DisplayName("Should refuse calls over the limit instead of queueing them")
+        void shouldShedLoad_overLimit() {
+            // ARRANGE
+            server.delay(Duration.ofMillis(300));
+
+            // ACT: five callers at once against a limit of two
+            List<String> outcomes = Flux.range(0, 5)
+                    .flatMap(i -> call()
+                            .map(body -> "answered")
+                            .onErrorResume(GeminiClient.GeminiUnavailableException.class, e -> Mono.just("shed")))
+                    .collectList()
+                    .block(BLOCK);
+
+            // ASSERT
+            assertThat(outcomes).filteredOn("answered"::equals).hasSize(2);
+            assertThat(outcomes).filteredOn("shed"::equals).hasSize(3);
+            assertThat(server.requests()).isEqualTo(2);
+            assertThat(server.maxConcurrent()).isLessThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should lower the limit when calls time out")
+        void shouldBackOff_onTimeouts() {
+            // ARRANGE
+            useShortDeadline();
+            server.delay(Duration.ofSeconds(1));
+
+            // ACT
+            assertThatThrownBy(() -> call().block(BLOCK)).hasCauseInstanceOf(TimeoutException.class);
+
+            // ASSERT
+            assertThat(client.concurrencyLimit()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for HashedNgramEmbeddingProvider
+ *
+ * Learning Focus:
+ * - Embeddings are unit vectors, so a dot product is a cosine similarity
+ * - Shared character trigrams put word variants close together
+ * - The same text always gives the same vector
+ */
+@DisplayName("HashedNgramEmbeddingProvider Tests")
+class HashedNgramEmbeddingProviderTest {
+
+    private final HashedNgramEmbeddingProvider provider = new HashedNgramEmbeddingProvider(256);
+
+    @Test
+    @DisplayName("Should produce deterministic unit vectors")
+    void shouldProduceDeterministicUnitVectors() {
+        // ACT
+        float[] first = provider.embed("Brake pads are replaced every 40000 km.");
+        float[] second = provider.embed("Brake pads are replaced every 40000 km.");
+
+        // ASSERT
+        assertThat(first).hasSize(256).containsExactly(second);
+        assertThat(dot(first, first)).isCloseTo(1f, within(1e-5f));
+    }
+
+    @Test
+    @DisplayName("Should place word variants closer than unrelated text")
+    void shouldPlaceVariantsCloser() {
+        // ARRANGE
+        float[] query = provider.embed("replacing worn brakes");
+
+        // ACT
+        float related = dot(query, provider.embed("Brake replacement when pads are worn"));
+        float unrelated = dot(query, provider.embed("Opening hours are weekdays from 8am"));
+
+        // ASSERT
+        assertThat(related).isGreaterThan(unrelated + 0.2f);
+    }
+
+    @Test
+    @DisplayName("Should embed text without words to the zero vector")
+    void shouldEmbedEmptyText_toZeroVector() {
+        assertThat(provider.embed(" ?! ")).containsOnly(0f);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive dimensions")
+    void shouldRejectInvalidDimensions() {
+        assertThatThrownBy(() -> new HashedNgramEmbeddingProvider(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
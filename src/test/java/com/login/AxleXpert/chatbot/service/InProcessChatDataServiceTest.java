@@ -0,0 +1,154 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.login.AxleXpert.Branches.service.BranchService;
+import com.login.AxleXpert.Services.dto.ServiceDTO;
+import com.login.AxleXpert.Services.service.ServiceService;
+import com.login.AxleXpert.Tasks.service.TaskService;
+import com.login.AxleXpert.Users.service.UserService;
+import com.login.AxleXpert.Vehicals.dto.VehicleDTO;
+import com.login.AxleXpert.Vehicals.service.VehicleService;
+import com.login.AxleXpert.security.JwtClaims;
+import com.login.AxleXpert.security.JwtUtil;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+import io.jsonwebtoken.MalformedJwtException;
+
+/**
+ * Unit tests for InProcessChatDataService
+ *
+ * Learning Focus:
+ * - Calling services directly must keep the checks the HTTP layer used to do
+ * - A missing or bad token yields empty context instead of an error
+ * - Customers can only pull their own data into the prompt
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InProcessChatDataService Tests")
+class InProcessChatDataServiceTest {
+
+    private static final String TOKEN = "valid-token";
+
+    @Mock private ServiceService serviceService;
+    @Mock private BranchService branchService;
+    @Mock private VehicleService vehicleService;
+    @Mock private TaskService taskService;
+    @Mock private UserService userService;
+    @Mock private JwtUtil jwtUtil;
+
+    private InProcessChatDataService dataService;
+
+    @BeforeEach
+    void setUp() {
+        dataService = new InProcessChatDataService(
+                serviceService, branchService, vehicleService, taskService, userService, jwtUtil);
+    }
+
+    @Nested
+    @DisplayName("Access Token Tests")
+    class AccessTokenTests {
+
+        @Test
+        @DisplayName("Should call the service directly for a valid token")
+        void shouldCallService_whenTokenValid() {
+            // ARRANGE
+            ServiceDTO service = ServiceDTO.fromEntity(TestDataBuilder.createService());
+            when(jwtUtil.verify(TOKEN)).thenReturn(claims(1L, "customer"));
+            when(serviceService.getAllServices()).thenReturn(List.of(service));
+
+            // ACT
+            List<ServiceDTO> result = dataService.getAllServices(TOKEN);
+
+            // ASSERT
+            assertThat(result).containsExactly(service);
+        }
+
+        @Test
+        @DisplayName("Should return nothing without a token")
+        void shouldReturnEmpty_whenNoToken() {
+            // ACT
+            List<ServiceDTO> result = dataService.getAllServices(null);
+
+            // ASSERT
+            assertThat(result).isEmpty();
+            verifyNoInteractions(jwtUtil, serviceService);
+        }
+
+        @Test
+        @DisplayName("Should return nothing when the token does not verify")
+        void shouldReturnEmpty_whenTokenInvalid() {
+            // ARRANGE
+            when(jwtUtil.verify("bad")).thenThrow(new MalformedJwtException("bad token"));
+
+            // ACT
+            List<ServiceDTO> result = dataService.getAllServices("bad");
+
+            // ASSERT
+            assertThat(result).isEmpty();
+            verifyNoInteractions(serviceService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Caller Identity Tests")
+    class CallerIdentityTests {
+
+        @Test
+        @DisplayName("Should return a customer's own vehicles")
+        void shouldReturnOwnVehicles_forCustomer() {
+            // ARRANGE
+            VehicleDTO vehicle = VehicleDTO.fromEntity(TestDataBuilder.createVehicle());
+            when(jwtUtil.verify(TOKEN)).thenReturn(claims(1L, "customer"));
+            when(vehicleService.getVehiclesByUserId(1L)).thenReturn(List.of(vehicle));
+
+            // ACT & ASSERT
+            assertThat(dataService.getUserVehicles(1L, TOKEN)).containsExactly(vehicle);
+        }
+
+        @Test
+        @DisplayName("Should not return another customer's tasks")
+        void shouldSkipOtherCustomersTasks() {
+            // ARRANGE
+            when(jwtUtil.verify(TOKEN)).thenReturn(claims(1L, "customer"));
+
+            // ACT
+            var result = dataService.getCustomerTasks(2L, TOKEN);
+
+            // ASSERT
+            assertThat(result).isEmpty();
+            verify(taskService, never()).getTasksByCustomer(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should let staff read a customer's tasks")
+        void shouldReturnCustomerTasks_forStaff() {
+            // ARRANGE
+            when(jwtUtil.verify(TOKEN)).thenReturn(claims(9L, "manager"));
+            when(taskService.getTasksByCustomer(2L)).thenReturn(List.of());
+
+            // ACT
+            dataService.getCustomerTasks(2L, TOKEN);
+
+            // ASSERT
+            verify(taskService).getTasksByCustomer(2L);
+        }
+    }
+
+    private static JwtClaims claims(Long id, String role) {
+        return new JwtClaims("user" + id, id, "user" + id + "@example.com", role, null,
+                Instant.now().plusSeconds(3600));
+    }
+}
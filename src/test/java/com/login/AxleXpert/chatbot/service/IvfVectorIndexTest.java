@@ -0,0 +1,97 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for IvfVectorIndex
+ *
+ * Learning Focus:
+ * - Probing every list is an exhaustive search, so it must match searchExact
+ * - Fewer probes trade recall for speed, but still find a query's own vector
+ * - Results carry the caller's original ids, not the clustered layout's slots
+ */
+@DisplayName("IvfVectorIndex Tests")
+class IvfVectorIndexTest {
+
+    private static final int DIMENSIONS = 16;
+
+    @Test
+    @DisplayName("Should match exact search when every list is probed")
+    void shouldMatchExactSearch_whenProbingAllLists() {
+        // ARRANGE
+        float[] vectors = randomUnitVectors(500, new SplittableRandom(1));
+        IvfVectorIndex index = IvfVectorIndex.build(vectors, DIMENSIONS, 10, 7);
+        float[] query = randomUnitVectors(1, new SplittableRandom(2));
+
+        // ACT
+        int[] approximate = index.search(query, 10, index.lists());
+
+        // ASSERT
+        assertThat(approximate).containsExactly(index.searchExact(query, 10));
+    }
+
+    @Test
+    @DisplayName("Should find a stored vector with a single probe")
+    void shouldFindStoredVector_withOneProbe() {
+        // ARRANGE
+        float[] vectors = randomUnitVectors(500, new SplittableRandom(3));
+        IvfVectorIndex index = IvfVectorIndex.build(vectors, DIMENSIONS, 0, 7);
+        float[] query = new float[DIMENSIONS];
+        System.arraycopy(vectors, 123 * DIMENSIONS, query, 0, DIMENSIONS);
+
+        // ACT
+        int[] result = index.search(query, 1, 1);
+
+        // ASSERT: a vector always lands in the list of its nearest centroid
+        assertThat(result).containsExactly(123);
+        assertThat(index.lists()).isEqualTo(23);
+    }
+
+    @Test
+    @DisplayName("Should skip vectors with no positive similarity")
+    void shouldSkipNonPositiveMatches() {
+        // ARRANGE: two opposite vectors
+        float[] vectors = new float[2 * DIMENSIONS];
+        vectors[0] = 1f;
+        vectors[DIMENSIONS] = -1f;
+        IvfVectorIndex index = IvfVectorIndex.build(vectors, DIMENSIONS, 1, 7);
+        float[] query = new float[DIMENSIONS];
+        query[0] = 1f;
+
+        // ACT & ASSERT
+        assertThat(index.search(query, 5, 1)).containsExactly(0);
+        assertThat(index.search(new float[DIMENSIONS], 5, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a query of the wrong dimension")
+    void shouldRejectWrongDimension() {
+        // ARRANGE
+        IvfVectorIndex index = IvfVectorIndex.build(randomUnitVectors(10, new SplittableRandom(4)), DIMENSIONS, 2, 7);
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> index.search(new float[3], 1, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static float[] randomUnitVectors(int count, SplittableRandom random) {
+        float[] vectors = new float[count * DIMENSIONS];
+        for (int i = 0; i < count; i++) {
+            double norm = 0;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                float value = (float) random.nextGaussian();
+                vectors[i * DIMENSIONS + d] = value;
+                norm += value * value;
+            }
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vectors[i * DIMENSIONS + d] /= (float) Math.sqrt(norm);
+            }
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,249 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for JdbcSessionStore against the H2 test database
+ *
+ * Learning Focus:
+ * - Two stores on one database stand in for two replicas behind a load balancer
+ * - Nothing reaches the table until flush(), and then one row per session, however many turns
+ * - The near-cache answers follow-up lookups locally until its TTL runs out
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("JdbcSessionStore Tests")
+class JdbcSessionStoreTest {
+
+    private static final long NEAR_CACHE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcSessionStore podA;
+    private JdbcSessionStore podB;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        podA = new JdbcSessionStore(jdbcTemplate, meterRegistry, 100, 100, NEAR_CACHE_TTL_MILLIS, IDLE_MILLIS, now::get);
+        podB = new JdbcSessionStore(jdbcTemplate, new SimpleMeterRegistry(), 100, 100, NEAR_CACHE_TTL_MILLIS, IDLE_MILLIS, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        podA.shutdown();
+        podB.shutdown();
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chat_sessions", Integer.class);
+    }
+
+    private double nearCache(String result) {
+        return meterRegistry.get("chatbot.sessions.near.cache").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Write-Behind Tests")
+    class WriteBehindTests {
+
+        @Test
+        @DisplayName("Should not write to the database on each turn")
+        void shouldQueueTurns_untilFlush() {
+            // ACT
+            podA.recordUserMessage("s1", "How much is an oil change?");
+            podA.recordBotMessage("s1", "49 dollars.");
+
+            // ASSERT
+            assertThat(rows()).isZero();
+            assertThat(podA.pendingCount()).isEqualTo(1);
+            assertThat(meterRegistry.get("chatbot.sessions.write.behind.pending").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should write several turns of a session as one row")
+        void shouldCoalesceTurns_intoOneRow() {
+            // ARRANGE
+            for (int i = 1; i <= 5; i++) {
+                podA.recordUserMessage("s1", "question " + i);
+                podA.recordBotMessage("s1", "answer " + i);
+            }
+            podA.recordUserMessage("s2", "hi");
+
+            // ACT
+            int written = podA.flush();
+
+            // ASSERT
+            assertThat(written).isEqualTo(2);
+            assertThat(rows()).isEqualTo(2);
+            assertThat(podA.pendingCount()).isZero();
+            assertThat(meterRegistry.get("chatbot.sessions.write.behind.rows").counter().count()).isEqualTo(2);
+            assertThat(podA.flush()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should let another replica continue the conversation after a flush")
+        void shouldShareSession_betweenReplicas() {
+            // ARRANGE
+            podA.recordUserMessage("s1", "Where is your Kandy branch?");
+            podA.recordBotMessage("s1", "On Peradeniya Road.");
+            podA.flush();
+
+            // ACT
+            SessionContext onB = podB.recordUserMessage("s1", "What are its opening hours?");
+            podB.flush();
+
+            // ASSERT
+            assertThat(onB.getUserMessages()).containsExactly("Where is your Kandy branch?", "What are its opening hours?");
+            assertThat(onB.getLastBotMessage()).isEqualTo("On Peradeniya Road.");
+            assertThat(onB.getMessageCount()).isEqualTo(2);
+            assertThat(rows()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should persist queued sessions on shutdown")
+        void shouldFlush_onShutdown() {
+            // ARRANGE
+            podA.recordUserMessage("s1", "hi");
+
+            // ACT
+            podA.shutdown();
+
+            // ASSERT
+            assertThat(rows()).isEqualTo(1);
+            assertThat(podB.get("s1").getLastUserMessage()).isEqualTo("hi");
+        }
+    }
+
+    @Nested
+    @DisplayName("Near-Cache Tests")
+    class NearCacheTests {
+
+        @Test
+        @DisplayName("Should answer follow-up lookups without reading the database")
+        void shouldServeFollowUps_locally() {
+            // ARRANGE
+            podA.recordUserMessage("s1", "hi");
+            podA.flush();
+
+            // ACT
+            podA.recordBotMessage("s1", "hello");
+            podA.get("s1");
+
+            // ASSERT: only the very first lookup went to the database
+            assertThat(nearCache("miss")).isEqualTo(1);
+            assertThat(nearCache("hit")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should re-read a session once the near-cache entry is older than the TTL")
+        void shouldReload_afterTtl() {
+            // ARRANGE
+            podA.recordUserMessage("s1", "first");
+            podA.flush();
+            podB.recordUserMessage("s1", "second");
+            podB.flush();
+
+            // ACT
+            SessionContext cached = podA.get("s1");
+            now.addAndGet(NEAR_CACHE_TTL_MILLIS + 1);
+            SessionContext reloaded = podA.get("s1");
+
+            // ASSERT
+            assertThat(cached.getLastUserMessage()).isEqualTo("first");
+            assertThat(reloaded.getLastUserMessage()).isEqualTo("second");
+        }
+
+        @Test
+        @DisplayName("Should not create a session for a bot answer")
+        void shouldIgnoreBotMessage_forUnknownSession() {
+            // ACT
+            podA.recordBotMessage("gone", "hello");
+
+            // ASSERT
+            assertThat(podA.get("gone")).isNull();
+            assertThat(podA.pendingCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should delete only rows idle longer than the timeout")
+        void shouldSweepIdleRows() {
+            // ARRANGE
+            podA.recordUserMessage("old", "hi");
+            now.addAndGet(IDLE_MILLIS - 1000);
+            podA.recordUserMessage("recent", "hi");
+            podA.flush();
+            now.addAndGet(2000);
+
+            // ACT
+            int removed = podA.sweep();
+
+            // ASSERT
+            assertThat(removed).isEqualTo(1);
+            assertThat(rows()).isEqualTo(1);
+            assertThat(podB.get("old")).isNull();
+            assertThat(podB.get("recent")).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialization Tests")
+    class SerializationTests {
+
+        @Test
+        @DisplayName("Should round-trip history, preferences and timestamps")
+        void shouldRoundTrip() {
+            // ARRANGE
+            SessionContext context = new SessionContext("s1", 1000);
+            for (int i = 1; i <= 25; i++) {
+                context.addUserMessage("question " + i + " ünïcode", 1000 + i);
+                context.addBotMessage("answer " + i, 1000 + i);
+            }
+            context.setUserPreferences("prefers morning slots");
+
+            // ACT
+            SessionContext copy = SessionContext.fromBytes("s1", context.toBytes());
+
+            // ASSERT
+            assertThat(copy.getUserMessages()).isEqualTo(context.getUserMessages());
+            assertThat(copy.getBotMessages()).isEqualTo(context.getBotMessages());
+            assertThat(copy.getMessageCount()).isEqualTo(25);
+            assertThat(copy.getCreatedAt()).isEqualTo(1000);
+            assertThat(copy.getLastActivity()).isEqualTo(1025);
+            assertThat(copy.getUserPreferences()).isEqualTo("prefers morning slots");
+        }
+
+        @Test
+        @DisplayName("Should reject data that is not a serialized session")
+        void shouldRejectCorruptData() {
+            assertThatThrownBy(() -> SessionContext.fromBytes("s1", new byte[]{1, 2, 3}))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
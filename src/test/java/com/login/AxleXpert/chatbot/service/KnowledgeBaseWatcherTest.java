@@ -0,0 +1,124 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for KnowledgeBaseWatcher
+ *
+ * Learning Focus:
+ * - Only files that actually changed are chunked and tokenized again
+ * - Every change publishes a new index; an index already handed out never changes
+ * - rescan() is the same step the watch thread runs, so it can be tested without waiting on file events
+ */
+@DisplayName("KnowledgeBaseWatcher Tests")
+class KnowledgeBaseWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Bm25Index> published = new ArrayList<>();
+    private KnowledgeBaseWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(directory.resolve("services.txt"), "Oil change costs 49 dollars.");
+        Files.writeString(directory.resolve("hours.md"), "Opening hours are weekdays from 8am to 6pm.");
+        Files.writeString(directory.resolve("notes.csv"), "brake,pads,ignored");
+        watcher = new KnowledgeBaseWatcher(List.of(directory), 1000, 200, Duration.ofMillis(50), published::add);
+    }
+
+    @Test
+    @DisplayName("Should index .txt and .md files on the first scan")
+    void shouldIndexKnowledgeFiles_onFirstScan() {
+        // ACT
+        int changed = watcher.rescan();
+
+        // ASSERT
+        assertThat(changed).isEqualTo(2);
+        assertThat(published).hasSize(1);
+        Bm25Index index = published.get(0);
+        assertThat(index.documentCount()).isEqualTo(2);
+        assertThat(index.search("brake pads", 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not publish when nothing changed")
+    void shouldNotPublish_whenNothingChanged() {
+        // ARRANGE
+        watcher.rescan();
+
+        // ACT
+        int changed = watcher.rescan();
+
+        // ASSERT
+        assertThat(changed).isZero();
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should re-index only the changed file and leave the old index intact")
+    void shouldReindexChangedFile_only() throws IOException {
+        // ARRANGE
+        watcher.rescan();
+        Bm25Index before = published.get(0);
+        Path services = directory.resolve("services.txt");
+        Files.writeString(services, "Oil change costs 59 dollars including a brake check.");
+        Files.setLastModifiedTime(services, FileTime.from(Instant.now().plusSeconds(5)));
+
+        // ACT
+        int changed = watcher.rescan();
+
+        // ASSERT
+        assertThat(changed).isEqualTo(1);
+        assertThat(published).hasSize(2);
+        Bm25Index after = published.get(1);
+        assertThat(after.search("brake", 3)).hasSize(1);
+        assertThat(before.search("brake", 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a touched file whose content is unchanged")
+    void shouldIgnoreTouch_whenContentUnchanged() throws IOException {
+        // ARRANGE
+        watcher.rescan();
+        Files.setLastModifiedTime(directory.resolve("hours.md"), FileTime.from(Instant.now().plusSeconds(5)));
+
+        // ACT & ASSERT
+        assertThat(watcher.rescan()).isZero();
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should pick up new files in new subdirectories and drop deleted ones")
+    void shouldTrackAddedAndDeletedFiles() throws IOException {
+        // ARRANGE
+        watcher.rescan();
+        Path nested = Files.createDirectories(directory.resolve("faq"));
+        Files.writeString(nested.resolve("brakes.txt"), "Brake pads are replaced every 40000 km.");
+        Files.delete(directory.resolve("hours.md"));
+
+        // ACT
+        int changed = watcher.rescan();
+
+        // ASSERT
+        assertThat(changed).isEqualTo(2);
+        Bm25Index index = published.get(published.size() - 1);
+        assertThat(index.documentCount()).isEqualTo(2);
+        assertThat(index.search("brake pads", 3)).hasSize(1);
+        assertThat(index.search("opening hours", 3)).isEmpty();
+    }
+}
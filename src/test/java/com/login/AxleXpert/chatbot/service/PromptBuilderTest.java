@@ -0,0 +1,150 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for PromptBuilder
+ *
+ * Learning Focus:
+ * - The context is cut by relevance to the question, not simply from the end
+ * - A section that only partly fits keeps its heading and says how much was left out
+ * - The token estimate is cheap enough to run on every request
+ */
+@DisplayName("PromptBuilder Tests")
+class PromptBuilderTest {
+
+    private static final String SERVICES = """
+            SERVICES:
+            - Oil Change: Engine oil and filter replacement (Price: $49)
+            - Brake Service: Pads and discs checked (Price: $120)
+            """;
+    private static final String VEHICLES = """
+            USER VEHICLES:
+            - Toyota Corolla (2018) - License: CAB-1234
+            """;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * A builder leaving {@code contextBudget} tokens for context once the instructions and the question are in.
+     */
+    private PromptBuilder builder(String question, int contextBudget) {
+        return new PromptBuilder(meterRegistry, withoutContext(question) + contextBudget);
+    }
+
+    private static int withoutContext(String question) {
+        PromptBuilder probe = new PromptBuilder(new SimpleMeterRegistry(), Integer.MAX_VALUE);
+        return PromptBuilder.estimateTokens(probe.build(question, ""));
+    }
+
+    private static String tasks(int count) {
+        StringBuilder tasks = new StringBuilder("CURRENT SERVICES:\n");
+        for (int i = 1; i <= count; i++) {
+            tasks.append("- Service ID ").append(i).append(": Full inspection (Status: COMPLETED) - Assigned to: Nimal\n");
+        }
+        return tasks.toString();
+    }
+
+    @Nested
+    @DisplayName("Budget Tests")
+    class BudgetTests {
+
+        @Test
+        @DisplayName("Should send the whole context when it fits")
+        void shouldKeepEverything_whenWithinBudget() {
+            // ACT
+            String prompt = builder("How much is an oil change?", 1000).build("How much is an oil change?", SERVICES + "\n" + VEHICLES);
+
+            // ASSERT
+            assertThat(prompt).contains(SERVICES.strip()).contains(VEHICLES.strip())
+                    .endsWith("USER QUESTION: How much is an oil change?\n\nRESPONSE:");
+            assertThat(meterRegistry.get("chatbot.prompt.tokens.trimmed").summary().totalAmount()).isZero();
+            assertThat(meterRegistry.get("chatbot.prompt.sections").tag("outcome", "kept").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should keep the section the question is about and cut the others first")
+        void shouldPreferRelevantSections() {
+            // ARRANGE: room for the vehicles and only part of the long task history
+            String question = "Which vehicles do I have?";
+            PromptBuilder builder = builder(question, PromptBuilder.estimateTokens(VEHICLES) + 60);
+
+            // ACT
+            String prompt = builder.build(question, tasks(50) + "\n" + VEHICLES);
+
+            // ASSERT
+            assertThat(prompt).contains(VEHICLES.strip());
+            assertThat(prompt).contains("CURRENT SERVICES:").contains("more not shown");
+            assertThat(prompt).doesNotContain("Service ID 50:");
+            assertThat(prompt.indexOf("CURRENT SERVICES:")).isLessThan(prompt.indexOf("USER VEHICLES:"));
+        }
+
+        @Test
+        @DisplayName("Should stay within the token budget however long the history is")
+        void shouldStayWithinBudget() {
+            // ARRANGE
+            String question = "What is the status of my services?";
+            PromptBuilder builder = builder(question, 200);
+
+            // ACT
+            String prompt = builder.build(question, SERVICES + "\n" + tasks(2000) + "\n" + VEHICLES);
+
+            // ASSERT
+            assertThat(PromptBuilder.estimateTokens(prompt)).isLessThanOrEqualTo(withoutContext(question) + 200);
+            assertThat(prompt).contains("Service ID 1:").contains("more not shown");
+            assertThat(meterRegistry.get("chatbot.prompt.tokens").summary().totalAmount())
+                    .isEqualTo(PromptBuilder.estimateTokens(prompt));
+            assertThat(meterRegistry.get("chatbot.prompt.tokens.trimmed").summary().max()).isGreaterThan(10_000);
+        }
+
+        @Test
+        @DisplayName("Should drop sections when nothing useful of them fits")
+        void shouldDropSections_whenNoRoomLeft() {
+            // ARRANGE
+            String question = "Which vehicles do I have?";
+            PromptBuilder builder = builder(question, PromptBuilder.estimateTokens(VEHICLES) + 2);
+
+            // ACT
+            String prompt = builder.build(question, SERVICES + "\n" + VEHICLES);
+
+            // ASSERT
+            assertThat(prompt).contains(VEHICLES.strip()).doesNotContain("SERVICES:");
+            assertThat(meterRegistry.get("chatbot.prompt.sections").tag("outcome", "dropped").counter().count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Estimate Tests")
+    class EstimateTests {
+
+        @Test
+        @DisplayName("Should count a token per four letters of a word, and per symbol")
+        void shouldEstimateTokens() {
+            assertThat(PromptBuilder.estimateTokens("")).isZero();
+            assertThat(PromptBuilder.estimateTokens("oil change")).isEqualTo(3);
+            assertThat(PromptBuilder.estimateTokens("$49.\n")).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should cut a single long line at a word")
+        void shouldCutLongLine_atWord() {
+            // ACT
+            String cut = PromptBuilder.truncate("one two three four five six seven eight nine ten", 7);
+
+            // ASSERT
+            assertThat(cut).isEqualTo("one two three ...");
+        }
+    }
+}
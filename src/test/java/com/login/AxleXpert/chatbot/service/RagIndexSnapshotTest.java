@@ -0,0 +1,93 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for RagIndexSnapshot
+ *
+ * Learning Focus:
+ * - A memory-mapped snapshot must answer exactly like the index it was written from
+ * - The header ties a snapshot to its source, so a stale file is ignored instead of trusted
+ * - @TempDir gives each test a clean directory that JUnit deletes afterwards
+ */
+@DisplayName("RagIndexSnapshot Tests")
+class RagIndexSnapshotTest {
+
+    private static final byte[] SOURCE = ("Oil change costs 49 dollars. Brake inspection covers brake pads. "
+            + "Opening hours are weekdays from 8am to 6pm. Café wi-fi is free.").getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should answer the same after a write and map round trip")
+    void shouldMatchBuiltIndex_afterRoundTrip() throws Exception {
+        // ARRANGE
+        Bm25Index built = RagIndexer.build(SOURCE, 40, 10);
+        Path file = directory.resolve("rag-index.bin");
+        byte[] hash = RagIndexSnapshot.sha256(SOURCE);
+
+        // ACT
+        RagIndexSnapshot.write(file, hash, 40, 10, built);
+        Optional<Bm25Index> mapped = RagIndexSnapshot.open(file, hash, 40, 10);
+
+        // ASSERT
+        assertThat(mapped).isPresent();
+        Bm25Index loaded = mapped.get();
+        assertThat(loaded.documentCount()).isEqualTo(built.documentCount());
+        assertThat(loaded.termCount()).isEqualTo(built.termCount());
+        for (String query : List.of("brake pads", "oil change cost", "opening hours", "free")) {
+            assertThat(loaded.search(query, 3)).containsExactly(built.search(query, 3));
+        }
+        for (int i = 0; i < built.documentCount(); i++) {
+            assertThat(loaded.chunk(i)).isEqualTo(built.chunk(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot of a different knowledge base")
+    void shouldIgnoreSnapshot_whenSourceChanged() throws Exception {
+        // ARRANGE
+        Path file = directory.resolve("rag-index.bin");
+        RagIndexSnapshot.write(file, RagIndexSnapshot.sha256(SOURCE), 40, 10, RagIndexer.build(SOURCE, 40, 10));
+        byte[] otherHash = RagIndexSnapshot.sha256("changed".getBytes(StandardCharsets.UTF_8));
+
+        // ACT & ASSERT
+        assertThat(RagIndexSnapshot.open(file, otherHash, 40, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot built with other chunk settings")
+    void shouldIgnoreSnapshot_whenChunkingChanged() throws Exception {
+        // ARRANGE
+        Path file = directory.resolve("rag-index.bin");
+        byte[] hash = RagIndexSnapshot.sha256(SOURCE);
+        RagIndexSnapshot.write(file, hash, 40, 10, RagIndexer.build(SOURCE, 40, 10));
+
+        // ACT & ASSERT
+        assertThat(RagIndexSnapshot.open(file, hash, 1000, 200)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore a missing or foreign file")
+    void shouldIgnoreMissingOrForeignFile() throws Exception {
+        // ARRANGE
+        Path foreign = directory.resolve("foreign.bin");
+        Files.write(foreign, new byte[128]);
+        byte[] hash = RagIndexSnapshot.sha256(SOURCE);
+
+        // ACT & ASSERT
+        assertThat(RagIndexSnapshot.open(directory.resolve("missing.bin"), hash, 40, 10)).isEmpty();
+        assertThat(RagIndexSnapshot.open(foreign, hash, 40, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,55 @@
+package com.login.AxleXpert.chatbot.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JMH benchmark for RagService.retrieveRelevantContext over the bundled knowledge base.
+ *
+ * Every chatbot message runs one retrieval, so this is on the path of each reply.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RagServiceBenchmark {
+
+    @Param({
+        "How much does an oil change cost?",
+        "What are your opening hours on weekends and can I book a full service for my car?"
+    })
+    public String query;
+
+    private RagService ragService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        ragService = new RagService(new HashedNgramEmbeddingProvider(256));
+        ReflectionTestUtils.setField(ragService, "chunkSize", 1000);
+        ReflectionTestUtils.setField(ragService, "chunkOverlap", 200);
+        ReflectionTestUtils.setField(ragService, "indexPath", "");
+        ragService.initialize();
+        ragService.awaitReady(Duration.ofMinutes(1));
+    }
+
+    @Benchmark
+    public String retrieveRelevantContext() {
+        return ragService.retrieveRelevantContext(query);
+    }
+}
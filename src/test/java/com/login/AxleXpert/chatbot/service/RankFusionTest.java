@@ -0,0 +1,44 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for RankFusion
+ *
+ * Learning Focus:
+ * - Only ranks matter, so lists scored on different scales can be merged
+ * - A chunk both lists agree on rises above chunks only one list likes
+ * - The weight slides between lexical-only and dense-only
+ */
+@DisplayName("RankFusion Tests")
+class RankFusionTest {
+
+    @Test
+    @DisplayName("Should rank a chunk found by both lists first")
+    void shouldPreferAgreement() {
+        // ACT
+        int[] fused = RankFusion.fuse(new int[] {4, 7, 1}, new int[] {9, 7, 2}, 0.5, 3);
+
+        // ASSERT: 7 is second in both; ties between 4 and 9 keep lexical first
+        assertThat(fused).containsExactly(7, 4, 9);
+    }
+
+    @Test
+    @DisplayName("Should follow a single list when its weight is 1 or 0")
+    void shouldFollowOneList_atExtremeWeights() {
+        int[] lexical = {1, 2, 3};
+        int[] dense = {3, 2, 1};
+
+        assertThat(RankFusion.fuse(lexical, dense, 0, 3)).containsExactly(1, 2, 3);
+        assertThat(RankFusion.fuse(lexical, dense, 1, 3)).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Should return nothing when both lists are empty")
+    void shouldReturnEmpty_whenNoCandidates() {
+        assertThat(RankFusion.fuse(new int[0], new int[0], 0.5, 3)).isEmpty();
+    }
+}
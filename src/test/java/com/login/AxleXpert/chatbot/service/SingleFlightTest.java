@@ -0,0 +1,173 @@
+package com.login.AxleXpert.chatbot.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Unit tests for SingleFlight
+ *
+ * Learning Focus:
+ * - Callers for the same key share one upstream call while it is in flight
+ * - A Sinks.One stands in for the slow upstream, so the test decides when it answers
+ * - Once the call ends the key is free again: coalescing is not caching
+ * - Streams are shared too, and a late joiner still sees the whole stream
+ */
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test.calls", meterRegistry);
+    }
+
+    private Mono<String> upstream(Sinks.One<String> sink) {
+        return Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return sink.asMono();
+        });
+    }
+
+    private Flux<String> upstream(Sinks.Many<String> sink) {
+        return Flux.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return sink.asFlux();
+        });
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call between concurrent callers")
+    void shouldCollapseConcurrentCalls() {
+        // ARRANGE
+        Sinks.One<String> sink = Sinks.one();
+        CompletableFuture<String> first = singleFlight.execute("opening hours", () -> upstream(sink)).toFuture();
+        CompletableFuture<String> second = singleFlight.execute("opening hours", () -> upstream(sink)).toFuture();
+        CompletableFuture<String> third = singleFlight.execute("opening hours", () -> upstream(sink)).toFuture();
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+
+        // ACT
+        sink.tryEmitValue("8am to 6pm");
+
+        // ASSERT
+        assertThat(first.join()).isEqualTo("8am to 6pm");
+        assertThat(second.join()).isEqualTo("8am to 6pm");
+        assertThat(third.join()).isEqualTo("8am to 6pm");
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(meterRegistry.get("test.calls").tag("role", "joined").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("test.calls.collapse.ratio").gauge().value()).isCloseTo(2.0 / 3, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should call upstream separately for different keys")
+    void shouldNotCollapseDifferentKeys() {
+        // ARRANGE
+        Sinks.One<String> hours = Sinks.one();
+        Sinks.One<String> price = Sinks.one();
+        CompletableFuture<String> first = singleFlight.execute("opening hours", () -> upstream(hours)).toFuture();
+        CompletableFuture<String> second = singleFlight.execute("oil change price", () -> upstream(price)).toFuture();
+
+        // ACT
+        hours.tryEmitValue("8am to 6pm");
+        price.tryEmitValue("49 dollars");
+
+        // ASSERT
+        assertThat(first.join()).isEqualTo("8am to 6pm");
+        assertThat(second.join()).isEqualTo("49 dollars");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should start a new call once the previous one finished")
+    void shouldCallAgain_afterCompletion() {
+        // ARRANGE
+        singleFlight.execute("opening hours", () -> Mono.just("8am to 6pm")).block();
+
+        // ACT
+        String again = singleFlight.execute("opening hours", () -> Mono.just("9am to 5pm")).block();
+
+        // ASSERT
+        assertThat(again).isEqualTo("9am to 5pm");
+        assertThat(singleFlight.collapseRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share an error with every waiter and release the key")
+    void shouldShareErrors() {
+        // ARRANGE
+        Sinks.One<String> sink = Sinks.one();
+        CompletableFuture<String> first = singleFlight.execute("booking", () -> upstream(sink)).toFuture();
+        CompletableFuture<String> second = singleFlight.execute("booking", () -> upstream(sink)).toFuture();
+
+        // ACT
+        sink.tryEmitError(new IllegalStateException("upstream down"));
+
+        // ASSERT
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share one upstream stream and replay it to a late joiner")
+    void shouldShareStream_andReplayToLateJoiner() {
+        // ARRANGE
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        CompletableFuture<List<String>> first = singleFlight
+                .executeMany("opening hours", () -> upstream(sink)).collectList().toFuture();
+        sink.tryEmitNext("8am ");
+
+        // ACT: the second caller arrives after the first piece was sent
+        CompletableFuture<List<String>> second = singleFlight
+                .executeMany("opening hours", () -> upstream(sink)).collectList().toFuture();
+        sink.tryEmitNext("to 6pm");
+        sink.tryEmitComplete();
+
+        // ASSERT
+        assertThat(first.join()).containsExactly("8am ", "to 6pm");
+        assertThat(second.join()).containsExactly("8am ", "to 6pm");
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(meterRegistry.get("test.calls").tag("role", "joined").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cancel the upstream stream only when every caller has left")
+    void shouldCancelStream_whenEveryCallerLeft() {
+        // ARRANGE
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        Flux<String> call = upstream(sink).doOnCancel(() -> cancelled.set(true));
+        Disposable first = singleFlight.executeMany("opening hours", () -> call).subscribe();
+        Disposable second = singleFlight.executeMany("opening hours", () -> call).subscribe();
+
+        // ACT & ASSERT
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+
+        second.dispose();
+        assertThat(cancelled).isTrue();
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(upstreamCalls).hasValue(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.login.AxleXpert.common;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.security.AuthenticatedUser;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * Unit tests for CurrentUserUtil
+ *
+ * Learning Focus:
+ * - Data already in a verified token does not need a database round trip
+ * - The repository mock proves which calls stay off the database
+ * - The entity is loaded fresh on every call, so no caller shares a mutable User
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentUserUtil Tests")
+class CurrentUserUtilTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Token Principal Tests")
+    class PrincipalTests {
+
+        @Test
+        @DisplayName("Should read id, role and branch from the token without a query")
+        void shouldReadClaims_withoutQuery() {
+            // ARRANGE
+            CurrentUserUtil util = new CurrentUserUtil(userRepository);
+            authenticate(new AuthenticatedUser(7L, "jane", "MANAGER", 3L));
+
+            // ACT & ASSERT
+            assertThat(util.getCurrentUserId()).isEqualTo(7L);
+            assertThat(util.getCurrentUserRole()).isEqualTo("MANAGER");
+            assertThat(util.getCurrentUserBranchId()).isEqualTo(3L);
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("Should look the user up by name when the principal is a plain username")
+        void shouldLookUpUser_whenPrincipalIsUsername() {
+            // ARRANGE
+            CurrentUserUtil util = new CurrentUserUtil(userRepository);
+            User user = TestDataBuilder.createUser(5L, "CUSTOMER");
+            authenticate(user.getUsername());
+            when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+
+            // ACT
+            AuthenticatedUser principal = util.getCurrentPrincipal();
+
+            // ASSERT
+            assertThat(principal.id()).isEqualTo(5L);
+            assertThat(principal.role()).isEqualTo("CUSTOMER");
+        }
+
+        @Test
+        @DisplayName("Should throw when nobody is signed in")
+        void shouldThrow_whenNotAuthenticated() {
+            CurrentUserUtil util = new CurrentUserUtil(userRepository);
+
+            assertThatThrownBy(util::getCurrentUserId)
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("No authenticated user found");
+        }
+    }
+
+    @Nested
+    @DisplayName("Full User Tests")
+    class FullUserTests {
+
+        @Test
+        @DisplayName("Should load the user by id on every call")
+        void shouldLoadById_onEveryCall() {
+            // ARRANGE
+            CurrentUserUtil util = new CurrentUserUtil(userRepository);
+            User user = TestDataBuilder.createUser(7L);
+            authenticate(new AuthenticatedUser(7L, user.getUsername(), user.getRole(), null));
+            when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+            // ACT
+            util.getCurrentUser();
+            User loaded = util.getCurrentUser();
+
+            // ASSERT
+            assertThat(loaded).isSameAs(user);
+            verify(userRepository, times(2)).findById(7L);
+            verify(userRepository, never()).findByUsername(anyString());
+        }
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
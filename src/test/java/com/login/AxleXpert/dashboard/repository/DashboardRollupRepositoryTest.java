@@ -0,0 +1,222 @@
+package com.login.AxleXpert.dashboard.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Services.entity.Service;
+import com.login.AxleXpert.Tasks.entity.Task;
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.entity.DashboardRollup;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.BookingHistoryRow;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.TaskHistoryRow;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
+import com.login.AxleXpert.testutils.TestConstants;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * Tests for DashboardRollupRepository against the H2 test database
+ *
+ * Learning Focus:
+ * - The upsert is native SQL, so only a real database proves it parses and adds up
+ * - A second increment of the same (branch, service, day) must update the row, not add one
+ * - The history aggregates feed rebuild(), so their grouping is checked on real rows too
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("DashboardRollupRepository Tests")
+class DashboardRollupRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DashboardRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Branch branch;
+    private Service service;
+    private User employee;
+    private int userSequence;
+
+    @BeforeEach
+    void setUp() {
+        branch = TestDataBuilder.createBranch();
+        branch.setId(null);
+        entityManager.persist(branch);
+        service = TestDataBuilder.createService();
+        service.setId(null);
+        entityManager.persist(service);
+        employee = persistUser(TestConstants.ROLE_EMPLOYEE);
+    }
+
+    private List<DashboardRollup> rows() {
+        entityManager.clear();
+        return rollupRepository.findAll();
+    }
+
+    @Nested
+    @DisplayName("Increment Tests")
+    class IncrementTests {
+
+        @Test
+        @DisplayName("Should create the row on the first increment")
+        void shouldCreateRow_onFirstIncrement() {
+            // ACT
+            rollupRepository.increment(branch.getId(), service.getId(), DAY, 1, 0, 0, 0, BigDecimal.ZERO, 0);
+
+            // ASSERT
+            assertThat(rows()).singleElement().satisfies(row -> {
+                assertThat(row.getBranchId()).isEqualTo(branch.getId());
+                assertThat(row.getRollupDay()).isEqualTo(DAY);
+                assertThat(row.getPendingBookings()).isEqualTo(1);
+            });
+        }
+
+        @Test
+        @DisplayName("Should add a second increment of the same slot to the existing row")
+        void shouldAddToExistingRow_onSecondIncrement() {
+            // ACT: a new booking, then its approval
+            rollupRepository.increment(branch.getId(), service.getId(), DAY, 1, 0, 0, 0, BigDecimal.ZERO, 0);
+            rollupRepository.increment(branch.getId(), service.getId(), DAY, -1, 1, 0, 0, new BigDecimal("150.00"), 2);
+
+            // ASSERT
+            assertThat(rows()).singleElement().satisfies(row -> {
+                assertThat(row.getPendingBookings()).isZero();
+                assertThat(row.getApprovedBookings()).isEqualTo(1);
+                assertThat(row.getApprovedRevenue()).isEqualByComparingTo("150.00");
+                assertThat(row.getCompletedTasks()).isEqualTo(2);
+            });
+        }
+
+        @Test
+        @DisplayName("Should keep different days in separate rows")
+        void shouldKeepDaysSeparate() {
+            // ACT
+            rollupRepository.increment(branch.getId(), service.getId(), DAY, 1, 0, 0, 0, BigDecimal.ZERO, 0);
+            rollupRepository.increment(branch.getId(), service.getId(), DAY.plusDays(1), 1, 0, 0, 0, BigDecimal.ZERO, 0);
+
+            // ASSERT
+            assertThat(rows()).hasSize(2).allSatisfy(row -> assertThat(row.getPendingBookings()).isEqualTo(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("History Tests")
+    class HistoryTests {
+
+        @Test
+        @DisplayName("Should group booking history by branch, service, day and status")
+        void shouldGroupBookingHistory() {
+            // ARRANGE
+            persistBooking(BookingStatus.APPROVED, "100.00");
+            persistBooking(BookingStatus.APPROVED, "50.00");
+            persistBooking(BookingStatus.PENDING, "80.00");
+
+            // ACT
+            List<BookingHistoryRow> history = rollupRepository.summarizeBookingHistory();
+
+            // ASSERT
+            assertThat(history).hasSize(2);
+            BookingHistoryRow approved = history.stream()
+                    .filter(row -> row.getStatus() == BookingStatus.APPROVED)
+                    .findFirst().orElseThrow();
+            assertThat(approved.getBranchId().longValue()).isEqualTo(branch.getId());
+            assertThat(approved.getServiceId()).isEqualTo(service.getId());
+            assertThat(approved.getRollupDay()).isEqualTo(LocalDate.now());
+            assertThat(approved.getBookings().longValue()).isEqualTo(2);
+            assertThat(approved.getRevenue()).isEqualByComparingTo("150.00");
+        }
+
+        @Test
+        @DisplayName("Should count completed tasks on their completion day")
+        void shouldCountCompletedTasks_onCompletionDay() {
+            // ARRANGE
+            Booking booking = persistBooking(BookingStatus.APPROVED, "100.00");
+            persistTask(booking, TaskStatus.COMPLETED, DAY.atTime(15, 30));
+            persistTask(booking, TaskStatus.COMPLETED, DAY.atTime(9, 0));
+            persistTask(booking, TaskStatus.IN_PROGRESS, null);
+
+            // ACT
+            List<TaskHistoryRow> history = rollupRepository.summarizeTaskHistory(TaskStatus.COMPLETED);
+
+            // ASSERT
+            assertThat(history).singleElement().satisfies(row -> {
+                assertThat(row.getRollupDay()).isEqualTo(DAY);
+                assertThat(row.getTasks().longValue()).isEqualTo(2);
+            });
+        }
+
+        @Test
+        @DisplayName("Should rebuild the same totals the history holds")
+        void shouldRebuildTotals_fromHistory() {
+            // ARRANGE: one stale row that the rebuild must replace
+            rollupRepository.increment(branch.getId(), service.getId(), DAY, 5, 0, 0, 0, BigDecimal.ZERO, 0);
+            Booking booking = persistBooking(BookingStatus.APPROVED, "100.00");
+            persistBooking(BookingStatus.PENDING, "80.00");
+            persistTask(booking, TaskStatus.COMPLETED, DAY.atTime(12, 0));
+
+            // ACT
+            new DashboardRollupService(rollupRepository, bookingRepository).rebuild();
+
+            // ASSERT
+            entityManager.clear();
+            assertThat(rollupRepository.summarizeByBranch()).singleElement().satisfies(totals -> {
+                assertThat(totals.getBookings().longValue()).isEqualTo(2);
+                assertThat(totals.getApproved().longValue()).isEqualTo(1);
+                assertThat(new BigDecimal(totals.getRevenue().toString())).isEqualByComparingTo("100.00");
+                assertThat(totals.getCompletedTasks().longValue()).isEqualTo(1);
+            });
+        }
+    }
+
+    private User persistUser(String role) {
+        userSequence++;
+        User user = TestDataBuilder.createUser();
+        user.setId(null);
+        user.setUsername("user" + userSequence);
+        user.setEmail("user" + userSequence + "@example.com");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    private Booking persistBooking(BookingStatus status, String price) {
+        Booking booking = TestDataBuilder.createBooking(persistUser(TestConstants.ROLE_CUSTOMER), service, branch);
+        booking.setId(null);
+        booking.setStatus(status);
+        booking.setTotalPrice(new BigDecimal(price));
+        return entityManager.persist(booking);
+    }
+
+    private void persistTask(Booking booking, TaskStatus status, LocalDateTime completedTime) {
+        Task task = TestDataBuilder.createTask(employee, booking);
+        task.setId(null);
+        task.setServiceId(booking.getService().getId());
+        task.setStatus(status);
+        task.setCompletedTime(completedTime);
+        entityManager.persist(task);
+    }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -22,10 +24,20 @@ import com.login.AxleXpert.Branches.repository.BranchRepository;
 import com.login.AxleXpert.Tasks.repository.TaskRepository;
 import com.login.AxleXpert.Users.entity.User;
 import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.Users.repository.UserRepository.BranchUserCount;
+import com.login.AxleXpert.Users.repository.UserRepository.UserSummary;
 import com.login.AxleXpert.bookings.entity.Booking;
 import com.login.AxleXpert.bookings.repository.BookingRepository;
 import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.dashboard.dto.BranchPerformanceDTO;
 import com.login.AxleXpert.dashboard.dto.ManagerStatsDTO;
+import com.login.AxleXpert.dashboard.dto.RevenueDataDTO;
+import com.login.AxleXpert.dashboard.dto.ServiceDistributionDTO;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.BranchTotals;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.MonthlyTotals;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.RollupSummary;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.ServiceTotals;
 import com.login.AxleXpert.testutils.TestDataBuilder;
 
 /**
@@ -55,6 +67,9 @@ class AdminDashboardServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private DashboardRollupRepository rollupRepository;
+
     private List<Booking> testBookings;
     private List<User> testUsers;
     private List<Branch> testBranches;
@@ -65,7 +80,8 @@ class AdminDashboardServiceTest {
             userRepository,
             bookingRepository,
             branchRepository,
-            taskRepository
+            taskRepository,
+            rollupRepository
         );
 
         // Create test data
@@ -145,6 +161,43 @@ class AdminDashboardServiceTest {
         return Arrays.asList(booking1, booking2, booking3, booking4);
     }
 
+    private static RollupSummary bookingSummary(Number revenueThisMonth, Number revenueLastMonth,
+                                                long approved, long pending, long thisWeek, long today) {
+        return new RollupSummary() {
+            @Override public Number getRevenueThisMonth() { return revenueThisMonth; }
+            @Override public Number getRevenueLastMonth() { return revenueLastMonth; }
+            @Override public Number getApproved() { return approved; }
+            @Override public Number getPending() { return pending; }
+            @Override public Number getCreatedThisWeek() { return thisWeek; }
+            @Override public Number getCreatedToday() { return today; }
+        };
+    }
+
+    private static UserSummary userSummary(long total, long employees, long newThisWeek) {
+        return new UserSummary() {
+            @Override public Number getTotal() { return total; }
+            @Override public Number getWithRole() { return employees; }
+            @Override public Number getCreatedSince() { return newThisWeek; }
+        };
+    }
+
+    /**
+     * Summary matching the bookings built in createTestBookings():
+     * 5000 approved this month, 4000 approved last month, 2 pending, 2 this week, 1 today.
+     */
+    private RollupSummary testBookingSummary() {
+        return bookingSummary(new BigDecimal("5000.00"), new BigDecimal("4000.00"), 2, 2, 2, 1);
+    }
+
+    private void stubAdminStats(RollupSummary bookings, UserSummary users) {
+        when(rollupRepository.summarize(any(LocalDate.class), any(LocalDate.class), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(bookings);
+        when(bookingRepository.countDistinctCustomerNamesCreatedSince(any(LocalDateTime.class)))
+            .thenReturn(bookings.getCreatedToday().longValue());
+        when(userRepository.summarizeUsers(eq("EMPLOYEE"), any(LocalDateTime.class))).thenReturn(users);
+        when(branchRepository.findAll()).thenReturn(testBranches);
+    }
+
     @Nested
     @DisplayName("Admin Stats Tests")
     class AdminStatsTests {
@@ -153,16 +206,7 @@ class AdminDashboardServiceTest {
         @DisplayName("Should calculate admin stats with data")
         void shouldCalculateAdminStats_withData() {
             // ARRANGE
-            when(bookingRepository.findAll()).thenReturn(testBookings);
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE"))
-                .thenReturn(testUsers.stream()
-                    .filter(u -> "EMPLOYEE".equals(u.getRole()))
-                    .toList());
-            when(bookingRepository.count()).thenReturn((long) testBookings.size());
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            stubAdminStats(testBookingSummary(), userSummary(testUsers.size(), 1, 1));
             
             // ACT
             ManagerStatsDTO result = adminDashboardService.getAdminStats();
@@ -174,24 +218,21 @@ class AdminDashboardServiceTest {
             assertThat(result.bookings()).isNotNull();
             assertThat(result.branches()).isNotNull();
             assertThat(result.performance()).isNotNull();
+            assertThat(result.users().value()).isEqualTo("3");
+            assertThat(result.bookings().value()).isEqualTo("2");
             
-            // Verify repository calls
-            verify(bookingRepository, atLeastOnce()).findAll();
-            verify(userRepository, atLeastOnce()).findAll();
-            verify(branchRepository, atLeastOnce()).findAll();
+            // Verify the stats come from the rollup and aggregate queries, not full table scans
+            verify(bookingRepository, never()).findAll();
+            verify(userRepository, never()).findAll();
+            verify(rollupRepository).summarize(any(), any(), any(), any());
+            verify(userRepository).summarizeUsers(anyString(), any());
         }
 
         @Test
         @DisplayName("Should handle empty bookings")
         void shouldHandleEmptyBookings() {
             // ARRANGE
-            when(bookingRepository.findAll()).thenReturn(Collections.emptyList());
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn(0L);
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            stubAdminStats(bookingSummary(null, null, 0, 0, 0, 0), userSummary(testUsers.size(), 0, 1));
             
             // ACT
             ManagerStatsDTO result = adminDashboardService.getAdminStats();
@@ -199,6 +240,7 @@ class AdminDashboardServiceTest {
             // ASSERT
             assertThat(result).isNotNull();
             assertThat(result.revenue()).isNotNull();
+            assertThat(result.revenue().value()).isEqualTo("$0.0K");
             assertThat(result.bookings().value()).isEqualTo("0");
         }
 
@@ -206,13 +248,7 @@ class AdminDashboardServiceTest {
         @DisplayName("Should handle empty users")
         void shouldHandleEmptyUsers() {
             // ARRANGE
-            when(bookingRepository.findAll()).thenReturn(testBookings);
-            when(userRepository.findAll()).thenReturn(Collections.emptyList());
-            when(userRepository.count()).thenReturn(0L);
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn((long) testBookings.size());
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            stubAdminStats(testBookingSummary(), userSummary(0, 0, 0));
             
             // ACT
             ManagerStatsDTO result = adminDashboardService.getAdminStats();
@@ -226,20 +262,15 @@ class AdminDashboardServiceTest {
         @DisplayName("Should calculate revenue correctly")
         void shouldCalculateRevenue() {
             // ARRANGE
-            when(bookingRepository.findAll()).thenReturn(testBookings);
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn((long) testBookings.size());
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            stubAdminStats(testBookingSummary(), userSummary(testUsers.size(), 0, 1));
             
             // ACT
             ManagerStatsDTO result = adminDashboardService.getAdminStats();
             
             // ASSERT
             assertThat(result.revenue()).isNotNull();
-            assertThat(result.revenue().value()).isNotEmpty();
+            assertThat(result.revenue().value()).isEqualTo("$5.0K");
+            assertThat(result.revenue().trend()).isEqualTo("+25.0% this month");
             assertThat(result.revenue().details()).isNotEmpty();
         }
 
@@ -247,13 +278,7 @@ class AdminDashboardServiceTest {
         @DisplayName("Should count branches correctly")
         void shouldCountBranches() {
             // ARRANGE
-            when(bookingRepository.findAll()).thenReturn(testBookings);
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn((long) testBookings.size());
-            when(branchRepository.count()).thenReturn(2L);
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            stubAdminStats(testBookingSummary(), userSummary(testUsers.size(), 0, 1));
             
             // ACT
             ManagerStatsDTO result = adminDashboardService.getAdminStats();
@@ -264,6 +289,92 @@ class AdminDashboardServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Chart Data Tests")
+    class ChartDataTests {
+
+        @Test
+        @DisplayName("Should return one revenue entry per month, filling gaps with zero")
+        void shouldReturnRevenuePerMonth() {
+            // ARRANGE
+            YearMonth current = YearMonth.now();
+            MonthlyTotals thisMonth = new MonthlyTotals() {
+                @Override public Number getBookingYear() { return current.getYear(); }
+                @Override public Number getBookingMonth() { return current.getMonthValue(); }
+                @Override public Number getBookings() { return 3L; }
+                @Override public Number getRevenue() { return new BigDecimal("1500.00"); }
+            };
+            when(rollupRepository.summarizeByMonth(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(thisMonth));
+
+            // ACT
+            List<RevenueDataDTO> result = adminDashboardService.getRevenueData(3);
+
+            // ASSERT
+            assertThat(result).hasSize(3);
+            assertThat(result.get(0).revenue()).isZero();
+            assertThat(result.get(2).revenue()).isEqualTo(1500);
+            assertThat(result.get(2).services()).isEqualTo(3);
+            verify(rollupRepository, times(1)).summarizeByMonth(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should build branch performance from grouped totals")
+        void shouldBuildBranchPerformance() {
+            // ARRANGE
+            BranchTotals mainBranch = new BranchTotals() {
+                @Override public Long getBranchId() { return 1L; }
+                @Override public Number getBookings() { return 4L; }
+                @Override public Number getApproved() { return 3L; }
+                @Override public Number getRevenue() { return new BigDecimal("900.00"); }
+                @Override public Number getCompletedTasks() { return 2L; }
+            };
+            BranchUserCount mainEmployees = new BranchUserCount() {
+                @Override public Long getBranchId() { return 1L; }
+                @Override public Number getUsers() { return 2L; }
+            };
+            when(rollupRepository.summarizeByBranch()).thenReturn(List.of(mainBranch));
+            when(userRepository.countByRoleGroupedByBranch("EMPLOYEE")).thenReturn(List.of(mainEmployees));
+            when(branchRepository.findAll()).thenReturn(testBranches);
+
+            // ACT
+            List<BranchPerformanceDTO> result = adminDashboardService.getBranchPerformance();
+
+            // ASSERT
+            assertThat(result).hasSize(2);
+            assertThat(result.get(0).services()).isEqualTo(4);
+            assertThat(result.get(0).revenue()).isEqualTo(900);
+            assertThat(result.get(0).efficiency()).isEqualTo(75);
+            assertThat(result.get(0).employees()).isEqualTo(2);
+            assertThat(result.get(1).services()).isZero();
+            assertThat(result.get(1).employees()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should compute service distribution percentages")
+        void shouldComputeServiceDistribution() {
+            // ARRANGE
+            ServiceTotals oilChange = new ServiceTotals() {
+                @Override public String getServiceName() { return "Oil Change"; }
+                @Override public Number getBookings() { return 3L; }
+            };
+            ServiceTotals brakes = new ServiceTotals() {
+                @Override public String getServiceName() { return "Brake Service"; }
+                @Override public Number getBookings() { return 1L; }
+            };
+            when(rollupRepository.countByService()).thenReturn(List.of(oilChange, brakes));
+
+            // ACT
+            List<ServiceDistributionDTO> result = adminDashboardService.getServiceDistribution();
+
+            // ASSERT
+            assertThat(result).hasSize(2);
+            assertThat(result.get(0).name()).isEqualTo("Oil Change");
+            assertThat(result.get(0).count()).isEqualTo(75);
+            assertThat(result.get(1).count()).isEqualTo(25);
+        }
+    }
+
     @Nested
     @DisplayName("Edge Case Tests")
     class EdgeCaseTests {
@@ -271,19 +382,8 @@ class AdminDashboardServiceTest {
         @Test
         @DisplayName("Should handle null booking prices")
         void shouldHandleNullPrices() {
-            // ARRANGE
-            Booking bookingWithNullPrice = TestDataBuilder.createBooking();
-            bookingWithNullPrice.setStatus(BookingStatus.APPROVED);
-            bookingWithNullPrice.setTotalPrice(null);
-            bookingWithNullPrice.setCreatedAt(LocalDateTime.now());
-
-            when(bookingRepository.findAll()).thenReturn(Arrays.asList(bookingWithNullPrice));
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn(1L);
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            // ARRANGE - SUM over rows with null prices comes back as null
+            stubAdminStats(bookingSummary(null, null, 1, 0, 1, 1), userSummary(testUsers.size(), 0, 1));
             
             // ACT & ASSERT - Should not throw exception
             assertThatCode(() -> adminDashboardService.getAdminStats())
@@ -293,38 +393,33 @@ class AdminDashboardServiceTest {
         @Test
         @DisplayName("Should handle null created dates")
         void shouldHandleNullCreatedDates() {
-            // ARRANGE
-            Booking bookingWithNullDate = TestDataBuilder.createBooking();
-            bookingWithNullDate.setCreatedAt(null);
-
-            when(bookingRepository.findAll()).thenReturn(Arrays.asList(bookingWithNullDate));
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn(1L);
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            // ARRANGE - bookings without a created date fall outside every time window
+            stubAdminStats(bookingSummary(null, null, 0, 1, 0, 0), userSummary(testUsers.size(), 0, 1));
             
             // ACT & ASSERT - Should not throw exception
             assertThatCode(() -> adminDashboardService.getAdminStats())
                 .doesNotThrowAnyException();
         }
 
+        @Test
+        @DisplayName("Should handle months with no bookings")
+        void shouldHandleEmptyRevenueMonths() {
+            // ARRANGE
+            when(rollupRepository.summarizeByMonth(any(), any())).thenReturn(Collections.emptyList());
+
+            // ACT
+            List<RevenueDataDTO> result = adminDashboardService.getRevenueData(6);
+
+            // ASSERT
+            assertThat(result).hasSize(6).allSatisfy(r -> assertThat(r.revenue()).isZero());
+        }
+
         @Test
         @DisplayName("Should handle all bookings with same status")
         void shouldHandleAllSameStatus() {
             // ARRANGE
-            List<Booking> allApproved = testBookings.stream()
-                .peek(b -> b.setStatus(BookingStatus.APPROVED))
-                .toList();
-
-            when(bookingRepository.findAll()).thenReturn(allApproved);
-            when(userRepository.findAll()).thenReturn(testUsers);
-            when(userRepository.count()).thenReturn((long) testUsers.size());
-            when(userRepository.findByRoleIgnoreCase("EMPLOYEE")).thenReturn(Collections.emptyList());
-            when(bookingRepository.count()).thenReturn((long) allApproved.size());
-            when(branchRepository.count()).thenReturn((long) testBranches.size());
-            when(branchRepository.findAll()).thenReturn(testBranches);
+            stubAdminStats(bookingSummary(new BigDecimal("12500.00"), null, 4, 0, 3, 1),
+                    userSummary(testUsers.size(), 0, 1));
             
             // ACT
             ManagerStatsDTO result = adminDashboardService.getAdminStats();
@@ -332,6 +427,7 @@ class AdminDashboardServiceTest {
             // ASSERT
             assertThat(result).isNotNull();
             assertThat(result.bookings()).isNotNull();
+            assertThat(result.revenue().trend()).isEqualTo("+0.0% this month");
         }
     }
 }
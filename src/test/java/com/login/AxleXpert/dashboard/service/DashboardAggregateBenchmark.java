@@ -0,0 +1,103 @@
+package com.login.AxleXpert.dashboard.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.bookings.repository.BookingRepository.BranchBookingSummary;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.dashboard.dto.BranchPerformanceDTO;
+import com.login.AxleXpert.dashboard.dto.ManagerStatsDTO;
+import com.login.AxleXpert.dashboard.dto.RevenueDataDTO;
+import com.login.AxleXpert.dashboard.dto.ServiceDistributionDTO;
+import com.login.AxleXpert.testutils.BenchmarkDatabase;
+
+/**
+ * JMH benchmark for the dashboard aggregates against seeded H2 data.
+ *
+ * The admin dashboard reads dashboard_rollup, so its cost should stay flat as bookings
+ * grow; the branch summary and the rollup rebuild scan bookings and show the real
+ * cost of the row count. Seeding 1M rows takes a while - pass -p rows=1000 for a quick run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DashboardAggregateBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private AdminDashboardService adminDashboardService;
+    private DashboardRollupService rollupService;
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        database = BenchmarkDatabase.seed(rows);
+        adminDashboardService = database.bean(AdminDashboardService.class);
+        rollupService = database.bean(DashboardRollupService.class);
+        bookingRepository = database.bean(BookingRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        database.close();
+    }
+
+    @Benchmark
+    public ManagerStatsDTO adminStats() {
+        return adminDashboardService.getAdminStats();
+    }
+
+    @Benchmark
+    public List<RevenueDataDTO> adminRevenueByMonth() {
+        return adminDashboardService.getRevenueData(12);
+    }
+
+    @Benchmark
+    public List<BranchPerformanceDTO> adminBranchPerformance() {
+        return adminDashboardService.getBranchPerformance();
+    }
+
+    @Benchmark
+    public List<ServiceDistributionDTO> adminServiceDistribution() {
+        return adminDashboardService.getServiceDistribution();
+    }
+
+    /**
+     * The single-row aggregate behind the manager dashboard, straight from bookings.
+     */
+    @Benchmark
+    public BranchBookingSummary branchSummary() {
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        return bookingRepository.summarizeBranch(1L, BookingStatus.APPROVED, BookingStatus.PENDING,
+                monthStart.atStartOfDay(), monthStart.minusMonths(1).atStartOfDay(),
+                LocalDateTime.now().minusWeeks(1), today.atStartOfDay());
+    }
+
+    @Benchmark
+    public int rollupRebuild() {
+        return rollupService.rebuild();
+    }
+}
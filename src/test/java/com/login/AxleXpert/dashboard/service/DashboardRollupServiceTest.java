@@ -0,0 +1,189 @@
+package com.login.AxleXpert.dashboard.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.login.AxleXpert.Tasks.entity.Task;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.common.enums.TaskStatus;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository;
+import com.login.AxleXpert.dashboard.repository.DashboardRollupRepository.BookingHistoryRow;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+/**
+ * Unit Tests for DashboardRollupService
+ *
+ * Learning Focus:
+ * - Verifying counter deltas for each booking/task state transition
+ * - Verifying the backfill replays grouped history rows
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardRollupService Unit Tests")
+class DashboardRollupServiceTest {
+
+    @Mock
+    private DashboardRollupRepository rollupRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private DashboardRollupService rollupService;
+
+    private Booking testBooking;
+    private LocalDate createdDay;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new DashboardRollupService(rollupRepository, bookingRepository);
+
+        testBooking = TestDataBuilder.createBooking();
+        testBooking.setTotalPrice(new BigDecimal("150.00"));
+        testBooking.setCreatedAt(LocalDateTime.now().minusDays(2));
+        createdDay = testBooking.getCreatedAt().toLocalDate();
+    }
+
+    @Nested
+    @DisplayName("Booking Transition Tests")
+    class BookingTransitionTests {
+
+        @Test
+        @DisplayName("Should count a new booking as pending on its creation day")
+        void shouldCountNewBookingAsPending() {
+            // ACT
+            rollupService.recordBookingCreated(testBooking);
+
+            // ASSERT
+            verify(rollupRepository).increment(testBooking.getBranch().getId(), testBooking.getService().getId(),
+                    createdDay, 1L, 0L, 0L, 0L, BigDecimal.ZERO, 0L);
+        }
+
+        @Test
+        @DisplayName("Should move booking from pending to approved and add its revenue")
+        void shouldMovePendingToApproved() {
+            // ACT
+            rollupService.recordBookingStatusChange(testBooking, BookingStatus.PENDING, BookingStatus.APPROVED);
+
+            // ASSERT
+            verify(rollupRepository).increment(testBooking.getBranch().getId(), testBooking.getService().getId(),
+                    createdDay, -1L, 1L, 0L, 0L, new BigDecimal("150.00"), 0L);
+        }
+
+        @Test
+        @DisplayName("Should take revenue back off when an approved booking is deleted")
+        void shouldRemoveRevenueOnApprovedDelete() {
+            // ARRANGE
+            testBooking.setStatus(BookingStatus.APPROVED);
+
+            // ACT
+            rollupService.recordBookingDeleted(testBooking);
+
+            // ASSERT
+            verify(rollupRepository).increment(testBooking.getBranch().getId(), testBooking.getService().getId(),
+                    createdDay, 0L, -1L, 0L, 0L, new BigDecimal("-150.00"), 0L);
+        }
+
+        @Test
+        @DisplayName("Should use the no-branch key for bookings without a branch")
+        void shouldUseNoBranchKey() {
+            // ARRANGE
+            testBooking.setBranch(null);
+
+            // ACT
+            rollupService.recordBookingStatusChange(testBooking, BookingStatus.PENDING, BookingStatus.CANCELLED);
+
+            // ASSERT
+            verify(rollupRepository).increment(eq(DashboardRollupService.NO_BRANCH), anyLong(), eq(createdDay),
+                    eq(-1L), eq(0L), eq(0L), eq(1L), eq(BigDecimal.ZERO), eq(0L));
+        }
+
+        @Test
+        @DisplayName("Should ignore transitions that do not change status")
+        void shouldIgnoreNoOpTransition() {
+            // ACT
+            rollupService.recordBookingStatusChange(testBooking, BookingStatus.PENDING, BookingStatus.PENDING);
+
+            // ASSERT
+            verifyNoInteractions(rollupRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Task Transition Tests")
+    class TaskTransitionTests {
+
+        @Test
+        @DisplayName("Should count a completed task on its completion day")
+        void shouldCountCompletedTask() {
+            // ARRANGE
+            Task task = TestDataBuilder.createTask();
+            task.setBooking(testBooking);
+            task.setCompletedTime(LocalDateTime.now().minusDays(1));
+
+            // ACT
+            rollupService.recordTaskStatusChange(task, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED);
+
+            // ASSERT
+            verify(rollupRepository).increment(testBooking.getBranch().getId(), testBooking.getService().getId(),
+                    task.getCompletedTime().toLocalDate(), 0L, 0L, 0L, 0L, BigDecimal.ZERO, 1L);
+        }
+
+        @Test
+        @DisplayName("Should ignore transitions that never touch COMPLETED")
+        void shouldIgnoreNonCompletionTransition() {
+            // ARRANGE
+            Task task = TestDataBuilder.createTask();
+
+            // ACT
+            rollupService.recordTaskStatusChange(task, TaskStatus.NOT_STARTED, TaskStatus.IN_PROGRESS);
+
+            // ASSERT
+            verifyNoInteractions(rollupRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Backfill Tests")
+    class BackfillTests {
+
+        @Test
+        @DisplayName("Should clear the table and replay grouped history rows")
+        void shouldRebuildFromHistory() {
+            // ARRANGE
+            BookingHistoryRow approvedRow = new BookingHistoryRow() {
+                @Override public Number getBranchId() { return 1L; }
+                @Override public Long getServiceId() { return 2L; }
+                @Override public LocalDate getRollupDay() { return createdDay; }
+                @Override public BookingStatus getStatus() { return BookingStatus.APPROVED; }
+                @Override public Number getBookings() { return 3L; }
+                @Override public BigDecimal getRevenue() { return new BigDecimal("450.00"); }
+            };
+            when(rollupRepository.summarizeBookingHistory()).thenReturn(List.of(approvedRow));
+            when(rollupRepository.summarizeTaskHistory(TaskStatus.COMPLETED)).thenReturn(Collections.emptyList());
+
+            // ACT
+            int applied = rollupService.rebuild();
+
+            // ASSERT
+            assertThat(applied).isEqualTo(1);
+            verify(rollupRepository).deleteAllInBatch();
+            verify(rollupRepository).increment(1L, 2L, createdDay, 0L, 3L, 0L, 0L, new BigDecimal("450.00"), 0L);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.login.AxleXpert.dashboard.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.login.AxleXpert.Tasks.repository.TaskRepository.TaskTimeline;
+import com.login.AxleXpert.common.enums.TaskStatus;
+
+/**
+ * Unit Tests for EmployeeTaskSnapshot
+ *
+ * Learning Focus:
+ * - Testing pure computation without mocks
+ * - Testing time-window boundaries against a fixed "now"
+ * - Testing that one pass yields the same numbers as separate filters
+ */
+@DisplayName("EmployeeTaskSnapshot Unit Tests")
+class EmployeeTaskSnapshotTest {
+
+    // Wednesday, so the week started two days earlier on Monday the 13th
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 15, 14, 0);
+
+    @Nested
+    @DisplayName("Summary Tests")
+    class SummaryTests {
+
+        @Test
+        @DisplayName("Should count statuses and completion windows in one pass")
+        void shouldCountStatusesAndWindows() {
+            // ARRANGE
+            EmployeeTaskSnapshot snapshot = EmployeeTaskSnapshot.of(Arrays.asList(
+                task(TaskStatus.IN_PROGRESS, "Oil", NOW.minusDays(1), null, null),
+                task(TaskStatus.NOT_STARTED, "Oil", NOW.minusDays(1), NOW.withHour(16), null),
+                task(TaskStatus.NOT_STARTED, "Oil", NOW.minusDays(1), NOW.plusDays(1), null),
+                task(TaskStatus.COMPLETED, "Oil", NOW.minusDays(1), null, NOW.minusHours(2)),
+                task(TaskStatus.COMPLETED, "Oil", NOW.minusDays(10), null, NOW.minusDays(2)),
+                task(TaskStatus.COMPLETED, "Oil", NOW.minusDays(40), null, NOW.minusDays(35))
+            ));
+
+            // ACT
+            EmployeeTaskSnapshot.Summary summary = snapshot.summarize(NOW);
+
+            // ASSERT
+            assertThat(summary.totalTasks()).isEqualTo(6);
+            assertThat(summary.inProgress()).isEqualTo(1);
+            assertThat(summary.notStarted()).isEqualTo(2);
+            assertThat(summary.scheduledToday()).isEqualTo(1);
+            assertThat(summary.completed()).isEqualTo(3);
+            assertThat(summary.completedToday()).isEqualTo(1);
+            assertThat(summary.completedThisWeek()).isEqualTo(2);
+            assertThat(summary.completedThisMonth()).isEqualTo(2);
+            assertThat(summary.createdThisWeek()).isEqualTo(4);
+            assertThat(summary.createdThisMonth()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should credit estimated, actual or default hours")
+        void shouldCreditHours() {
+            // ARRANGE
+            TaskTimeline estimated = task(TaskStatus.COMPLETED, "A", NOW, null, NOW.minusHours(1), 90, null);
+            TaskTimeline actual = task(TaskStatus.COMPLETED, "B", NOW, null, NOW.minusHours(1), null, NOW.minusHours(4));
+            TaskTimeline unknown = task(TaskStatus.COMPLETED, "C", NOW, null, NOW.minusHours(1), null, null);
+
+            // ACT
+            EmployeeTaskSnapshot.Summary summary = EmployeeTaskSnapshot.of(Arrays.asList(estimated, actual, unknown))
+                    .summarize(NOW);
+
+            // ASSERT: 1.5h estimate + 3h actual + 1h default
+            assertThat(summary.hoursTotal()).isEqualTo(5.5);
+            assertThat(summary.hoursToday()).isEqualTo(5.5);
+        }
+
+        @Test
+        @DisplayName("Should return zeros for an employee without tasks")
+        void shouldReturnZerosWhenEmpty() {
+            // ACT
+            EmployeeTaskSnapshot.Summary summary = EmployeeTaskSnapshot.of(Collections.emptyList()).summarize(NOW);
+
+            // ASSERT
+            assertThat(summary.totalTasks()).isZero();
+            assertThat(summary.completed()).isZero();
+            assertThat(summary.hoursTotal()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Daily And Title Breakdown Tests")
+    class BreakdownTests {
+
+        @Test
+        @DisplayName("Should bucket completions by day, oldest first")
+        void shouldBucketCompletionsByDay() {
+            // ARRANGE
+            EmployeeTaskSnapshot snapshot = EmployeeTaskSnapshot.of(Arrays.asList(
+                task(TaskStatus.COMPLETED, "A", NOW, null, NOW.minusHours(1)),
+                task(TaskStatus.COMPLETED, "A", NOW, null, NOW.minusDays(6)),
+                task(TaskStatus.COMPLETED, "A", NOW, null, NOW.minusDays(7)),
+                task(TaskStatus.IN_PROGRESS, "A", NOW, null, NOW.minusHours(1))
+            ));
+
+            // ACT
+            EmployeeTaskSnapshot.DailyCompletions completions = snapshot.completionsByDay(LocalDate.from(NOW), 7);
+
+            // ASSERT
+            assertThat(completions.tasks()).containsExactly(1, 0, 0, 0, 0, 0, 1);
+            assertThat(completions.hours()[6]).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should count completed tasks per title")
+        void shouldCountCompletedTasksPerTitle() {
+            // ARRANGE
+            EmployeeTaskSnapshot snapshot = EmployeeTaskSnapshot.of(Arrays.asList(
+                task(TaskStatus.COMPLETED, "Oil Change", NOW, null, NOW),
+                task(TaskStatus.COMPLETED, "Oil Change", NOW, null, NOW),
+                task(TaskStatus.COMPLETED, "Brakes", NOW, null, NOW),
+                task(TaskStatus.NOT_STARTED, "Tyres", NOW, null, null)
+            ));
+
+            // ACT
+            Map<String, Long> counts = snapshot.completedCountByTitle();
+
+            // ASSERT
+            assertThat(counts).containsExactly(entry("Oil Change", 2L), entry("Brakes", 1L));
+        }
+    }
+
+    private static TaskTimeline task(TaskStatus status, String title, LocalDateTime createdAt,
+                                     LocalDateTime scheduledTime, LocalDateTime completedTime) {
+        return task(status, title, createdAt, scheduledTime, completedTime, null, null);
+    }
+
+    private static TaskTimeline task(TaskStatus status, String title, LocalDateTime createdAt,
+                                     LocalDateTime scheduledTime, LocalDateTime completedTime,
+                                     Integer estimatedTimeMinutes, LocalDateTime startTime) {
+        return new TaskTimeline() {
+            public TaskStatus getStatus() { return status; }
+            public String getTitle() { return title; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+            public LocalDateTime getScheduledTime() { return scheduledTime; }
+            public LocalDateTime getStartTime() { return startTime; }
+            public LocalDateTime getCompletedTime() { return completedTime; }
+            public Integer getEstimatedTimeMinutes() { return estimatedTimeMinutes; }
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package com.login.AxleXpert.dashboard.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.login.AxleXpert.Branches.entity.Branch;
+import com.login.AxleXpert.Branches.repository.BranchRepository;
+import com.login.AxleXpert.Services.entity.Service;
+import com.login.AxleXpert.Tasks.repository.TaskRepository;
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.Users.repository.UserRepository;
+import com.login.AxleXpert.bookings.entity.Booking;
+import com.login.AxleXpert.bookings.repository.BookingRepository;
+import com.login.AxleXpert.common.CurrentUserUtil;
+import com.login.AxleXpert.common.enums.BookingStatus;
+import com.login.AxleXpert.dashboard.dto.BranchPerformanceDTO;
+import com.login.AxleXpert.dashboard.dto.DetailItemDTO;
+import com.login.AxleXpert.dashboard.dto.ManagerStatsDTO;
+import com.login.AxleXpert.dashboard.dto.RecentBookingDTO;
+import com.login.AxleXpert.testutils.StatementCounter;
+import com.login.AxleXpert.testutils.TestConstants;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statement-count tests for ManagerDashboardService
+ *
+ * Learning Focus:
+ * - Running the service against a real (H2) schema instead of mocks
+ * - Counting SQL statements with Hibernate statistics
+ * - Proving the cost of a call does not grow with the amount of data
+ * - Proving other branches' data is neither read nor reported
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DisplayName("ManagerDashboardService Statement Count Tests")
+class ManagerDashboardServiceQueryCountTest {
+
+    // One booking aggregate, one employee count, one branch lookup
+    private static final long MAX_STATS_STATEMENTS = 3;
+    // Booking totals, employee count, branch lookup
+    private static final long MAX_BRANCH_PERFORMANCE_STATEMENTS = 3;
+    // One paged fetch-join query
+    private static final long MAX_RECENT_BOOKINGS_STATEMENTS = 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private ManagerDashboardService managerDashboardService;
+    private StatementCounter statementCounter;
+    private Branch branch;
+    private Branch otherBranch;
+    private Service service;
+    private int userSequence;
+
+    @BeforeEach
+    void setUp() {
+        // ARRANGE: current user resolution is stubbed so only dashboard queries are counted
+        CurrentUserUtil currentUserUtil = mock(CurrentUserUtil.class);
+        managerDashboardService = new ManagerDashboardService(
+            currentUserUtil, userRepository, bookingRepository, branchRepository, taskRepository);
+
+        branch = persistBranch("Downtown");
+        otherBranch = persistBranch("Uptown");
+        service = TestDataBuilder.createService();
+        service.setId(null);
+        entityManager.persist(service);
+
+        persistUser(TestConstants.ROLE_EMPLOYEE, branch);
+        persistUser(TestConstants.ROLE_EMPLOYEE, branch);
+        persistUser(TestConstants.ROLE_EMPLOYEE, otherBranch);
+
+        when(currentUserUtil.getCurrentUserBranchId()).thenReturn(branch.getId());
+
+        statementCounter = new StatementCounter(entityManager, entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("Should get manager stats with a fixed number of statements")
+    void shouldGetManagerStatsWithFixedStatementCount() {
+        // ARRANGE
+        persistBookings(branch, 3, BookingStatus.APPROVED);
+        persistBookings(branch, 2, BookingStatus.PENDING);
+        persistBookings(otherBranch, 4, BookingStatus.APPROVED);
+
+        // ACT
+        long statements = statementCounter.count(() -> managerDashboardService.getManagerStats());
+        ManagerStatsDTO stats = managerDashboardService.getManagerStats();
+
+        // ASSERT
+        assertThat(statements).isLessThanOrEqualTo(MAX_STATS_STATEMENTS);
+        assertThat(stats.bookings().value()).isEqualTo("5");
+        assertThat(stats.bookings().details().get(2).value()).isEqualTo("3"); // Confirmed
+        assertThat(stats.bookings().details().get(3).value()).isEqualTo("2"); // Pending
+        assertThat(stats.users().details().get(0).value()).isEqualTo("2"); // Employees
+        assertThat(stats.branches().value()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should count branch employees plus distinct customers who booked at the branch as users")
+    void shouldCountBranchEmployeesAndCustomersAsUsers() {
+        // ARRANGE: a repeat customer, a one-off customer and one who only booked at another branch
+        User regular = persistUser(TestConstants.ROLE_CUSTOMER, null);
+        persistBooking(branch, regular, BookingStatus.APPROVED);
+        persistBooking(branch, regular, BookingStatus.PENDING);
+        persistBookings(branch, 1, BookingStatus.PENDING);
+        persistBookings(otherBranch, 1, BookingStatus.APPROVED);
+
+        // ACT
+        ManagerStatsDTO stats = managerDashboardService.getManagerStats();
+
+        // ASSERT: 2 employees + 2 customers; everyone booked today, so all are new and active
+        assertThat(stats.users().value()).isEqualTo("4");
+        assertThat(stats.users().details()).extracting(DetailItemDTO::value)
+            .containsExactly("2", "2", "2", "2"); // Employees, Customers, New This Week, Active Today
+    }
+
+    @Test
+    @DisplayName("Should not issue more statements as the branch grows")
+    void shouldNotIssueMoreStatementsAsBranchGrows() {
+        // ARRANGE
+        persistBookings(branch, 2, BookingStatus.APPROVED);
+        long smallBranchStatements = statementCounter.count(() -> managerDashboardService.getManagerStats());
+
+        persistBookings(branch, 40, BookingStatus.APPROVED);
+        persistBookings(branch, 40, BookingStatus.PENDING);
+
+        // ACT
+        long largeBranchStatements = statementCounter.count(() -> managerDashboardService.getManagerStats());
+
+        // ASSERT
+        assertThat(largeBranchStatements).isEqualTo(smallBranchStatements);
+    }
+
+    @Test
+    @DisplayName("Should get branch performance for the manager's branch only")
+    void shouldGetBranchPerformanceForOwnBranchOnly() {
+        // ARRANGE
+        persistBookings(branch, 3, BookingStatus.APPROVED);
+        persistBookings(branch, 1, BookingStatus.PENDING);
+        persistBookings(otherBranch, 5, BookingStatus.APPROVED);
+
+        // ACT
+        long statements = statementCounter.count(() -> managerDashboardService.getBranchPerformance());
+        List<BranchPerformanceDTO> performance = managerDashboardService.getBranchPerformance();
+
+        // ASSERT
+        assertThat(statements).isLessThanOrEqualTo(MAX_BRANCH_PERFORMANCE_STATEMENTS);
+        assertThat(performance).hasSize(1);
+        assertThat(performance.get(0).branch()).isEqualTo("Downtown");
+        assertThat(performance.get(0).services()).isEqualTo(4);
+        assertThat(performance.get(0).efficiency()).isEqualTo(75);
+        assertThat(performance.get(0).employees()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should load recent bookings without lazy-loading service or branch")
+    void shouldLoadRecentBookingsInOneStatement() {
+        // ARRANGE
+        persistBookings(branch, 8, BookingStatus.PENDING);
+        persistBookings(otherBranch, 3, BookingStatus.PENDING);
+
+        // ACT
+        long statements = statementCounter.count(() -> managerDashboardService.getRecentBookings(5));
+        List<RecentBookingDTO> recent = managerDashboardService.getRecentBookings(5);
+
+        // ASSERT
+        assertThat(statements).isLessThanOrEqualTo(MAX_RECENT_BOOKINGS_STATEMENTS);
+        assertThat(recent).hasSize(5);
+        assertThat(recent).allMatch(b -> "Downtown".equals(b.branch()));
+    }
+
+    private Branch persistBranch(String name) {
+        Branch newBranch = TestDataBuilder.createBranch();
+        newBranch.setId(null);
+        newBranch.setName(name);
+        return entityManager.persist(newBranch);
+    }
+
+    private User persistUser(String role, Branch userBranch) {
+        userSequence++;
+        User user = TestDataBuilder.createUser();
+        user.setId(null);
+        user.setUsername("user" + userSequence);
+        user.setEmail("user" + userSequence + "@example.com");
+        user.setRole(role);
+        user.setBranch(userBranch);
+        return entityManager.persist(user);
+    }
+
+    private void persistBookings(Branch bookingBranch, int count, BookingStatus status) {
+        for (int i = 0; i < count; i++) {
+            persistBooking(bookingBranch, persistUser(TestConstants.ROLE_CUSTOMER, null), status);
+        }
+    }
+
+    private void persistBooking(Branch bookingBranch, User customer, BookingStatus status) {
+        Booking booking = TestDataBuilder.createBooking(customer, service, bookingBranch);
+        booking.setId(null);
+        booking.setStatus(status);
+        entityManager.persist(booking);
+    }
+}
@@ -0,0 +1,67 @@
+package com.login.AxleXpert.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.login.AxleXpert.Users.entity.User;
+import com.login.AxleXpert.testutils.TestDataBuilder;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JMH benchmark for JwtUtil claim extraction.
+ *
+ * {@code extractClaim} always parses; {@code verify} is what JwtFilter calls once per
+ * request and is served from the verified-token cache after the first call.
+ * {@code authenticatedRequest} reads claims through the older extract* helpers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "test-secret-key-must-be-at-least-256-bits-long-for-HS256-algorithm";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        User user = TestDataBuilder.createUser();
+        user.setBranch(TestDataBuilder.createBranch());
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractClaim() {
+        return jwtUtil.extractClaim(token, Claims::getSubject);
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean authenticatedRequest() {
+        String username = jwtUtil.extractUsername(token);
+        return jwtUtil.validateToken(token, username) && jwtUtil.extractRole(token) != null;
+    }
+}
@@ -354,4 +354,69 @@ class JwtUtilTest {
                 .isInstanceOf(Exception.class); // Signature validation fails
         }
     }
+
+    @Nested
+    @DisplayName("Verified Claims Tests")
+    class VerifiedClaimsTests {
+
+        @Test
+        @DisplayName("Should read every claim in one verification")
+        void shouldReadAllClaims() {
+            // ARRANGE
+            String token = jwtUtil.generateToken(testUser);
+
+            // ACT
+            JwtClaims claims = jwtUtil.verify(token);
+
+            // ASSERT
+            assertThat(claims.username()).isEqualTo("testuser");
+            assertThat(claims.id()).isEqualTo(1L);
+            assertThat(claims.email()).isEqualTo("test@example.com");
+            assertThat(claims.role()).isEqualTo("CUSTOMER");
+            assertThat(claims.branchId()).isEqualTo(10L);
+            assertThat(claims.expiresAt()).isAfter(java.time.Instant.now());
+        }
+
+        @Test
+        @DisplayName("Should serve a verified token from the cache")
+        void shouldServeVerifiedTokenFromCache() {
+            // ARRANGE
+            String token = jwtUtil.generateToken(testUser);
+
+            // ACT
+            JwtClaims first = jwtUtil.verify(token);
+            JwtClaims second = jwtUtil.verify(token);
+
+            // ASSERT - same instance means the second call did not parse again
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Should still reject a tampered copy of a cached token")
+        void shouldRejectTamperedCopy_ofCachedToken() {
+            // ARRANGE
+            String token = jwtUtil.generateToken(testUser);
+            jwtUtil.verify(token);
+            String tamperedToken = token.substring(0, token.length() - 5) + "XXXXX";
+
+            // ACT & ASSERT
+            assertThatThrownBy(() -> jwtUtil.verify(tamperedToken))
+                .isInstanceOf(io.jsonwebtoken.JwtException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject tokens signed with a previous secret")
+        void shouldRejectToken_afterSecretChanges() {
+            // ARRANGE
+            String token = jwtUtil.generateToken(testUser);
+            jwtUtil.verify(token);
+
+            // ACT
+            ReflectionTestUtils.setField(jwtUtil, "secretKey", TEST_SECRET + "-rotated");
+
+            // ASSERT
+            assertThatThrownBy(() -> jwtUtil.verify(token))
+                .isInstanceOf(io.jsonwebtoken.JwtException.class);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.login.AxleXpert.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.login.AxleXpert.security.VerifiedTokenCache.TokenKey;
+
+/**
+ * Unit tests for VerifiedTokenCache
+ *
+ * Learning Focus:
+ * - An LRU evicts the entry that was used least recently, not the oldest one
+ * - A cache of security decisions must never outlive what it caches (token expiry)
+ */
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Test
+    @DisplayName("Should return claims for a cached token")
+    void shouldReturnClaims_forCachedToken() {
+        // ARRANGE
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        TokenKey key = VerifiedTokenCache.keyOf("token-a");
+        JwtClaims claims = claims(NOW.plusSeconds(60));
+
+        // ACT
+        cache.put(key, claims);
+
+        // ASSERT
+        assertThat(cache.get(VerifiedTokenCache.keyOf("token-a"), NOW)).isSameAs(claims);
+        assertThat(cache.get(VerifiedTokenCache.keyOf("token-b"), NOW)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop a token once it has expired")
+    void shouldDropToken_whenExpired() {
+        // ARRANGE
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        TokenKey key = VerifiedTokenCache.keyOf("token-a");
+        cache.put(key, claims(NOW.plusSeconds(60)));
+
+        // ACT & ASSERT
+        assertThat(cache.get(key, NOW.plusSeconds(60))).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used token when full")
+    void shouldEvictLeastRecentlyUsed_whenFull() {
+        // ARRANGE
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        TokenKey a = VerifiedTokenCache.keyOf("token-a");
+        TokenKey b = VerifiedTokenCache.keyOf("token-b");
+        TokenKey c = VerifiedTokenCache.keyOf("token-c");
+        cache.put(a, claims(NOW.plusSeconds(60)));
+        cache.put(b, claims(NOW.plusSeconds(60)));
+
+        // ACT - reading a makes b the least recently used
+        cache.get(a, NOW);
+        cache.put(c, claims(NOW.plusSeconds(60)));
+
+        // ASSERT
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(a, NOW)).isNotNull();
+        assertThat(cache.get(b, NOW)).isNull();
+        assertThat(cache.get(c, NOW)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should store nothing when the cache size is zero")
+    void shouldStoreNothing_whenDisabled() {
+        // ARRANGE
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+
+        // ACT
+        cache.put(VerifiedTokenCache.keyOf("token-a"), claims(NOW.plusSeconds(60)));
+
+        // ASSERT
+        assertThat(cache.size()).isZero();
+    }
+
+    private static JwtClaims claims(Instant expiresAt) {
+        return new JwtClaims("user", 1L, "user@example.com", "CUSTOMER", null, expiresAt);
+    }
+}
@@ -0,0 +1,150 @@
+package com.login.AxleXpert.testutils;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.login.AxleXpert.AxleXpertApplication;
+import com.login.AxleXpert.dashboard.service.AdminDashboardService;
+import com.login.AxleXpert.dashboard.service.DashboardRollupService;
+
+/**
+ * Benchmark Database - A seeded H2 database with only the JPA layer started
+ *
+ * LEARNING: Why not @SpringBootTest?
+ * - JMH runs outside JUnit, so the Spring test framework is not available
+ * - The full application also starts mail, Firebase and Gemini clients we don't need
+ * - Starting just DataSource + Hibernate + repositories keeps setup to a few seconds
+ *
+ * LEARNING: Why seed with INSERT ... SELECT?
+ * - One set-based statement per table fills a million bookings in seconds
+ * - Saving entities one by one would take longer than the benchmark itself
+ * - Data is generated from the row number, so every run sees the same rows
+ *
+ * Example usage (inside a JMH @State):
+ *   database = BenchmarkDatabase.seed(100_000);
+ *   AdminDashboardService service = database.bean(AdminDashboardService.class);
+ *   ...
+ *   database.close();
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    public static final int BRANCHES = 10;
+    public static final int SERVICES = 8;
+    public static final int EMPLOYEES = 50;
+
+    private final ConfigurableApplicationContext context;
+    private final int bookings;
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context, int bookings) {
+        this.context = context;
+        this.bookings = bookings;
+    }
+
+    /**
+     * Starts a fresh in-memory database and fills it with {@code bookings} bookings spread over
+     * the last two years, plus the branches, services, users and tasks they refer to.
+     */
+    public static BenchmarkDatabase seed(int bookings) {
+        String url = "jdbc:h2:mem:bench" + bookings + "_" + System.nanoTime()
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,YEAR,VALUE";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                    "spring.datasource.url", url,
+                    "spring.datasource.username", "sa",
+                    "spring.datasource.password", "",
+                    "spring.jpa.hibernate.ddl-auto", "create",
+                    "spring.jpa.open-in-view", "false",
+                    "spring.main.banner-mode", "off",
+                    "logging.level.root", "WARN",
+                    "dashboard.rollup.backfill-on-startup", "false"))
+                .run();
+
+        BenchmarkDatabase database = new BenchmarkDatabase(context, bookings);
+        database.insertRows(context.getBean(JdbcTemplate.class));
+        context.getBean(DashboardRollupService.class).rebuild();
+        return database;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int bookings() {
+        return bookings;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void insertRows(JdbcTemplate jdbc) {
+        int customers = Math.max(100, bookings / 20);
+
+        jdbc.update("INSERT INTO branches (name, open_hours, close_hours, created_at, updated_at) " +
+                "SELECT 'Branch ' || X, '08:00', '18:00', LOCALTIMESTAMP, LOCALTIMESTAMP FROM SYSTEM_RANGE(1, ?)", BRANCHES);
+
+        jdbc.update("INSERT INTO services (name, price, duration_minutes, created_at, updated_at) " +
+                "SELECT 'Service ' || X, 40 + X * 15, 30 + MOD(X, 4) * 30, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, ?)", SERVICES);
+
+        // Employees get ids 1..EMPLOYEES, customers follow
+        jdbc.update("INSERT INTO user (username, password, role, email, is_active, is_blocked, branch_id, created_at, updated_at) " +
+                "SELECT 'employee' || X, 'x', 'EMPLOYEE', 'employee' || X || '@bench.local', TRUE, FALSE, " +
+                "1 + MOD(X, ?), LOCALTIMESTAMP, LOCALTIMESTAMP FROM SYSTEM_RANGE(1, ?)", BRANCHES, EMPLOYEES);
+        jdbc.update("INSERT INTO user (username, password, role, email, is_active, is_blocked, created_at, updated_at) " +
+                "SELECT 'customer' || X, 'x', 'CUSTOMER', 'customer' || X || '@bench.local', TRUE, FALSE, " +
+                "DATEADD(MINUTE, -MOD(X * 104729, 1051200), LOCALTIMESTAMP), LOCALTIMESTAMP FROM SYSTEM_RANGE(1, ?)", customers);
+
+        // Statuses cycle PENDING, APPROVED, COMPLETED, CANCELLED; creation times spread over two years
+        jdbc.update("INSERT INTO bookings (customer_id, customer_name, vehicle, branch_id, service_id, start_at, end_at, " +
+                "status, assigned_employee_id, total_price, created_at, updated_at) " +
+                "SELECT ? + 1 + MOD(X, ?), 'customer' || (1 + MOD(X, ?)), 'Vehicle ' || MOD(X, 97), " +
+                "1 + MOD(X, ?), 1 + MOD(X, ?), " +
+                "DATEADD(MINUTE, -MOD(X * 7919, 1051200) + 1440, LOCALTIMESTAMP), " +
+                "DATEADD(MINUTE, -MOD(X * 7919, 1051200) + 1500, LOCALTIMESTAMP), " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'APPROVED' WHEN 2 THEN 'COMPLETED' ELSE 'CANCELLED' END, " +
+                "CASE WHEN MOD(X, 4) IN (1, 2) THEN 1 + MOD(X, ?) END, " +
+                "40 + MOD(X, ?) * 15, " +
+                "DATEADD(MINUTE, -MOD(X * 7919, 1051200), LOCALTIMESTAMP), LOCALTIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, ?)",
+                EMPLOYEES, customers, customers, BRANCHES, SERVICES, EMPLOYEES, SERVICES, bookings);
+
+        jdbc.update("INSERT INTO tasks (booking_id, assigned_employee_id, title, status, created_at, updated_at, " +
+                "start_time, completed_time, service_id, estimated_time_minutes) " +
+                "SELECT b.id, b.assigned_employee_id, 'Service ' || b.service_id, " +
+                "CASE b.status WHEN 'COMPLETED' THEN 'COMPLETED' ELSE 'IN_PROGRESS' END, b.created_at, b.created_at, " +
+                "b.start_at, CASE b.status WHEN 'COMPLETED' THEN b.end_at END, b.service_id, 60 " +
+                "FROM bookings b WHERE b.assigned_employee_id IS NOT NULL");
+    }
+
+    /**
+     * DataSource, Hibernate, repositories and the dashboard services - nothing else.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+        DataSourceAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = AxleXpertApplication.class)
+    @EnableJpaRepositories(basePackageClasses = AxleXpertApplication.class)
+    @Import({DashboardRollupService.class, AdminDashboardService.class})
+    static class JpaOnly {
+    }
+}
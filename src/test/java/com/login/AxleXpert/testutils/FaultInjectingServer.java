@@ -0,0 +1,119 @@
+package com.login.AxleXpert.testutils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Fault Injecting Server - A local HTTP server whose latency and status can be changed mid-test
+ *
+ * LEARNING: Why inject faults?
+ * - Timeouts, circuit breakers and load shedding only do something when the upstream misbehaves
+ * - A real server with a configurable delay is slow in real time, the way a struggling API is
+ * - Each request runs on its own thread, so concurrent callers really overlap on the server
+ *
+ * Example usage:
+ *   try (FaultInjectingServer server = FaultInjectingServer.start("{...}")) {
+ *       server.delay(Duration.ofSeconds(2));   // every request now waits 2 s
+ *       server.status(503);                    // ...and then fails
+ *       ...
+ *       server.requests();                     // how many requests arrived
+ *       server.maxConcurrent();                // most requests handled at the same time
+ *   }
+ */
+public final class FaultInjectingServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile String body;
+    private volatile int status = 200;
+    private volatile Duration delay = Duration.ZERO;
+
+    private FaultInjectingServer(HttpServer server, String body) {
+        this.server = server;
+        this.body = body;
+    }
+
+    /**
+     * Starts on a free local port, answering every request with 200 and {@code body} as JSON.
+     */
+    public static FaultInjectingServer start(String body) throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        FaultInjectingServer mock = new FaultInjectingServer(httpServer, body);
+        httpServer.setExecutor(mock.executor);
+        httpServer.createContext("/", mock::handle);
+        httpServer.start();
+        return mock;
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /** Wait this long before answering each request. */
+    public FaultInjectingServer delay(Duration delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    /** Answer with this HTTP status from now on. */
+    public FaultInjectingServer status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public FaultInjectingServer body(String body) {
+        this.body = body;
+        return this;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        try {
+            exchange.getRequestBody().readAllBytes();
+            sleep(delay);
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            concurrent.decrementAndGet();
+        }
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.login.AxleXpert.testutils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Mock SSE Server - A local HTTP server that answers every request with server-sent events
+ *
+ * LEARNING: Why a real server instead of mocking WebClient?
+ * - Streaming is about bytes arriving over time; a mocked WebClient skips exactly that
+ * - The JDK's built-in HttpServer needs no extra test dependency
+ * - Events are flushed one by one with a pause between them, like a model generating tokens
+ *
+ * Example usage:
+ *   try (MockSseServer server = MockSseServer.start(Duration.ofMillis(200), "{...}", "{...}")) {
+ *       String url = server.url("/v1beta/models/test:streamGenerateContent");
+ *       ...
+ *       server.requests();   // "POST /path?query" of each request received
+ *   }
+ */
+public final class MockSseServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private MockSseServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts on a free local port; each request gets {@code events} as "data:" lines,
+     * with {@code gap} between them.
+     */
+    public static MockSseServer start(Duration gap, String... events) throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        MockSseServer mock = new MockSseServer(httpServer);
+        httpServer.createContext("/", exchange -> mock.stream(exchange, gap, events));
+        httpServer.start();
+        return mock;
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public List<String> requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void stream(HttpExchange exchange, Duration gap, String[] events) throws IOException {
+        requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (int i = 0; i < events.length; i++) {
+                if (i > 0) {
+                    sleep(gap);
+                }
+                body.write(("data: " + events[i] + "\n\n").getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+        }
+    }
+
+    private static void sleep(Duration gap) {
+        try {
+            Thread.sleep(gap.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.login.AxleXpert.testutils;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statement Counter - Counts the SQL statements a call sends to the database
+ *
+ * LEARNING: Why count statements?
+ * - N+1 problems don't show up as failures, only as slow pages in production
+ * - Hibernate statistics record every JDBC statement prepared
+ * - Asserting a fixed upper bound turns an accidental lazy load into a red test
+ *
+ * Example usage (inside a @DataJpaTest):
+ *   StatementCounter counter = new StatementCounter(entityManager, entityManagerFactory);
+ *   counter.assertAtMost(1, () -> bookingService.getAllBookings());
+ */
+public class StatementCounter {
+
+    private final TestEntityManager entityManager;
+    private final Statistics statistics;
+
+    public StatementCounter(TestEntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Runs the call against an empty persistence context and returns the number of
+     * JDBC statements Hibernate prepared for it.
+     *
+     * LEARNING: Flushing and clearing first means pending inserts are not counted
+     * and nothing the test set up can be served from the first-level cache.
+     */
+    public long count(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.run();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    /**
+     * Fails when the call needs more than {@code max} statements.
+     */
+    public long assertAtMost(long max, Runnable call) {
+        long statements = count(call);
+        assertThat(statements)
+            .as("SQL statements executed (limit %d)", max)
+            .isLessThanOrEqualTo(max);
+        return statements;
+    }
+}